@@ -42,6 +42,7 @@ android {
             isDebuggable = true
 
             buildConfigField("boolean", "CUSTOM_DEBUG_FLAG", "true" )
+            buildConfigField("boolean", "DEBUG_LOGS", "true")
         }
         release {
             isMinifyEnabled = false
@@ -50,6 +51,9 @@ android {
                 "proguard-rules.pro"
             )
             buildConfigField("boolean", "CUSTOM_DEBUG_FLAG", "true" )
+            // debug-логи в release отключаются только флагом во время выполнения (Slf4jLogger):
+            // минификации нет, вызовы и построение аргументов на месте вызова остаются в сборке
+            buildConfigField("boolean", "DEBUG_LOGS", "false")
         }
     }
     compileOptions {
@@ -73,6 +77,34 @@ android {
     kotlinOptions {
         jvmTarget = "17"
     }
+
+    // JVM-бенчмарки (JMH + Robolectric) компилируются вместе с unit-тестами;
+    // общие фикстуры (БД в памяти, наполнение, заглушки модулей Hilt) - в src/sharedTest
+    sourceSets {
+        getByName("test") {
+            java.srcDir("src/sharedTest/java")
+            java.srcDir("src/benchmark/java")
+        }
+    }
+
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+            all {
+                // Бенчмарки запускаются только явно: ./gradlew testDebugUnitTest -Pbenchmark [-Pbenchmark.datasetSize=N]
+                if (project.hasProperty("benchmark")) {
+                    it.include("**/*Benchmark.class")
+                    it.systemProperty("benchmark.datasetSize", project.findProperty("benchmark.datasetSize") ?: "1000")
+                    it.systemProperty("benchmark.resultsDir",
+                        layout.buildDirectory.dir("benchmark-results").get().asFile.absolutePath)
+                    it.outputs.upToDateWhen { false }
+                    it.maxHeapSize = "2g"
+                } else {
+                    it.exclude("**/*Benchmark.class")
+                }
+            }
+        }
+    }
 }
 
 dependencies {
@@ -129,6 +161,13 @@ dependencies {
     testImplementation(libs.mockk)
     testImplementation(libs.turbine)
     testImplementation(libs.coroutines.test)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.androidx.test.core)
+    testImplementation(libs.androidx.arch.core.testing)
+    testImplementation(libs.hilt.android.testing)
+    testAnnotationProcessor(libs.hilt.compiler)
+    testImplementation(libs.jmh.core)
+    testAnnotationProcessor(libs.jmh.generator.annprocess)
 
     androidTestImplementation(libs.androidx.test.ext.junit)
     androidTestImplementation(libs.androidx.test.espresso.core)
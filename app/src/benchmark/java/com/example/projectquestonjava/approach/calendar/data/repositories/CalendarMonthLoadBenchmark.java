@@ -0,0 +1,75 @@
+package com.example.projectquestonjava.approach.calendar.data.repositories;
+
+import static org.junit.Assert.assertFalse;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
+import com.example.projectquestonjava.approach.calendar.extensions.CalendarExtensions;
+import com.example.projectquestonjava.benchmark.BenchmarkConfig;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
+import com.example.projectquestonjava.core.managers.UserSessionManager;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.LiveDataValues;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Загрузка месяца календаря: счетчики для сетки, задачи месяца и их сводки для списка. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class CalendarMonthLoadBenchmark {
+
+    @Rule(order = 0)
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Rule(order = 1)
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    @Inject AppDatabase database;
+    @Inject CalendarRepository calendarRepository;
+    @Inject PriorityResolver priorityResolver;
+    @Inject UserSessionManager userSessionManager;
+    @Inject DateTimeUtils dateTimeUtils;
+
+    private final int datasetSize = BenchmarkConfig.datasetSize();
+    private final YearMonth month = YearMonth.now();
+    private DatasetSeeder.Dataset dataset;
+
+    @Before
+    public void setUp() throws Exception {
+        hiltRule.inject();
+        DatasetSeeder seeder = new DatasetSeeder(database);
+        dataset = seeder.seedProfile();
+        seeder.seedTasks(dataset, datasetSize, month.atDay(1));
+        userSessionManager.saveUserIdAsync(dataset.userId()).get();
+    }
+
+    @Test
+    public void monthLoad() throws Exception {
+        BenchmarkRecorder recorder = new BenchmarkRecorder("CalendarMonthLoadBenchmark", datasetSize);
+        LocalDate monthStart = month.atDay(1);
+
+        recorder.measure("loadDailyTaskCounts",
+                () -> assertFalse(calendarRepository.loadDailyTaskCounts(dataset.workspaceId(), month, month).get().isEmpty()));
+        recorder.measure("getTasksForMonth",
+                () -> assertFalse(LiveDataValues.await(calendarRepository.getTasksForMonth(dataset.workspaceId(), monthStart)).isEmpty()));
+        recorder.measure("getTasksForMonthToSummaries", () -> {
+            List<CalendarTaskWithTagsAndPomodoro> tasks =
+                    LiveDataValues.await(calendarRepository.getTasksForMonth(dataset.workspaceId(), monthStart));
+            assertFalse(CalendarExtensions.toTaskSummaries(tasks, priorityResolver, dateTimeUtils).isEmpty());
+        });
+        recorder.write();
+    }
+}
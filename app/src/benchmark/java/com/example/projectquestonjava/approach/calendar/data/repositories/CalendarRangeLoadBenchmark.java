@@ -0,0 +1,103 @@
+package com.example.projectquestonjava.approach.calendar.data.repositories;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.relations.TaskWithTags;
+import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.LiveDataValues;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Загрузка задач календаря за месяц: прежний путь (задачи с тегами, затем IN-запросы
+ * статистики и параметров календаря и склейка в памяти) против одного запроса-проекции
+ * CalendarTaskDao.getCalendarTasksInDateRange. Размеры набора фиксированы (100, 1k, 5k),
+ * свойство benchmark.datasetSize здесь не используется.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class CalendarRangeLoadBenchmark {
+
+    private static final int[] DATASET_SIZES = {100, 1_000, 5_000};
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    @Test
+    public void legacyVersusProjection() throws Exception {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        long start = monthStart.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long end = monthStart.plusMonths(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) - 1;
+
+        for (int size : DATASET_SIZES) {
+            AppDatabase db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+            try {
+                DatasetSeeder seeder = new DatasetSeeder(db);
+                DatasetSeeder.Dataset dataset = seeder.seedProfile();
+                seeder.seedTasks(dataset, size, monthStart);
+
+                // Оба пути должны вернуть одни и те же задачи
+                assertEquals(legacyLoad(db, dataset, start, end).size(), projectionLoad(db, dataset, start, end).size());
+
+                BenchmarkRecorder recorder = new BenchmarkRecorder("CalendarRangeLoadBenchmark-" + size, size);
+                recorder.measure("legacyThreeQueries", () -> legacyLoad(db, dataset, start, end));
+                recorder.measure("singleProjection", () -> projectionLoad(db, dataset, start, end));
+                recorder.write();
+            } finally {
+                db.close();
+            }
+        }
+    }
+
+    private static List<CalendarTaskWithTagsAndPomodoro> projectionLoad(
+            AppDatabase db, DatasetSeeder.Dataset dataset, long start, long end) throws InterruptedException {
+        return LiveDataValues.await(db.calendarTaskDao()
+                .getCalendarTasksInDateRange(dataset.workspaceId(), dataset.userId(), start, end));
+    }
+
+    // Путь до user-001: три наблюдаемых запроса на выдачу и склейка по id
+    private static List<CalendarTaskWithTagsAndPomodoro> legacyLoad(
+            AppDatabase db, DatasetSeeder.Dataset dataset, long start, long end) throws InterruptedException {
+        List<TaskWithTags> tasks = LiveDataValues.await(db.taskDao()
+                .getTasksWithTagsForWorkspaceInDateRange(dataset.workspaceId(), dataset.userId(), start, end));
+        List<Long> taskIds = new ArrayList<>(tasks.size());
+        for (TaskWithTags task : tasks) taskIds.add(task.getTask().getId());
+
+        Map<Long, TaskStatistics> stats = new HashMap<>();
+        for (TaskStatistics ts : LiveDataValues.await(db.taskStatisticsDao().getStatisticsForTasks(taskIds, dataset.userId()))) {
+            stats.put(ts.getTaskId(), ts);
+        }
+        Map<Long, CalendarParams> params = new HashMap<>();
+        for (CalendarParams cp : LiveDataValues.await(db.calendarTaskDao().getParamsForTasks(taskIds))) {
+            params.put(cp.getTaskId(), cp);
+        }
+
+        List<CalendarTaskWithTagsAndPomodoro> result = new ArrayList<>(tasks.size());
+        for (TaskWithTags task : tasks) {
+            CalendarParams cp = params.get(task.getTask().getId());
+            if (cp == null) continue;
+            TaskStatistics ts = stats.get(task.getTask().getId());
+            result.add(new CalendarTaskWithTagsAndPomodoro(task.getTask(), cp, task.getTags(),
+                    ts != null ? ts.getCompletedPomodoroFocusSessions() : 0));
+        }
+        return result;
+    }
+}
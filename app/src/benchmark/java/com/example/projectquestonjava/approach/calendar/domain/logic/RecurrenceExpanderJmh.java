@@ -0,0 +1,58 @@
+package com.example.projectquestonjava.approach.calendar.domain.logic;
+
+import com.example.projectquestonjava.approach.calendar.domain.model.RecurrenceRule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Окно месяца для серий, начатых год назад: пропуск периодов до окна не должен зависеть от возраста серии. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecurrenceExpanderJmh {
+
+    // Число повторяющихся задач в рабочем пространстве
+    @Param({"100"})
+    public int datasetSize;
+
+    private static final String[] RULES = {
+            "DAILY", "FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=DAILY;COUNT=500", "MONTHLY", "FREQ=WEEKLY;INTERVAL=2;COUNT=60"
+    };
+
+    private final List<RecurrenceRule> rules = new ArrayList<>();
+    private final List<LocalDateTime> starts = new ArrayList<>();
+    private LocalDate monthStart;
+    private LocalDate monthEnd;
+
+    @Setup
+    public void setUp() {
+        YearMonth month = YearMonth.now();
+        monthStart = month.atDay(1);
+        monthEnd = month.atEndOfMonth();
+        LocalDateTime yearAgo = monthStart.minusYears(1).atTime(9, 0);
+        for (int i = 0; i < datasetSize; i++) {
+            rules.add(RecurrenceRule.parse(RULES[i % RULES.length]));
+            starts.add(yearAgo.plusDays(i % 30).plusMinutes(15L * (i % 4)));
+        }
+    }
+
+    @Benchmark
+    public int expandMonth() {
+        int total = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            total += RecurrenceExpander.expand(rules.get(i), starts.get(i), monthStart, monthEnd).size();
+        }
+        return total;
+    }
+}
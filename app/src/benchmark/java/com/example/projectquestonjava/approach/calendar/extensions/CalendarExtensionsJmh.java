@@ -0,0 +1,53 @@
+package com.example.projectquestonjava.approach.calendar.extensions;
+
+import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskSummary;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.testing.TestFixtures;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CalendarExtensionsJmh {
+
+    @Param({"1000"})
+    public int datasetSize;
+
+    private DateTimeUtils dateTimeUtils;
+    private PriorityResolver resolver;
+    private List<CalendarTaskWithTagsAndPomodoro> tasks;
+
+    @Setup
+    public void setUp() {
+        dateTimeUtils = new DateTimeUtils();
+        resolver = TestFixtures.priorityResolver(dateTimeUtils);
+        List<Tag> tags = List.of(new Tag("work", "#FF0000"), new Tag("home", "#00FF00"));
+        tasks = new ArrayList<>(datasetSize);
+        for (Task task : TestFixtures.tasksAroundNow(datasetSize, dateTimeUtils)) {
+            CalendarParams params = new CalendarParams(task.getId(), null, false, null);
+            tasks.add(new CalendarTaskWithTagsAndPomodoro(task, params,
+                    task.getId() % 2 == 0 ? tags : Collections.emptyList(), (int) (task.getId() % 4)));
+        }
+    }
+
+    @Benchmark
+    public List<CalendarTaskSummary> toTaskSummaries() {
+        return CalendarExtensions.toTaskSummaries(tasks, resolver, dateTimeUtils);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.projectquestonjava.benchmark;
+
+import java.io.File;
+
+/**
+ * Параметры запуска бенчмарков. Задаются системными свойствами из Gradle:
+ * ./gradlew testDebugUnitTest -Pbenchmark -Pbenchmark.datasetSize=5000
+ */
+public final class BenchmarkConfig {
+
+    public static final String DATASET_SIZE_PROPERTY = "benchmark.datasetSize";
+    public static final String RESULTS_DIR_PROPERTY = "benchmark.resultsDir";
+
+    public static final int DEFAULT_DATASET_SIZE = 1000;
+    public static final int WARMUP_ITERATIONS = 3;
+    public static final int MEASUREMENT_ITERATIONS = 10;
+
+    private BenchmarkConfig() { }
+
+    public static int datasetSize() {
+        return Integer.getInteger(DATASET_SIZE_PROPERTY, DEFAULT_DATASET_SIZE);
+    }
+
+    public static File resultsDir() {
+        File dir = new File(System.getProperty(RESULTS_DIR_PROPERTY, "build/benchmark-results"));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("Cannot create benchmark results directory " + dir);
+        }
+        return dir;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.projectquestonjava.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Замеры бенчмарков, которым нужен Robolectric и Room (JMH их не запустит в своем форке).
+ * Каждая итерация - один прогон операции над подготовленным набором данных в режиме
+ * single shot; подготовка не входит в замер. Результаты пишутся в resultsDir/&lt;suite&gt;.json
+ * в том же виде, что и JSON JMH (benchmark, mode, params, primaryMetric), чтобы оба
+ * набора сравнивались одними инструментами.
+ */
+public final class BenchmarkRecorder {
+
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    private final String suite;
+    private final int datasetSize;
+    private final List<Result> results = new ArrayList<>();
+
+    public BenchmarkRecorder(String suite, int datasetSize) {
+        this.suite = suite;
+        this.datasetSize = datasetSize;
+    }
+
+    public Result measure(String name, Step operation) throws Exception {
+        return measure(name, () -> { }, operation);
+    }
+
+    /** setup выполняется перед каждой итерацией, включая прогревочные, и не замеряется. */
+    public Result measure(String name, Step setup, Step operation) throws Exception {
+        for (int i = 0; i < BenchmarkConfig.WARMUP_ITERATIONS; i++) {
+            setup.run();
+            operation.run();
+        }
+        long[] samples = new long[BenchmarkConfig.MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < samples.length; i++) {
+            setup.run();
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Result result = Result.of(suite + "." + name, datasetSize, samples);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    public File write() throws IOException {
+        File file = new File(BenchmarkConfig.resultsDir(), suite + ".json");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < results.size(); i++) {
+                writer.write(results.get(i).toJson());
+                writer.write(i < results.size() - 1 ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+        return file;
+    }
+
+    public record Result(String benchmark, int datasetSize, int iterations,
+                         double minMs, double medianMs, double p90Ms, double maxMs, double meanMs) {
+
+        static Result of(String benchmark, int datasetSize, long[] samplesNanos) {
+            long[] sorted = samplesNanos.clone();
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (long sample : sorted) sum += sample;
+            return new Result(benchmark, datasetSize, sorted.length,
+                    toMs(sorted[0]), toMs(percentile(sorted, 0.5)), toMs(percentile(sorted, 0.9)),
+                    toMs(sorted[sorted.length - 1]), sum / sorted.length / 1_000_000.0);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double toMs(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "  {\"benchmark\": \"%s\", \"mode\": \"ss\", \"measurementIterations\": %d, "
+                            + "\"params\": {\"datasetSize\": \"%d\"}, "
+                            + "\"primaryMetric\": {\"score\": %.4f, \"scoreUnit\": \"ms/op\", "
+                            + "\"scorePercentiles\": {\"0.0\": %.4f, \"50.0\": %.4f, \"90.0\": %.4f, \"100.0\": %.4f}}}",
+                    benchmark, iterations, datasetSize, meanMs, minMs, medianMs, p90Ms, maxMs);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s [n=%d]: median %.3f ms, p90 %.3f ms, min %.3f ms",
+                    benchmark, datasetSize, medianMs, p90Ms, minMs);
+        }
+    }
+}
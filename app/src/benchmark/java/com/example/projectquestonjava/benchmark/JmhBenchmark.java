@@ -0,0 +1,44 @@
+package com.example.projectquestonjava.benchmark;
+
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.util.Collection;
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Запускает все JMH-бенчмарки (классы *Jmh) из JVM unit-тестов Gradle.
+ * forks(0): отдельный форк не получит classpath Android unit-тестов (android.jar, R,
+ * зависимости модуля), поэтому меряем в JVM тестового прогона. Результат - resultsDir/jmh.json.
+ */
+public class JmhBenchmark {
+
+    @Test
+    public void runJmhBenchmarks() throws Exception {
+        File result = new File(BenchmarkConfig.resultsDir(), "jmh.json");
+        Options options = new OptionsBuilder()
+                .include("com\\.example\\.projectquestonjava\\..*Jmh\\.")
+                // Параметр есть не у всех бенчмарков; там, где его нет, JMH его пропускает
+                .param("datasetSize", String.valueOf(BenchmarkConfig.datasetSize()))
+                .forks(0)
+                // gc.alloc.rate.norm в результатах - байты на операцию
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getAbsolutePath())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse("No JMH benchmarks found", results.isEmpty());
+    }
+}
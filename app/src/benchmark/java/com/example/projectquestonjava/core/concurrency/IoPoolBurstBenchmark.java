@@ -0,0 +1,79 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import android.app.Application;
+import android.os.Looper;
+import android.os.Process;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Всплеск отправок в IO-пул с главного потока (как из ViewModel при открытии экрана):
+ * прежняя конфигурация (SynchronousQueue, 4-32 потока, выполнение в вызывающем потоке)
+ * против текущей (ExecutorRegistry.io(): SynchronousQueue без предела потоков). Замеряется время, которое
+ * главный поток проводит в execute(); число задач, выполненных на главном потоке, выводится отдельно.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class IoPoolBurstBenchmark {
+
+    private static final int BURST_SIZE = 256;
+    private static final long TASK_MILLIS = 2L;
+
+    @Test
+    public void mainThreadBurst() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new NoOpLogger());
+        InstrumentedThreadPoolExecutor legacy = new InstrumentedThreadPoolExecutor("io-legacy", 4, 32,
+                30L, new SynchronousQueue<>(), Process.THREAD_PRIORITY_BACKGROUND);
+        legacy.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            BenchmarkRecorder recorder = new BenchmarkRecorder("IoPoolBurstBenchmark", BURST_SIZE);
+            burst(recorder, "legacySynchronousCallerRuns", legacy);
+            burst(recorder, "unboundedSynchronous", registry.io());
+            recorder.write();
+        } finally {
+            legacy.shutdownNow();
+            registry.shutdown();
+        }
+    }
+
+    private static void burst(BenchmarkRecorder recorder, String name, ThreadPoolExecutor executor) throws Exception {
+        AtomicReference<CountDownLatch> inFlight = new AtomicReference<>(new CountDownLatch(0));
+        AtomicInteger mainThreadRuns = new AtomicInteger();
+        recorder.measure(name,
+                // Предыдущий всплеск должен полностью отработать до следующего замера
+                () -> {
+                    inFlight.get().await(30, TimeUnit.SECONDS);
+                    inFlight.set(new CountDownLatch(BURST_SIZE));
+                },
+                () -> {
+                    CountDownLatch done = inFlight.get();
+                    for (int i = 0; i < BURST_SIZE; i++) {
+                        executor.execute(() -> {
+                            if (Looper.getMainLooper().isCurrentThread()) mainThreadRuns.incrementAndGet();
+                            sleepQuietly();
+                            done.countDown();
+                        });
+                    }
+                });
+        inFlight.get().await(30, TimeUnit.SECONDS);
+        System.out.println(name + ": tasks run on main thread = " + mainThreadRuns.get());
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(TASK_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
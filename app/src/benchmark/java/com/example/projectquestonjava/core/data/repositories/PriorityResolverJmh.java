@@ -0,0 +1,50 @@
+package com.example.projectquestonjava.core.data.repositories;
+
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.testing.TestFixtures;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Пакетный расчет против вызова resolve на каждую задачу (как до resolveAll). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriorityResolverJmh {
+
+    @Param({"1000"})
+    public int datasetSize;
+
+    private DateTimeUtils dateTimeUtils;
+    private PriorityResolverImpl resolver;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        dateTimeUtils = new DateTimeUtils();
+        resolver = TestFixtures.priorityResolver(dateTimeUtils);
+        tasks = TestFixtures.tasksAroundNow(datasetSize, dateTimeUtils);
+    }
+
+    @Benchmark
+    public PriorityResolution resolveAll() {
+        return resolver.resolveAll(tasks);
+    }
+
+    @Benchmark
+    public void resolvePerTask(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(resolver.resolve(dateTimeUtils.utcToLocalLocalDateTime(task.getDueDate()), task.getStatus()));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.projectquestonjava.core.data.repositories;
+
+import static org.junit.Assert.assertFalse;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import com.example.projectquestonjava.benchmark.BenchmarkConfig;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.domain.repository.TaskSearchRepository;
+import com.example.projectquestonjava.core.managers.UserSessionManager;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.YearMonth;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Поиск по task_fts: короткий префикс с массой совпадений (частичная сортировка) и узкий запрос из двух слов. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class TaskSearchBenchmark {
+
+    @Rule(order = 0)
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Rule(order = 1)
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    @Inject AppDatabase database;
+    @Inject TaskSearchRepository taskSearchRepository;
+    @Inject UserSessionManager userSessionManager;
+
+    private final int datasetSize = BenchmarkConfig.datasetSize();
+
+    @Before
+    public void setUp() throws Exception {
+        hiltRule.inject();
+        DatasetSeeder seeder = new DatasetSeeder(database);
+        DatasetSeeder.Dataset dataset = seeder.seedProfile();
+        seeder.seedTasks(dataset, datasetSize, YearMonth.now().atDay(1));
+        userSessionManager.saveUserIdAsync(dataset.userId()).get();
+    }
+
+    @Test
+    public void search() throws Exception {
+        BenchmarkRecorder recorder = new BenchmarkRecorder("TaskSearchBenchmark", datasetSize);
+        recorder.measure("broadPrefix",
+                () -> assertFalse(taskSearchRepository.searchTasks("ta", 50).get().isEmpty()));
+        recorder.measure("twoWordPrefix",
+                () -> assertFalse(taskSearchRepository.searchTasks("desc 1", 50).get().isEmpty()));
+        recorder.write();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.projectquestonjava.core.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.example.projectquestonjava.BuildConfig;
+import com.example.projectquestonjava.core.di.LoggerModule;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Стоимость debug-вызова {@link Slf4jLogger} для разных форм записи: конкатенация, "{}"-параметры,
+ * Supplier и явная проверка уровня. Смотреть gc.alloc.rate.norm.
+ * debugLogs=false - release (DEBUG_LOGS = false), вызов отсекается флагом. debugLogs=true - debug-сборка
+ * с уровнем тега выше DEBUG: вызов проходит кеш логгеров по тегу и проверку уровня slf4j без вывода.
+ * Логгер для значения флага текущего варианта берется из {@link LoggerModule}, как в приложении.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggerCallSiteJmh {
+
+    private static final String TAG = "LoggerCallSiteJmh";
+
+    @Param({"false", "true"})
+    public boolean debugLogs;
+
+    private Logger logger;
+    // Значения вне кеша Long/Integer.valueOf: упаковка для "{}"-варианта видна в замере
+    private long taskId = 100_042L;
+    private int count = 1_017;
+
+    @Setup
+    public void setUp() {
+        // Без аппендеров и с уровнем INFO: в JVM-тестах нет Logcat, а мерить нужно путь до вывода
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+
+        logger = debugLogs == BuildConfig.DEBUG_LOGS
+                ? new LoggerModule().provideLogger()
+                : new Slf4jLogger(debugLogs);
+    }
+
+    @Benchmark
+    public void concatenation() {
+        logger.debug(TAG, "Task " + taskId + " processed, count=" + count);
+    }
+
+    @Benchmark
+    public void parameterized() {
+        logger.debug(TAG, "Task {} processed, count={}", taskId, count);
+    }
+
+    @Benchmark
+    public void supplier() {
+        logger.debug(TAG, () -> "Task " + taskId + " processed, count=" + count);
+    }
+
+    @Benchmark
+    public void guarded() {
+        if (logger.isDebugEnabled(TAG)) {
+            logger.debug(TAG, "Task " + taskId + " processed, count=" + count);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.projectquestonjava.feature.gamification.domain.usecases;
+
+import com.example.projectquestonjava.benchmark.BenchmarkConfig;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.feature.gamification.domain.model.GamificationEvent;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Обработка событий UpdateChallengeProgressUseCase при datasetSize активных правилах. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class ChallengeProgressBenchmark {
+
+    private static final int EVENTS_PER_BATCH = 20;
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject UpdateChallengeProgressUseCase updateChallengeProgressUseCase;
+
+    private final int datasetSize = BenchmarkConfig.datasetSize();
+    private DatasetSeeder.Dataset dataset;
+
+    @Before
+    public void setUp() throws Exception {
+        hiltRule.inject();
+        DatasetSeeder seeder = new DatasetSeeder(database);
+        dataset = seeder.seedProfile();
+        seeder.seedTaskCompletionChallenges(dataset, datasetSize);
+    }
+
+    @Test
+    public void processEvents() throws Exception {
+        BenchmarkRecorder recorder = new BenchmarkRecorder("ChallengeProgressBenchmark", datasetSize);
+        GamificationEvent single = new GamificationEvent.TaskCompleted(1L, Collections.emptyList());
+        List<GamificationEvent> batch = new ArrayList<>(EVENTS_PER_BATCH);
+        for (int i = 0; i < EVENTS_PER_BATCH; i++) batch.add(new GamificationEvent.TaskCompleted(i + 1, Collections.emptyList()));
+
+        recorder.measure("executeSync",
+                () -> updateChallengeProgressUseCase.executeSync(dataset.gamificationId(), single));
+        recorder.measure("executeBatchSync_" + EVENTS_PER_BATCH,
+                () -> updateChallengeProgressUseCase.executeBatchSync(dataset.gamificationId(), batch));
+        recorder.write();
+    }
+}
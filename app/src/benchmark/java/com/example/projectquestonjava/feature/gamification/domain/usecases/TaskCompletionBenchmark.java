@@ -0,0 +1,78 @@
+package com.example.projectquestonjava.feature.gamification.domain.usecases;
+
+import com.example.projectquestonjava.benchmark.BenchmarkConfig;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.managers.UserSessionManager;
+import com.example.projectquestonjava.feature.gamification.data.managers.GamificationDataStoreManager;
+import com.example.projectquestonjava.feature.gamification.domain.model.TaskCompletionRequest;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Завершение задач через ProcessTaskCompletionUseCase: по одной задаче и пакетом.
+ * В БД уже лежит datasetSize задач и испытания на завершение задач; каждая итерация
+ * завершает свежие задачи, чтобы всегда шла ветка первого завершения с наградами.
+ */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class TaskCompletionBenchmark {
+
+    private static final int TASKS_PER_ITERATION = 50;
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject ProcessTaskCompletionUseCase processTaskCompletionUseCase;
+    @Inject UserSessionManager userSessionManager;
+    @Inject GamificationDataStoreManager gamificationDataStoreManager;
+
+    private final int datasetSize = BenchmarkConfig.datasetSize();
+    private DatasetSeeder seeder;
+    private DatasetSeeder.Dataset dataset;
+    private List<Long> pendingTaskIds = Collections.emptyList();
+
+    @Before
+    public void setUp() throws Exception {
+        hiltRule.inject();
+        seeder = new DatasetSeeder(database);
+        dataset = seeder.seedProfile();
+        seeder.seedTasks(dataset, datasetSize, LocalDate.now().withDayOfMonth(1));
+        seeder.seedTaskCompletionChallenges(dataset, Math.max(1, datasetSize / 50));
+        userSessionManager.saveUserIdAsync(dataset.userId()).get();
+        gamificationDataStoreManager.saveGamificationId(dataset.gamificationId()).get();
+    }
+
+    @Test
+    public void completeTasks() throws Exception {
+        BenchmarkRecorder recorder = new BenchmarkRecorder("TaskCompletionBenchmark", datasetSize);
+
+        recorder.measure("executeOneByOne_" + TASKS_PER_ITERATION, this::seedPending, () -> {
+            for (long taskId : pendingTaskIds) {
+                processTaskCompletionUseCase.execute(taskId, Collections.emptyList()).get();
+            }
+        });
+        recorder.measure("executeBatch_" + TASKS_PER_ITERATION, this::seedPending, () -> {
+            List<TaskCompletionRequest> requests = new ArrayList<>(pendingTaskIds.size());
+            for (long taskId : pendingTaskIds) requests.add(new TaskCompletionRequest(taskId, Collections.emptyList()));
+            processTaskCompletionUseCase.execute(requests).get();
+        });
+        recorder.write();
+    }
+
+    private void seedPending() {
+        pendingTaskIds = seeder.seedTasks(dataset, TASKS_PER_ITERATION, LocalDate.now().withDayOfMonth(1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.projectquestonjava.feature.gamification.presentation.viewmodels;
+
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
+import com.example.projectquestonjava.feature.gamification.data.model.GamificationChallengeProgress;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeAndReward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeProgressFullDetails;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChallengeListOrderingJmh {
+
+    @Param({"1000"})
+    public int datasetSize;
+
+    @Param({"DEADLINE_ASC", "PROGRESS_DESC", "REWARD_VALUE_DESC", "NAME_ASC"})
+    public ChallengeSortOption sortOption;
+
+    private static final Set<ChallengeFilterOption> NO_FILTER = EnumSet.of(ChallengeFilterOption.ALL);
+    private static final Set<ChallengeFilterOption> ACTIVE_HIGH_REWARD =
+            EnumSet.of(ChallengeFilterOption.ACTIVE, ChallengeFilterOption.HIGH_REWARD);
+
+    private final LocalDate today = LocalDate.now();
+    private List<ChallengeProgressFullDetails> challenges;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        ChallengeStatus[] statuses = ChallengeStatus.values();
+        RewardType[] rewardTypes = RewardType.values();
+        ChallengePeriod[] periods = ChallengePeriod.values();
+        LocalDateTime now = today.atStartOfDay();
+        challenges = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            Challenge challenge = new Challenge(i + 1, "Challenge " + random.nextInt(datasetSize), "",
+                    now.minusDays(7), now.plusHours(random.nextInt(24 * 30)), i + 1,
+                    statuses[random.nextInt(statuses.length)], periods[random.nextInt(periods.length)]);
+            Reward reward = new Reward(i + 1, "Reward", "", rewardTypes[random.nextInt(rewardTypes.length)],
+                    String.valueOf(random.nextInt(200)));
+            ChallengeRule rule = new ChallengeRule(i + 1, i + 1, ChallengeType.TASK_COMPLETION, 1 + random.nextInt(50),
+                    null, challenge.getPeriod());
+            GamificationChallengeProgress progress = new GamificationChallengeProgress(1L, i + 1, i + 1,
+                    random.nextInt(rule.getTarget() + 1), false, now);
+            challenges.add(new ChallengeProgressFullDetails(progress, rule, new ChallengeAndReward(challenge, reward)));
+        }
+    }
+
+    @Benchmark
+    public List<ChallengeProgressFullDetails> sortAll() {
+        return ChallengeListOrdering.sort(ChallengeListOrdering.filter(challenges, null, NO_FILTER, today), sortOption);
+    }
+
+    @Benchmark
+    public List<ChallengeProgressFullDetails> filterAndSort() {
+        return ChallengeListOrdering.sort(
+                ChallengeListOrdering.filter(challenges, null, ACTIVE_HIGH_REWARD, today), sortOption);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.projectquestonjava.feature.pomodoro.domain.logic;
+
+import com.example.projectquestonjava.feature.pomodoro.domain.model.PomodoroPhase;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PomodoroCycleGeneratorJmh {
+
+    // Одна сессия, рабочий день и сутки
+    @Param({"25", "480", "1440"})
+    public int estimatedTotalMinutes;
+
+    private final PomodoroCycleGenerator generator = new PomodoroCycleGenerator();
+
+    @Benchmark
+    public List<PomodoroPhase> generatePhases() {
+        return generator.generatePhases(estimatedTotalMinutes);
+    }
+}
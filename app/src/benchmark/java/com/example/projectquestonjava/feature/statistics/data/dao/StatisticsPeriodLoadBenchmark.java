@@ -0,0 +1,110 @@
+package com.example.projectquestonjava.feature.statistics.data.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Application;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.benchmark.BenchmarkRecorder;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
+import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Данные экрана статистики за год при 50k сессий Pomodoro: прежний путь (все сессии периода
+ * в память и группировка по локальному дню в Java) против чтения готовых дневных срезов
+ * daily_user_stats. Размер набора фиксирован, benchmark.datasetSize здесь не используется.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class StatisticsPeriodLoadBenchmark {
+
+    private static final int SESSION_COUNT = 50_000;
+    private static final int PERIOD_DAYS = 365;
+
+    private AppDatabase db;
+    private DatasetSeeder.Dataset dataset;
+    private LocalDate startDay;
+    private LocalDate endDay;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        DatasetSeeder seeder = new DatasetSeeder(db);
+        dataset = seeder.seedProfile();
+        endDay = LocalDate.now();
+        startDay = endDay.minusDays(PERIOD_DAYS - 1);
+        long taskId = seeder.seedTasks(dataset, 1, endDay.withDayOfMonth(1)).get(0);
+
+        Random random = new Random(42L);
+        db.runInTransaction(() -> {
+            for (int i = 0; i < SESSION_COUNT; i++) {
+                LocalDateTime local = startDay.plusDays(random.nextInt(PERIOD_DAYS))
+                        .atTime(random.nextInt(24), random.nextInt(60));
+                db.pomodoroSessionDao().insertSync(new PomodoroSession(0, dataset.userId(), taskId, toUtc(local),
+                        SessionType.FOCUS, 1500, 600 + random.nextInt(900), 0, true));
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void yearOfFocusMinutes() throws Exception {
+        assertEquals(sum(legacyFocusMinutesByDay()), sum(dailyStatsFocusMinutesByDay()));
+
+        BenchmarkRecorder recorder = new BenchmarkRecorder("StatisticsPeriodLoadBenchmark", SESSION_COUNT);
+        recorder.measure("legacyGroupInMemory", this::legacyFocusMinutesByDay);
+        recorder.measure("dailyUserStats", this::dailyStatsFocusMinutesByDay);
+        recorder.write();
+    }
+
+    // Путь до user-006/007: все строки периода и группировка в Java
+    private Map<LocalDate, Integer> legacyFocusMinutesByDay() throws Exception {
+        List<PomodoroSession> sessions = db.pomodoroSessionDao().getSessionsInPeriod(dataset.userId(),
+                toUtc(startDay.atStartOfDay()), toUtc(endDay.plusDays(1).atStartOfDay()).minusSeconds(1)).get();
+        Map<LocalDate, Integer> minutes = new HashMap<>();
+        for (PomodoroSession session : sessions) {
+            if (session.getSessionType() != SessionType.FOCUS) continue;
+            LocalDate day = session.getStartTime().atOffset(ZoneOffset.UTC)
+                    .atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+            minutes.merge(day, session.getActualDurationSeconds() / 60, Integer::sum);
+        }
+        return minutes;
+    }
+
+    private Map<LocalDate, Integer> dailyStatsFocusMinutesByDay() throws Exception {
+        Map<LocalDate, Integer> minutes = new HashMap<>();
+        for (DailyUserStats day : db.dailyUserStatsDao().getDailyStatsInRange(dataset.userId(), startDay, endDay).get()) {
+            minutes.put(day.getDay(), day.getFocusMinutes());
+        }
+        return minutes;
+    }
+
+    private static int sum(Map<LocalDate, Integer> byDay) {
+        return byDay.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static LocalDateTime toUtc(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.projectquestonjava.app;
 
 import android.app.Application;
+import android.content.ComponentCallbacks2;
 import androidx.annotation.NonNull;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
 import com.example.projectquestonjava.core.data.initializers.TestDataInitializer;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.managers.ReferenceDataCatalog;
+import com.example.projectquestonjava.feature.statistics.data.managers.HistoryRetentionManager;
+import com.example.projectquestonjava.feature.statistics.data.managers.StatisticsWriteBuffer;
+import com.example.projectquestonjava.feature.statistics.data.managers.TimeZoneChangeMonitor;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -23,6 +29,21 @@ public class MyApplication extends Application {
     @IODispatcher
     Executor ioExecutor;
 
+    @Inject
+    ExecutorRegistry executorRegistry;
+
+    @Inject
+    HistoryRetentionManager historyRetentionManager;
+
+    @Inject
+    ReferenceDataCatalog referenceDataCatalog;
+
+    @Inject
+    StatisticsWriteBuffer statisticsWriteBuffer;
+
+    @Inject
+    TimeZoneChangeMonitor timeZoneChangeMonitor;
+
     @Inject
     Logger logger;
     @Override
@@ -44,5 +65,32 @@ public class MyApplication extends Application {
                 logger.error("MyApplication", "onCreate: Error initializing test data (from Application)", t);
             }
         }, MoreExecutors.directExecutor());
+
+        // Периодическое компактирование старой истории статистики
+        historyRetentionManager.schedule(HistoryRetentionManager.DEFAULT_RETENTION_DAYS);
+
+        // Справочники наград и значков читаются в память заранее
+        referenceDataCatalog.preload();
+
+        // Дневные срезы статистики привязаны к часовому поясу и пересчитываются при его смене
+        timeZoneChangeMonitor.start();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // После ухода UI в фон процесс может быть убит без колбэков: это последняя надежная точка
+        // для сброса отложенной статистики и вывода метрик пулов
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            statisticsWriteBuffer.flush();
+            executorRegistry.logStats();
+        }
+    }
+
+    @Override
+    public void onTerminate() {
+        // Вызывается только в эмуляторе, но позволяет корректно закрыть пулы и вывести их статистику
+        executorRegistry.shutdown();
+        super.onTerminate();
     }
-}
\ No newline at end of file
+}
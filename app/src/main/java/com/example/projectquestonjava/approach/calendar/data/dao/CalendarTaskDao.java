@@ -5,15 +5,73 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.model.DailyTaskCount;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
 
 @Dao
 public interface CalendarTaskDao {
 
+    /**
+     * Задачи календаря за диапазон одним наблюдаемым запросом: параметры календаря и теги
+     * подтягиваются через @Relation в той же транзакции, счетчик помидоров - через JOIN.
+     * Задачи без calendar_params отсекаются INNER JOIN'ом (раньше они отбрасывались при склейке в памяти).
+     */
+    @Transaction
+    @Query("SELECT t.*, COALESCE(ts.completed_pomodoro_focus_sessions, 0) AS pomodoroCount " +
+            "FROM task t " +
+            "INNER JOIN calendar_params cp ON cp.task_id = t.id " +
+            "LEFT JOIN task_statistics ts ON ts.task_id = t.id " +
+            "WHERE t.workspace_id = :workspaceId AND t.user_id = :userId AND t.due_date BETWEEN :startTime AND :endTime")
+    LiveData<List<CalendarTaskWithTagsAndPomodoro>> getCalendarTasksInDateRange(long workspaceId, int userId, long startTime, long endTime);
+
+    /**
+     * Повторяющиеся задачи, серия которых началась не позже конца окна. Их вхождения
+     * разворачиваются в памяти (RecurrenceOccurrenceCache), строки под вхождения не создаются.
+     */
+    String RECURRING_TASKS_QUERY =
+            "SELECT t.*, COALESCE(ts.completed_pomodoro_focus_sessions, 0) AS pomodoroCount " +
+            "FROM task t " +
+            "INNER JOIN calendar_params cp ON cp.task_id = t.id " +
+            "LEFT JOIN task_statistics ts ON ts.task_id = t.id " +
+            "WHERE t.workspace_id = :workspaceId AND t.user_id = :userId " +
+            "AND cp.recurrence_rule IS NOT NULL AND t.due_date <= :endTime";
+
+    @Transaction
+    @Query(RECURRING_TASKS_QUERY)
+    LiveData<List<CalendarTaskWithTagsAndPomodoro>> getRecurringCalendarTasks(long workspaceId, int userId, long endTime);
+
+    // Разовое чтение для подмешивания вхождений в счетчики тепловой карты
+    @Transaction
+    @Query(RECURRING_TASKS_QUERY)
+    ListenableFuture<List<CalendarTaskWithTagsAndPomodoro>> getRecurringCalendarTasksFuture(long workspaceId, int userId, long endTime);
+
+    /**
+     * Тепловая карта: число задач календаря по локальным дням и статусам за диапазон.
+     * Возвращает по строке на (день, статус), без загрузки самих задач, тегов и статистики.
+     * Локальный день считает SQLite ('localtime') для каждой задачи отдельно, так что диапазон,
+     * пересекающий переход на летнее время, группируется верно (как в daily_user_stats).
+     */
+    String DAILY_TASK_COUNTS_QUERY =
+            "SELECT CAST(julianday(t.due_date, 'unixepoch', 'localtime') - 2440587.5 AS INTEGER) AS day, " +
+            "t.status AS status, COUNT(*) AS count " +
+            "FROM task t " +
+            "INNER JOIN calendar_params cp ON cp.task_id = t.id " +
+            "WHERE t.workspace_id = :workspaceId AND t.user_id = :userId AND t.due_date BETWEEN :startTime AND :endTime " +
+            "GROUP BY day, t.status";
+
+    @Query(DAILY_TASK_COUNTS_QUERY)
+    LiveData<List<DailyTaskCount>> getDailyTaskCounts(long workspaceId, int userId, long startTime, long endTime);
+
+    // Разовое чтение того же агрегата (предзагрузка соседних месяцев)
+    @Query(DAILY_TASK_COUNTS_QUERY)
+    ListenableFuture<List<DailyTaskCount>> getDailyTaskCountsFuture(long workspaceId, int userId, long startTime, long endTime);
+
     @Query("SELECT * FROM calendar_params WHERE task_id IN (:taskIds)")
     LiveData<List<CalendarParams>> getParamsForTasks(List<Long> taskIds);
 
@@ -0,0 +1,92 @@
+package com.example.projectquestonjava.approach.calendar.data.managers;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarMonthData;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.utils.Logger;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Ограниченный LRU-кеш данных сетки месяца по (рабочее пространство, месяц).
+ * Позволяет при листании пейджера показать уже загруженный месяц из памяти, пока
+ * Room перечитывает его в фоне. Любая запись в task / calendar_params сбрасывает
+ * все месяцы (InvalidationTracker сообщает только таблицы, а не затронутые даты);
+ * наблюдаемый месяц тут же перезаписывается свежим значением из своего запроса.
+ */
+@Singleton
+public class CalendarMonthDataCache {
+
+    private static final String TAG = "CalendarMonthDataCache";
+    // Текущий месяц, два соседних и запас на листание назад-вперед
+    static final int MAX_MONTHS = 8;
+
+    private final Logger logger;
+
+    private final Map<MonthKey, CalendarMonthData> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MonthKey, CalendarMonthData> eldest) {
+            return size() > MAX_MONTHS;
+        }
+    };
+    private final Set<MonthKey> loading = new HashSet<>();
+    private long version = 0L;
+
+    @Inject
+    public CalendarMonthDataCache(AppDatabase database, Logger logger) {
+        this.logger = logger;
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("task", "calendar_params") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidateAll();
+            }
+        });
+    }
+
+    @Nullable
+    public synchronized CalendarMonthData get(long workspaceId, YearMonth month) {
+        return entries.get(new MonthKey(workspaceId, month));
+    }
+
+    /** Значение из живого запроса месяца: оно уже отражает последние записи, кладем без проверки версии. */
+    public synchronized void put(long workspaceId, YearMonth month, CalendarMonthData data) {
+        entries.put(new MonthKey(workspaceId, month), data);
+    }
+
+    /**
+     * Начинает фоновую загрузку месяца. Возвращает версию кеша для {@link #finishLoad},
+     * или -1, если месяц уже в кеше либо уже загружается.
+     */
+    public synchronized long tryStartLoad(long workspaceId, YearMonth month) {
+        MonthKey key = new MonthKey(workspaceId, month);
+        if (entries.containsKey(key) || !loading.add(key)) return -1L;
+        return version;
+    }
+
+    /** Завершает загрузку; результат, прочитанный до инвалидации, отбрасывается. */
+    public synchronized void finishLoad(long workspaceId, YearMonth month, @Nullable CalendarMonthData data, long versionAtLoad) {
+        MonthKey key = new MonthKey(workspaceId, month);
+        loading.remove(key);
+        if (data != null && version == versionAtLoad) {
+            entries.put(key, data);
+            logger.debug(TAG, "Prefetched month {} for workspace {}", month, workspaceId);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        if (!entries.isEmpty()) {
+            logger.debug(TAG, "Invalidating {} cached month(s)", entries.size());
+            entries.clear();
+        }
+    }
+
+    private record MonthKey(long workspaceId, YearMonth month) { }
+}
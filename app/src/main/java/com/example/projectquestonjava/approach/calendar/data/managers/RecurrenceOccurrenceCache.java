@@ -0,0 +1,85 @@
+package com.example.projectquestonjava.approach.calendar.data.managers;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import com.example.projectquestonjava.approach.calendar.domain.logic.RecurrenceExpander;
+import com.example.projectquestonjava.approach.calendar.domain.model.RecurrenceRule;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.utils.Logger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Ограниченный LRU-кеш развернутых вхождений по (задача, правило, начало серии, окно дат).
+ * Правило и начало серии входят в ключ, поэтому правка задачи сама дает промах; запись в
+ * calendar_params дополнительно сбрасывает весь кеш (InvalidationTracker не сообщает, какая
+ * задача изменилась). Смена статуса и прочие записи в task кеш не трогают.
+ */
+@Singleton
+public class RecurrenceOccurrenceCache {
+
+    private static final String TAG = "RecurrenceOccurrenceCache";
+    // Повторяющиеся задачи рабочего пространства на несколько открытых окон (день, неделя, месяц)
+    static final int MAX_ENTRIES = 256;
+
+    private final Logger logger;
+
+    private final Map<Key, List<LocalDateTime>> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, List<LocalDateTime>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    @Inject
+    public RecurrenceOccurrenceCache(AppDatabase database, Logger logger) {
+        this.logger = logger;
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("calendar_params") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Локальные даты-время вхождений серии в окне [from; to]. Неразбираемое правило дает
+     * пустой список: такая задача видна только в день своего срока, как и раньше.
+     */
+    public List<LocalDateTime> occurrences(long taskId, String recurrenceRule, LocalDateTime localStart,
+                                           LocalDate from, LocalDate to) {
+        Key key = new Key(taskId, recurrenceRule, localStart, from, to);
+        synchronized (this) {
+            List<LocalDateTime> cached = entries.get(key);
+            if (cached != null) return cached;
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(recurrenceRule);
+        List<LocalDateTime> expanded;
+        if (rule == null) {
+            logger.warn(TAG, "Unsupported recurrence rule '" + recurrenceRule + "' for task " + taskId);
+            expanded = Collections.emptyList();
+        } else {
+            expanded = Collections.unmodifiableList(RecurrenceExpander.expand(rule, localStart, from, to));
+        }
+        synchronized (this) {
+            entries.put(key, expanded);
+        }
+        return expanded;
+    }
+
+    public synchronized void invalidateAll() {
+        if (!entries.isEmpty()) {
+            logger.debug(TAG, "Invalidating {} cached expansion(s)", entries.size());
+            entries.clear();
+        }
+    }
+
+    private record Key(long taskId, String rule, LocalDateTime localStart, LocalDate from, LocalDate to) { }
+}
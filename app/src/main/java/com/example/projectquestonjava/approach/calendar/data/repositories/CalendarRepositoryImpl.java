@@ -4,14 +4,21 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
 import com.example.projectquestonjava.core.data.dao.TaskDao;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
 import com.example.projectquestonjava.core.data.model.relations.TaskWithTags;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.managers.UserSessionManager;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.approach.calendar.data.dao.CalendarTaskDao;
+import com.example.projectquestonjava.approach.calendar.data.managers.RecurrenceOccurrenceCache;
+import com.example.projectquestonjava.core.data.managers.SubtaskProgressCache;
 import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
 import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.model.DailyTaskCount;
 import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarParamsRepository;
 import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
 import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
@@ -21,13 +28,17 @@ import com.google.common.util.concurrent.ListenableFuture;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -36,99 +47,278 @@ public class CalendarRepositoryImpl implements CalendarRepository {
 
     private static final String TAG = "CalendarRepositoryImpl";
     private final TaskDao taskDao;
+    private final CalendarTaskDao calendarTaskDao;
     private final CalendarParamsRepository calendarParamsRepository;
     private final TaskStatisticsRepository taskStatisticsRepository;
     private final UserSessionManager userSessionManager;
+    private final RecurrenceOccurrenceCache occurrenceCache;
+    private final SubtaskProgressCache subtaskProgressCache;
     private final DateTimeUtils dateTimeUtils;
     private final Executor ioExecutor;
+    private final Executor recurrenceExecutor;
     private final Logger logger;
 
     @Inject
     public CalendarRepositoryImpl(
             TaskDao taskDao,
+            CalendarTaskDao calendarTaskDao,
             CalendarParamsRepository calendarParamsRepository,
             TaskStatisticsRepository taskStatisticsRepository,
             UserSessionManager userSessionManager,
+            RecurrenceOccurrenceCache occurrenceCache,
+            SubtaskProgressCache subtaskProgressCache,
             DateTimeUtils dateTimeUtils,
             @IODispatcher Executor ioExecutor,
+            ExecutorRegistry executorRegistry,
             Logger logger) {
         this.taskDao = taskDao;
+        this.calendarTaskDao = calendarTaskDao;
         this.calendarParamsRepository = calendarParamsRepository;
         this.taskStatisticsRepository = taskStatisticsRepository;
         this.userSessionManager = userSessionManager;
+        this.occurrenceCache = occurrenceCache;
+        this.subtaskProgressCache = subtaskProgressCache;
         this.dateTimeUtils = dateTimeUtils;
         this.ioExecutor = ioExecutor;
+        this.recurrenceExecutor = executorRegistry.newSerialExecutor("calendar-recurrence");
         this.logger = logger;
     }
 
     @Override
     public LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForDay(long workspaceId, LocalDateTime day) {
         DateTimeUtils.Pair<Long, Long> boundaries = dateTimeUtils.calculateUtcDayBoundariesEpochSeconds(day);
-        logger.debug(TAG, "getTasksForDay: Requested for workspaceId=" + workspaceId +
+        logger.debug(TAG, () -> "getTasksForDay: Requested for workspaceId=" + workspaceId +
                 ", localDay=" + day.toLocalDate() +
                 ", UTC boundaries (epoch seconds): start=" + boundaries.first() + ", end=" + boundaries.second());
+        return observeTasksInRange(workspaceId, boundaries, "day=" + day.toLocalDate());
+    }
+
+
+    @Override
+    public LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForMonth(long workspaceId, LocalDate startTimestamp) {
+        DateTimeUtils.Pair<Long, Long> boundaries = dateTimeUtils.calculateUtcMonthBoundariesEpochSeconds(startTimestamp);
+        logger.debug(TAG, () -> "getTasksForMonth: Requested for workspaceId=" + workspaceId +
+                ", localMonthStart=" + startTimestamp +
+                ", UTC boundaries (epoch seconds): start=" + boundaries.first() + ", end=" + boundaries.second());
+        return observeTasksInRange(workspaceId, boundaries, "month=" + startTimestamp);
+    }
+
+    @Override
+    public LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForLocalDateRange(long workspaceId, LocalDate startDate, LocalDate endDate) {
+        // Границы считаются от локальной полуночи, чтобы результат можно было нарезать по локальным дням
+        long start = dateTimeUtils.localToUtcLocalDateTime(startDate.atStartOfDay()).toEpochSecond(ZoneOffset.UTC);
+        long end = dateTimeUtils.localToUtcLocalDateTime(endDate.atTime(LocalTime.MAX)).toEpochSecond(ZoneOffset.UTC);
+        logger.debug(TAG, "getTasksForLocalDateRange: workspaceId={}, {}..{}, UTC epoch {}..{}", workspaceId, startDate, endDate, start, end);
+        return observeTasksInRange(workspaceId, new DateTimeUtils.Pair<>(start, end), "range=" + startDate + ".." + endDate);
+    }
 
+    @Override
+    public LiveData<List<DailyTaskCount>> getDailyTaskCounts(long workspaceId, YearMonth fromMonth, YearMonth toMonth) {
+        CountsRange range = countsRange(fromMonth, toMonth);
+        logger.debug(TAG, "getDailyTaskCounts: workspaceId={}, {}..{}, UTC epoch {}..{}", workspaceId, fromMonth, toMonth, range.start(), range.end());
         return Transformations.switchMap(userSessionManager.getUserIdLiveData(), userId -> {
             if (userId == null || userId == UserSessionManager.NO_USER_ID) {
-                logger.warn(TAG, "getTasksForDay: No user for getTasksForDay. workspaceId=" + workspaceId + ", day=" + day.toLocalDate());
-                MutableLiveData<List<CalendarTaskWithTagsAndPomodoro>> emptyLiveData = new MutableLiveData<>();
+                logger.warn(TAG, "getDailyTaskCounts: No user. workspaceId=" + workspaceId);
+                MutableLiveData<List<DailyTaskCount>> emptyLiveData = new MutableLiveData<>();
                 emptyLiveData.setValue(Collections.emptyList());
                 return emptyLiveData;
             }
-            logger.debug(TAG, "getTasksForDay: Using userId=" + userId + " for workspaceId=" + workspaceId + ", day=" + day.toLocalDate());
-
-            LiveData<List<TaskWithTags>> tasksWithTagsLiveData = taskDao.getTasksWithTagsForWorkspaceInDateRange(workspaceId, userId, boundaries.first(), boundaries.second());
-
-            return Transformations.switchMap(tasksWithTagsLiveData, tasksWithTags -> {
-                if (tasksWithTags == null) {
-                    logger.warn(TAG, "getTasksForDay: tasksWithTagsLiveData returned null list for userId=" + userId + ", wsId=" + workspaceId + ", day=" + day.toLocalDate());
-                } else {
-                    logger.info(TAG, "getTasksForDay: tasksWithTagsLiveData returned " + tasksWithTags.size() +
-                            " tasks (before combine) for userId=" + userId + ", wsId=" + workspaceId + ", day=" + day.toLocalDate());
-                    if (!tasksWithTags.isEmpty()) {
-                        for(TaskWithTags twt : tasksWithTags) {
-                            logger.debug(TAG, "getTasksForDay: Raw task from DAO: ID=" + twt.getTask().getId() + ", Title='" + twt.getTask().getTitle() + "', DueDate(UTC from DB)=" + twt.getTask().getDueDate());
-                        }
-                    }
-                }
-                // Важно: мы передаем ОРИГИНАЛЬНЫЙ tasksWithTagsLiveData в combineWithStatsAndParamsLiveData,
-                // а не tasksWithTags, который является результатом одного эмитта.
-                // Чтобы избежать проблем с повторной подпиской, лучше, чтобы combineWithStatsAndParamsLiveData
-                // напрямую принимал LiveData<List<TaskWithTags>>.
-                // Передаем tasksWithTagsLiveData (который уже является LiveData)
-                return combineWithStatsAndParamsLiveData(tasksWithTagsLiveData);
-            });
+            return mergeWithRecurring(
+                    calendarTaskDao.getDailyTaskCounts(workspaceId, userId, range.start(), range.end()),
+                    calendarTaskDao.getRecurringCalendarTasks(workspaceId, userId, range.end()),
+                    (rows, series) -> addOccurrenceCounts(rows, series, fromMonth.atDay(1), toMonth.atEndOfMonth()));
         });
     }
 
-
     @Override
-    public LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForMonth(long workspaceId, LocalDate startTimestamp) {
-        DateTimeUtils.Pair<Long, Long> boundaries = dateTimeUtils.calculateUtcMonthBoundariesEpochSeconds(startTimestamp);
-        logger.debug(TAG, "getTasksForMonth: Requested for workspaceId=" + workspaceId +
-                ", localMonthStart=" + startTimestamp +
-                ", UTC boundaries (epoch seconds): start=" + boundaries.first() + ", end=" + boundaries.second());
+    public ListenableFuture<List<DailyTaskCount>> loadDailyTaskCounts(long workspaceId, YearMonth fromMonth, YearMonth toMonth) {
+        CountsRange range = countsRange(fromMonth, toMonth);
+        return Futures.submitAsync(() -> {
+            int userId = userSessionManager.getUserIdSync();
+            if (userId == UserSessionManager.NO_USER_ID) {
+                logger.warn(TAG, "loadDailyTaskCounts: No user. workspaceId=" + workspaceId);
+                return Futures.immediateFuture(Collections.emptyList());
+            }
+            ListenableFuture<List<DailyTaskCount>> countsFuture =
+                    calendarTaskDao.getDailyTaskCountsFuture(workspaceId, userId, range.start(), range.end());
+            ListenableFuture<List<CalendarTaskWithTagsAndPomodoro>> seriesFuture =
+                    calendarTaskDao.getRecurringCalendarTasksFuture(workspaceId, userId, range.end());
+            return Futures.whenAllSucceed(countsFuture, seriesFuture).call(() -> addOccurrenceCounts(
+                    Futures.getDone(countsFuture), Futures.getDone(seriesFuture), fromMonth.atDay(1), toMonth.atEndOfMonth()), ioExecutor);
+        }, ioExecutor);
+    }
+
+    // Границы от локальной полуночи первого месяца до конца последнего
+    private CountsRange countsRange(YearMonth fromMonth, YearMonth toMonth) {
+        long start = dateTimeUtils.localToUtcLocalDateTime(fromMonth.atDay(1).atStartOfDay()).toEpochSecond(ZoneOffset.UTC);
+        long end = dateTimeUtils.localToUtcLocalDateTime(toMonth.atEndOfMonth().atTime(LocalTime.MAX)).toEpochSecond(ZoneOffset.UTC);
+        return new CountsRange(start, end);
+    }
+
+    private record CountsRange(long start, long end) { }
 
+    // Один наблюдаемый запрос на диапазон: задача + calendar_params + теги + счетчик помидоров.
+    // Room сам отслеживает все задействованные таблицы, склейка в памяти на главном потоке не нужна.
+    // Вхождения повторяющихся задач подмешиваются вторым запросом (см. mergeWithRecurring),
+    // свертка подзадач - пакетно из кеша (см. withSubtaskProgress).
+    private LiveData<List<CalendarTaskWithTagsAndPomodoro>> observeTasksInRange(
+            long workspaceId, DateTimeUtils.Pair<Long, Long> boundaries, String rangeLabel) {
         return Transformations.switchMap(userSessionManager.getUserIdLiveData(), userId -> {
             if (userId == null || userId == UserSessionManager.NO_USER_ID) {
-                logger.warn(TAG, "getTasksForMonth: No user. workspaceId=" + workspaceId + ", month=" + startTimestamp);
+                logger.warn(TAG, "observeTasksInRange: No user. workspaceId=" + workspaceId + ", " + rangeLabel);
                 MutableLiveData<List<CalendarTaskWithTagsAndPomodoro>> emptyLiveData = new MutableLiveData<>();
                 emptyLiveData.setValue(Collections.emptyList());
                 return emptyLiveData;
             }
-            logger.debug(TAG, "getTasksForMonth: Using userId=" + userId + " for workspaceId=" + workspaceId + ", month=" + startTimestamp);
-            LiveData<List<TaskWithTags>> tasksWithTagsLiveData = taskDao.getTasksWithTagsForWorkspaceInDateRange(workspaceId, userId, boundaries.first(), boundaries.second());
+            logger.debug(TAG, () -> "observeTasksInRange: Using userId=" + userId + " for workspaceId=" + workspaceId + ", " + rangeLabel);
+            return mergeWithRecurring(
+                    withSubtaskProgress(calendarTaskDao.getCalendarTasksInDateRange(workspaceId, userId, boundaries.first(), boundaries.second())),
+                    calendarTaskDao.getRecurringCalendarTasks(workspaceId, userId, boundaries.second()),
+                    (rows, series) -> addOccurrences(rows, series, boundaries.first(), boundaries.second()));
+        });
+    }
 
-            return Transformations.switchMap(tasksWithTagsLiveData, tasksWithTags -> {
-                if (tasksWithTags == null) {
-                    logger.warn(TAG, "getTasksForMonth: tasksWithTagsLiveData returned null list for userId=" + userId + ", wsId=" + workspaceId + ", month=" + startTimestamp);
-                } else {
-                    logger.info(TAG, "getTasksForMonth: tasksWithTagsLiveData returned " + tasksWithTags.size() +
-                            " tasks (before combine) for userId=" + userId + ", wsId=" + workspaceId + ", month=" + startTimestamp);
+    /**
+     * Склеивает строки диапазона с развернутыми вхождениями серий. Без повторяющихся задач
+     * строки отдаются сразу, как раньше; иначе склейка идет на последовательном исполнителе,
+     * а результат, опереженный более новыми данными, отбрасывается.
+     */
+    private <T> LiveData<T> mergeWithRecurring(LiveData<T> rowsSource,
+                                               LiveData<List<CalendarTaskWithTagsAndPomodoro>> seriesSource,
+                                               BiFunction<T, List<CalendarTaskWithTagsAndPomodoro>, T> merge) {
+        MediatorLiveData<T> result = new MediatorLiveData<>();
+        AtomicInteger generation = new AtomicInteger();
+        Runnable recompute = () -> {
+            T rows = rowsSource.getValue();
+            List<CalendarTaskWithTagsAndPomodoro> series = seriesSource.getValue();
+            if (rows == null || series == null) return;
+            int current = generation.incrementAndGet();
+            if (series.isEmpty()) {
+                result.setValue(rows);
+                return;
+            }
+            recurrenceExecutor.execute(() -> {
+                if (current != generation.get()) return;
+                T merged = merge.apply(rows, series);
+                if (current == generation.get()) result.postValue(merged);
+            });
+        };
+        result.addSource(rowsSource, rows -> recompute.run());
+        result.addSource(seriesSource, series -> recompute.run());
+        return result;
+    }
+
+    /**
+     * Подставляет в строки долю выполненных подзадач: один пакетный запрос на промахи кеша
+     * вместо запроса на строку. Пустой список отдается сразу, непустой обрабатывается на
+     * последовательном исполнителе, устаревший результат отбрасывается. Виртуальные вхождения
+     * создаются позже и свертку не получают: подзадачи относятся к самой серии.
+     * Запись только в subtask_relation запрос строк не перезапускает, поэтому свертка
+     * пересчитывается и по сбросу кеша (SubtaskProgressCache.getInvalidations).
+     */
+    private LiveData<List<CalendarTaskWithTagsAndPomodoro>> withSubtaskProgress(
+            LiveData<List<CalendarTaskWithTagsAndPomodoro>> rowsSource) {
+        MediatorLiveData<List<CalendarTaskWithTagsAndPomodoro>> result = new MediatorLiveData<>();
+        AtomicInteger generation = new AtomicInteger();
+        Runnable recompute = () -> {
+            List<CalendarTaskWithTagsAndPomodoro> rows = rowsSource.getValue();
+            int current = generation.incrementAndGet();
+            if (rows == null || rows.isEmpty()) {
+                result.setValue(rows);
+                return;
+            }
+            recurrenceExecutor.execute(() -> {
+                if (current != generation.get()) return;
+                List<Long> taskIds = new ArrayList<>(rows.size());
+                for (CalendarTaskWithTagsAndPomodoro row : rows) taskIds.add(row.getTask().getId());
+                Map<Long, Float> progress = Collections.emptyMap();
+                try {
+                    progress = subtaskProgressCache.getProgressSync(taskIds);
+                } catch (Exception e) {
+                    // Список важнее прогресса: отдаем строки без свертки
+                    logger.error(TAG, "withSubtaskProgress: Failed to load subtask rollup for " + taskIds.size() + " task(s)", e);
+                }
+                List<CalendarTaskWithTagsAndPomodoro> withProgress = new ArrayList<>(rows.size());
+                for (CalendarTaskWithTagsAndPomodoro row : rows) {
+                    withProgress.add(copyWithProgress(row, progress.get(row.getTask().getId())));
                 }
-                return combineWithStatsAndParamsLiveData(tasksWithTagsLiveData);
+                if (current == generation.get()) result.postValue(withProgress);
             });
+        };
+        result.addSource(rowsSource, rows -> recompute.run());
+        result.addSource(subtaskProgressCache.getInvalidations(), invalidation -> {
+            List<CalendarTaskWithTagsAndPomodoro> rows = rowsSource.getValue();
+            if (rows != null && !rows.isEmpty()) recompute.run();
         });
+        return result;
+    }
+
+    // Копия строки со сверткой: прежний список уже отдан наблюдателям, менять его строки на фоне нельзя
+    private static CalendarTaskWithTagsAndPomodoro copyWithProgress(CalendarTaskWithTagsAndPomodoro row, Float progress) {
+        CalendarTaskWithTagsAndPomodoro copy =
+                new CalendarTaskWithTagsAndPomodoro(row.getTask(), row.getCalendarParams(), row.getTags(), row.getPomodoroCount());
+        copy.setSubtaskProgress(progress);
+        copy.setOccurrence(row.isOccurrence());
+        return copy;
+    }
+
+    // Виртуальные вхождения в UTC-границах [start; end]; строки в БД под них не создаются
+    private List<CalendarTaskWithTagsAndPomodoro> addOccurrences(
+            List<CalendarTaskWithTagsAndPomodoro> rows, List<CalendarTaskWithTagsAndPomodoro> series, long start, long end) {
+        LocalDate from = dateTimeUtils.epochSecondsToLocalLocalDateTime(start).toLocalDate();
+        LocalDate to = dateTimeUtils.epochSecondsToLocalLocalDateTime(end).toLocalDate();
+        List<CalendarTaskWithTagsAndPomodoro> merged = new ArrayList<>(rows);
+        for (CalendarTaskWithTagsAndPomodoro item : series) {
+            for (LocalDateTime utcDue : occurrencesUtc(item, from, to)) {
+                long epoch = utcDue.toEpochSecond(ZoneOffset.UTC);
+                if (epoch < start || epoch > end) continue;
+                merged.add(virtualOccurrence(item, utcDue));
+            }
+        }
+        logger.debug(TAG, "addOccurrences: {} rows + {} occurrence(s) from {} series", rows.size(), merged.size() - rows.size(), series.size());
+        return merged;
+    }
+
+    // Вхождения считаются задачами TODO по локальным дням; счетчики одного дня и статуса суммируются
+    private List<DailyTaskCount> addOccurrenceCounts(
+            List<DailyTaskCount> rows, List<CalendarTaskWithTagsAndPomodoro> series, LocalDate from, LocalDate to) {
+        if (series.isEmpty()) return rows;
+        Map<DayStatus, Integer> counts = new LinkedHashMap<>();
+        for (DailyTaskCount row : rows) counts.merge(new DayStatus(row.getDay(), row.getStatus()), row.getCount(), Integer::sum);
+        for (CalendarTaskWithTagsAndPomodoro item : series) {
+            for (LocalDateTime utcDue : occurrencesUtc(item, from, to)) {
+                counts.merge(new DayStatus(dateTimeUtils.utcToLocalLocalDateTime(utcDue).toLocalDate(), TaskStatus.TODO), 1, Integer::sum);
+            }
+        }
+        List<DailyTaskCount> merged = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> merged.add(new DailyTaskCount(key.day(), key.status(), count)));
+        return merged;
+    }
+
+    private record DayStatus(LocalDate day, TaskStatus status) { }
+
+    // UTC-сроки вхождений серии в локальных днях [from; to], кроме самой задачи: она приходит основным запросом
+    private List<LocalDateTime> occurrencesUtc(CalendarTaskWithTagsAndPomodoro item, LocalDate from, LocalDate to) {
+        Task task = item.getTask();
+        CalendarParams params = item.getCalendarParams();
+        if (task.getDueDate() == null || params == null || params.getRecurrenceRule() == null) return Collections.emptyList();
+        LocalDateTime localStart = dateTimeUtils.utcToLocalLocalDateTime(task.getDueDate());
+        List<LocalDateTime> result = new ArrayList<>();
+        for (LocalDateTime local : occurrenceCache.occurrences(task.getId(), params.getRecurrenceRule(), localStart, from, to)) {
+            if (!local.equals(localStart)) result.add(dateTimeUtils.localToUtcLocalDateTime(local));
+        }
+        return result;
+    }
+
+    // Копия задачи на дату вхождения: тот же id (детали и правка открывают серию), статус и помидоры - с нуля.
+    // Помечена как вхождение: перенос, смена статуса и удаление по этому id изменили бы всю серию
+    private static CalendarTaskWithTagsAndPomodoro virtualOccurrence(CalendarTaskWithTagsAndPomodoro item, LocalDateTime utcDue) {
+        Task task = item.getTask();
+        Task occurrence = new Task(task.getId(), task.getUserId(), task.getWorkspaceId(), task.getTitle(),
+                task.getDescription(), utcDue, TaskStatus.TODO, task.getCreatedAt(), task.getUpdatedAt());
+        CalendarTaskWithTagsAndPomodoro result = new CalendarTaskWithTagsAndPomodoro(occurrence, item.getCalendarParams(), item.getTags(), 0);
+        result.setOccurrence(true);
+        return result;
     }
 
     @Override
@@ -174,134 +364,4 @@ public class CalendarRepositoryImpl implements CalendarRepository {
             }, ioExecutor);
         }, ioExecutor);
     }
-
-
-    private LiveData<List<CalendarTaskWithTagsAndPomodoro>> combineWithStatsAndParamsLiveData(LiveData<List<TaskWithTags>> tasksWithTagsLiveDataInput) {
-        MediatorLiveData<List<CalendarTaskWithTagsAndPomodoro>> resultLiveData = new MediatorLiveData<>();
-
-        resultLiveData.addSource(tasksWithTagsLiveDataInput, tasksWithTags -> {
-            if (tasksWithTags == null) {
-                logger.warn(TAG, "combineWithStatsAndParamsLiveData (outer): Input tasksWithTags is null. Setting empty list to result.");
-                resultLiveData.setValue(Collections.emptyList()); // Устанавливаем здесь, если исходные данные null
-                return;
-            }
-            if (tasksWithTags.isEmpty()) {
-                logger.debug(TAG, "combineWithStatsAndParamsLiveData (outer): Input tasksWithTags is empty. Setting empty list to result.");
-                resultLiveData.setValue(Collections.emptyList()); // И здесь, если исходные данные пустые
-                return;
-            }
-            List<Long> taskIds = tasksWithTags.stream().map(twt -> twt.getTask().getId()).collect(Collectors.toList());
-            logger.info(TAG, "combineWithStatsAndParamsLiveData (outer): Received " + taskIds.size() + " tasks. IDs: " + taskIds + ". Preparing to combine details.");
-
-            LiveData<List<TaskStatistics>> statsLiveData = taskStatisticsRepository.getStatisticsForTasksFlow(taskIds);
-            LiveData<List<CalendarParams>> paramsLiveData = calendarParamsRepository.getParamsForTasksFlow(taskIds);
-
-            // Передаем tasksWithTags (актуальный список), а не tasksWithTagsLiveDataInput
-            CombinedLiveDataSources combinedSources = new CombinedLiveDataSources(tasksWithTags, statsLiveData, paramsLiveData, logger);
-
-            resultLiveData.addSource(combinedSources, data -> { // CombinedLiveDataSources - это LiveData
-                if (data != null) {
-                    logger.debug(TAG, "combineWithStatsAndParamsLiveData (outer): CombinedData received from CombinedLiveDataSources. Processing...");
-                    List<CalendarTaskWithTagsAndPomodoro> processedList = processCombinedData(data.tasksWithTags, data.stats, data.params);
-                    resultLiveData.setValue(processedList);
-                } else {
-                    logger.warn(TAG, "combineWithStatsAndParamsLiveData (outer): CombinedData from CombinedLiveDataSources is null. Setting empty list to result.");
-                    resultLiveData.setValue(Collections.emptyList()); // Устанавливаем пустой, если combinedSources вернул null
-                }
-            });
-        });
-        return resultLiveData;
-    }
-
-    // Вспомогательный класс для объединения источников в MediatorLiveData
-    private static class CombinedLiveDataSources extends MediatorLiveData<CombinedData> {
-        private List<TaskWithTags> tasksWithTags;
-        private List<TaskStatistics> stats;
-        private List<CalendarParams> params;
-        private final Logger logger;
-
-        CombinedLiveDataSources(List<TaskWithTags> initialTasks,
-                                LiveData<List<TaskStatistics>> statsSource,
-                                LiveData<List<CalendarParams>> paramsSource,
-                                Logger logger) {
-            this.tasksWithTags = initialTasks;
-            this.logger = logger;
-            logger.debug("CombinedLiveDataSources", "Constructor. Initial tasks: " + (initialTasks != null ? initialTasks.size() : "null"));
-
-            addSource(statsSource, s -> {
-                logger.debug("CombinedLiveDataSources", "StatsSource updated. Count: " + (s != null ? s.size() : "null"));
-                this.stats = s;
-                tryUpdateValue();
-            });
-            addSource(paramsSource, p -> {
-                logger.debug("CombinedLiveDataSources", "ParamsSource updated. Count: " + (p != null ? p.size() : "null"));
-                this.params = p;
-                tryUpdateValue();
-            });
-            tryUpdateValue(); // Попытка обновить сразу
-        }
-
-        private void tryUpdateValue() {
-            logger.debug("CombinedLiveDataSources", "tryUpdateValue. Tasks set: " + (tasksWithTags != null) +
-                    ", Stats set: " + (stats != null) + ", Params set: " + (params != null));
-            if (tasksWithTags != null && stats != null && params != null) {
-                logger.info("CombinedLiveDataSources", "All data sources ready. Emitting CombinedData. Tasks: " + tasksWithTags.size() +
-                        ", Stats: " + stats.size() + ", Params: " + params.size());
-                setValue(new CombinedData(tasksWithTags, stats, params));
-            } else {
-                logger.debug("CombinedLiveDataSources", "Not all data sources ready yet.");
-            }
-        }
-    }
-
-    private static class CombinedData {
-        final List<TaskWithTags> tasksWithTags;
-        final List<TaskStatistics> stats;
-        final List<CalendarParams> params;
-        CombinedData(List<TaskWithTags> tasks, List<TaskStatistics> stats, List<CalendarParams> params) {
-            this.tasksWithTags = tasks;
-            this.stats = stats;
-            this.params = params;
-        }
-    }
-
-    private List<CalendarTaskWithTagsAndPomodoro> processCombinedData(
-            List<TaskWithTags> tasksWithTags,
-            List<TaskStatistics> statsList,
-            List<CalendarParams> paramsList) {
-
-        logger.debug(TAG, "processCombinedData: Input tasksWithTags: " + (tasksWithTags != null ? tasksWithTags.size() : "null") +
-                ", statsList: " + (statsList != null ? statsList.size() : "null") +
-                ", paramsList: " + (paramsList != null ? paramsList.size() : "null"));
-
-        if (tasksWithTags == null || tasksWithTags.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        Map<Long, TaskStatistics> statsMap = (statsList != null) ?
-                statsList.stream().collect(Collectors.toMap(TaskStatistics::getTaskId, ts -> ts, (ts1, ts2) -> ts1)) : Collections.emptyMap();
-        Map<Long, CalendarParams> paramsMap = (paramsList != null) ?
-                paramsList.stream().collect(Collectors.toMap(CalendarParams::getTaskId, cp -> cp, (cp1, cp2) -> cp1)) : Collections.emptyMap();
-
-        List<CalendarTaskWithTagsAndPomodoro> resultList = new ArrayList<>();
-        for (TaskWithTags taskWithTagsItem : tasksWithTags) {
-            if (taskWithTagsItem == null || taskWithTagsItem.getTask() == null) {
-                logger.warn(TAG, "processCombinedData: Encountered null TaskWithTags or null Task. Skipping.");
-                continue;
-            }
-            CalendarParams params = paramsMap.get(taskWithTagsItem.getTask().getId());
-            if (params == null) {
-                logger.error(TAG, "CRITICAL: CalendarParams missing for task " + taskWithTagsItem.getTask().getId() + " during combine. SKIPPING THIS TASK.");
-                // ВАЖНО: Если задача существует, а параметров календаря для нее нет, это ошибка целостности данных.
-                // Это может быть причиной, почему задачи "не отображаются" - они отфильтровываются здесь.
-                continue;
-            }
-            TaskStatistics stats = statsMap.get(taskWithTagsItem.getTask().getId());
-            int pomodoroCount = (stats != null) ? stats.getCompletedPomodoroFocusSessions() : 0;
-            resultList.add(new CalendarTaskWithTagsAndPomodoro(taskWithTagsItem.getTask(), params, taskWithTagsItem.getTags(), pomodoroCount));
-            logger.debug(TAG, "processCombinedData: Added task to result: ID=" + taskWithTagsItem.getTask().getId() + ", Title='" + taskWithTagsItem.getTask().getTitle() + "'");
-        }
-        logger.info(TAG, "processCombinedData: Final combined list size: " + resultList.size());
-        return resultList;
-    }
-}
\ No newline at end of file
+}
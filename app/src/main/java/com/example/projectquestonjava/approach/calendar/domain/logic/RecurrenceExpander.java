@@ -0,0 +1,179 @@
+package com.example.projectquestonjava.approach.calendar.domain.logic;
+
+import com.example.projectquestonjava.approach.calendar.domain.model.RecurrenceRule;
+import com.example.projectquestonjava.approach.calendar.domain.model.RecurrenceRule.Frequency;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Разворачивает правило повторения в вхождения внутри окна локальных дат.
+ * Вхождения отдаются лениво и по возрастанию. Периоды целиком до начала окна
+ * пропускаются арифметически, поэтому стоимость зависит от размера окна, а не от возраста серии.
+ * Исключение - COUNT вместе с DAILY+BYDAY: номер вхождения тогда считается перебором с начала серии.
+ */
+public final class RecurrenceExpander {
+
+    private RecurrenceExpander() { }
+
+    /**
+     * Вхождения серии, начатой в start (локальное время), с датой в [from; to] включительно.
+     * Само начало серии тоже считается вхождением.
+     */
+    public static Iterator<LocalDateTime> occurrences(RecurrenceRule rule, LocalDateTime start, LocalDate from, LocalDate to) {
+        return new OccurrenceIterator(rule, start, from, to);
+    }
+
+    public static List<LocalDateTime> expand(RecurrenceRule rule, LocalDateTime start, LocalDate from, LocalDate to) {
+        List<LocalDateTime> result = new ArrayList<>();
+        occurrences(rule, start, from, to).forEachRemaining(result::add);
+        return result;
+    }
+
+    private static final class OccurrenceIterator implements Iterator<LocalDateTime> {
+        private final RecurrenceRule rule;
+        private final LocalDate startDate;
+        private final LocalTime time;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final List<DayOfWeek> weekDays; // по возрастанию, для WEEKLY
+        private final ArrayDeque<LocalDate> pending = new ArrayDeque<>(7);
+
+        private long period;
+        private long ordinal; // вхождений с начала серии, включая пропущенные до окна
+        private LocalDateTime next;
+        private boolean finished;
+
+        OccurrenceIterator(RecurrenceRule rule, LocalDateTime start, LocalDate from, LocalDate to) {
+            this.rule = rule;
+            this.startDate = start.toLocalDate();
+            this.time = start.toLocalTime();
+            this.from = from;
+            this.to = to;
+            List<DayOfWeek> days = new ArrayList<>(rule.byDay());
+            if (days.isEmpty()) days.add(startDate.getDayOfWeek());
+            days.sort(null);
+            this.weekDays = days;
+            skipPeriodsBeforeWindow();
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LocalDateTime next() {
+            if (next == null) throw new NoSuchElementException();
+            LocalDateTime result = next;
+            advance();
+            return result;
+        }
+
+        private void skipPeriodsBeforeWindow() {
+            if (!from.isAfter(startDate)) return;
+            long steps = switch (rule.frequency()) {
+                case DAILY -> ChronoUnit.DAYS.between(startDate, from);
+                case WEEKLY -> ChronoUnit.WEEKS.between(weekStart(startDate), weekStart(from));
+                case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(from));
+                case YEARLY -> from.getYear() - startDate.getYear();
+            };
+            long skip = steps / rule.interval();
+            if (skip <= 0) return;
+            if (rule.count() == null) {
+                period = skip;
+            } else if (rule.frequency() == Frequency.DAILY && rule.byDay().isEmpty()) {
+                period = skip;
+                ordinal = skip;
+            } else if (rule.frequency() == Frequency.WEEKLY) {
+                // В первой неделе вхождения только с дня начала серии
+                int firstWeek = 0;
+                for (DayOfWeek day : weekDays) if (day.compareTo(startDate.getDayOfWeek()) >= 0) firstWeek++;
+                period = skip;
+                ordinal = firstWeek + (skip - 1) * weekDays.size();
+            } else if (rule.frequency() != Frequency.DAILY) {
+                // MONTHLY/YEARLY: в периоде не больше одного вхождения, но дни вроде 31-го бывают не в каждом
+                for (long p = 0; p < skip; p++) if (candidateInMonthOrYear(p) != null) ordinal++;
+                period = skip;
+            }
+        }
+
+        private void advance() {
+            next = null;
+            while (!finished) {
+                LocalDate date = pending.poll();
+                if (date != null) {
+                    LocalDateTime candidate = date.atTime(time);
+                    if ((rule.count() != null && ordinal >= rule.count())
+                            || (rule.until() != null && candidate.isAfter(rule.until()))
+                            || date.isAfter(to)) {
+                        finished = true;
+                        return;
+                    }
+                    ordinal++;
+                    if (date.isBefore(from)) continue;
+                    next = candidate;
+                    return;
+                }
+                LocalDate periodStart = periodStart(period);
+                if (periodStart.isAfter(to) || (rule.until() != null && periodStart.isAfter(rule.until().toLocalDate()))) {
+                    finished = true;
+                    return;
+                }
+                fillPending(period, periodStart);
+                period++;
+            }
+        }
+
+        private LocalDate periodStart(long p) {
+            long steps = p * rule.interval();
+            return switch (rule.frequency()) {
+                case DAILY -> startDate.plusDays(steps);
+                case WEEKLY -> weekStart(startDate).plusWeeks(steps);
+                case MONTHLY -> YearMonth.from(startDate).plusMonths(steps).atDay(1);
+                case YEARLY -> LocalDate.of(startDate.getYear(), 1, 1).plusYears(steps);
+            };
+        }
+
+        private void fillPending(long p, LocalDate periodStart) {
+            switch (rule.frequency()) {
+                case DAILY -> {
+                    if (rule.byDay().isEmpty() || rule.byDay().contains(periodStart.getDayOfWeek())) pending.add(periodStart);
+                }
+                case WEEKLY -> {
+                    for (DayOfWeek day : weekDays) {
+                        LocalDate date = periodStart.with(TemporalAdjusters.nextOrSame(day));
+                        if (!date.isBefore(startDate)) pending.add(date);
+                    }
+                }
+                case MONTHLY, YEARLY -> {
+                    LocalDate date = candidateInMonthOrYear(p);
+                    if (date != null) pending.add(date);
+                }
+            }
+        }
+
+        // Тот же день месяца (и месяц для YEARLY), если он есть в периоде: 31-е и 29 февраля пропускаются
+        private LocalDate candidateInMonthOrYear(long p) {
+            long steps = p * rule.interval();
+            YearMonth month = rule.frequency() == Frequency.MONTHLY
+                    ? YearMonth.from(startDate).plusMonths(steps)
+                    : YearMonth.from(startDate).plusYears(steps);
+            return month.isValidDay(startDate.getDayOfMonth()) ? month.atDay(startDate.getDayOfMonth()) : null;
+        }
+
+        private static LocalDate weekStart(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.projectquestonjava.approach.calendar.domain.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +15,12 @@ import lombok.NoArgsConstructor;
 public class CalendarMonthData {
     private List<CalendarTaskSummary> tasks = Collections.emptyList();
     private Map<LocalDate, Integer> dailyTaskCounts = Collections.emptyMap();
+    // Ближайший момент (локальный), когда рассчитанные приоритеты устареют; null - не устареют
+    private LocalDateTime nextPriorityChangeAt;
 
     public static final CalendarMonthData EMPTY = new CalendarMonthData(Collections.emptyList(), Collections.emptyMap());
-}
\ No newline at end of file
+
+    public CalendarMonthData(List<CalendarTaskSummary> tasks, Map<LocalDate, Integer> dailyTaskCounts) {
+        this(tasks, dailyTaskCounts, null);
+    }
+}
@@ -26,4 +26,12 @@ public class CalendarTaskSummary {
     private String recurrenceRule;
     @Nullable
     private Float subtaskProgress;
+    // Виртуальное вхождение серии: id совпадает с задачей серии, отличается только срок
+    private boolean occurrence;
+
+    /** Ключ элемента списка: вхождения одной серии различаются сроком. */
+    public boolean isSameItem(CalendarTaskSummary other) {
+        return id == other.id && occurrence == other.occurrence
+                && (!occurrence || dueDate.equals(other.dueDate));
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.projectquestonjava.approach.calendar.domain.model;
 
 import androidx.room.Embedded;
+import androidx.room.Ignore;
 import androidx.room.Junction;
 import androidx.room.Relation;
 import com.example.projectquestonjava.core.data.model.core.Tag;
@@ -9,12 +10,10 @@ import com.example.projectquestonjava.core.data.model.core.TaskTagCrossRef;
 import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
 import java.util.List;
 import lombok.Data;
-import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class CalendarTaskWithTagsAndPomodoro {
 
     @Embedded 
@@ -40,4 +39,20 @@ public class CalendarTaskWithTagsAndPomodoro {
     private List<Tag> tags;
 
     private int pomodoroCount = 0;
+
+    // Доля выполненных подзадач (SubtaskProgressCache); null - подзадач нет или не загружалось
+    @Ignore
+    private Float subtaskProgress;
+
+    // Виртуальное вхождение повторяющейся задачи: своей строки в БД нет, id - id серии
+    @Ignore
+    private boolean occurrence;
+
+    @Ignore
+    public CalendarTaskWithTagsAndPomodoro(Task task, CalendarParams calendarParams, List<Tag> tags, int pomodoroCount) {
+        this.task = task;
+        this.calendarParams = calendarParams;
+        this.tags = tags;
+        this.pomodoroCount = pomodoroCount;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.projectquestonjava.approach.calendar.domain.model;
+
+import androidx.room.ColumnInfo;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Строка тепловой карты календаря: число задач одного статуса за один локальный день.
+ * День вычисляется в SQL по локальной зоне ('localtime') как epochDay и читается конвертером LocalDate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyTaskCount {
+    @ColumnInfo(name = "day")
+    private LocalDate day;
+    @ColumnInfo(name = "status")
+    private TaskStatus status;
+    @ColumnInfo(name = "count")
+    private int count;
+}
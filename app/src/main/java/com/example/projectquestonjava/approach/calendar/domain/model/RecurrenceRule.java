@@ -0,0 +1,107 @@
+package com.example.projectquestonjava.approach.calendar.domain.model;
+
+import androidx.annotation.Nullable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Разобранное правило повторения из CalendarParams.recurrenceRule.
+ * Поддерживается подмножество RFC 5545: FREQ (DAILY/WEEKLY/MONTHLY/YEARLY), INTERVAL,
+ * BYDAY без порядковых номеров (только для DAILY и WEEKLY), UNTIL и COUNT.
+ * Короткие значения из диалога создания задачи ("DAILY", "WEEKLY", ...) равносильны "FREQ=...".
+ *
+ * @param byDay пустое множество - день недели берется из начала серии
+ * @param until включительно, в локальном времени; дата без времени означает конец дня
+ */
+public record RecurrenceRule(
+        Frequency frequency,
+        int interval,
+        Set<DayOfWeek> byDay,
+        @Nullable LocalDateTime until,
+        @Nullable Integer count) {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    public RecurrenceRule {
+        byDay = Collections.unmodifiableSet(byDay.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(byDay));
+    }
+
+    /** Разбирает правило; null для пустой строки и для всего, что выходит за поддерживаемое подмножество. */
+    @Nullable
+    public static RecurrenceRule parse(@Nullable String rule) {
+        if (rule == null) return null;
+        String value = rule.trim().toUpperCase(Locale.ROOT);
+        if (value.startsWith("RRULE:")) value = value.substring("RRULE:".length());
+        if (value.isEmpty()) return null;
+        if (!value.contains("=")) value = "FREQ=" + value;
+
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        LocalDateTime until = null;
+        Integer count = null;
+        try {
+            for (String part : value.split(";")) {
+                if (part.isEmpty()) continue;
+                int eq = part.indexOf('=');
+                if (eq <= 0) return null;
+                String name = part.substring(0, eq);
+                String arg = part.substring(eq + 1);
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(arg);
+                    case "INTERVAL" -> interval = Integer.parseInt(arg);
+                    case "COUNT" -> count = Integer.parseInt(arg);
+                    case "UNTIL" -> until = parseUntil(arg);
+                    case "BYDAY" -> {
+                        for (String day : arg.split(",")) {
+                            DayOfWeek dayOfWeek = parseDay(day);
+                            if (dayOfWeek == null) return null;
+                            byDay.add(dayOfWeek);
+                        }
+                    }
+                    case "WKST" -> { } // Неделя всегда с понедельника
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+        if (frequency == null || interval < 1 || (count != null && count < 1)) return null;
+        if (!byDay.isEmpty() && (frequency == Frequency.MONTHLY || frequency == Frequency.YEARLY)) return null;
+        return new RecurrenceRule(frequency, interval, byDay, until, count);
+    }
+
+    private static LocalDateTime parseUntil(String arg) {
+        // Суффикс Z не переводим: вхождения разворачиваются в локальном времени задачи
+        String value = arg.endsWith("Z") ? arg.substring(0, arg.length() - 1) : arg;
+        if (value.length() == 8) return LocalDate.parse(value, UNTIL_DATE).atTime(LocalTime.MAX);
+        return LocalDateTime.parse(value, UNTIL_DATE_TIME);
+    }
+
+    @Nullable
+    private static DayOfWeek parseDay(String day) {
+        return switch (day) {
+            case "MO" -> DayOfWeek.MONDAY;
+            case "TU" -> DayOfWeek.TUESDAY;
+            case "WE" -> DayOfWeek.WEDNESDAY;
+            case "TH" -> DayOfWeek.THURSDAY;
+            case "FR" -> DayOfWeek.FRIDAY;
+            case "SA" -> DayOfWeek.SATURDAY;
+            case "SU" -> DayOfWeek.SUNDAY;
+            default -> null;
+        };
+    }
+}
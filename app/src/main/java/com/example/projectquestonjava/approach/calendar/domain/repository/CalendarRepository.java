@@ -2,9 +2,11 @@ package com.example.projectquestonjava.approach.calendar.domain.repository;
 
 import androidx.lifecycle.LiveData;
 import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.model.DailyTaskCount;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface CalendarRepository {
@@ -13,4 +15,13 @@ public interface CalendarRepository {
     LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForDay(long workspaceId, LocalDateTime day);
 
     LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForMonth(long workspaceId, LocalDate startTimestamp);
+
+    // Задачи за локальные дни [startDate; endDate] включительно, одним наблюдаемым запросом
+    LiveData<List<CalendarTaskWithTagsAndPomodoro>> getTasksForLocalDateRange(long workspaceId, LocalDate startDate, LocalDate endDate);
+
+    // Число задач по локальным дням и статусам за месяцы [fromMonth; toMonth] включительно
+    LiveData<List<DailyTaskCount>> getDailyTaskCounts(long workspaceId, YearMonth fromMonth, YearMonth toMonth);
+
+    // То же разовым чтением, без подписки на изменения
+    ListenableFuture<List<DailyTaskCount>> loadDailyTaskCounts(long workspaceId, YearMonth fromMonth, YearMonth toMonth);
 }
\ No newline at end of file
@@ -1,92 +1,115 @@
 package com.example.projectquestonjava.approach.calendar.domain.usecases;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.Transformations;
+import com.example.projectquestonjava.approach.calendar.data.managers.CalendarMonthDataCache;
 import com.example.projectquestonjava.core.di.IODispatcher;
-import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
 import com.example.projectquestonjava.core.managers.WorkspaceSessionManager;
-import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.approach.calendar.domain.model.CalendarMonthData;
-import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskSummary;
-import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.model.DailyTaskCount;
 import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
-import com.example.projectquestonjava.approach.calendar.extensions.CalendarExtensions;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 
+/**
+ * Данные сетки месяца: только число задач по дням из агрегирующего запроса.
+ * Сами задачи с тегами и статистикой грузятся отдельно, когда выбран день.
+ * Загруженные месяцы кладутся в {@link CalendarMonthDataCache}, соседние месяцы
+ * предзагружаются в фоне, чтобы листание рисовалось из памяти.
+ */
 public class GetCalendarMonthDataUseCase {
     private static final String TAG = "GetCalendarMonthDataUseCase";
 
     private final CalendarRepository calendarRepository;
-    private final PriorityResolver priorityResolver;
+    private final CalendarMonthDataCache monthDataCache;
     private final WorkspaceSessionManager workspaceSessionManager;
-    private final DateTimeUtils dateTimeUtils;
     private final Executor ioExecutor;
     private final Logger logger;
 
     @Inject
     public GetCalendarMonthDataUseCase(
             CalendarRepository calendarRepository,
-            PriorityResolver priorityResolver,
+            CalendarMonthDataCache monthDataCache,
             WorkspaceSessionManager workspaceSessionManager,
-            DateTimeUtils dateTimeUtils,
             @IODispatcher Executor ioExecutor,
             Logger logger) {
         this.calendarRepository = calendarRepository;
-        this.priorityResolver = priorityResolver;
+        this.monthDataCache = monthDataCache;
         this.workspaceSessionManager = workspaceSessionManager;
-        this.dateTimeUtils = dateTimeUtils;
         this.ioExecutor = ioExecutor;
         this.logger = logger;
     }
 
     public LiveData<CalendarMonthData> execute(LocalDate monthStartDate) {
         logger.debug(TAG, "Invoked for month starting: " + monthStartDate);
+        YearMonth month = YearMonth.from(monthStartDate);
 
         return Transformations.switchMap(workspaceSessionManager.getWorkspaceIdLiveData(), workspaceId -> {
             if (workspaceId == null || workspaceId == 0L) {
                 logger.warn(TAG, "No active workspace set.");
                 return new LiveData<CalendarMonthData>(CalendarMonthData.EMPTY) {};
             }
-            logger.debug(TAG, "Fetching month data for workspaceId=" + workspaceId + ", month=" + monthStartDate);
-
-            LiveData<List<CalendarTaskWithTagsAndPomodoro>> tasksWithDetailsLiveData =
-                    calendarRepository.getTasksForMonth(workspaceId, monthStartDate);
+            logger.debug(TAG, "Fetching month counts for workspaceId=" + workspaceId + ", month=" + month);
 
-            // Используем MediatorLiveData для асинхронного маппинга, если tasksWithDetailsLiveData обновляется
-            MediatorLiveData<CalendarMonthData> resultLiveData = new MediatorLiveData<>();
-            resultLiveData.setValue(CalendarMonthData.EMPTY);
-
-            resultLiveData.addSource(tasksWithDetailsLiveData, tasksWithDetails -> {
-                if (tasksWithDetails == null) {
-                    resultLiveData.setValue(CalendarMonthData.EMPTY);
-                    return;
+            MediatorLiveData<CalendarMonthData> result = new MediatorLiveData<>();
+            CalendarMonthData cached = monthDataCache.get(workspaceId, month);
+            if (cached != null) {
+                logger.debug(TAG, "Month " + month + " served from cache");
+                result.setValue(cached);
+            }
+            // Живой запрос все равно нужен: он держит месяц актуальным и перезаписывает кеш
+            result.addSource(calendarRepository.getDailyTaskCounts(workspaceId, month, month), rows -> {
+                if (rows == null) return;
+                CalendarMonthData data = new CalendarMonthData(Collections.emptyList(), sumByDay(rows));
+                monthDataCache.put(workspaceId, month, data);
+                if (!data.equals(result.getValue())) {
+                    result.setValue(data);
                 }
-                ioExecutor.execute(() -> {
-                    try {
-                        List<CalendarTaskSummary> taskSummaries = CalendarExtensions.toTaskSummaries(tasksWithDetails, priorityResolver, dateTimeUtils);
-
-                        Map<LocalDate, Integer> dailyCounts = tasksWithDetails.stream()
-                                .collect(Collectors.groupingBy(
-                                        taskDetail -> dateTimeUtils.utcToLocalLocalDateTime(taskDetail.getTask().getDueDate()).toLocalDate(),
-                                        Collectors.summingInt(taskDetail -> 1)
-                                ));
-
-                        resultLiveData.postValue(new CalendarMonthData(taskSummaries, dailyCounts));
-                    } catch (Exception e) {
-                        logger.error(TAG, "Error mapping data for month " + monthStartDate, e);
-                        resultLiveData.postValue(CalendarMonthData.EMPTY); // В случае ошибки возвращаем пустое состояние
-                    }
-                });
+                prefetch(workspaceId, month.minusMonths(1));
+                prefetch(workspaceId, month.plusMonths(1));
             });
-            return resultLiveData;
+            return result;
         });
     }
-}
\ No newline at end of file
+
+    /** Загружает месяц в кеш в фоне, если его там еще нет. */
+    public void prefetch(long workspaceId, YearMonth month) {
+        long versionAtLoad = monthDataCache.tryStartLoad(workspaceId, month);
+        if (versionAtLoad < 0) return;
+        Futures.addCallback(calendarRepository.loadDailyTaskCounts(workspaceId, month, month), new FutureCallback<>() {
+            @Override
+            public void onSuccess(List<DailyTaskCount> rows) {
+                CalendarMonthData data = rows != null ? new CalendarMonthData(Collections.emptyList(), sumByDay(rows)) : null;
+                monthDataCache.finishLoad(workspaceId, month, data, versionAtLoad);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                logger.warn(TAG, "Prefetch failed for month " + month + ": " + t.getMessage());
+                monthDataCache.finishLoad(workspaceId, month, null, versionAtLoad);
+            }
+        }, ioExecutor);
+    }
+
+    // Строки приходят в разрезе статусов; сетке месяца нужен только итог по дню
+    static Map<LocalDate, Integer> sumByDay(List<DailyTaskCount> rows) {
+        Map<LocalDate, Integer> totals = new HashMap<>();
+        for (DailyTaskCount row : rows) {
+            totals.merge(row.getDay(), row.getCount(), Integer::sum);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.projectquestonjava.approach.calendar.domain.usecases;
+
+import androidx.annotation.MainThread;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarDashboardData;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskSummary;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
+import com.example.projectquestonjava.approach.calendar.extensions.CalendarExtensions;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
+import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
+import com.example.projectquestonjava.core.managers.WorkspaceSessionManager;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.model.Gamification;
+import com.example.projectquestonjava.feature.gamification.domain.repository.GamificationRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+
+/**
+ * Данные пейджера дашборда скользящим окном дней вокруг выбранной даты.
+ * Окно грузится одним запросом по диапазону и режется по локальным дням в памяти;
+ * при сдвиге на день догружается только новый крайний день, а сегменты, целиком
+ * вышедшие за окно, отписываются. Приоритеты зависят от времени, поэтому на ближайшую границу
+ * ({@link PriorityResolution#getNextChangeAt()}) ставится таймер, который пересчитывает окно;
+ * владелец окна вызывает {@link DayWindow#close()}, когда оно больше не нужно.
+ */
+public class GetDashboardWindowUseCase {
+    private static final String TAG = "GetDashboardWindowUC";
+    // Если догруженных кусков стало больше, окно перезапрашивается одним диапазоном
+    private static final int MAX_SEGMENTS = 4;
+
+    private final CalendarRepository calendarRepository;
+    private final GamificationRepository gamificationRepository;
+    private final PriorityResolver priorityResolver;
+    private final WorkspaceSessionManager workspaceSessionManager;
+    private final DateTimeUtils dateTimeUtils;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final Logger logger;
+
+    @Inject
+    public GetDashboardWindowUseCase(
+            CalendarRepository calendarRepository,
+            GamificationRepository gamificationRepository,
+            PriorityResolver priorityResolver,
+            WorkspaceSessionManager workspaceSessionManager,
+            DateTimeUtils dateTimeUtils,
+            @ScheduledExecutor ScheduledExecutorService scheduledExecutor,
+            Logger logger) {
+        this.calendarRepository = calendarRepository;
+        this.gamificationRepository = gamificationRepository;
+        this.priorityResolver = priorityResolver;
+        this.workspaceSessionManager = workspaceSessionManager;
+        this.dateTimeUtils = dateTimeUtils;
+        this.scheduledExecutor = scheduledExecutor;
+        this.logger = logger;
+    }
+
+    /** Окно из radiusDays дней по обе стороны от центра. */
+    public DayWindow execute(int radiusDays) {
+        return new DayWindow(radiusDays);
+    }
+
+    public final class DayWindow {
+        private final int radiusDays;
+        private final MediatorLiveData<Map<LocalDate, CalendarDashboardData>> data = new MediatorLiveData<>();
+        private final List<Segment> segments = new ArrayList<>();
+        // Таймер границы приоритетов пишет сюда, окно пересчитывается на главном потоке
+        private final MutableLiveData<Long> priorityBoundary = new MutableLiveData<>();
+        private ScheduledFuture<?> priorityRefreshTask;
+
+        private Long workspaceId;
+        private LocalDate center;
+        private Gamification gamification;
+        private boolean gamificationLoaded = false;
+
+        private DayWindow(int radiusDays) {
+            this.radiusDays = Math.max(0, radiusDays);
+            data.addSource(workspaceSessionManager.getWorkspaceIdLiveData(), wsId -> {
+                if (Objects.equals(workspaceId, wsId)) return;
+                logger.debug(TAG, "Workspace changed to {}, reloading window", wsId);
+                workspaceId = wsId;
+                removeAllSegments();
+                if (isWorkspaceValid()) {
+                    ensureCoverage();
+                } else {
+                    data.setValue(Collections.emptyMap());
+                }
+            });
+            data.addSource(gamificationRepository.getCurrentUserGamificationFlow(), gami -> {
+                gamification = gami;
+                gamificationLoaded = true;
+                emit();
+            });
+            data.addSource(priorityBoundary, ignored -> emit());
+        }
+
+        public LiveData<Map<LocalDate, CalendarDashboardData>> getData() {
+            return data;
+        }
+
+        @MainThread
+        public void setCenter(LocalDate newCenter) {
+            if (newCenter == null || newCenter.equals(center)) return;
+            center = newCenter;
+            if (!isWorkspaceValid()) return;
+            ensureCoverage();
+            emit();
+        }
+
+        /** Отменяет таймер пересчета приоритетов. */
+        @MainThread
+        public void close() {
+            cancelPriorityRefresh();
+        }
+
+        private boolean isWorkspaceValid() {
+            return workspaceId != null && workspaceId != 0L;
+        }
+
+        private LocalDate windowStart() { return center.minusDays(radiusDays); }
+        private LocalDate windowEnd() { return center.plusDays(radiusDays); }
+
+        private void ensureCoverage() {
+            if (center == null) return;
+            LocalDate start = windowStart();
+            LocalDate end = windowEnd();
+
+            // Сегменты, целиком вышедшие за окно, больше не нужны
+            Iterator<Segment> iterator = segments.iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                if (segment.end.isBefore(start) || segment.start.isAfter(end)) {
+                    data.removeSource(segment.source);
+                    iterator.remove();
+                }
+            }
+
+            // Непокрытые дни окна собираем в непрерывные отрезки
+            List<LocalDate[]> gaps = new ArrayList<>();
+            LocalDate gapStart = null;
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                boolean covered = isCovered(day);
+                if (!covered && gapStart == null) gapStart = day;
+                if (covered && gapStart != null) {
+                    gaps.add(new LocalDate[]{gapStart, day.minusDays(1)});
+                    gapStart = null;
+                }
+            }
+            if (gapStart != null) gaps.add(new LocalDate[]{gapStart, end});
+            if (gaps.isEmpty()) return;
+
+            if (segments.size() + gaps.size() > MAX_SEGMENTS) {
+                logger.debug(TAG, "Too many window segments, rebasing window {}..{}", start, end);
+                removeAllSegments();
+                addSegment(start, end);
+            } else {
+                for (LocalDate[] gap : gaps) addSegment(gap[0], gap[1]);
+            }
+        }
+
+        private boolean isCovered(LocalDate day) {
+            for (Segment segment : segments) {
+                if (!day.isBefore(segment.start) && !day.isAfter(segment.end)) return true;
+            }
+            return false;
+        }
+
+        private void addSegment(LocalDate start, LocalDate end) {
+            logger.debug(TAG, "Loading window segment {}..{} for workspace {}", start, end, workspaceId);
+            Segment segment = new Segment(start, end,
+                    calendarRepository.getTasksForLocalDateRange(workspaceId, start, end));
+            segments.add(segment);
+            data.addSource(segment.source, tasks -> {
+                segment.tasks = tasks != null ? tasks : Collections.emptyList();
+                emit();
+            });
+        }
+
+        private void removeAllSegments() {
+            for (Segment segment : segments) data.removeSource(segment.source);
+            segments.clear();
+        }
+
+        private void emit() {
+            if (center == null || !gamificationLoaded || !isWorkspaceValid()) return;
+            LocalDate start = windowStart();
+            LocalDate end = windowEnd();
+
+            Map<LocalDate, List<CalendarTaskWithTagsAndPomodoro>> tasksByDay = new HashMap<>();
+            List<LocalDate> loadedDays = new ArrayList<>();
+            for (Segment segment : segments) {
+                if (segment.tasks == null) continue;
+                for (LocalDate day = segment.start; !day.isAfter(segment.end); day = day.plusDays(1)) {
+                    if (!day.isBefore(start) && !day.isAfter(end)) {
+                        loadedDays.add(day);
+                        tasksByDay.put(day, new ArrayList<>());
+                    }
+                }
+            }
+            List<CalendarTaskWithTagsAndPomodoro> windowTasks = new ArrayList<>();
+            for (Segment segment : segments) {
+                if (segment.tasks == null) continue;
+                for (CalendarTaskWithTagsAndPomodoro task : segment.tasks) {
+                    LocalDate localDay = dateTimeUtils.utcToLocalLocalDateTime(task.getTask().getDueDate()).toLocalDate();
+                    List<CalendarTaskWithTagsAndPomodoro> dayTasks = tasksByDay.get(localDay);
+                    if (dayTasks != null) {
+                        dayTasks.add(task);
+                        windowTasks.add(task);
+                    }
+                }
+            }
+
+            // Приоритеты всего окна считаются одним пакетом
+            PriorityResolution priorities = CalendarExtensions.resolvePriorities(windowTasks, priorityResolver);
+            Map<LocalDate, CalendarDashboardData> result = new HashMap<>();
+            for (LocalDate day : loadedDays) {
+                List<CalendarTaskSummary> summaries =
+                        CalendarExtensions.toTaskSummaries(tasksByDay.get(day), priorities, dateTimeUtils);
+                result.put(day, new CalendarDashboardData(summaries, gamification));
+            }
+            logger.debug(TAG, "Window {}..{}: {} day(s) loaded, {} task(s)", start, end, result.size(), windowTasks.size());
+            data.setValue(result);
+            schedulePriorityRefresh(priorities);
+        }
+
+        private void schedulePriorityRefresh(PriorityResolution priorities) {
+            cancelPriorityRefresh();
+            long delayMs = priorities.millisUntilNextChange(dateTimeUtils.currentLocalDateTime());
+            if (delayMs < 0) return;
+            logger.debug(TAG, "Next priority change at {} (in {} ms)", priorities.getNextChangeAt(), delayMs);
+            priorityRefreshTask = scheduledExecutor.schedule(
+                    () -> priorityBoundary.postValue(System.currentTimeMillis()),
+                    delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void cancelPriorityRefresh() {
+            if (priorityRefreshTask != null) {
+                priorityRefreshTask.cancel(false);
+                priorityRefreshTask = null;
+            }
+        }
+    }
+
+    private static final class Segment {
+        final LocalDate start;
+        final LocalDate end;
+        final LiveData<List<CalendarTaskWithTagsAndPomodoro>> source;
+        List<CalendarTaskWithTagsAndPomodoro> tasks; // null, пока запрос не вернул данные
+
+        Segment(LocalDate start, LocalDate end, LiveData<List<CalendarTaskWithTagsAndPomodoro>> source) {
+            this.start = start;
+            this.end = end;
+            this.source = source;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.projectquestonjava.approach.calendar.extensions;
 
-import com.example.projectquestonjava.core.data.model.enums.Priority;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
 import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
 import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskSummary;
 import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
@@ -17,6 +18,32 @@ public class CalendarExtensions {
             List<CalendarTaskWithTagsAndPomodoro> tasksWithDetails,
             PriorityResolver priorityResolver,
             DateTimeUtils dateTimeUtils
+    ) {
+        if (tasksWithDetails == null) {
+            return new ArrayList<>();
+        }
+        return toTaskSummaries(tasksWithDetails, resolvePriorities(tasksWithDetails, priorityResolver), dateTimeUtils);
+    }
+
+    // Приоритеты всего списка считаются одним вызовом резолвера (одно чтение часов)
+    public static PriorityResolution resolvePriorities(
+            List<CalendarTaskWithTagsAndPomodoro> tasksWithDetails,
+            PriorityResolver priorityResolver
+    ) {
+        if (tasksWithDetails == null || tasksWithDetails.isEmpty()) {
+            return PriorityResolution.EMPTY;
+        }
+        List<Task> tasks = new ArrayList<>(tasksWithDetails.size());
+        for (CalendarTaskWithTagsAndPomodoro taskWithTags : tasksWithDetails) {
+            tasks.add(taskWithTags.getTask());
+        }
+        return priorityResolver.resolveAll(tasks);
+    }
+
+    public static List<CalendarTaskSummary> toTaskSummaries(
+            List<CalendarTaskWithTagsAndPomodoro> tasksWithDetails,
+            PriorityResolution priorities,
+            DateTimeUtils dateTimeUtils
     ) {
         if (tasksWithDetails == null) {
             return new ArrayList<>();
@@ -27,11 +54,9 @@ public class CalendarExtensions {
                     LocalDateTime utcDueDate = taskWithTags.getTask().getDueDate();
                     // 2. Конвертируем в локальное время
                     LocalDateTime localDueDate = dateTimeUtils.utcToLocalLocalDateTime(utcDueDate);
-                    // 3. Передаем локальное время в резолвер
-                    Priority calculatedPriority = priorityResolver.resolve(localDueDate, taskWithTags.getTask().getStatus());
 
-                    // subtaskProgress пока не реализован в CalendarTaskWithTagsAndPomodoro, ставим null
-                    Float subtaskProgress = null;
+                    // Свертка подзадач уже подставлена репозиторием (null - подзадач нет)
+                    Float subtaskProgress = taskWithTags.getSubtaskProgress();
                     // recurrenceRule берем из CalendarParams
                     String recurrenceRule = taskWithTags.getCalendarParams() != null ? taskWithTags.getCalendarParams().getRecurrenceRule() : null;
 
@@ -42,13 +67,15 @@ public class CalendarExtensions {
                             taskWithTags.getTask().getDescription(),
                             localDueDate,
                             taskWithTags.getTask().getStatus(),
-                            calculatedPriority,
+                            // 3. Приоритет уже рассчитан пакетно
+                            priorities.getPriority(taskWithTags.getTask().getId()),
                             taskWithTags.getPomodoroCount(),
                             taskWithTags.getTags(),
                             recurrenceRule,
-                            subtaskProgress
+                            subtaskProgress,
+                            taskWithTags.isOccurrence()
                     );
                 })
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
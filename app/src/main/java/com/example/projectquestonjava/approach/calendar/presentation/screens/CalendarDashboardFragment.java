@@ -444,7 +444,7 @@ public class CalendarDashboardFragment extends BaseFragment implements TaskDashb
     }
     @Override public void onTaskCheckedChange(CalendarTaskSummary task, boolean isChecked) {
         logger.debug(TAG, "onTaskCheckedChange: Task '" + task.getTitle() + "', isChecked: " + isChecked);
-        viewModel.handleSwipeAction(task.getId(), CalendarDashboardViewModel.SwipeDirection.RIGHT); // Имитируем свайп
+        viewModel.handleSwipeAction(task, CalendarDashboardViewModel.SwipeDirection.RIGHT); // Имитируем свайп
     }
     @Override public void onEditTask(CalendarTaskSummary task) {
         logger.debug(TAG, "onEditTask: Task '" + task.getTitle() + "' (ID: " + task.getId() + ")");
@@ -210,7 +210,8 @@ public class CalendarPlanningFragment extends BaseFragment
                 if (selectedDate != null) {
                     emptyTasksMessage.setText("Нет задач на " + selectedDate.format(DateTimeFormatter.ofPattern("d MMMM", new Locale("ru"))));
                 } else if (currentMonth != null){
-                    emptyTasksMessage.setText("Нет задач в " + currentMonth.format(DateTimeFormatter.ofPattern("LLLL", new Locale("ru"))));
+                    // Список месяца целиком не грузится, задачи показываются для выбранного дня
+                    emptyTasksMessage.setText("Выберите день, чтобы увидеть задачи");
                 } else {
                     emptyTasksMessage.setText("Нет задач");
                 }
@@ -265,12 +266,18 @@ public class CalendarPlanningFragment extends BaseFragment
     public void onTaskDeleteRequested(int position) {
         if (tasksAdapter != null && position != RecyclerView.NO_POSITION && position < tasksAdapter.getCurrentList().size()) {
             CalendarTaskSummary task = tasksAdapter.getCurrentList().get(position);
+            if (task.isOccurrence()) {
+                // Вхождение серии не удаляется: ViewModel покажет причину без диалога подтверждения
+                viewModel.deleteTask(task);
+                tasksAdapter.notifyItemChanged(position);
+                return;
+            }
             DeleteConfirmationDialogFragment.newInstance(
                     "Удалить задачу?",
                     "Вы уверены, что хотите удалить задачу \"" + task.getTitle() + "\"?",
                     "Удалить",
                     R.drawable.warning,
-                    () -> viewModel.deleteTask(task.getId())
+                    () -> viewModel.deleteTask(task)
             ).show(getChildFragmentManager(), "DeleteConfirmPlanningCb");
         }
         if (tasksAdapter != null) tasksAdapter.notifyItemChanged(position);
@@ -280,7 +287,7 @@ public class CalendarPlanningFragment extends BaseFragment
     public void onTaskMoveRequested(int position) {
         if (tasksAdapter != null && position != RecyclerView.NO_POSITION && position < tasksAdapter.getCurrentList().size()) {
             CalendarTaskSummary task = tasksAdapter.getCurrentList().get(position);
-            viewModel.requestMoveTask(task.getId());
+            viewModel.requestMoveTask(task);
         }
         if (tasksAdapter != null) tasksAdapter.notifyItemChanged(position);
     }
@@ -118,9 +118,9 @@ public class DayTasksFragment extends Fragment implements TaskDashboardListAdapt
                 if (position != RecyclerView.NO_POSITION) {
                     CalendarTaskSummary task = adapter.getCurrentList().get(position);
                     if (direction == ItemTouchHelper.LEFT) {
-                        sharedViewModel.handleSwipeAction(task.getId(), CalendarDashboardViewModel.SwipeDirection.LEFT);
+                        sharedViewModel.handleSwipeAction(task, CalendarDashboardViewModel.SwipeDirection.LEFT);
                     } else if (direction == ItemTouchHelper.RIGHT) {
-                        sharedViewModel.handleSwipeAction(task.getId(), CalendarDashboardViewModel.SwipeDirection.RIGHT);
+                        sharedViewModel.handleSwipeAction(task, CalendarDashboardViewModel.SwipeDirection.RIGHT);
                     }
                     adapter.notifyItemChanged(position);
                 }
@@ -238,7 +238,7 @@ public class DayTasksFragment extends Fragment implements TaskDashboardListAdapt
     }
     @Override
     public void onTaskCheckedChange(CalendarTaskSummary task, boolean isChecked) {
-        sharedViewModel.handleSwipeAction(task.getId(), CalendarDashboardViewModel.SwipeDirection.RIGHT);
+        sharedViewModel.handleSwipeAction(task, CalendarDashboardViewModel.SwipeDirection.RIGHT);
     }
     @Override
     public void onEditTask(CalendarTaskSummary task) {
@@ -142,6 +142,8 @@ public class TaskDashboardListAdapter extends ListAdapter<CalendarTaskSummary, T
             cardView.setOnClickListener(v -> listener.onTaskClick(task));
             checkboxTaskDone.setOnCheckedChangeListener(null);
             checkboxTaskDone.setChecked(isChecked);
+            // Статус вхождения серии не хранится отдельно, отметить можно только саму задачу
+            checkboxTaskDone.setEnabled(!task.isOccurrence());
             checkboxTaskDone.setOnCheckedChangeListener((buttonView, isNowChecked) -> {
                 if (buttonView.isPressed()) {
                     listener.onTaskCheckedChange(task, isNowChecked);
@@ -171,7 +173,7 @@ public class TaskDashboardListAdapter extends ListAdapter<CalendarTaskSummary, T
             new DiffUtil.ItemCallback<CalendarTaskSummary>() {
                 @Override
                 public boolean areItemsTheSame(@NonNull CalendarTaskSummary oldItem, @NonNull CalendarTaskSummary newItem) {
-                    return oldItem.getId() == newItem.getId();
+                    return oldItem.isSameItem(newItem);
                 }
 
                 @Override
@@ -145,7 +145,7 @@ public class TaskPlanningListAdapter extends ListAdapter<CalendarTaskSummary, Ta
             new DiffUtil.ItemCallback<CalendarTaskSummary>() {
                 @Override
                 public boolean areItemsTheSame(@NonNull CalendarTaskSummary oldItem, @NonNull CalendarTaskSummary newItem) {
-                    return oldItem.getId() == newItem.getId();
+                    return oldItem.isSameItem(newItem);
                 }
 
                 @Override
@@ -131,14 +131,30 @@ public class MonthPageFragment extends Fragment {
             this.dailyTaskCounts = Collections.emptyMap();
         }
 
+        // Перерисовываем только ячейки, у которых что-то поменялось, а не всю сетку
         public void setSelectedDate(LocalDate selectedDate) {
+            LocalDate previous = this.selectedDate;
+            if (Objects.equals(previous, selectedDate)) return;
             this.selectedDate = selectedDate;
-            notifyDataSetChanged();
+            notifyDayChanged(previous);
+            notifyDayChanged(selectedDate);
         }
 
         public void setDailyTaskCounts(Map<LocalDate, Integer> counts) {
+            Map<LocalDate, Integer> previous = this.dailyTaskCounts;
             this.dailyTaskCounts = counts != null ? counts : Collections.emptyMap();
-            notifyDataSetChanged();
+            for (int i = 0; i < days.size(); i++) {
+                LocalDate day = days.get(i);
+                if (day != null && !Objects.equals(previous.getOrDefault(day, 0), dailyTaskCounts.getOrDefault(day, 0))) {
+                    notifyItemChanged(i);
+                }
+            }
+        }
+
+        private void notifyDayChanged(@Nullable LocalDate day) {
+            if (day == null) return;
+            int position = days.indexOf(day);
+            if (position >= 0) notifyItemChanged(position);
         }
 
         @NonNull
@@ -281,7 +281,7 @@ public class TaskDetailsBottomSheetFragment extends BottomSheetDialogFragment {
             doneCheckbox.setChecked(summary.getStatus() == TaskStatus.DONE);
             doneCheckbox.setOnCheckedChangeListener((buttonView, isChecked) -> {
                 if (buttonView.isPressed()) {
-                    dashboardViewModel.handleSwipeAction(summary.getId(), CalendarDashboardViewModel.SwipeDirection.RIGHT);
+                    dashboardViewModel.handleSwipeAction(summary, CalendarDashboardViewModel.SwipeDirection.RIGHT);
                 }
             });
         } else {
@@ -299,10 +299,10 @@ public class TaskDetailsBottomSheetFragment extends BottomSheetDialogFragment {
 
         deleteButton.setOnClickListener(v -> {
             if (isDashboardSource && dashboardViewModel != null) {
-                dashboardViewModel.handleSwipeAction(summary.getId(), CalendarDashboardViewModel.SwipeDirection.LEFT);
+                dashboardViewModel.handleSwipeAction(summary, CalendarDashboardViewModel.SwipeDirection.LEFT);
             } else if (!isDashboardSource && planningViewModel != null) {
 
-                planningViewModel.deleteTask(summary.getId());
+                planningViewModel.deleteTask(summary);
             }
             dismiss();
         });
@@ -23,6 +23,7 @@ import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTas
 import com.example.projectquestonjava.approach.calendar.domain.model.TaskFilterOption;
 import com.example.projectquestonjava.approach.calendar.domain.model.TaskSortOption;
 import com.example.projectquestonjava.approach.calendar.domain.usecases.GetDashboardDataUseCase;
+import com.example.projectquestonjava.approach.calendar.domain.usecases.GetDashboardWindowUseCase;
 import com.example.projectquestonjava.approach.calendar.domain.usecases.MarkTaskAsIncompleteUseCase;
 import com.example.projectquestonjava.feature.gamification.domain.usecases.ProcessTaskCompletionUseCase;
 import com.google.common.util.concurrent.FutureCallback;
@@ -44,7 +45,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.inject.Inject;
@@ -69,7 +69,10 @@ public class CalendarDashboardViewModel extends ViewModel {
 
     public static final int DATE_RANGE = 30;
     public static final int INITIAL_PAGE = DATE_RANGE;
+    // Сколько дней по обе стороны от текущей страницы держим загруженными
+    private static final int PAGER_WINDOW_RADIUS = 3;
     private static final String TAG = "CalendarDashboardVM";
+    private static final String OCCURRENCE_ACTION_ERROR = "Это повтор задачи: перенести, отметить или удалить можно только саму задачу";
 
     private final GetDashboardDataUseCase getDashboardDataUseCase;
     private final ProcessTaskCompletionUseCase processTaskCompletionUseCase;
@@ -104,6 +107,7 @@ public class CalendarDashboardViewModel extends ViewModel {
 
     private final LiveData<CalendarDashboardData> _rawDataForSelectedDate;
     public final LiveData<CalendarDashboardData> dashboardDataLiveData;
+    private final GetDashboardWindowUseCase.DayWindow pagerWindow;
     public final LiveData<Map<LocalDate, CalendarDashboardData>> pagerDataLiveData;
 
     public final LiveData<Float> currentProgressLiveData;
@@ -123,6 +127,7 @@ public class CalendarDashboardViewModel extends ViewModel {
     @Inject
     public CalendarDashboardViewModel(
             GetDashboardDataUseCase getDashboardDataUseCase,
+            GetDashboardWindowUseCase getDashboardWindowUseCase,
             ProcessTaskCompletionUseCase processTaskCompletionUseCase,
             MarkTaskAsIncompleteUseCase markTaskAsIncompleteUseCase,
             DeleteTaskUseCase deleteTaskUseCase,
@@ -189,35 +194,28 @@ public class CalendarDashboardViewModel extends ViewModel {
             return applyFiltersAndSorting(trigger.rawData, trigger.tags, trigger.sortOption, trigger.filterOptions);
         });
 
-        pagerDataLiveData = Transformations.switchMap(dataProcessingTrigger, trigger -> {
-            MediatorLiveData<Map<LocalDate, CalendarDashboardData>> pageDataMediator = new MediatorLiveData<>();
-            Integer currentPage = _currentPageLiveData.getValue();
-            if (currentPage == null || trigger == null) {
-                pageDataMediator.setValue(Collections.emptyMap());
-                return pageDataMediator;
+        // Одно окно на весь пейджер: при свайпе догружается только новый крайний день
+        pagerWindow = getDashboardWindowUseCase.execute(PAGER_WINDOW_RADIUS);
+        LiveData<Map<LocalDate, CalendarDashboardData>> rawPagerData = pagerWindow.getData();
+        MediatorLiveData<Map<LocalDate, CalendarDashboardData>> pagerMediator = new MediatorLiveData<>();
+        Runnable rebuildPagerData = () -> {
+            Map<LocalDate, CalendarDashboardData> raw = rawPagerData.getValue();
+            if (raw == null) return;
+            CombinedDataTrigger trigger = buildDataTrigger(null);
+            Map<LocalDate, CalendarDashboardData> filtered = new HashMap<>();
+            for (Map.Entry<LocalDate, CalendarDashboardData> entry : raw.entrySet()) {
+                filtered.put(entry.getKey(), applyFiltersAndSorting(entry.getValue(), trigger.tags, trigger.sortOption, trigger.filterOptions));
             }
-            List<LocalDate> datesInRange = getDatesForPagerRange(currentPage);
-            Map<LocalDate, CalendarDashboardData> rangeDataMap = new HashMap<>();
-            AtomicInteger loadedDataCount = new AtomicInteger(0);
-            int totalDatesToLoad = datesInRange.size();
-
-            for (LocalDate dateKey : datesInRange) {
-                LiveData<CalendarDashboardData> rawDataForDateKey = getDashboardDataUseCase.execute(dateKey.atTime(LocalTime.NOON));
-                pageDataMediator.addSource(rawDataForDateKey, rawData -> {
-                    if (rawData != null) {
-                        CalendarDashboardData filteredData = applyFiltersAndSorting(rawData, trigger.tags, trigger.sortOption, trigger.filterOptions);
-                        rangeDataMap.put(dateKey, filteredData);
-                    } else {
-                        rangeDataMap.put(dateKey, CalendarDashboardData.EMPTY);
-                    }
-                    if (rangeDataMap.size() == totalDatesToLoad) {
-                        logger.debug(TAG, "pagerDataLiveData: All data for range around page " + currentPage + " processed. Emitting map with " + rangeDataMap.size() + " entries.");
-                        pageDataMediator.setValue(new HashMap<>(rangeDataMap));
-                    }
-                });
-            }
-            return pageDataMediator;
+            pagerMediator.setValue(filtered);
+        };
+        pagerMediator.addSource(_selectedDateLiveData, date -> {
+            if (date != null) pagerWindow.setCenter(date.toLocalDate());
         });
+        pagerMediator.addSource(rawPagerData, raw -> rebuildPagerData.run());
+        pagerMediator.addSource(_selectedTagsLiveData, tags -> rebuildPagerData.run());
+        pagerMediator.addSource(_sortOptionLiveData, sort -> rebuildPagerData.run());
+        pagerMediator.addSource(_filterOptionsLiveData, filters -> rebuildPagerData.run());
+        pagerDataLiveData = pagerMediator;
 
         currentProgressLiveData = Transformations.map(dashboardDataLiveData, data -> {
             if (data == null || data.getTasks() == null || data.getTasks().isEmpty()) return 0f;
@@ -251,16 +249,6 @@ public class CalendarDashboardViewModel extends ViewModel {
         return new CombinedDataTrigger(rawData, tags, sort, filters);
     }
 
-    private List<LocalDate> getDatesForPagerRange(int currentPage) {
-        List<LocalDate> dates = new ArrayList<>();
-        int prefetch = 1;
-        LocalDate centerDate = getDateForPageInternal(currentPage).toLocalDate();
-        for (int i = -prefetch; i <= prefetch; i++) {
-            dates.add(centerDate.plusDays(i));
-        }
-        return dates.stream().distinct().sorted().collect(Collectors.toList());
-    }
-
     public void refreshDataForCurrentPage() {
         logger.info(TAG, "refreshDataForCurrentPage called.");
         LocalDateTime currentDate = _selectedDateLiveData.getValue();
@@ -473,7 +461,14 @@ public class CalendarDashboardViewModel extends ViewModel {
             _swipeActionStateLiveData.postValue(SwipeActionState.Idle.getInstance());
         }
     }
-    public void handleSwipeAction(long taskId, SwipeDirection direction) {
+    public void handleSwipeAction(CalendarTaskSummary task, SwipeDirection direction) {
+        long taskId = task.getId();
+        // Вхождение - копия серии без своей строки: статус и удаление по его id изменили бы всю серию
+        if (task.isOccurrence()) {
+            logger.debug(TAG, "Swipe rejected for occurrence of task " + taskId + " on " + task.getDueDate());
+            snackbarManager.showMessage(OCCURRENCE_ACTION_ERROR);
+            return;
+        }
         LocalDateTime currentSelectedDateTime = _selectedDateLiveData.getValue();
         if (currentSelectedDateTime == null) { logger.error(TAG, "selectedDate is null in handleSwipeAction"); return; }
         CalendarDashboardData dataForSelectedDay = dashboardDataLiveData.getValue();
@@ -483,7 +478,7 @@ public class CalendarDashboardViewModel extends ViewModel {
             return;
         }
         CalendarTaskSummary taskToActOn = dataForSelectedDay.getTasks().stream()
-                .filter(t -> t.getId() == taskId).findFirst().orElse(null);
+                .filter(t -> t.getId() == taskId && !t.isOccurrence()).findFirst().orElse(null);
         if (taskToActOn == null) {
             logger.error(TAG, "Cannot handle swipe: task " + taskId + " not found in current day's filtered data.");
             return;
@@ -516,6 +511,7 @@ public class CalendarDashboardViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
+        pagerWindow.close();
         logger.info(TAG, "ViewModel cleared. Instance: " + this.hashCode());
     }
 }
\ No newline at end of file
@@ -20,9 +20,11 @@ import com.example.projectquestonjava.approach.calendar.domain.usecases.GetCalen
 import com.example.projectquestonjava.approach.calendar.domain.usecases.UpdateCalendarTaskUseCase;
 import com.example.projectquestonjava.approach.calendar.extensions.CalendarExtensions;
 import com.example.projectquestonjava.core.data.model.enums.Priority;
-import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.di.MainExecutor;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
 import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
 import com.example.projectquestonjava.core.domain.usecases.DeleteTaskUseCase;
 import com.example.projectquestonjava.core.managers.SnackbarManager;
@@ -34,13 +36,13 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 
 import dagger.hilt.android.lifecycle.HiltViewModel;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -48,8 +50,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -58,6 +62,7 @@ import javax.inject.Inject;
 public class CalendarPlanningViewModel extends ViewModel {
 
     private static final String TAG = "CalendarPlanningVM";
+    private static final String OCCURRENCE_ACTION_ERROR = "Это повтор задачи: перенести, отметить или удалить можно только саму задачу";
 
     private final CalendarRepository calendarRepository;
     private final GetCalendarMonthDataUseCase getCalendarMonthDataUseCase;
@@ -70,6 +75,11 @@ public class CalendarPlanningViewModel extends ViewModel {
     private final Logger logger;
     private final Executor ioExecutor;
     private final Executor mainExecutor; // Добавлен mainExecutor
+    private final ScheduledExecutorService scheduledExecutor;
+    private ScheduledFuture<?> priorityRefreshTask;
+    private final Executor listExecutor;
+    private final AtomicInteger filterGeneration = new AtomicInteger();
+    private PlanningTaskIndex taskIndex; // только на listExecutor
 
     private final MutableLiveData<PlanningUiState> _uiStateLiveData = new MutableLiveData<>(new PlanningUiState());
     public LiveData<PlanningUiState> uiStateLiveData = _uiStateLiveData;
@@ -95,6 +105,9 @@ public class CalendarPlanningViewModel extends ViewModel {
 
     private final MutableLiveData<Long> _taskToMoveIdLiveData = new MutableLiveData<>(null);
 
+    // Срабатывает, когда приоритет какой-либо задачи меняется со временем
+    private final MutableLiveData<Long> _priorityBoundaryLiveData = new MutableLiveData<>();
+
     private final MutableLiveData<CalendarTaskSummary> _taskDetailsForBottomSheet = new MutableLiveData<>(null);
     public LiveData<CalendarTaskSummary> taskDetailsForBottomSheetLiveData = _taskDetailsForBottomSheet;
 
@@ -116,6 +129,8 @@ public class CalendarPlanningViewModel extends ViewModel {
             DateTimeUtils dateTimeUtils,
             @IODispatcher Executor ioExecutor,
             @MainExecutor Executor mainExecutor,
+            @ScheduledExecutor ScheduledExecutorService scheduledExecutor,
+            ExecutorRegistry executorRegistry,
             Logger logger) {
         this.getCalendarMonthDataUseCase = getCalendarMonthDataUseCase;
         this.calendarRepository = calendarRepository;
@@ -128,6 +143,8 @@ public class CalendarPlanningViewModel extends ViewModel {
         this.logger = logger;
         this.ioExecutor = ioExecutor;
         this.mainExecutor = mainExecutor; // Сохраняем mainExecutor
+        this.scheduledExecutor = scheduledExecutor;
+        this.listExecutor = executorRegistry.newSerialExecutor("planning-list");
 
         logger.info(TAG, "ViewModel initialized. Instance: " + this.hashCode());
 
@@ -149,6 +166,7 @@ public class CalendarPlanningViewModel extends ViewModel {
         triggerLiveData.addSource(_currentMonthLiveData, commonTriggerObserver);
         triggerLiveData.addSource(_selectedDateLiveData, commonTriggerObserver);
         triggerLiveData.addSource(workspaceIdSourceLiveData, commonTriggerObserver);
+        triggerLiveData.addSource(_priorityBoundaryLiveData, commonTriggerObserver);
 
         YearMonth initialMonth = _currentMonthLiveData.getValue();
         LocalDate initialDate = _selectedDateLiveData.getValue();
@@ -182,7 +200,8 @@ public class CalendarPlanningViewModel extends ViewModel {
 
             if (date != null) {
                 logger.debug(TAG, "calendarDataLiveData: Fetching data for selected date: " + date);
-                LiveData<List<CalendarTaskWithTagsAndPomodoro>> tasksForDay = calendarRepository.getTasksForDay(workspaceId, date.atStartOfDay());
+                // Локальные границы дня, как и у счетчиков сетки, чтобы число в ячейке совпадало со списком
+                LiveData<List<CalendarTaskWithTagsAndPomodoro>> tasksForDay = calendarRepository.getTasksForLocalDateRange(workspaceId, date, date);
                 return Transformations.map(tasksForDay, tasksWithDetails -> {
                     updateUiState(s -> s.copyWithLoading(false));
                     if (tasksWithDetails == null) {
@@ -190,32 +209,39 @@ public class CalendarPlanningViewModel extends ViewModel {
                         return CalendarMonthData.EMPTY;
                     }
                     logger.debug(TAG, "calendarDataLiveData: Received " + tasksWithDetails.size() + " tasks for date " + date);
-                    List<CalendarTaskSummary> summaries = CalendarExtensions.toTaskSummaries(tasksWithDetails, priorityResolver, dateTimeUtils);
+                    PriorityResolution priorities = CalendarExtensions.resolvePriorities(tasksWithDetails, priorityResolver);
+                    List<CalendarTaskSummary> summaries = CalendarExtensions.toTaskSummaries(tasksWithDetails, priorities, dateTimeUtils);
                     Map<LocalDate, Integer> counts = Collections.singletonMap(date, summaries.size());
-                    return new CalendarMonthData(summaries, counts);
+                    return new CalendarMonthData(summaries, counts, priorities.getNextChangeAt());
                 });
             } else {
-                logger.debug(TAG, "calendarDataLiveData: Fetching data for month: " + month);
-                LiveData<CalendarMonthData> monthData = getCalendarMonthDataUseCase.execute(month.atDay(1));
-                MediatorLiveData<CalendarMonthData> mediatedResult = new MediatorLiveData<>();
-                mediatedResult.addSource(monthData, data -> {
-                    updateUiState(s -> s.copyWithLoading(false));
-                    logger.debug(TAG, "calendarDataLiveData: Received data for month " + month + ". Tasks: " + (data != null ? data.getTasks().size() : "null_data") + ", Counts: " + (data != null ? data.getDailyTaskCounts().size() : "null_counts"));
-                    mediatedResult.setValue(data != null ? data : CalendarMonthData.EMPTY);
-                });
-                return mediatedResult;
+                // Без выбранного дня список задач не грузим: сетка месяца строится из monthCountsLiveData
+                logger.debug(TAG, "calendarDataLiveData: No date selected for month " + month + ", task list is not loaded.");
+                updateUiState(s -> s.copyWithLoading(false));
+                MutableLiveData<CalendarMonthData> emptyData = new MutableLiveData<>();
+                emptyData.setValue(CalendarMonthData.EMPTY);
+                return emptyData;
             }
         });
 
-        dailyTaskCountsLiveData = Transformations.map(calendarDataLiveData, monthData -> {
+        // Счетчики сетки не зависят от выбранного дня, поэтому перезапрашиваются только при смене месяца
+        LiveData<CalendarMonthData> monthCountsLiveData = Transformations.switchMap(
+                Transformations.distinctUntilChanged(_currentMonthLiveData), month -> {
+                    logger.debug(TAG, "monthCountsLiveData: Fetching counts for month: " + month);
+                    return getCalendarMonthDataUseCase.execute(month.atDay(1));
+                });
+
+        dailyTaskCountsLiveData = Transformations.map(monthCountsLiveData, monthData -> {
             if (monthData == null) return Collections.emptyMap();
             logger.debug(TAG, "dailyTaskCountsLiveData updated with " + monthData.getDailyTaskCounts().size() + " entries.");
             return monthData.getDailyTaskCounts();
         });
 
         MediatorLiveData<Quartet<List<CalendarTaskSummary>, Set<TaskFilterOption>, TaskSortOption, LocalDate>> filterSortTrigger = new MediatorLiveData<>();
-        filterSortTrigger.addSource(Transformations.map(calendarDataLiveData, CalendarMonthData::getTasks), tasks -> {
+        filterSortTrigger.addSource(calendarDataLiveData, monthData -> {
+            List<CalendarTaskSummary> tasks = monthData != null ? monthData.getTasks() : null;
             logger.debug(TAG, "filterSortTrigger: Tasks updated, count: " + (tasks != null ? tasks.size() : "null"));
+            schedulePriorityRefresh(monthData);
             updateFilterSortTriggerValue(filterSortTrigger);
         });
         filterSortTrigger.addSource(_filterOptionsLiveData, filters -> {
@@ -232,13 +258,26 @@ public class CalendarPlanningViewModel extends ViewModel {
         });
         updateFilterSortTriggerValue(filterSortTrigger);
 
-        filteredTasksLiveData = Transformations.map(filterSortTrigger, trigger -> {
+        // Фильтрация и сортировка идут на отдельном последовательном исполнителе; устаревшие
+        // запросы (пришел новый триггер) отбрасываются, ListAdapter считает DiffUtil в фоне
+        MediatorLiveData<List<CalendarTaskSummary>> filteredTasks = new MediatorLiveData<>();
+        filteredTasks.addSource(filterSortTrigger, trigger -> {
             if (trigger == null || trigger.first == null) {
                 logger.debug(TAG, "filteredTasksLiveData: Trigger or tasks in trigger is null, returning empty list.");
-                return Collections.emptyList();
+                filterGeneration.incrementAndGet();
+                filteredTasks.setValue(Collections.emptyList());
+                return;
             }
-            return filterAndSortTasks(trigger.first, trigger.fourth, trigger.second, trigger.third);
+            int generation = filterGeneration.incrementAndGet();
+            listExecutor.execute(() -> {
+                if (generation != filterGeneration.get()) return;
+                List<CalendarTaskSummary> result = filterAndSortTasks(trigger.first, trigger.fourth, trigger.second, trigger.third);
+                if (generation == filterGeneration.get()) {
+                    filteredTasks.postValue(result);
+                }
+            });
         });
+        filteredTasksLiveData = filteredTasks;
     }
 
     private void updateFilterSortTriggerValue(MediatorLiveData<Quartet<List<CalendarTaskSummary>, Set<TaskFilterOption>, TaskSortOption, LocalDate>> mediator) {
@@ -255,6 +294,24 @@ public class CalendarPlanningViewModel extends ViewModel {
         }
     }
 
+    /**
+     * Приоритеты зависят от текущего времени, поэтому перезапрашиваем данные ровно
+     * в момент ближайшей смены приоритета, а не по таймеру.
+     */
+    private void schedulePriorityRefresh(@Nullable CalendarMonthData monthData) {
+        if (priorityRefreshTask != null) {
+            priorityRefreshTask.cancel(false);
+            priorityRefreshTask = null;
+        }
+        LocalDateTime nextChangeAt = monthData != null ? monthData.getNextPriorityChangeAt() : null;
+        if (nextChangeAt == null) return;
+        long delayMs = Math.max(0, Duration.between(dateTimeUtils.currentLocalDateTime(), nextChangeAt).toMillis());
+        logger.debug(TAG, "Next priority change at {} (in {} ms)", nextChangeAt, delayMs);
+        priorityRefreshTask = scheduledExecutor.schedule(
+                () -> _priorityBoundaryLiveData.postValue(System.currentTimeMillis()),
+                delayMs, TimeUnit.MILLISECONDS);
+    }
+
     private void updateUiState(UiStateUpdaterPlanning updater) {
         PlanningUiState currentState = _uiStateLiveData.getValue();
         _uiStateLiveData.postValue(updater.update(currentState != null ? currentState : new PlanningUiState()));
@@ -327,7 +384,9 @@ public class CalendarPlanningViewModel extends ViewModel {
     public void clearError() { updateUiState(s -> s.copy(null, null, null)); }
     public void clearSuccessMessage() { updateUiState(s -> s.copy(null, null, null)); }
 
-    public void deleteTask(long taskId) {
+    public void deleteTask(CalendarTaskSummary task) {
+        if (rejectOccurrence(task)) return;
+        long taskId = task.getId();
         logger.debug(TAG, "Attempting to delete task: taskId=" + taskId);
         updateUiState(s -> s.copy(true, null, null));
         ListenableFuture<Void> future = deleteTaskUseCase.execute(taskId);
@@ -350,9 +409,10 @@ public class CalendarPlanningViewModel extends ViewModel {
         }, ioExecutor); // Коллбэк изначально на ioExecutor
     }
 
-    public void requestMoveTask(long taskId) {
-        logger.debug(TAG, "Requesting move for task " + taskId);
-        _taskToMoveIdLiveData.postValue(taskId);
+    public void requestMoveTask(CalendarTaskSummary task) {
+        if (rejectOccurrence(task)) return;
+        logger.debug(TAG, "Requesting move for task " + task.getId());
+        _taskToMoveIdLiveData.postValue(task.getId());
         _showMoveTaskSheetLiveData.postValue(true);
     }
 
@@ -371,7 +431,9 @@ public class CalendarPlanningViewModel extends ViewModel {
             tasksSource = filteredTasksLiveData.getValue();
         }
 
-        CalendarTaskSummary taskToMove = tasksSource.stream().filter(t -> t.getId() == taskId).findFirst().orElse(null);
+        // Вхождения серии несут тот же id, но чужой срок: переносим только саму задачу
+        CalendarTaskSummary taskToMove = tasksSource.stream()
+                .filter(t -> t.getId() == taskId && !t.isOccurrence()).findFirst().orElse(null);
 
         if (taskToMove == null) {
             logger.error(TAG, "Task " + taskId + " not found in current data for move.");
@@ -416,6 +478,14 @@ public class CalendarPlanningViewModel extends ViewModel {
         }, ioExecutor); // Коллбэк изначально на ioExecutor
     }
 
+    // Вхождение - копия серии без своей строки: действие по его id изменило бы всю серию
+    private boolean rejectOccurrence(CalendarTaskSummary task) {
+        if (!task.isOccurrence()) return false;
+        logger.debug(TAG, "Action rejected for occurrence of task " + task.getId() + " on " + task.getDueDate());
+        updateUiState(s -> s.copy(false, OCCURRENCE_ACTION_ERROR, null));
+        return true;
+    }
+
     public void onMoveCancelled() {
         _taskToMoveIdLiveData.postValue(null);
         _showMoveTaskSheetLiveData.postValue(false);
@@ -451,47 +521,18 @@ public class CalendarPlanningViewModel extends ViewModel {
         }
     }
 
+    // Вызывается только на listExecutor
     private List<CalendarTaskSummary> filterAndSortTasks(
             @Nullable List<CalendarTaskSummary> tasks, @Nullable LocalDate selectedDate,
             @NonNull Set<TaskFilterOption> filterOptions, @NonNull TaskSortOption sortOption
     ) {
         if (tasks == null) return Collections.emptyList();
         logger.debug(TAG, "filterAndSortTasks: Input " + tasks.size() + " tasks. Date: " + selectedDate + ", Filters: " + filterOptions + ", Sort: " + sortOption);
-        Stream<CalendarTaskSummary> stream = tasks.stream();
-        LocalDate today = dateTimeUtils.currentLocalDate();
-
-        if (!filterOptions.contains(TaskFilterOption.ALL)) {
-            stream = stream.filter(task -> {
-                boolean passesPriority = true;
-                if (filterOptions.contains(TaskFilterOption.CRITICAL_PRIORITY)) passesPriority = task.getPriority() == Priority.CRITICAL;
-                else if (filterOptions.contains(TaskFilterOption.HIGH_PRIORITY)) passesPriority = task.getPriority() == Priority.HIGH || task.getPriority() == Priority.CRITICAL;
-
-                boolean passesDateSpecific = true;
-                if (selectedDate == null) {
-                    if (filterOptions.contains(TaskFilterOption.TODAY)) passesDateSpecific = task.getDueDate().toLocalDate().isEqual(today);
-                    else if (filterOptions.contains(TaskFilterOption.OVERDUE)) passesDateSpecific = task.getDueDate().toLocalDate().isBefore(today) && task.getStatus() != TaskStatus.DONE;
-                }
-
-                boolean passesCompletion = true;
-                boolean hasCompleteFilter = filterOptions.contains(TaskFilterOption.COMPLETE);
-                boolean hasIncompleteFilter = filterOptions.contains(TaskFilterOption.INCOMPLETE);
-
-                if (hasCompleteFilter && !hasIncompleteFilter) passesCompletion = (task.getStatus() == TaskStatus.DONE);
-                else if (!hasCompleteFilter && hasIncompleteFilter) passesCompletion = (task.getStatus() != TaskStatus.DONE);
-
-                return passesPriority && passesDateSpecific && passesCompletion;
-            });
-        }
-        List<CalendarTaskSummary> filteredList = stream.collect(Collectors.toList());
-        switch (sortOption) {
-            case TIME_ASC: filteredList.sort(Comparator.comparing(CalendarTaskSummary::getDueDate)); break;
-            case TIME_DESC: filteredList.sort(Comparator.comparing(CalendarTaskSummary::getDueDate).reversed()); break;
-            case CREATED_NEWEST: filteredList.sort(Comparator.comparingLong(CalendarTaskSummary::getId).reversed()); break;
-            case CREATED_OLDEST: filteredList.sort(Comparator.comparingLong(CalendarTaskSummary::getId)); break;
-            case PRIORITY_DESC: filteredList.sort(Comparator.comparing((CalendarTaskSummary t) -> t.getPriority().ordinal()).reversed()); break;
-            case PRIORITY_ASC: filteredList.sort(Comparator.comparing((CalendarTaskSummary t) -> t.getPriority().ordinal())); break;
-            case STATUS: filteredList.sort(Comparator.comparing(t -> t.getStatus() == TaskStatus.DONE)); break;
+        if (taskIndex == null || !taskIndex.isBuiltFor(tasks)) {
+            taskIndex = new PlanningTaskIndex(tasks);
         }
+        List<CalendarTaskSummary> filteredList =
+                taskIndex.query(selectedDate, filterOptions, sortOption, dateTimeUtils.currentLocalDate());
         logger.debug(TAG, "filterAndSortTasks: Resulting " + filteredList.size() + " tasks.");
         return filteredList;
     }
@@ -533,6 +574,9 @@ public class CalendarPlanningViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
+        if (priorityRefreshTask != null) {
+            priorityRefreshTask.cancel(false);
+        }
         logger.info(TAG, "ViewModel cleared. Instance: " + this.hashCode());
     }
 }
\ No newline at end of file
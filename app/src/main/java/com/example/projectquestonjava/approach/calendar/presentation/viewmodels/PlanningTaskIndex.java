@@ -0,0 +1,140 @@
+package com.example.projectquestonjava.approach.calendar.presentation.viewmodels;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskSummary;
+import com.example.projectquestonjava.approach.calendar.domain.model.TaskFilterOption;
+import com.example.projectquestonjava.approach.calendar.domain.model.TaskSortOption;
+import com.example.projectquestonjava.core.data.model.enums.Priority;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Индекс списка задач планирования для фильтрации и сортировки вне главного потока.
+ * Ключи сортировки и корзины по приоритету считаются один раз на список задач и
+ * переиспользуются при смене фильтров, сортировки и выбранной даты.
+ * Порядок совпадает со стабильной сортировкой исходного списка: при равных ключах
+ * задачи идут в исходном порядке.
+ */
+final class PlanningTaskIndex {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final List<CalendarTaskSummary> source;
+    private final long[] dueKeys;      // локальный дедлайн, секунды
+    private final long[] dueDays;      // локальный день дедлайна, epochDay
+    private final boolean[] done;
+    // Индексы задач по ordinal приоритета, по возрастанию исходной позиции
+    private final int[][] priorityBuckets;
+
+    PlanningTaskIndex(@NonNull List<CalendarTaskSummary> source) {
+        this.source = source;
+        int size = source.size();
+        dueKeys = new long[size];
+        dueDays = new long[size];
+        done = new boolean[size];
+        int[] bucketSizes = new int[PRIORITIES.length];
+        for (int i = 0; i < size; i++) {
+            CalendarTaskSummary task = source.get(i);
+            dueKeys[i] = task.getDueDate().toEpochSecond(ZoneOffset.UTC);
+            dueDays[i] = task.getDueDate().toLocalDate().toEpochDay();
+            done[i] = task.getStatus() == TaskStatus.DONE;
+            bucketSizes[task.getPriority().ordinal()]++;
+        }
+        priorityBuckets = new int[PRIORITIES.length][];
+        int[] fill = new int[PRIORITIES.length];
+        for (int p = 0; p < PRIORITIES.length; p++) priorityBuckets[p] = new int[bucketSizes[p]];
+        for (int i = 0; i < size; i++) {
+            int p = source.get(i).getPriority().ordinal();
+            priorityBuckets[p][fill[p]++] = i;
+        }
+    }
+
+    boolean isBuiltFor(@Nullable List<CalendarTaskSummary> tasks) {
+        return source == tasks;
+    }
+
+    List<CalendarTaskSummary> query(@Nullable LocalDate selectedDate, @NonNull Set<TaskFilterOption> filterOptions,
+                                    @NonNull TaskSortOption sortOption, @NonNull LocalDate today) {
+        if (source.isEmpty()) return Collections.emptyList();
+        List<Integer> selected = filter(selectedDate, filterOptions, today.toEpochDay());
+        switch (sortOption) {
+            case TIME_ASC: selected.sort((a, b) -> Long.compare(dueKeys[a], dueKeys[b])); break;
+            case TIME_DESC: selected.sort((a, b) -> Long.compare(dueKeys[b], dueKeys[a])); break;
+            case CREATED_NEWEST: selected.sort((a, b) -> Long.compare(source.get(b).getId(), source.get(a).getId())); break;
+            case CREATED_OLDEST: selected.sort((a, b) -> Long.compare(source.get(a).getId(), source.get(b).getId())); break;
+            case PRIORITY_DESC: selected = regroupByPriority(selected, true); break;
+            case PRIORITY_ASC: selected = regroupByPriority(selected, false); break;
+            case STATUS: selected = partitionByDone(selected); break;
+        }
+        List<CalendarTaskSummary> result = new ArrayList<>(selected.size());
+        for (int index : selected) result.add(source.get(index));
+        return result;
+    }
+
+    private List<Integer> filter(@Nullable LocalDate selectedDate, Set<TaskFilterOption> filterOptions, long todayDay) {
+        boolean all = filterOptions.contains(TaskFilterOption.ALL);
+        // Фильтр по приоритету берет только нужные корзины, остальные задачи даже не просматриваются
+        int minPriority = 0;
+        if (!all && filterOptions.contains(TaskFilterOption.CRITICAL_PRIORITY)) minPriority = Priority.CRITICAL.ordinal();
+        else if (!all && filterOptions.contains(TaskFilterOption.HIGH_PRIORITY)) minPriority = Priority.HIGH.ordinal();
+
+        boolean todayOnly = false;
+        boolean overdueOnly = false;
+        if (!all && selectedDate == null) {
+            todayOnly = filterOptions.contains(TaskFilterOption.TODAY);
+            overdueOnly = !todayOnly && filterOptions.contains(TaskFilterOption.OVERDUE);
+        }
+        boolean hasComplete = filterOptions.contains(TaskFilterOption.COMPLETE);
+        boolean hasIncomplete = filterOptions.contains(TaskFilterOption.INCOMPLETE);
+        boolean completeOnly = !all && hasComplete && !hasIncomplete;
+        boolean incompleteOnly = !all && !hasComplete && hasIncomplete;
+
+        List<Integer> candidates = new ArrayList<>();
+        if (minPriority == 0) {
+            for (int i = 0; i < source.size(); i++) candidates.add(i);
+        } else {
+            for (int p = minPriority; p < PRIORITIES.length; p++) {
+                for (int index : priorityBuckets[p]) candidates.add(index);
+            }
+            // Исходный порядок нужен для стабильности последующей сортировки
+            if (PRIORITIES.length - minPriority > 1) Collections.sort(candidates);
+        }
+
+        List<Integer> result = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            if (todayOnly && dueDays[i] != todayDay) continue;
+            if (overdueOnly && (dueDays[i] >= todayDay || done[i])) continue;
+            if (completeOnly && !done[i]) continue;
+            if (incompleteOnly && done[i]) continue;
+            result.add(i);
+        }
+        return result;
+    }
+
+    // Сортировка по приоритету без сравнений: проход по корзинам в нужном порядке
+    private List<Integer> regroupByPriority(List<Integer> selected, boolean descending) {
+        boolean[] keep = new boolean[source.size()];
+        for (int index : selected) keep[index] = true;
+        List<Integer> result = new ArrayList<>(selected.size());
+        for (int step = 0; step < PRIORITIES.length; step++) {
+            int p = descending ? PRIORITIES.length - 1 - step : step;
+            for (int index : priorityBuckets[p]) {
+                if (keep[index]) result.add(index);
+            }
+        }
+        return result;
+    }
+
+    private List<Integer> partitionByDone(List<Integer> selected) {
+        List<Integer> result = new ArrayList<>(selected.size());
+        for (int index : selected) if (!done[index]) result.add(index);
+        for (int index : selected) if (done[index]) result.add(index);
+        return result;
+    }
+}
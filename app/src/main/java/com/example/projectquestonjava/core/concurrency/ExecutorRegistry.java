@@ -0,0 +1,129 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import android.os.Process;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Единая точка владения потоками приложения. Потоки именованы ("pq-io-N", "pq-db-write-N" и т.д.),
+ * по каждому пулу собираются метрики.
+ *
+ * <ul>
+ *   <li>{@link #io()} - блокирующие операции use case'ов и репозиториев. Без очереди и без верхнего
+ *   предела потоков (как {@code Executors.newCachedThreadPool()}): use case'ы на IO-пуле ждут
+ *   {@code future.get()} вложенных задач того же пула, и любой предел с очередью или отказом
+ *   превращается во взаимную блокировку. Простаивающие потоки завершаются через
+ *   {@link #KEEP_ALIVE_SECONDS} с, поэтому всплеск не оставляет их надолго. Отправка никогда не
+ *   выполняется в вызывающем потоке и не отклоняется, пока пул не остановлен.</li>
+ *   <li>{@link #cpu()} - вычисления, по числу ядер.</li>
+ *   <li>{@link #dbQuery()} / {@link #dbWrite()} - исполнители Room: несколько читателей и один писатель
+ *   (SQLite все равно сериализует запись).</li>
+ *   <li>{@link #scheduled()} - таймеры и debounce; тяжелую работу из него нужно передавать в другие пулы.</li>
+ * </ul>
+ * Число потоков ограничено у CPU- и DB-пулов; их очереди не ограничены, так что они тоже не
+ * отклоняют задачи. Задачи в них не должны блокироваться на результатах своего же пула.
+ * Последовательные исполнители ({@link #newSerialExecutor(String)}) не создают своих потоков,
+ * а выполняют задачи по одной поверх IO-пула.
+ */
+@Singleton
+public class ExecutorRegistry {
+    private static final String TAG = "ExecutorRegistry";
+
+    static final int DB_QUERY_THREADS = 4;
+    static final long KEEP_ALIVE_SECONDS = 30L;
+    private static final long SHUTDOWN_TIMEOUT_MS = 500L;
+
+    private final Logger logger;
+    private final InstrumentedThreadPoolExecutor io;
+    private final InstrumentedThreadPoolExecutor cpu;
+    private final InstrumentedThreadPoolExecutor dbQuery;
+    private final InstrumentedThreadPoolExecutor dbWrite;
+    private final InstrumentedScheduledExecutor scheduled;
+
+    @Inject
+    public ExecutorRegistry(Logger logger) {
+        this.logger = logger;
+        int cpuCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        // SynchronousQueue: задача сразу уходит свободному потоку или новому, а не ждет за заблокированными
+        this.io = new InstrumentedThreadPoolExecutor("io", 0, Integer.MAX_VALUE,
+                KEEP_ALIVE_SECONDS, new SynchronousQueue<>(), Process.THREAD_PRIORITY_BACKGROUND);
+        this.cpu = new InstrumentedThreadPoolExecutor("cpu", cpuCount, cpuCount,
+                KEEP_ALIVE_SECONDS, new LinkedBlockingQueue<>(), Process.THREAD_PRIORITY_DEFAULT);
+        this.dbQuery = new InstrumentedThreadPoolExecutor("db-query", DB_QUERY_THREADS, DB_QUERY_THREADS,
+                KEEP_ALIVE_SECONDS, new LinkedBlockingQueue<>(), Process.THREAD_PRIORITY_BACKGROUND);
+        this.dbWrite = new InstrumentedThreadPoolExecutor("db-write", 1, 1,
+                KEEP_ALIVE_SECONDS, new LinkedBlockingQueue<>(), Process.THREAD_PRIORITY_BACKGROUND);
+        this.scheduled = new InstrumentedScheduledExecutor("scheduled", 1, Process.THREAD_PRIORITY_DEFAULT);
+
+        // Пулы не держат простаивающие потоки, пока приложение в фоне
+        cpu.allowCoreThreadTimeOut(true);
+        dbQuery.allowCoreThreadTimeOut(true);
+        dbWrite.allowCoreThreadTimeOut(true);
+    }
+
+    public InstrumentedThreadPoolExecutor io() { return io; }
+    public InstrumentedThreadPoolExecutor cpu() { return cpu; }
+    public InstrumentedThreadPoolExecutor dbQuery() { return dbQuery; }
+    public InstrumentedThreadPoolExecutor dbWrite() { return dbWrite; }
+    public ScheduledExecutorService scheduled() { return scheduled; }
+
+    /**
+     * Исполнитель, выполняющий задачи строго по одной в порядке поступления поверх IO-пула.
+     * Имя используется только для логов.
+     */
+    public Executor newSerialExecutor(String name) {
+        logger.debug(TAG, "Creating serial executor '{}' on io pool", name);
+        return MoreExecutors.newSequentialExecutor(io);
+    }
+
+    /** Состояние всех пулов одной строкой на пул. */
+    public List<String> dumpStats() {
+        List<String> lines = new ArrayList<>(5);
+        lines.add(io.dump());
+        lines.add(cpu.dump());
+        lines.add(dbQuery.dump());
+        lines.add(dbWrite.dump());
+        lines.add(scheduled.dump());
+        return lines;
+    }
+
+    public void logStats() {
+        if (!logger.isDebugEnabled(TAG)) return;
+        for (String line : dumpStats()) {
+            logger.debug(TAG, line);
+        }
+    }
+
+    /**
+     * Останавливает все пулы. На устройстве процесс завершается без колбэков, поэтому здесь
+     * вызывается только из тестов и {@code Application.onTerminate()} эмулятора: потоки пулов -
+     * демоны с таймаутом простоя и не удерживают процесс. Сброс буферов при уходе в фон
+     * выполняет {@code MyApplication.onTrimMemory}.
+     */
+    public void shutdown() {
+        logStats();
+        scheduled.shutdownNow();
+        cpu.shutdown();
+        io.shutdown();
+        dbQuery.shutdown();
+        // Писатель завершаем последним, давая дописать начатые транзакции
+        dbWrite.shutdown();
+        try {
+            if (!dbWrite.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.warn(TAG, "db-write pool did not terminate in {} ms", SHUTDOWN_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import androidx.annotation.NonNull;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Счетчики одного пула: число задач, суммарное/максимальное ожидание в очереди
+ * и время выполнения, максимальная глубина очереди и отклоненные задачи.
+ */
+public final class ExecutorStats {
+
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong totalQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong totalExecNanos = new AtomicLong();
+    private final AtomicLong maxExecNanos = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    void recordQueueWait(long nanos) {
+        totalQueueWaitNanos.addAndGet(nanos);
+        updateMax(maxQueueWaitNanos, nanos);
+    }
+
+    void recordExecution(long nanos) {
+        completedTasks.incrementAndGet();
+        totalExecNanos.addAndGet(nanos);
+        updateMax(maxExecNanos, nanos);
+    }
+
+    void recordQueueDepth(int depth) {
+        updateMax(maxQueueDepth, depth);
+    }
+
+    void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) return;
+        }
+    }
+
+    public long getCompletedTasks() { return completedTasks.get(); }
+    public long getMaxQueueDepth() { return maxQueueDepth.get(); }
+    public long getRejected() { return rejected.get(); }
+    public long getMaxQueueWaitNanos() { return maxQueueWaitNanos.get(); }
+    public long getMaxExecNanos() { return maxExecNanos.get(); }
+
+    public long getAvgQueueWaitNanos() {
+        long count = completedTasks.get();
+        return count == 0 ? 0 : totalQueueWaitNanos.get() / count;
+    }
+
+    public long getAvgExecNanos() {
+        long count = completedTasks.get();
+        return count == 0 ? 0 : totalExecNanos.get() / count;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "completed=%d, maxQueued=%d, rejected=%d, wait avg/max=%.2f/%.2fms, exec avg/max=%.2f/%.2fms",
+                getCompletedTasks(), getMaxQueueDepth(), getRejected(),
+                getAvgQueueWaitNanos() / 1e6, getMaxQueueWaitNanos() / 1e6,
+                getAvgExecNanos() / 1e6, getMaxExecNanos() / 1e6);
+    }
+}
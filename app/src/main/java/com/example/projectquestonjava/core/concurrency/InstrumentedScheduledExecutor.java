@@ -0,0 +1,50 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Планировщик с именованными потоками и замером времени выполнения задач.
+ * Задержка старта здесь определяется расписанием, поэтому ожидание в очереди не считается.
+ */
+public final class InstrumentedScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private final String name;
+    private final ExecutorStats stats = new ExecutorStats();
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    InstrumentedScheduledExecutor(String name, int corePoolSize, int androidPriority) {
+        super(corePoolSize, new NamedThreadFactory(name, androidPriority));
+        this.name = name;
+        // Отмененные debounce-задачи не должны копиться в очереди до своего срока
+        setRemoveOnCancelPolicy(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorStats getStats() {
+        return stats;
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        startedAt.set(System.nanoTime());
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        Long start = startedAt.get();
+        if (start != null) {
+            stats.recordExecution(System.nanoTime() - start);
+            startedAt.remove();
+        }
+        super.afterExecute(r, t);
+    }
+
+    public String dump() {
+        return name + ": pool=" + getPoolSize() + ", active=" + getActiveCount()
+                + ", scheduled=" + getQueue().size() + ", " + stats;
+    }
+}
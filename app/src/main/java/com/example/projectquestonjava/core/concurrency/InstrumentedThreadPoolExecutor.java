@@ -0,0 +1,95 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ThreadPoolExecutor, который замеряет время ожидания задачи в очереди и время ее выполнения.
+ * Задача оборачивается в execute(), поэтому submit()/invokeAll() тоже учитываются.
+ */
+public final class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final String name;
+    private final ExecutorStats stats = new ExecutorStats();
+
+    InstrumentedThreadPoolExecutor(String name, int corePoolSize, int maximumPoolSize,
+                                   long keepAliveSeconds, BlockingQueue<Runnable> workQueue,
+                                   int androidPriority) {
+        super(corePoolSize, maximumPoolSize, keepAliveSeconds, TimeUnit.SECONDS, workQueue,
+                new NamedThreadFactory(name, androidPriority));
+        this.name = name;
+        setRejectedExecutionHandler(new RejectWithoutInlineRun(stats));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        super.execute(new TimedRunnable(command, stats));
+        stats.recordQueueDepth(getQueue().size());
+    }
+
+    /** Снимок состояния пула для логов и отладочных экранов. */
+    public String dump() {
+        return name + ": pool=" + getPoolSize() + "/" + getMaximumPoolSize()
+                + " (largest " + getLargestPoolSize() + "), active=" + getActiveCount()
+                + ", queued=" + getQueue().size() + ", " + stats;
+    }
+
+    private static final class TimedRunnable implements Runnable {
+        private final Runnable delegate;
+        private final ExecutorStats stats;
+        private final long enqueuedAt = System.nanoTime();
+
+        TimedRunnable(Runnable delegate, ExecutorStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            stats.recordQueueWait(startedAt - enqueuedAt);
+            try {
+                delegate.run();
+            } finally {
+                stats.recordExecution(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    /**
+     * Отказ никогда не выполняет задачу в вызывающем потоке: им может оказаться главный поток,
+     * таймер или поток Room, где блокирующая работа недопустима. Пулы {@link ExecutorRegistry}
+     * не переполняются (IO-пул без предела потоков, остальные с неограниченной очередью), так что
+     * на практике отказ бывает только после остановки пула.
+     */
+    private static final class RejectWithoutInlineRun implements RejectedExecutionHandler {
+        private final ExecutorStats stats;
+
+        RejectWithoutInlineRun(ExecutorStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            String name = ((InstrumentedThreadPoolExecutor) executor).name;
+            stats.recordRejected();
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor " + name + " is shut down");
+            }
+            throw new RejectedExecutionException("Executor " + name + " is saturated: "
+                    + executor.getActiveCount() + " active, " + executor.getQueue().size() + " queued");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import android.os.Process;
+import androidx.annotation.NonNull;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Фабрика потоков с именами вида "pq-io-3" и заданным Linux-приоритетом,
+ * чтобы пулы было видно в трейсах и дампах потоков.
+ */
+final class NamedThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final int androidPriority;
+    private final AtomicInteger counter = new AtomicInteger(1);
+
+    NamedThreadFactory(String poolName, int androidPriority) {
+        this.prefix = "pq-" + poolName + "-";
+        this.androidPriority = androidPriority;
+    }
+
+    @Override
+    public Thread newThread(@NonNull Runnable r) {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(androidPriority);
+            r.run();
+        }, prefix + counter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
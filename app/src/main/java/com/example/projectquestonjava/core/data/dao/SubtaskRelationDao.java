@@ -7,6 +7,8 @@ import androidx.room.Insert;
 import androidx.room.Query;
 import androidx.room.Update;
 import com.example.projectquestonjava.core.data.model.core.SubtaskRelation;
+import com.example.projectquestonjava.core.data.model.relations.SubtaskProgress;
+import com.example.projectquestonjava.core.data.model.relations.SubtaskTreeNode;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
 
@@ -18,6 +20,50 @@ public interface SubtaskRelationDao {
     @Query("SELECT * FROM subtask_relation WHERE child_task_id = :childTaskId LIMIT 1")
     LiveData<SubtaskRelation> getParentForSubtask(long childTaskId);
 
+    // Предел глубины рекурсивных запросов: страховка от испорченных данных, реальные деревья мельче
+    int MAX_DEPTH = 32;
+
+    /**
+     * Деревья подзадач для списка корней одним запросом (рекурсивный CTE вместо запроса на
+     * каждый узел). Узлы идут в порядке обхода в глубину: сортировочный путь склеивается из
+     * пар (order, id) от корня, поэтому поддерево следует сразу за своим родителем.
+     * Тот же путь отсекает циклы в subtask_relation, глубина ограничена MAX_DEPTH.
+     */
+    String SUBTASK_TREE_QUERY =
+            "WITH RECURSIVE tree(root_task_id, parent_task_id, task_id, depth, sort_path) AS (" +
+            "SELECT r.parent_task_id, r.parent_task_id, r.child_task_id, 1, " +
+            "printf('%012d/%08d%012d/', r.parent_task_id, r.`order`, r.child_task_id) " +
+            "FROM subtask_relation r WHERE r.parent_task_id IN (:rootTaskIds) " +
+            "UNION ALL " +
+            "SELECT tree.root_task_id, r.parent_task_id, r.child_task_id, tree.depth + 1, " +
+            "tree.sort_path || printf('%08d%012d/', r.`order`, r.child_task_id) " +
+            "FROM subtask_relation r INNER JOIN tree ON r.parent_task_id = tree.task_id " +
+            "WHERE tree.depth < " + MAX_DEPTH + " " +
+            "AND instr(tree.sort_path, printf('%012d/', r.child_task_id)) = 0) " +
+            "SELECT t.*, tree.root_task_id AS rootTaskId, tree.parent_task_id AS parentTaskId, tree.depth AS depth " +
+            "FROM tree INNER JOIN task t ON t.id = tree.task_id " +
+            "ORDER BY tree.root_task_id, tree.sort_path";
+
+    /**
+     * Свертка выполненных/всех подзадач на любой глубине, по строке на корень, у которого
+     * есть подзадачи. Считается в SQL, в память деревья не грузятся.
+     */
+    String SUBTASK_PROGRESS_QUERY =
+            "WITH RECURSIVE tree(root_task_id, task_id, depth, visited) AS (" +
+            "SELECT parent_task_id, child_task_id, 1, ',' || parent_task_id || ',' || child_task_id || ',' " +
+            "FROM subtask_relation WHERE parent_task_id IN (:parentTaskIds) " +
+            "UNION ALL " +
+            "SELECT tree.root_task_id, r.child_task_id, tree.depth + 1, tree.visited || r.child_task_id || ',' " +
+            "FROM subtask_relation r INNER JOIN tree ON r.parent_task_id = tree.task_id " +
+            "WHERE tree.depth < " + MAX_DEPTH + " " +
+            "AND instr(tree.visited, ',' || r.child_task_id || ',') = 0) " +
+            "SELECT tree.root_task_id AS parentTaskId, COUNT(*) AS total, SUM(t.status = 'DONE') AS completed " +
+            "FROM tree INNER JOIN task t ON t.id = tree.task_id " +
+            "GROUP BY tree.root_task_id";
+
+    @Query(SUBTASK_TREE_QUERY)
+    LiveData<List<SubtaskTreeNode>> getSubtaskTrees(List<Long> rootTaskIds);
+
     @Insert
     ListenableFuture<Void> insertSubtaskRelation(SubtaskRelation relation);
 
@@ -35,6 +81,12 @@ public interface SubtaskRelationDao {
     @Query("SELECT * FROM subtask_relation WHERE child_task_id = :childTaskId LIMIT 1")
     SubtaskRelation getParentForSubtaskSync(long childTaskId);
 
+    @Query(SUBTASK_TREE_QUERY)
+    List<SubtaskTreeNode> getSubtaskTreesSync(List<Long> rootTaskIds);
+
+    @Query(SUBTASK_PROGRESS_QUERY)
+    List<SubtaskProgress> getSubtaskProgressSync(List<Long> parentTaskIds);
+
     @Insert
     void insertSubtaskRelationSync(SubtaskRelation relation);
 
@@ -74,4 +74,7 @@ public interface TaskDao {
 
     @Query("UPDATE task SET status = :newStatus, updated_at = :updatedAt WHERE id = :taskId AND user_id = :userId")
     int updateTaskStatusSync(long taskId, int userId, TaskStatus newStatus, LocalDateTime updatedAt);
+
+    @Query("UPDATE task SET status = :newStatus, updated_at = :updatedAt WHERE id IN (:taskIds) AND user_id = :userId")
+    int updateTaskStatusBatchSync(List<Long> taskIds, int userId, TaskStatus newStatus, LocalDateTime updatedAt);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.projectquestonjava.core.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.search.TaskSearchMatch;
+import java.util.List;
+
+@Dao
+public interface TaskSearchDao {
+
+    /**
+     * Все совпадения пользователя по индексу task_fts. Сортировка и LIMIT не в SQL:
+     * релевантность считается по matchinfo на клиенте (MatchInfoRanker), а вытягиваются
+     * только id и matchinfo, без текста задач.
+     */
+    @Query("SELECT task_fts.rowid AS taskId, matchinfo(task_fts, 'pcnx') AS matchInfo " +
+            "FROM task_fts INNER JOIN task t ON t.id = task_fts.rowid " +
+            "WHERE task_fts MATCH :matchExpression AND t.user_id = :userId")
+    List<TaskSearchMatch> matchSync(String matchExpression, int userId);
+
+    @Query("SELECT * FROM task WHERE id IN (:taskIds) AND user_id = :userId")
+    List<Task> getTasksByIdsSync(List<Long> taskIds, int userId);
+}
@@ -14,6 +14,7 @@ import com.example.projectquestonjava.core.data.model.core.Approach;
 import com.example.projectquestonjava.core.data.model.core.SubtaskRelation;
 import com.example.projectquestonjava.core.data.model.core.Tag;
 import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.core.TaskFts;
 import com.example.projectquestonjava.core.data.model.core.TaskTagCrossRef;
 import com.example.projectquestonjava.core.data.model.core.UserAuth;
 import com.example.projectquestonjava.core.data.model.core.Workspace;
@@ -30,6 +31,7 @@ import com.example.projectquestonjava.feature.gamification.data.model.StreakRewa
 import com.example.projectquestonjava.feature.gamification.data.model.SurpriseTask;
 import com.example.projectquestonjava.feature.gamification.data.model.VirtualGarden;
 import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
 import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
 import com.example.projectquestonjava.feature.statistics.data.model.GlobalStatistics;
 import com.example.projectquestonjava.feature.statistics.data.model.TaskHistory;
@@ -43,6 +45,7 @@ import com.example.projectquestonjava.core.data.dao.ApproachDao;
 import com.example.projectquestonjava.core.data.dao.SubtaskRelationDao;
 import com.example.projectquestonjava.core.data.dao.TagDao;
 import com.example.projectquestonjava.core.data.dao.TaskDao;
+import com.example.projectquestonjava.core.data.dao.TaskSearchDao;
 import com.example.projectquestonjava.core.data.dao.TaskTagCrossRefDao;
 import com.example.projectquestonjava.core.data.dao.UserAuthDao;
 import com.example.projectquestonjava.core.data.dao.WorkspaceDao;
@@ -59,6 +62,7 @@ import com.example.projectquestonjava.feature.gamification.data.dao.StreakReward
 import com.example.projectquestonjava.feature.gamification.data.dao.SurpriseTaskDao;
 import com.example.projectquestonjava.feature.gamification.data.dao.VirtualGardenDao;
 import com.example.projectquestonjava.feature.pomodoro.data.dao.PomodoroSessionDao;
+import com.example.projectquestonjava.feature.statistics.data.dao.DailyUserStatsDao;
 import com.example.projectquestonjava.feature.statistics.data.dao.GamificationHistoryDao;
 import com.example.projectquestonjava.feature.statistics.data.dao.GlobalStatisticsDao;
 import com.example.projectquestonjava.feature.statistics.data.dao.TaskHistoryDao;
@@ -69,7 +73,7 @@ import com.example.projectquestonjava.feature.statistics.data.dao.WorkspaceStati
 @Database(
         entities = {
                 // Core Entities
-                UserAuth.class, Workspace.class, Approach.class, Task.class, Tag.class,
+                UserAuth.class, Workspace.class, Approach.class, Task.class, TaskFts.class, Tag.class,
                 TaskTagCrossRef.class, SubtaskRelation.class, PublicCommitment.class, Witness.class,
                 // Params Entities
                 GTDParams.class, EisenhowerParams.class, FrogParams.class, CalendarParams.class,
@@ -80,9 +84,10 @@ import com.example.projectquestonjava.feature.statistics.data.dao.WorkspaceStati
                 StoreItem.class, GamificationStorePurchase.class,
                 // Statistics Entities
                 TaskStatistics.class, WorkspaceStatistics.class, GlobalStatistics.class,
-                PomodoroSession.class, TaskHistory.class, GamificationHistory.class
+                PomodoroSession.class, TaskHistory.class, GamificationHistory.class,
+                DailyUserStats.class
         },
-        version = 1,
+        version = 5, // Миграции: DatabaseMigrations
         exportSchema = false
 )
 @TypeConverters(Converters.class)
@@ -92,6 +97,7 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract WorkspaceDao workspaceDao();
     public abstract ApproachDao approachDao();
     public abstract TaskDao taskDao();
+    public abstract TaskSearchDao taskSearchDao();
     public abstract TagDao tagDao();
     public abstract TaskTagCrossRefDao taskTagCrossRefDao();
     public abstract SubtaskRelationDao subtaskRelationDao();
@@ -120,4 +126,5 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract PomodoroSessionDao pomodoroSessionDao();
     public abstract TaskHistoryDao taskHistoryDao();
     public abstract GamificationHistoryDao gamificationHistoryDao();
+    public abstract DailyUserStatsDao dailyUserStatsDao();
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.projectquestonjava.core.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.projectquestonjava.core.data.model.core.TaskFtsSql;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStatsSql;
+
+/**
+ * Миграции схемы AppDatabase. Каждая миграция должна приводить БД к той же схеме,
+ * которую Room создает с нуля для новой версии.
+ */
+public final class DatabaseMigrations {
+
+    private DatabaseMigrations() {}
+
+    /** 1 -> 2: дневные срезы статистики daily_user_stats, триггеры и разовое заполнение из истории. */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL(DailyUserStatsSql.CREATE_TABLE);
+            DailyUserStatsSql.createTriggers(db);
+            DailyUserStatsSql.rebuild(db);
+        }
+    };
+
+    /**
+     * 2 -> 3: составные индексы под горячие выборки по периоду. Одиночные индексы,
+     * ставшие префиксами составных, удаляются. Имена совпадают с генерируемыми Room.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_pomodoro_session_user_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pomodoro_session_user_id_start_time` ON `pomodoro_session` (`user_id`, `start_time`)");
+
+            db.execSQL("DROP INDEX IF EXISTS `index_gamification_history_gamification_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gamification_history_gamification_id_timestamp` ON `gamification_history` (`gamification_id`, `timestamp`)");
+
+            db.execSQL("DROP INDEX IF EXISTS `index_task_history_user_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_task_history_user_id_changed_at` ON `task_history` (`user_id`, `changed_at`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_task_statistics_completion_time` ON `task_statistics` (`completion_time`)");
+
+            // Обновляем статистику планировщика запросов под новые индексы
+            db.execSQL("ANALYZE");
+        }
+    };
+
+    /**
+     * 3 -> 4: горизонт хранения истории stats_retention. Триггеры дневных срезов пересоздаются,
+     * чтобы не пересчитывать дни, сырые строки которых удалены компактированием.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            DailyUserStatsSql.recreateTriggers(db);
+        }
+    };
+
+    /** 4 -> 5: полнотекстовый индекс задач task_fts, триггеры синхронизации и разовое заполнение. */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL(TaskFtsSql.CREATE_TABLE);
+            TaskFtsSql.createTriggers(db);
+            TaskFtsSql.rebuild(db);
+        }
+    };
+
+    public static final Migration[] ALL = {MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5};
+}
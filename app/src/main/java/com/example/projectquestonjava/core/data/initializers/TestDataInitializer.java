@@ -1,5 +1,6 @@
 package com.example.projectquestonjava.core.data.initializers;
 
+import androidx.datastore.preferences.core.Preferences;
 import com.example.projectquestonjava.core.data.database.AppDatabase;
 import com.example.projectquestonjava.core.data.model.core.Approach;
 import com.example.projectquestonjava.core.data.model.core.UserAuth;
@@ -29,7 +30,9 @@ import com.google.common.util.concurrent.MoreExecutors;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
@@ -125,11 +128,12 @@ public class TestDataInitializer {
                     insertSurpriseTasksInternalSync(appDatabase.surpriseTaskDao(), gamificationId); // SYNC
                     insertInitialChallengeProgressInternalSync(appDatabase.challengeDao(), gamificationId); // SYNC
 
-                    // DataStore операции остаются асинхронными, но мы дожидаемся их завершения
-                    userSessionManager.saveUserIdAsync(userId).get();
-                    workspaceSessionManager.saveWorkspaceIdAsync(workspaceId).get();
-                    gamificationDataStoreManager.saveGamificationId(gamificationId).get();
-                    gamificationDataStoreManager.saveSelectedPlantId(plantId).get();
+                    // Ключи сессии пишем одной записью DataStore и дожидаемся ее завершения
+                    Map<Preferences.Key<?>, Object> sessionValues = new HashMap<>();
+                    sessionValues.put(UserSessionManager.USER_ID_KEY, userId);
+                    sessionValues.put(WorkspaceSessionManager.WORKSPACE_ID_KEY, workspaceId);
+                    gamificationDataStoreManager.putSessionValues(sessionValues, gamificationId, plantId);
+                    userSessionManager.saveSessionValuesAsync(sessionValues).get();
 
                     logger.info(TAG, "TEST data initialization (full) successful for user " + TEST_USER_EMAIL);
                     return null;
@@ -0,0 +1,115 @@
+package com.example.projectquestonjava.core.data.managers;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+import com.example.projectquestonjava.core.data.dao.SubtaskRelationDao;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.relations.SubtaskProgress;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Кеш свертки подзадач по родителю. Промахи списка дочитываются одним рекурсивным запросом
+ * (SubtaskRelationDao.SUBTASK_PROGRESS_QUERY), задачи без подзадач тоже кешируются.
+ * Любая запись в task или subtask_relation сбрасывает кеш целиком: статус подзадачи меняет
+ * свертку всех ее предков, а InvalidationTracker не сообщает, какая строка изменилась.
+ * О сбросе сообщает {@link #getInvalidations()}: запись только в subtask_relation не перезапускает
+ * запросы списков задач, и без этого сигнала они показывали бы прежнюю свертку.
+ *
+ * <p>Ограничение: сбрасывают кеш и записи, свертку не меняющие, - правка названия или срока,
+ * создание задачи без родителя. Точечный сброс (только связи и статус подзадач) потребовал бы
+ * отдельной таблицы-журнала с триггерами и миграции; пока промах стоит одного запроса на
+ * видимый список, кеш лишь убирает повторные чтения между сбросами.
+ */
+@Singleton
+public class SubtaskProgressCache {
+
+    private static final String TAG = "SubtaskProgressCache";
+    // Лимит параметров SQLite - 999 на запрос
+    private static final int SQL_BATCH_SIZE = 500;
+    // Задачи нескольких открытых окон календаря; при переполнении кеш просто очищается
+    static final int MAX_ENTRIES = 4096;
+
+    private final SubtaskRelationDao subtaskRelationDao;
+    private final Logger logger;
+    private final Map<Long, SubtaskProgress> entries = new ConcurrentHashMap<>();
+    // Загрузка, начатая до сброса, не должна вернуть в кеш устаревшие значения
+    private final AtomicInteger generation = new AtomicInteger();
+    private final MutableLiveData<Integer> invalidations = new MutableLiveData<>();
+
+    @Inject
+    public SubtaskProgressCache(AppDatabase database, SubtaskRelationDao subtaskRelationDao, Logger logger) {
+        this.subtaskRelationDao = subtaskRelationDao;
+        this.logger = logger;
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("task", "subtask_relation") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Доля выполненных подзадач для каждой задачи списка, у которой есть подзадачи; задач без
+     * подзадач в результате нет. Читает БД только для промахов, поэтому не для главного потока.
+     */
+    public Map<Long, Float> getProgressSync(Collection<Long> taskIds) {
+        Map<Long, Float> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            SubtaskProgress cached = entries.get(taskId);
+            if (cached == null) {
+                misses.add(taskId);
+            } else if (cached.getTotal() > 0) {
+                result.put(taskId, cached.fraction());
+            }
+        }
+        if (misses.isEmpty()) return result;
+
+        int loadGeneration = generation.get();
+        Map<Long, SubtaskProgress> loaded = new HashMap<>();
+        for (List<Long> batch : Lists.partition(misses, SQL_BATCH_SIZE)) {
+            for (SubtaskProgress progress : subtaskRelationDao.getSubtaskProgressSync(batch)) {
+                loaded.put(progress.getParentTaskId(), progress);
+            }
+        }
+        for (Long taskId : misses) {
+            SubtaskProgress progress = loaded.get(taskId);
+            if (progress != null) {
+                result.put(taskId, progress.fraction());
+            } else {
+                progress = new SubtaskProgress(taskId, 0, 0);
+            }
+            if (loadGeneration != generation.get()) continue;
+            entries.put(taskId, progress);
+            // Сброс мог пройти между проверкой и записью
+            if (loadGeneration != generation.get()) entries.remove(taskId);
+        }
+        if (entries.size() > MAX_ENTRIES) entries.clear();
+        logger.debug(TAG, "Loaded rollup for {} task(s), {} with subtasks", misses.size(), loaded.size());
+        return result;
+    }
+
+    public void invalidateAll() {
+        int invalidated = generation.incrementAndGet();
+        entries.clear();
+        invalidations.postValue(invalidated);
+    }
+
+    /** Номер последнего сброса; наблюдатели перечитывают свертку своих строк. */
+    public LiveData<Integer> getInvalidations() {
+        return invalidations;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.projectquestonjava.core.data.model.core;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Полнотекстовый индекс задач (FTS4): rowid совпадает с task.id. Таблицу заполняют только
+ * триггеры из {@link TaskFtsSql}, приложение в нее не пишет. unicode61 приводит к нижнему
+ * регистру и кириллицу, а не только ASCII, как токенизатор по умолчанию.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "task_fts")
+public class TaskFts {
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private long rowid;
+
+    private String title;
+
+    private String description;
+
+    // Имена тегов задачи через пробел
+    @ColumnInfo(name = "tag_names")
+    private String tagNames;
+}
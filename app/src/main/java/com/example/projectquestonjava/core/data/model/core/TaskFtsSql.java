@@ -0,0 +1,74 @@
+package com.example.projectquestonjava.core.data.model.core;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * SQL для поддержки task_fts: триггеры синхронизации с task, task_tag_cross_ref и tags
+ * и полное перестроение индекса.
+ *
+ * <p>Индекс не external content: FTS4 хранит свою копию title, description и имен тегов,
+ * поэтому триггерам не нужны старые значения строки, а удаление задачи - это DELETE по rowid.
+ * Имена тегов пересобираются целиком при любом изменении связей задачи.
+ */
+public final class TaskFtsSql {
+
+    static final String TABLE = "task_fts";
+
+    /** Совпадает со схемой, которую Room генерирует для {@link TaskFts}. */
+    public static final String CREATE_TABLE = "CREATE VIRTUAL TABLE IF NOT EXISTS `task_fts` "
+            + "USING FTS4(`title` TEXT, `description` TEXT, `tag_names` TEXT, tokenize=unicode61)";
+
+    private TaskFtsSql() {}
+
+    private static String tagNamesOf(String taskId) {
+        return "(SELECT group_concat(tg.name, ' ') FROM task_tag_cross_ref x "
+                + "INNER JOIN tags tg ON tg.id = x.tag_id WHERE x.task_id = " + taskId + ")";
+    }
+
+    private static String refreshTagNames(String taskId) {
+        return "UPDATE " + TABLE + " SET tag_names = " + tagNamesOf(taskId) + " WHERE rowid = " + taskId + ";";
+    }
+
+    private static String trigger(String name, String event, String body) {
+        return "CREATE TRIGGER IF NOT EXISTS " + name + " " + event + " FOR EACH ROW BEGIN " + body + " END";
+    }
+
+    private static String[] triggers() {
+        return new String[]{
+                // --- task: текст задачи ---
+                // OR REPLACE: строка задачи могла быть заменена без DELETE-триггера
+                trigger("trg_fts_task_ai", "AFTER INSERT ON task",
+                        "INSERT OR REPLACE INTO " + TABLE + " (rowid, title, description, tag_names) "
+                                + "VALUES (NEW.id, NEW.title, NEW.description, " + tagNamesOf("NEW.id") + ");"),
+                trigger("trg_fts_task_au", "AFTER UPDATE OF title, description ON task",
+                        "UPDATE " + TABLE + " SET title = NEW.title, description = NEW.description WHERE rowid = NEW.id;"),
+                trigger("trg_fts_task_ad", "AFTER DELETE ON task",
+                        "DELETE FROM " + TABLE + " WHERE rowid = OLD.id;"),
+
+                // --- task_tag_cross_ref / tags: имена тегов ---
+                trigger("trg_fts_task_tag_ai", "AFTER INSERT ON task_tag_cross_ref",
+                        refreshTagNames("NEW.task_id")),
+                trigger("trg_fts_task_tag_ad", "AFTER DELETE ON task_tag_cross_ref",
+                        refreshTagNames("OLD.task_id")),
+                trigger("trg_fts_tag_au", "AFTER UPDATE OF name ON tags",
+                        "UPDATE " + TABLE + " SET tag_names = " + tagNamesOf(TABLE + ".rowid") + " "
+                                + "WHERE rowid IN (SELECT task_id FROM task_tag_cross_ref WHERE tag_id = NEW.id);")
+        };
+    }
+
+    /** Создает триггеры (идемпотентно). Вызывается при создании БД и в миграции. */
+    public static void createTriggers(SupportSQLiteDatabase db) {
+        for (String sql : triggers()) {
+            db.execSQL(sql);
+        }
+    }
+
+    /** Полное перестроение индекса из task. Вызывающий код отвечает за транзакцию. */
+    public static void rebuild(SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE);
+        db.execSQL("INSERT INTO " + TABLE + " (rowid, title, description, tag_names) "
+                + "SELECT t.id, t.title, t.description, " + tagNamesOf("t.id") + " FROM task t");
+        // Слияние b-деревьев индекса в одно: меньше сегментов - быстрее MATCH
+        db.execSQL("INSERT INTO " + TABLE + " (" + TABLE + ") VALUES ('optimize')");
+    }
+}
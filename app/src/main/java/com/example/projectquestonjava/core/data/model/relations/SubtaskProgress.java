@@ -0,0 +1,25 @@
+package com.example.projectquestonjava.core.data.model.relations;
+
+import androidx.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Свертка дерева подзадач задачи: все подзадачи на любой глубине и выполненные из них. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubtaskProgress {
+
+    private long parentTaskId;
+
+    private int total;
+
+    private int completed;
+
+    /** Доля выполненных подзадач 0..1 или null, если подзадач нет. */
+    @Nullable
+    public Float fraction() {
+        return total == 0 ? null : (float) completed / total;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.projectquestonjava.core.data.model.relations;
+
+import androidx.room.Embedded;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Узел дерева подзадач из рекурсивного запроса: сама подзадача, корень дерева, в которое
+ * она входит, непосредственный родитель и глубина (1 - прямые подзадачи корня).
+ */
+@Data
+@NoArgsConstructor
+public class SubtaskTreeNode {
+
+    @Embedded
+    private Task task;
+
+    private long rootTaskId;
+
+    private long parentTaskId;
+
+    private int depth;
+}
@@ -0,0 +1,202 @@
+package com.example.projectquestonjava.core.data.paging;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Ограниченное окно ленты, отсортированной по убыванию ключа (время, id).
+ * Страницы догружаются keyset-запросами от крайних элементов окна, а не через OFFSET,
+ * поэтому стоимость страницы не зависит от глубины прокрутки. В памяти держится не
+ * больше maxPages страниц: при прокрутке вниз отбрасываются верхние страницы и наоборот.
+ * Состояние меняется только на главном потоке; результаты запросов доставляются через
+ * callbackExecutor. О новых записях в голове ленты сообщает {@link #onHeadChanged()}.
+ */
+public final class KeysetPageWindow<T> {
+
+    /** Источник страниц; anchor - крайний элемент окна, от которого идет курсор. */
+    public interface PageSource<T> {
+        /** Первые записи ленты, от новых к старым. */
+        ListenableFuture<List<T>> loadHead(int limit);
+
+        /** Записи старше anchor, от новых к старым. */
+        ListenableFuture<List<T>> loadOlder(@NonNull T anchor, int limit);
+
+        /** Записи новее anchor, ближайшие к anchor первыми (по возрастанию ключа). */
+        ListenableFuture<List<T>> loadNewer(@NonNull T anchor, int limit);
+    }
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final int maxPages;
+    private final int prefetchDistance;
+    private final Executor callbackExecutor;
+
+    private final ArrayDeque<List<T>> pages = new ArrayDeque<>();
+    private final MutableLiveData<List<T>> items = new MutableLiveData<>();
+    private boolean atHead = true;       // в окне есть самая новая запись
+    private boolean reachedEnd = false;  // в окне есть самая старая запись
+    private boolean loadingOlder = false;
+    private boolean loadingNewer = false;
+    // Голова изменилась, пока шел запрос новее: ответ мог ее не застать
+    private boolean headChangedWhileLoading = false;
+    // Ответы запросов, запущенных до refresh(), отбрасываются
+    private int generation = 0;
+
+    public KeysetPageWindow(@NonNull PageSource<T> source, int pageSize, int maxPages,
+                            int prefetchDistance, @NonNull Executor callbackExecutor) {
+        if (pageSize <= 0 || maxPages < 2) {
+            throw new IllegalArgumentException("pageSize must be > 0 and maxPages >= 2");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.prefetchDistance = Math.max(0, Math.min(prefetchDistance, pageSize));
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    public LiveData<List<T>> getItems() {
+        return items;
+    }
+
+    /** Перечитывает ленту с головы, сбрасывая окно. */
+    @MainThread
+    public void refresh() {
+        int requestGeneration = ++generation;
+        loadingOlder = true;
+        loadingNewer = false;
+        headChangedWhileLoading = false;
+        load(source.loadHead(pageSize), requestGeneration, page -> {
+            loadingOlder = false;
+            pages.clear();
+            if (!page.isEmpty()) pages.add(page);
+            atHead = true;
+            reachedEnd = page.size() < pageSize;
+            publish();
+        }, () -> {
+            loadingOlder = false;
+            // Пустое окно после ошибки, чтобы экран не остался в состоянии загрузки
+            if (pages.isEmpty()) publish();
+        });
+    }
+
+    /**
+     * В голове ленты появились записи. Пустое окно перечитывается целиком; окно у головы
+     * догружает записи новее своей первой, не сбрасывая прокрутку. Если голова уже вне окна,
+     * новые записи подгрузятся при прокрутке вверх.
+     */
+    @MainThread
+    public void onHeadChanged() {
+        if (pages.isEmpty()) {
+            refresh();
+            return;
+        }
+        if (loadingNewer) {
+            headChangedWhileLoading = true;
+            return;
+        }
+        if (atHead) {
+            atHead = false;
+            loadNewer();
+        }
+    }
+
+    /** Сообщает о показе позиции; у края окна запускает догрузку соседней страницы. */
+    @MainThread
+    public void onItemVisible(int position) {
+        int size = currentSize();
+        if (size == 0) return;
+        if (position >= size - 1 - prefetchDistance) loadOlder();
+        if (position <= prefetchDistance) loadNewer();
+    }
+
+    private void loadOlder() {
+        if (reachedEnd || loadingOlder || pages.isEmpty()) return;
+        List<T> lastPage = pages.peekLast();
+        T anchor = lastPage.get(lastPage.size() - 1);
+        int requestGeneration = generation;
+        loadingOlder = true;
+        load(source.loadOlder(anchor, pageSize), requestGeneration, page -> {
+            loadingOlder = false;
+            reachedEnd = page.size() < pageSize;
+            if (page.isEmpty()) return;
+            pages.addLast(page);
+            if (pages.size() > maxPages) {
+                pages.removeFirst();
+                atHead = false;
+            }
+            publish();
+        }, () -> loadingOlder = false);
+    }
+
+    private void loadNewer() {
+        if (atHead || loadingNewer || pages.isEmpty()) return;
+        T anchor = pages.peekFirst().get(0);
+        int requestGeneration = generation;
+        loadingNewer = true;
+        load(source.loadNewer(anchor, pageSize), requestGeneration, page -> {
+            loadingNewer = false;
+            atHead = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                List<T> descending = new ArrayList<>(page);
+                Collections.reverse(descending);
+                pages.addFirst(descending);
+                if (pages.size() > maxPages) {
+                    pages.removeLast();
+                    reachedEnd = false;
+                }
+                publish();
+            }
+            if (headChangedWhileLoading) {
+                headChangedWhileLoading = false;
+                onHeadChanged();
+            }
+        }, () -> {
+            loadingNewer = false;
+            headChangedWhileLoading = false;
+        });
+    }
+
+    private void load(ListenableFuture<List<T>> future, int requestGeneration,
+                      PageConsumer<T> onPage, Runnable onFailure) {
+        Futures.addCallback(future, new FutureCallback<List<T>>() {
+            @Override
+            public void onSuccess(List<T> result) {
+                if (requestGeneration != generation) return;
+                onPage.accept(result != null ? result : Collections.emptyList());
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                if (requestGeneration != generation) return;
+                onFailure.run();
+            }
+        }, callbackExecutor);
+    }
+
+    private int currentSize() {
+        int size = 0;
+        for (List<T> page : pages) size += page.size();
+        return size;
+    }
+
+    private void publish() {
+        List<T> snapshot = new ArrayList<>(currentSize());
+        for (List<T> page : pages) snapshot.addAll(page);
+        items.setValue(Collections.unmodifiableList(snapshot));
+    }
+
+    @FunctionalInterface
+    private interface PageConsumer<T> {
+        void accept(List<T> page);
+    }
+}
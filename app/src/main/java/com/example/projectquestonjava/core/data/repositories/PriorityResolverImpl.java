@@ -1,34 +1,142 @@
 package com.example.projectquestonjava.core.data.repositories;
 
+import com.example.projectquestonjava.core.data.model.core.Task;
 import com.example.projectquestonjava.core.data.model.enums.Priority;
 import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
 import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
 import com.example.projectquestonjava.core.priority_strategy.PriorityStrategy;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class PriorityResolverImpl implements PriorityResolver {
+    private static final String TAG = "PriorityResolverImpl";
     private final List<PriorityStrategy> strategies;
+    private final DateTimeUtils dateTimeUtils;
     private final Logger logger;
 
+    // Цепочка стратегий, скомпилированная в таблицу порогов для каждого статуса
+    private final Map<TaskStatus, Band[]> bandsByStatus = new EnumMap<>(TaskStatus.class);
+
     @Inject
-    public PriorityResolverImpl(List<PriorityStrategy> strategies, Logger logger) {
+    public PriorityResolverImpl(List<PriorityStrategy> strategies, DateTimeUtils dateTimeUtils, Logger logger) {
         this.strategies = strategies;
+        this.dateTimeUtils = dateTimeUtils;
         this.logger = logger;
+        for (TaskStatus status : TaskStatus.values()) {
+            bandsByStatus.put(status, compileBands(status));
+        }
     }
 
     @Override
     public Priority resolve(LocalDateTime dueDate, TaskStatus status) {
-        logger.debug("PriorityResolverImpl", "Resolving priority for due date: " + dueDate + ", status: " + status);
-        for (PriorityStrategy strategy : strategies) {
-            if (strategy.canHandle(dueDate, status)) {
-                return strategy.getPriority();
+        logger.debug(TAG, "Resolving priority for due date: {}, status: {}", dueDate, status);
+        Band[] bands = bandsFor(status);
+        return bands[findBand(bands, dateTimeUtils.calculateDurationUntilDue(dueDate))].priority;
+    }
+
+    @Override
+    public PriorityResolution resolveAll(List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return PriorityResolution.EMPTY;
+        }
+        LocalDateTime now = dateTimeUtils.currentLocalDateTime();
+        Map<Long, Priority> priorities = new HashMap<>(tasks.size() * 2);
+        LocalDateTime nextChangeAt = null;
+
+        for (Task task : tasks) {
+            if (task.getDueDate() == null) {
+                priorities.put(task.getId(), Priority.LOW);
+                continue;
             }
+            LocalDateTime localDueDate = dateTimeUtils.utcToLocalLocalDateTime(task.getDueDate());
+            Band[] bands = bandsFor(task.getStatus());
+            int index = findBand(bands, Duration.between(now, localDueDate).toMinutes());
+            priorities.put(task.getId(), bands[index].priority);
+
+            if (index > 0) {
+                LocalDateTime boundary = boundaryFor(localDueDate, bands[index - 1].maxMinutes);
+                if (nextChangeAt == null || boundary.isBefore(nextChangeAt)) {
+                    nextChangeAt = boundary;
+                }
+            }
+        }
+        logger.debug(TAG, "Resolved {} priorities at {}, next change at {}", tasks.size(), now, nextChangeAt);
+        return new PriorityResolution(priorities, now, nextChangeAt);
+    }
+
+    private Band[] bandsFor(TaskStatus status) {
+        // null-статус ведет себя как незавершенная задача, как и в стратегиях
+        return bandsByStatus.get(status != null ? status : TaskStatus.TODO);
+    }
+
+    /**
+     * Стратегии проверяются по порядку, поэтому для статуса срабатывает первая,
+     * чей порог не меньше минут до дедлайна. Перекрытые стратегии выкидываем,
+     * соседние полосы с одинаковым приоритетом склеиваем.
+     */
+    private Band[] compileBands(TaskStatus status) {
+        List<Band> bands = new ArrayList<>();
+        long lastMax = Long.MIN_VALUE;
+        for (PriorityStrategy strategy : strategies) {
+            if (!strategy.acceptsStatus(status)) continue;
+            long max = strategy.maxMinutesUntilDue();
+            if (max <= lastMax) continue;
+            addBand(bands, max, strategy.getPriority());
+            lastMax = max;
+            if (max == PriorityStrategy.NO_THRESHOLD) break;
+        }
+        if (lastMax != PriorityStrategy.NO_THRESHOLD) {
+            addBand(bands, PriorityStrategy.NO_THRESHOLD, Priority.LOW);
+        }
+        logger.debug(TAG, "Compiled {} priority bands for status {}", bands.size(), status);
+        return bands.toArray(new Band[0]);
+    }
+
+    private static void addBand(List<Band> bands, long max, Priority priority) {
+        if (!bands.isEmpty() && bands.get(bands.size() - 1).priority == priority) {
+            bands.set(bands.size() - 1, new Band(max, priority));
+        } else {
+            bands.add(new Band(max, priority));
+        }
+    }
+
+    private static int findBand(Band[] bands, long minutesUntilDue) {
+        for (int i = 0; i < bands.length; i++) {
+            if (minutesUntilDue <= bands[i].maxMinutes) return i;
+        }
+        return bands.length - 1;
+    }
+
+    /**
+     * Первый момент, когда Duration.between(t, dueDate).toMinutes() станет <= threshold.
+     * toMinutes() отбрасывает дробную часть к нулю, поэтому положительные и
+     * отрицательные пороги считаются по-разному.
+     */
+    private static LocalDateTime boundaryFor(LocalDateTime dueDate, long thresholdMinutes) {
+        if (thresholdMinutes >= 0) {
+            return dueDate.minusMinutes(thresholdMinutes + 1).plusNanos(1);
+        }
+        return dueDate.plusMinutes(-thresholdMinutes);
+    }
+
+    private static final class Band {
+        final long maxMinutes;
+        final Priority priority;
+
+        Band(long maxMinutes, Priority priority) {
+            this.maxMinutes = maxMinutes;
+            this.priority = priority;
         }
-        return Priority.LOW;
     }
-}
\ No newline at end of file
+}
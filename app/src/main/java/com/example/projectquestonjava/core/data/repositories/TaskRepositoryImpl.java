@@ -11,6 +11,7 @@ import com.example.projectquestonjava.core.domain.repository.TaskRepository;
 import com.example.projectquestonjava.core.managers.UserSessionManager;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 
@@ -25,6 +26,8 @@ import javax.inject.Singleton;
 public class TaskRepositoryImpl implements TaskRepository {
 
     private static final String TAG = "TaskRepositoryImpl";
+    // Пакетные запросы режутся на части: у SQLite лимит 999 параметров на запрос
+    private static final int SQL_BATCH_SIZE = 500;
     private final TaskDao taskDao;
     private final UserSessionManager userSessionManager;
     private final DateTimeUtils dateTimeUtils;
@@ -212,6 +215,22 @@ public class TaskRepositoryImpl implements TaskRepository {
         }
     }
 
+    @Override
+    public void updateTaskStatusBatchSync(List<Long> taskIds, int userId, TaskStatus status, LocalDateTime updatedAt) {
+        if (userId == UserSessionManager.NO_USER_ID) {
+            logger.error(TAG, "Cannot update task statuses SYNC: Invalid userId (-1). Tasks: " + taskIds.size());
+            return;
+        }
+        logger.debug(TAG, "Updating status SYNC for " + taskIds.size() + " tasks, userId=" + userId + " to " + status);
+        int updatedRows = 0;
+        for (List<Long> chunk : Lists.partition(taskIds, SQL_BATCH_SIZE)) {
+            updatedRows += taskDao.updateTaskStatusBatchSync(chunk, userId, status, updatedAt);
+        }
+        if (updatedRows != taskIds.size()) {
+            logger.warn(TAG, "Task status batch SYNC update affected " + updatedRows + " of " + taskIds.size() + " rows, userId=" + userId);
+        }
+    }
+
     @Override
     public TaskWithTags getTaskWithTagsByIdSync(long taskId, int userId) {
         if (userId == UserSessionManager.NO_USER_ID) {
@@ -0,0 +1,96 @@
+package com.example.projectquestonjava.core.data.repositories;
+
+import com.example.projectquestonjava.core.data.dao.TaskSearchDao;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.search.FtsMatchExpression;
+import com.example.projectquestonjava.core.data.search.MatchInfoRanker;
+import com.example.projectquestonjava.core.data.search.TaskSearchMatch;
+import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.domain.repository.TaskSearchRepository;
+import com.example.projectquestonjava.core.managers.UserSessionManager;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private static final String TAG = "TaskSearchRepository";
+
+    // Худший из отобранных - в голове кучи; при равной оценке выше задача с большим id (более новая)
+    private static final Comparator<Ranked> WORST_FIRST =
+            Comparator.comparingDouble(Ranked::score).thenComparingLong(Ranked::taskId);
+
+    private final TaskSearchDao taskSearchDao;
+    private final UserSessionManager userSessionManager;
+    private final Executor ioExecutor;
+    private final Logger logger;
+
+    private record Ranked(long taskId, double score) {}
+
+    @Inject
+    public TaskSearchRepositoryImpl(
+            TaskSearchDao taskSearchDao,
+            UserSessionManager userSessionManager,
+            @IODispatcher Executor ioExecutor,
+            Logger logger) {
+        this.taskSearchDao = taskSearchDao;
+        this.userSessionManager = userSessionManager;
+        this.ioExecutor = ioExecutor;
+        this.logger = logger;
+    }
+
+    @Override
+    public ListenableFuture<List<Task>> searchTasks(String query, int limit) {
+        String matchExpression = FtsMatchExpression.from(query);
+        if (matchExpression == null || limit <= 0) {
+            return Futures.immediateFuture(Collections.emptyList());
+        }
+        int userId = userSessionManager.getUserIdSync();
+        if (userId == UserSessionManager.NO_USER_ID) {
+            logger.warn(TAG, "Search failed: User not logged in.");
+            return Futures.immediateFailedFuture(new IllegalStateException("User not logged in"));
+        }
+        return Futures.submit(() -> search(matchExpression, userId, limit), ioExecutor);
+    }
+
+    private List<Task> search(String matchExpression, int userId, int limit) {
+        List<TaskSearchMatch> matches = taskSearchDao.matchSync(matchExpression, userId);
+        if (matches.isEmpty()) return Collections.emptyList();
+
+        // Частичная сортировка: держим только limit лучших, O(m log limit) вместо сортировки всех совпадений
+        PriorityQueue<Ranked> top = new PriorityQueue<>(Math.min(limit, matches.size()) + 1, WORST_FIRST);
+        for (TaskSearchMatch match : matches) {
+            top.offer(new Ranked(match.getTaskId(), MatchInfoRanker.score(match.getMatchInfo())));
+            if (top.size() > limit) top.poll();
+        }
+        List<Ranked> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) ids.add(r.taskId());
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : taskSearchDao.getTasksByIdsSync(ids, userId)) {
+            byId.put(task.getId(), task);
+        }
+
+        List<Task> result = new ArrayList<>(ranked.size());
+        for (Long id : ids) {
+            Task task = byId.get(id);
+            if (task != null) result.add(task); // задачу могли удалить между двумя запросами
+        }
+        logger.debug(TAG, "Search '" + matchExpression + "': " + matches.size() + " matches, returning " + result.size());
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.projectquestonjava.core.data.search;
+
+import androidx.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * Строит выражение MATCH из пользовательского ввода: каждое слово становится префиксным
+ * термом ("отч" -> "отч*"), термы объединяются неявным AND. Все, кроме букв и цифр,
+ * считается разделителем, поэтому кавычки и операторы FTS из ввода не проходят.
+ */
+public final class FtsMatchExpression {
+
+    // Префикс из одной буквы разворачивается почти во весь словарь индекса
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private FtsMatchExpression() {}
+
+    /** @return выражение для MATCH или null, если во вводе нет ни одного слова. */
+    @Nullable
+    public static String from(@Nullable String query) {
+        if (query == null) return null;
+        String lower = query.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length() + 8);
+        int i = 0;
+        int n = lower.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(lower.charAt(i))) i++;
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(lower.charAt(i))) i++;
+            if (i > start) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append(lower, start, i);
+                if (i - start >= MIN_PREFIX_LENGTH) sb.append('*');
+            }
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.projectquestonjava.core.data.search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Релевантность строки по matchinfo(task_fts, 'pcnx'): в FTS4 нет bm25(), поэтому оценка
+ * считается на клиенте. Для каждой пары (фраза, колонка) берется насыщаемая частота
+ * tf / (tf + K1), умноженная на idf фразы и вес колонки; длина документа не учитывается.
+ *
+ * <p>Раскладка 'pcnx' (32-битные int в порядке байт платформы): p - число фраз,
+ * c - число колонок, n - число строк в индексе, затем по три числа на (фраза, колонка):
+ * вхождений в этой строке, вхождений во всех строках, строк с хотя бы одним вхождением.
+ */
+public final class MatchInfoRanker {
+
+    // Порядок колонок task_fts: title, description, tag_names
+    private static final double[] COLUMN_WEIGHTS = {3.0, 1.0, 2.0};
+    private static final double K1 = 1.2;
+
+    private MatchInfoRanker() {}
+
+    public static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 12) return 0;
+        IntBuffer ints = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phrases = ints.get(0);
+        int columns = ints.get(1);
+        int rows = ints.get(2);
+        if (ints.limit() < 3 + 3 * phrases * columns) return 0;
+
+        double score = 0;
+        for (int p = 0; p < phrases; p++) {
+            for (int c = 0; c < columns; c++) {
+                int base = 3 + 3 * (p * columns + c);
+                int hitsThisRow = ints.get(base);
+                if (hitsThisRow == 0) continue;
+                int docsWithHits = ints.get(base + 2);
+                double idf = Math.log(1 + (rows - docsWithHits + 0.5) / (docsWithHits + 0.5));
+                double weight = c < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[c] : 1.0;
+                score += weight * idf * hitsThisRow / (hitsThisRow + K1);
+            }
+        }
+        return score;
+    }
+}
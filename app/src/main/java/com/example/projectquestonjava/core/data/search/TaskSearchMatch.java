@@ -0,0 +1,12 @@
+package com.example.projectquestonjava.core.data.search;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Строка результата MATCH по task_fts: id задачи и сырой matchinfo для ранжирования. */
+@Data
+@NoArgsConstructor
+public class TaskSearchMatch {
+    private long taskId;
+    private byte[] matchInfo;
+}
@@ -3,6 +3,7 @@ package com.example.projectquestonjava.core.di;
 import android.app.NotificationManager;
 import android.content.Context;
 import androidx.core.content.ContextCompat; // Для getMainExecutor
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
 import com.example.projectquestonjava.core.managers.SnackbarManager;
 import com.example.projectquestonjava.core.utils.AndroidPermissionChecker;
 import com.example.projectquestonjava.core.utils.PermissionChecker;
@@ -14,7 +15,6 @@ import dagger.hilt.InstallIn;
 import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Singleton;
 
@@ -25,22 +25,22 @@ public class AppModule {
     @Provides
     @Singleton
     @IODispatcher
-    public Executor provideIOExecutor() {
-        return Executors.newCachedThreadPool();
+    public Executor provideIOExecutor(ExecutorRegistry registry) {
+        return registry.io();
     }
 
     @Provides
     @Singleton
     @DefaultExecutor
-    public Executor provideDefaultExecutor() {
-        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    public Executor provideDefaultExecutor(ExecutorRegistry registry) {
+        return registry.cpu();
     }
 
     @Provides
     @Singleton
     @ScheduledExecutor
-    public ScheduledExecutorService provideScheduledExecutorService() {
-        return Executors.newSingleThreadScheduledExecutor();
+    public ScheduledExecutorService provideScheduledExecutorService(ExecutorRegistry registry) {
+        return registry.scheduled();
     }
 
     @Provides
@@ -89,8 +89,9 @@ public class PriorityModule {
     @Singleton
     public PriorityResolver providePriorityResolver(
             List<PriorityStrategy> sortedStrategies,
+            DateTimeUtils dateTimeUtils,
             Logger logger
     ) {
-        return new PriorityResolverImpl(sortedStrategies, logger);
+        return new PriorityResolverImpl(sortedStrategies, dateTimeUtils, logger);
     }
 }
\ No newline at end of file
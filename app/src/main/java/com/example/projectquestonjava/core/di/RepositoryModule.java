@@ -6,10 +6,12 @@ import com.example.projectquestonjava.approach.calendar.domain.repository.Calend
 import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
 import com.example.projectquestonjava.core.data.repositories.PriorityResolverImpl;
 import com.example.projectquestonjava.core.data.repositories.TaskRepositoryImpl;
+import com.example.projectquestonjava.core.data.repositories.TaskSearchRepositoryImpl;
 import com.example.projectquestonjava.core.data.repositories.TaskTagRepositoryImpl;
 import com.example.projectquestonjava.core.data.repositories.UserAuthRepositoryImpl;
 import com.example.projectquestonjava.core.domain.repository.PriorityResolver;
 import com.example.projectquestonjava.core.domain.repository.TaskRepository;
+import com.example.projectquestonjava.core.domain.repository.TaskSearchRepository;
 import com.example.projectquestonjava.core.domain.repository.TaskTagRepository;
 import com.example.projectquestonjava.core.domain.repository.UserAuthRepository;
 import com.example.projectquestonjava.feature.gamification.data.repository.*;
@@ -36,6 +38,7 @@ public abstract class RepositoryModule {
 
     // Core Repositories
     @Binds @Singleton public abstract TaskRepository bindTaskRepository(TaskRepositoryImpl impl);
+    @Binds @Singleton public abstract TaskSearchRepository bindTaskSearchRepository(TaskSearchRepositoryImpl impl);
     @Binds @Singleton public abstract TaskTagRepository bindTaskTagRepository(TaskTagRepositoryImpl impl);
     @Binds @Singleton public abstract UserAuthRepository bindUserAuthRepository(UserAuthRepositoryImpl impl);
 
@@ -1,6 +1,8 @@
 package com.example.projectquestonjava.core.di;
 
+import android.os.SystemClock;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.core.utils.MonotonicClock;
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
@@ -16,4 +18,10 @@ public class UtilModule {
     public DateTimeUtils provideDateTimeUtils() {
         return new DateTimeUtils();
     }
+
+    @Provides
+    @Singleton
+    public MonotonicClock provideMonotonicClock() {
+        return SystemClock::elapsedRealtime;
+    }
 }
\ No newline at end of file
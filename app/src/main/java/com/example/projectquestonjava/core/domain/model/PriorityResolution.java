@@ -0,0 +1,44 @@
+package com.example.projectquestonjava.core.domain.model;
+
+import androidx.annotation.Nullable;
+import com.example.projectquestonjava.core.data.model.enums.Priority;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Результат пакетного расчета приоритетов: приоритет по id задачи, момент расчета
+ * и ближайший момент, когда приоритет хотя бы одной задачи сменится сам по себе
+ * (все время локальное).
+ */
+@Getter
+public class PriorityResolution {
+    public static final PriorityResolution EMPTY = new PriorityResolution(Collections.emptyMap(), null, null);
+
+    private final Map<Long, Priority> priorities;
+    private final LocalDateTime resolvedAt;
+    @Nullable
+    private final LocalDateTime nextChangeAt; // null - до изменения задач пересчет не нужен
+
+    public PriorityResolution(Map<Long, Priority> priorities, LocalDateTime resolvedAt, @Nullable LocalDateTime nextChangeAt) {
+        this.priorities = priorities;
+        this.resolvedAt = resolvedAt;
+        this.nextChangeAt = nextChangeAt;
+    }
+
+    public Priority getPriority(long taskId) {
+        Priority priority = priorities.get(taskId);
+        return priority != null ? priority : Priority.LOW;
+    }
+
+    /**
+     * Сколько ждать до следующей границы; -1, если границы нет. Округляется вверх: граница может
+     * лежать внутри миллисекунды, и таймер, сработавший до нее, пересчитал бы старый приоритет.
+     */
+    public long millisUntilNextChange(LocalDateTime now) {
+        if (nextChangeAt == null) return -1;
+        return Math.max(0, Duration.between(now, nextChangeAt).plusNanos(999_999).toMillis());
+    }
+}
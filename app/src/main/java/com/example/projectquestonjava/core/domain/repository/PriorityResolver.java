@@ -1,9 +1,18 @@
 package com.example.projectquestonjava.core.domain.repository;
 
+import com.example.projectquestonjava.core.data.model.core.Task;
 import com.example.projectquestonjava.core.data.model.enums.Priority;
 import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface PriorityResolver {
     Priority resolve(LocalDateTime dueDate, TaskStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Рассчитывает приоритеты всех задач по одному чтению часов.
+     * dueDate задач ожидается в UTC, как хранится в БД.
+     */
+    PriorityResolution resolveAll(List<Task> tasks);
+}
@@ -28,5 +28,6 @@ public interface TaskRepository {
     Task getTaskByIdSync(long id);
     void updateTaskSync(Task task);
     void updateTaskStatusSync(long taskId, int userId, TaskStatus status, LocalDateTime updatedAt);
+    void updateTaskStatusBatchSync(List<Long> taskIds, int userId, TaskStatus status, LocalDateTime updatedAt);
     TaskWithTags getTaskWithTagsByIdSync(long taskId, int userId);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.projectquestonjava.core.domain.repository;
+
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+
+public interface TaskSearchRepository {
+
+    /**
+     * Полнотекстовый поиск задач текущего пользователя по названию, описанию и тегам.
+     * Каждое слово запроса ищется как префикс; результат отсортирован по релевантности.
+     */
+    ListenableFuture<List<Task>> searchTasks(String query, int limit);
+}
@@ -0,0 +1,134 @@
+package com.example.projectquestonjava.core.domain.usecases;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
+import com.example.projectquestonjava.core.domain.repository.TaskSearchRepository;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+
+/**
+ * Поиск по мере ввода: запрос уходит в БД только после паузы в наборе, а результаты
+ * устаревших запросов отбрасываются. Экземпляр на экран (не синглтон): ViewModel
+ * создает его через инъекцию и вызывает {@link #cancel()} в onCleared.
+ *
+ * <p>Начатый SQLite-запрос из Room не прервать, поэтому отмена - это отмена еще не
+ * запущенной задачи на executor'е плюс счетчик поколений, по которому поздний ответ не публикуется.
+ * Смена поколения и публикация результата идут под одним монитором: иначе ответ, прошедший
+ * проверку поколения, мог бы опубликоваться уже после очистки нового запроса.
+ */
+public class TaskSearchSession {
+
+    private static final String TAG = "TaskSearchSession";
+    private static final long DEBOUNCE_MS = 250;
+    private static final int RESULT_LIMIT = 50;
+
+    private final TaskSearchRepository taskSearchRepository;
+    private final ScheduledExecutorService debounceExecutor;
+    private final Logger logger;
+
+    private final MutableLiveData<List<Task>> results = new MutableLiveData<>(Collections.emptyList());
+    private final MutableLiveData<Boolean> searching = new MutableLiveData<>(false);
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Object lock = new Object();
+    private ScheduledFuture<?> scheduledSearch;
+    private ListenableFuture<List<Task>> inFlight;
+
+    @Inject
+    public TaskSearchSession(
+            TaskSearchRepository taskSearchRepository,
+            @ScheduledExecutor ScheduledExecutorService debounceExecutor,
+            Logger logger) {
+        this.taskSearchRepository = taskSearchRepository;
+        this.debounceExecutor = debounceExecutor;
+        this.logger = logger;
+    }
+
+    public LiveData<List<Task>> getResults() {
+        return results;
+    }
+
+    public LiveData<Boolean> isSearching() {
+        return searching;
+    }
+
+    /** Новый текст запроса. Пустой запрос очищает результаты сразу, без ожидания. */
+    public void setQuery(String query) {
+        synchronized (lock) {
+            int gen = generation.incrementAndGet();
+            cancelPendingLocked();
+            if (query == null || query.trim().isEmpty()) {
+                results.postValue(Collections.emptyList());
+                searching.postValue(false);
+                return;
+            }
+            searching.postValue(true);
+            scheduledSearch = debounceExecutor.schedule(() -> runSearch(query, gen), DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Отменяет ожидающий и выполняющийся поиск; последние результаты остаются. */
+    public void cancel() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            cancelPendingLocked();
+            searching.postValue(false);
+        }
+    }
+
+    public void clear() {
+        setQuery(null);
+    }
+
+    private void runSearch(String query, int gen) {
+        ListenableFuture<List<Task>> future;
+        synchronized (lock) {
+            if (gen != generation.get()) return;
+            future = taskSearchRepository.searchTasks(query, RESULT_LIMIT);
+            inFlight = future;
+        }
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(List<Task> tasks) {
+                synchronized (lock) {
+                    if (gen != generation.get()) return;
+                    results.postValue(tasks);
+                    searching.postValue(false);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                synchronized (lock) {
+                    if (gen != generation.get()) return;
+                    results.postValue(Collections.emptyList());
+                    searching.postValue(false);
+                }
+                logger.error(TAG, "Search failed for query '" + query + "'", t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void cancelPendingLocked() {
+        if (scheduledSearch != null && !scheduledSearch.isDone()) {
+            scheduledSearch.cancel(false);
+        }
+        scheduledSearch = null;
+        if (inFlight != null && !inFlight.isDone()) {
+            inFlight.cancel(false);
+        }
+        inFlight = null;
+    }
+}
@@ -4,32 +4,70 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.datastore.preferences.core.MutablePreferences;
 import androidx.datastore.preferences.core.Preferences;
+import androidx.datastore.preferences.core.PreferencesKeys;
 import androidx.datastore.rxjava3.RxDataStore;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.LiveDataReactiveStreams;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
+/**
+ * Обертка над RxDataStore. Держит одну общую подписку на data() и последний снимок
+ * Preferences в volatile-поле: синхронные чтения (id пользователя, воркспейса и т.п.)
+ * после первой гидрации - это чтение поля без обращения к DataStore.
+ * LiveData по ключу тоже общие: одна на (ключ, значение по умолчанию) на весь процесс.
+ *
+ * <p>Снимок обновляют и подписка на data(), и колбэки записей, причем с разных потоков и в
+ * произвольном порядке. Чтобы опоздавшая эмиссия или колбэк старой записи не откатили снимок,
+ * каждая запись кладет в Preferences номер версии ({@link #VERSION_KEY}): транзакции DataStore
+ * последовательны, поэтому номер растет строго монотонно. Снимок заменяется compare-and-set'ом
+ * только на состояние с большей версией.
+ */
 @Singleton
 public class DataStoreManager {
 
     private static final String TAG = "DataStoreManager";
+    // Сколько синхронный геттер ждет первую гидрацию, прежде чем идти в DataStore напрямую
+    private static final long HYDRATION_TIMEOUT_MS = 2000;
+    // Задержка переподписки после ошибки чтения файла: 0.5 с, удваивается до 30 с
+    private static final long RETRY_INITIAL_DELAY_MS = 500;
+    private static final long RETRY_MAX_DELAY_MS = 30_000;
+    // Служебный ключ: номер записи, после которой получено состояние. Нет ключа - версия 0
+    static final Preferences.Key<Long> VERSION_KEY = PreferencesKeys.longKey("data_store_manager_version");
+
     private final RxDataStore<Preferences> dataStore;
     private final Logger logger;
     private final Executor ioExecutor;
 
+    // Единственная подписка на файл DataStore, разделяемая снимком и всеми потоками по ключам
+    private final Flowable<Preferences> sharedData;
+    private final Map<StreamKey, LiveData<?>> preferenceStreams = new ConcurrentHashMap<>();
+
+    private final CountDownLatch hydrated = new CountDownLatch(1);
+    // null - снимок еще не получен
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
     @Inject
     public DataStoreManager(
             RxDataStore<Preferences> dataStore,
@@ -38,6 +76,107 @@ public class DataStoreManager {
         this.dataStore = dataStore;
         this.logger = logger;
         this.ioExecutor = ioExecutor;
+        Scheduler ioScheduler = Schedulers.from(ioExecutor);
+        this.sharedData = retryWithBackoff(dataStore.data().subscribeOn(ioScheduler), ioScheduler, logger)
+                .replay(1)
+                .autoConnect();
+        startSnapshotSubscription();
+    }
+
+    /**
+     * Ошибка чтения файла не превращается в значения по умолчанию: NO_USER_ID в общем потоке
+     * разлогинил бы пользователя. Вместо этого переподписываемся с экспоненциальной задержкой,
+     * а подписчики до восстановления видят последнее успешно прочитанное значение.
+     */
+    static <T> Flowable<T> retryWithBackoff(Flowable<T> source, Scheduler scheduler, Logger logger) {
+        AtomicInteger failures = new AtomicInteger();
+        return source
+                .doOnNext(ignored -> failures.set(0))
+                .retryWhen(errors -> errors.flatMap(error -> {
+                    long delayMs = backoffDelayMillis(failures.getAndIncrement());
+                    logger.error(TAG, "DataStore read failed, resubscribing in " + delayMs + " ms", error);
+                    return Flowable.timer(delayMs, TimeUnit.MILLISECONDS, scheduler);
+                }));
+    }
+
+    static long backoffDelayMillis(int failures) {
+        return Math.min(RETRY_MAX_DELAY_MS, RETRY_INITIAL_DELAY_MS << Math.min(failures, 16));
+    }
+
+    private void startSnapshotSubscription() {
+        // Подписка живет все время процесса, поэтому Disposable не храним
+        Disposable ignored = sharedData
+                .subscribe(
+                        prefs -> {
+                            publishSnapshot(prefs);
+                            hydrated.countDown();
+                        },
+                        throwable -> {
+                            // Ошибки чтения перехватывает retryWithBackoff; сюда попадает только непредвиденное
+                            logger.error(TAG, "Preferences snapshot subscription failed, falling back to direct reads", throwable);
+                            hydrated.countDown();
+                        });
+    }
+
+    /** Заменяет снимок, только если {@code prefs} новее текущего; иначе состояние устарело. */
+    void publishSnapshot(@NonNull Preferences prefs) {
+        long version = versionOf(prefs);
+        Snapshot current;
+        do {
+            current = snapshot.get();
+            if (current != null && current.version() >= version) return;
+        } while (!snapshot.compareAndSet(current, new Snapshot(prefs, version)));
+    }
+
+    static long versionOf(@NonNull Preferences prefs) {
+        Long version = prefs.get(VERSION_KEY);
+        return version != null ? version : 0L;
+    }
+
+    /** Общая часть всех транзакций: применить изменения и поднять версию состояния. */
+    private static Single<Preferences> nextVersion(Preferences prefsIn, PreferencesMutation mutation) {
+        MutablePreferences mutablePreferences = prefsIn.toMutablePreferences();
+        mutation.apply(mutablePreferences);
+        mutablePreferences.set(VERSION_KEY, versionOf(prefsIn) + 1);
+        return Single.just(mutablePreferences.toPreferences());
+    }
+
+    @Nullable
+    private Preferences currentSnapshot() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.prefs() : null;
+    }
+
+    @Nullable
+    private Preferences awaitSnapshot() {
+        Preferences current = currentSnapshot();
+        if (current != null || hydrated.getCount() == 0) return current;
+        try {
+            hydrated.await(HYDRATION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return currentSnapshot();
+    }
+
+    /**
+     * Синхронное чтение из снимка. Блокирует только до первой гидрации;
+     * если снимка нет (ошибка подписки/таймаут), читает DataStore напрямую.
+     */
+    public <T> T getValueSync(@NonNull Preferences.Key<T> key, @NonNull T defaultValue) throws IOException {
+        Preferences current = awaitSnapshot();
+        if (current != null) {
+            T value = current.get(key);
+            return value != null ? value : defaultValue;
+        }
+        try {
+            return getValueFromStore(key, defaultValue).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading " + key.getName(), e);
+        } catch (Exception e) {
+            throw new IOException("Failed to get value for " + key.getName(), e);
+        }
     }
 
     /**
@@ -52,25 +191,35 @@ public class DataStoreManager {
      * @param <T>          Тип значения.
      * @return LiveData, эмитящий значения.
      */
+    @SuppressWarnings("unchecked")
     public <T> LiveData<T> getPreferenceLiveData(@NonNull Preferences.Key<T> key, @NonNull T defaultValue) {
-        Flowable<T> flowable = dataStore.data()
-                .map(prefs -> {
-                    T value = prefs.get(key);
-                    // map не должен возвращать null. Если value null, мы обязаны вернуть defaultValue.
-                    // defaultValue здесь должен быть не-null.
-                    return value != null ? value : defaultValue;
-                })
-                .onErrorReturn(error -> {
-                    logger.error(TAG, "Error reading preference for key: " + key.getName() + " in LiveData stream. Returning defaultValue.", error);
-                    return defaultValue;
-                })
-                .subscribeOn(Schedulers.from(ioExecutor));
-
-        return LiveDataReactiveStreams.fromPublisher(flowable);
+        return (LiveData<T>) preferenceStreams.computeIfAbsent(new StreamKey(key, defaultValue), k -> {
+            logger.debug(TAG, "Creating shared preference stream for key: {}", key.getName());
+            Flowable<T> flowable = sharedData
+                    .map(prefs -> {
+                        T value = prefs.get(key);
+                        // map не должен возвращать null. Если value null, мы обязаны вернуть defaultValue.
+                        // defaultValue здесь должен быть не-null.
+                        return value != null ? value : defaultValue;
+                    })
+                    // Запись в другой ключ не будит подписчиков этого.
+                    // Ошибки чтения сюда не доходят: общий поток сам переподписывается
+                    .distinctUntilChanged();
+            return LiveDataReactiveStreams.fromPublisher(flowable);
+        });
     }
 
-
     public <T> ListenableFuture<T> getValueFuture(@NonNull Preferences.Key<T> key, @Nullable T defaultValue) {
+        Preferences current = currentSnapshot();
+        if (current != null) {
+            T value = current.get(key);
+            if (value != null) return Futures.immediateFuture(value);
+            if (defaultValue != null) return Futures.immediateFuture(defaultValue);
+        }
+        return getValueFromStore(key, defaultValue);
+    }
+
+    private <T> ListenableFuture<T> getValueFromStore(@NonNull Preferences.Key<T> key, @Nullable T defaultValue) {
         SettableFuture<T> settableFuture = SettableFuture.create();
         Disposable disposable = dataStore.data().firstOrError()
                 .map(prefs -> {
@@ -111,15 +260,13 @@ public class DataStoreManager {
     // ... (saveValueFuture, clearValueFuture без изменений) ...
     public <T> ListenableFuture<Void> saveValueFuture(@NonNull Preferences.Key<T> key, @NonNull T value) {
         SettableFuture<Void> settableFuture = SettableFuture.create();
-        Disposable disposable = dataStore.updateDataAsync(prefsIn -> {
-                    MutablePreferences mutablePreferences = prefsIn.toMutablePreferences();
-                    mutablePreferences.set(key, value);
-                    return Single.just(mutablePreferences.toPreferences());
-                })
+        Disposable disposable = dataStore.updateDataAsync(prefsIn ->
+                        nextVersion(prefsIn, mutablePreferences -> mutablePreferences.set(key, value)))
                 .subscribeOn(Schedulers.from(ioExecutor))
                 .subscribe(
                         prefs -> {
                             logger.debug(TAG, "Value updated in DataStore: " + key.getName() + " -> " + value);
+                            publishSnapshot(prefs); // читатели видят запись сразу, не дожидаясь эмиссии data()
                             settableFuture.set(null);
                         },
                         throwable -> {
@@ -135,17 +282,72 @@ public class DataStoreManager {
         return settableFuture;
     }
 
+    /**
+     * Записывает несколько ключей одной транзакцией DataStore (одна запись файла, одна эмиссия).
+     * Значения должны соответствовать типам ключей.
+     */
+    public ListenableFuture<Void> saveValuesFuture(@NonNull Map<Preferences.Key<?>, Object> values) {
+        return updatePreferences(mutablePreferences -> {
+            for (Map.Entry<Preferences.Key<?>, Object> entry : values.entrySet()) {
+                setUnchecked(mutablePreferences, entry.getKey(), entry.getValue());
+            }
+        }, "save " + values.size() + " key(s)");
+    }
+
+    /** Удаляет несколько ключей одной транзакцией DataStore. */
+    public ListenableFuture<Void> clearValuesFuture(@NonNull Collection<Preferences.Key<?>> keys) {
+        return updatePreferences(mutablePreferences -> {
+            for (Preferences.Key<?> key : keys) {
+                mutablePreferences.remove(key);
+            }
+        }, "clear " + keys.size() + " key(s)");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void setUnchecked(MutablePreferences preferences, Preferences.Key<T> key, Object value) {
+        preferences.set(key, (T) value);
+    }
+
+    private ListenableFuture<Void> updatePreferences(PreferencesMutation mutation, String description) {
+        SettableFuture<Void> settableFuture = SettableFuture.create();
+        Disposable disposable = dataStore.updateDataAsync(prefsIn -> nextVersion(prefsIn, mutation))
+                .subscribeOn(Schedulers.from(ioExecutor))
+                .subscribe(
+                        prefs -> {
+                            logger.debug(TAG, "DataStore batch update done: {}", description);
+                            publishSnapshot(prefs);
+                            settableFuture.set(null);
+                        },
+                        throwable -> {
+                            logger.error(TAG, "Error in DataStore batch update: " + description, throwable);
+                            settableFuture.setException(new IOException("Failed to " + description, throwable));
+                        }
+                );
+        settableFuture.addListener(() -> {
+            if (settableFuture.isCancelled() && !disposable.isDisposed()) {
+                disposable.dispose();
+            }
+        }, ioExecutor);
+        return settableFuture;
+    }
+
+    private interface PreferencesMutation {
+        void apply(MutablePreferences preferences);
+    }
+
+    private record StreamKey(Preferences.Key<?> key, Object defaultValue) { }
+
+    private record Snapshot(Preferences prefs, long version) { }
+
     public <T> ListenableFuture<Void> clearValueFuture(@NonNull Preferences.Key<T> key) {
         SettableFuture<Void> settableFuture = SettableFuture.create();
-        Disposable disposable = dataStore.updateDataAsync(prefsIn -> {
-                    MutablePreferences mutablePreferences = prefsIn.toMutablePreferences();
-                    mutablePreferences.remove(key);
-                    return Single.just(mutablePreferences.toPreferences());
-                })
+        Disposable disposable = dataStore.updateDataAsync(prefsIn ->
+                        nextVersion(prefsIn, mutablePreferences -> mutablePreferences.remove(key)))
                 .subscribeOn(Schedulers.from(ioExecutor))
                 .subscribe(
                         prefs -> {
                             logger.debug(TAG, "Value cleared in DataStore: " + key.getName());
+                            publishSnapshot(prefs);
                             settableFuture.set(null);
                         },
                         throwable -> {
@@ -8,6 +8,7 @@ import android.content.Context;
 import android.content.pm.PackageManager;
 import android.graphics.Color;
 import android.os.Build;
+import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
 import androidx.core.content.ContextCompat;
@@ -57,6 +58,19 @@ public class PomodoroNotificationManager {
             String contentText,
             List<NotificationCompat.Action> actions,
             PendingIntent openAppIntent) { // openAppIntent теперь обязательный
+        return buildNotification(contentText, null, actions, openAppIntent);
+    }
+
+    /**
+     * Уведомление таймера. Если задан countdownEndMillis, оставшееся время показывает
+     * системный хронометр с обратным отсчетом до этого момента, и уведомление не нужно
+     * перепубликовывать каждую секунду.
+     */
+    public NotificationCompat.Builder buildNotification(
+            String contentText,
+            @Nullable Long countdownEndMillis,
+            List<NotificationCompat.Action> actions,
+            PendingIntent openAppIntent) {
 
         NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
                 .setContentTitle("Pomodoro Таймер")
@@ -65,8 +79,18 @@ public class PomodoroNotificationManager {
                 .setVisibility(NotificationCompat.VISIBILITY_PUBLIC)
                 .setPriority(NotificationCompat.PRIORITY_HIGH)
                 .setOngoing(true)
+                .setOnlyAlertOnce(true)
                 .setContentIntent(openAppIntent);
 
+        if (countdownEndMillis != null) {
+            builder.setWhen(countdownEndMillis)
+                    .setShowWhen(true)
+                    .setUsesChronometer(true)
+                    .setChronometerCountDown(true);
+        } else {
+            builder.setShowWhen(false);
+        }
+
         if (actions != null) {
             for (NotificationCompat.Action action : actions) {
                 builder.addAction(action);
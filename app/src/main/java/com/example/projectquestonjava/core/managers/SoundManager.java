@@ -4,12 +4,13 @@ import android.content.Context;
 import android.media.AudioAttributes;
 import android.media.MediaPlayer;
 import android.net.Uri;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
 import com.example.projectquestonjava.core.utils.Logger;
 import dagger.hilt.android.qualifiers.ApplicationContext;
 import java.io.IOException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -20,14 +21,16 @@ public class SoundManager {
     private final Context context;
     private final Logger logger;
     private MediaPlayer currentPlayer;
-    private Future<?> currentPlayerJob; // Используем Future для управления задачей в ExecutorService
-    private final ExecutorService soundExecutor = Executors.newSingleThreadExecutor(); // Однопоточный Executor для звуков
+    private boolean currentPlayerIsLoop; // Зацикленный плеер управляется только через playSoundLoop/stop
+    private Future<?> currentPlayerJob; // Задача подготовки зацикленного плеера
+    private final Executor soundExecutor; // Последовательный исполнитель поверх общего IO-пула
     private final Object lock = new Object();
 
     @Inject
-    public SoundManager(@ApplicationContext Context context, Logger logger) {
+    public SoundManager(@ApplicationContext Context context, ExecutorRegistry executorRegistry, Logger logger) {
         this.context = context;
         this.logger = logger;
+        this.soundExecutor = executorRegistry.newSerialExecutor("sound");
     }
 
     public void playSound(Uri uri) {
@@ -74,8 +77,11 @@ public class SoundManager {
     public Future<?> playSoundLoop(Uri uri) {
         synchronized (lock) {
             stopInternal();
-            currentPlayerJob = soundExecutor.submit(() -> {
+            // Задача только готовит и запускает плеер: зацикливание делает сам MediaPlayer,
+            // поэтому поток пула не удерживается на все время воспроизведения
+            FutureTask<Void> job = new FutureTask<>(() -> {
                 MediaPlayer localPlayer = null;
+                boolean started = false;
                 try {
                     localPlayer = new MediaPlayer();
                     localPlayer.setAudioAttributes(
@@ -88,43 +94,29 @@ public class SoundManager {
                     localPlayer.prepare();
                     localPlayer.setLooping(true);
 
-                    final MediaPlayer finalLocalPlayer = localPlayer; // Для доступа из другого потока
                     synchronized (lock) {
                         // Проверяем, не был ли job прерван, пока мы готовились
                         if (Thread.currentThread().isInterrupted()) {
                             logger.warn(TAG, "playSoundLoop: Loop cancelled before start. Releasing this instance.");
-                            releasePlayer(finalLocalPlayer);
                             return;
                         }
-                        currentPlayer = finalLocalPlayer; // Присваиваем только если все еще актуально
+                        currentPlayer = localPlayer; // Присваиваем только если все еще актуально
+                        currentPlayerIsLoop = true;
+                        localPlayer.start();
+                        started = true;
                     }
-
-                    finalLocalPlayer.start();
                     logger.debug(TAG, "playSoundLoop: Started looping playback.");
-
-                    // Держим поток активным, пока он не будет прерван
-                    while (!Thread.currentThread().isInterrupted()) {
-                        try {
-                            Thread.sleep(100); // Небольшая задержка, чтобы не загружать CPU
-                        } catch (InterruptedException e) {
-                            logger.info(TAG, "playSoundLoop: Loop interrupted.");
-                            Thread.currentThread().interrupt(); // Восстанавливаем флаг прерывания
-                        }
-                    }
                 } catch (IOException | IllegalStateException e) {
                     logger.error(TAG, "playSoundLoop: Exception during setup or playback", e);
                 } finally {
-                    logger.debug(TAG, "playSoundLoop: Finalizing. Releasing localPlayer.");
-                    releasePlayer(localPlayer); // localPlayer может быть null, если prepare не удался
-                    synchronized (lock) {
-                        if (currentPlayer == localPlayer) {
-                            currentPlayer = null;
-                            // currentPlayerJob будет null, если его прервали в stopInternal
-                        }
+                    if (!started) {
+                        releasePlayer(localPlayer); // localPlayer может быть null, если prepare не удался
                     }
                 }
-            });
-            return currentPlayerJob;
+            }, null);
+            currentPlayerJob = job;
+            soundExecutor.execute(job);
+            return job;
         }
     }
 
@@ -141,6 +133,7 @@ public class SoundManager {
         }
         releasePlayer(currentPlayer);
         currentPlayer = null;
+        currentPlayerIsLoop = false;
         logger.debug(TAG, "stopInternal: Playback stopped and player released.");
     }
 
@@ -164,7 +157,7 @@ public class SoundManager {
     public void pause() {
         synchronized (lock) {
             try {
-                if (currentPlayer != null && currentPlayer.isPlaying() && (currentPlayerJob == null || currentPlayerJob.isDone())) {
+                if (currentPlayer != null && currentPlayer.isPlaying() && !currentPlayerIsLoop) {
                     // Паузим, только если это не управляемый циклом плеер
                     currentPlayer.pause();
                 }
@@ -177,7 +170,7 @@ public class SoundManager {
     public void resume() {
         synchronized (lock) {
             try {
-                if (currentPlayer != null && (currentPlayerJob == null || currentPlayerJob.isDone())) {
+                if (currentPlayer != null && !currentPlayerIsLoop) {
                     currentPlayer.start();
                 }
             } catch (IllegalStateException e) {
@@ -186,10 +179,9 @@ public class SoundManager {
         }
     }
 
-    // Для корректного завершения ExecutorService
+    // Исполнитель общий (ExecutorRegistry), поэтому здесь только останавливаем воспроизведение
     public void shutdown() {
-        logger.debug(TAG, "Shutting down SoundManager executor.");
-        stop(); // Останавливаем текущее воспроизведение
-        soundExecutor.shutdown();
+        logger.debug(TAG, "Shutting down SoundManager.");
+        stop();
     }
 }
\ No newline at end of file
@@ -9,6 +9,8 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,7 +21,7 @@ import androidx.datastore.preferences.core.PreferencesKeys;
 public class UserSessionManager {
 
     public static final int NO_USER_ID = -1;
-    private static final Preferences.Key<Integer> USER_ID_KEY = PreferencesKeys.intKey("user_id");
+    public static final Preferences.Key<Integer> USER_ID_KEY = PreferencesKeys.intKey("user_id");
 
     private final DataStoreManager dataStoreManager;
     private final UserAuthRepository userAuthRepository; // Добавляем зависимость
@@ -42,9 +44,10 @@ public class UserSessionManager {
         return dataStoreManager.getPreferenceLiveData(USER_ID_KEY, NO_USER_ID);
     }
 
+    // Читает из снимка DataStoreManager, без подписки на DataStore на каждый вызов
     public int getUserIdSync() {
         try {
-            return dataStoreManager.getValueFuture(USER_ID_KEY, NO_USER_ID).get();
+            return dataStoreManager.getValueSync(USER_ID_KEY, NO_USER_ID);
         } catch (Exception e) {
             logger.error("UserSessionManager", "Error getting user ID synchronously", e);
             return NO_USER_ID;
@@ -99,6 +102,20 @@ public class UserSessionManager {
         }, MoreExecutors.directExecutor()); // Коллбэк можно выполнить в том же потоке, что и Future
     }
 
+    /**
+     * Сохраняет несколько ключей сессии (пользователь, воркспейс, геймификация...) одной записью
+     * DataStore, чтобы наблюдатели получили одно согласованное обновление вместо серии.
+     */
+    public ListenableFuture<Void> saveSessionValuesAsync(Map<Preferences.Key<?>, Object> values) {
+        logger.debug("UserSessionManager", "Saving session values async: " + values.keySet());
+        return dataStoreManager.saveValuesFuture(values);
+    }
+
+    public ListenableFuture<Void> clearSessionValuesAsync(Collection<Preferences.Key<?>> keys) {
+        logger.debug("UserSessionManager", "Clearing session values async: " + keys);
+        return dataStoreManager.clearValuesFuture(keys);
+    }
+
     public ListenableFuture<Void> clearUserIdAsync() {
         logger.debug("UserSessionManager", "Clearing user ID async");
         return dataStoreManager.clearValueFuture(USER_ID_KEY);
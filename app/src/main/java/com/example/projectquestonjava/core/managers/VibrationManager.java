@@ -5,10 +5,11 @@ import android.os.Build;
 import android.os.VibrationEffect;
 import android.os.Vibrator;
 import android.os.VibratorManager;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
 import dagger.hilt.android.qualifiers.ApplicationContext;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -16,11 +17,13 @@ import javax.inject.Singleton;
 public class VibrationManager {
     private final Context context;
     private Future<?> vibrationJob;
-    private final ExecutorService vibrationExecutor = Executors.newSingleThreadExecutor();
+    private final ScheduledExecutorService scheduledExecutor;
 
     @Inject
-    public VibrationManager(@ApplicationContext Context context) {
+    public VibrationManager(@ApplicationContext Context context,
+                            @ScheduledExecutor ScheduledExecutorService scheduledExecutor) {
         this.context = context;
+        this.scheduledExecutor = scheduledExecutor;
     }
 
     private Vibrator getVibrator() {
@@ -34,22 +37,16 @@ public class VibrationManager {
         }
     }
 
-    public void startVibrationLoop(long vibrationDuration, long delayBetweenVibrations) {
+    public synchronized void startVibrationLoop(long vibrationDuration, long delayBetweenVibrations) {
         stopVibrationLoop(); // Останавливаем предыдущий цикл, если он был
-        vibrationJob = vibrationExecutor.submit(() -> {
-            Vibrator vibrator = getVibrator();
-            if (vibrator == null || !vibrator.hasVibrator()) {
-                return; // Нет вибратора или возможности вибрировать
-            }
-            try {
-                while (!Thread.currentThread().isInterrupted()) {
-                    vibrator.vibrate(VibrationEffect.createOneShot(vibrationDuration, VibrationEffect.DEFAULT_AMPLITUDE));
-                    Thread.sleep(delayBetweenVibrations);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); // Восстанавливаем флаг прерывания
-            }
-        });
+        Vibrator vibrator = getVibrator();
+        if (vibrator == null || !vibrator.hasVibrator()) {
+            return; // Нет вибратора или возможности вибрировать
+        }
+        // vibrate() не блокирует, поэтому цикл - это периодическая задача планировщика, а не спящий поток
+        vibrationJob = scheduledExecutor.scheduleWithFixedDelay(
+                () -> vibrator.vibrate(VibrationEffect.createOneShot(vibrationDuration, VibrationEffect.DEFAULT_AMPLITUDE)),
+                0L, delayBetweenVibrations, TimeUnit.MILLISECONDS);
     }
     // Перегруженный метод с значениями по умолчанию
     public void startVibrationLoop() {
@@ -57,9 +54,9 @@ public class VibrationManager {
     }
 
 
-    public void stopVibrationLoop() {
+    public synchronized void stopVibrationLoop() {
         if (vibrationJob != null) {
-            vibrationJob.cancel(true); // true для прерывания потока
+            vibrationJob.cancel(false);
             vibrationJob = null;
         }
     }
@@ -83,9 +80,8 @@ public class VibrationManager {
         }
     }
 
-    // Для корректного завершения ExecutorService
+    // Планировщик общий (ExecutorRegistry), поэтому здесь только останавливаем цикл
     public void shutdown() {
         stopVibrationLoop();
-        vibrationExecutor.shutdown();
     }
 }
\ No newline at end of file
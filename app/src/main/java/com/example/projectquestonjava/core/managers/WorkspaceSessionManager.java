@@ -10,7 +10,6 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors; // Для directExecutor
 import java.io.IOException; // Для getWorkspaceIdSync
-import java.util.concurrent.ExecutionException; // Для getWorkspaceIdSync
 import java.util.concurrent.Executor; // Если нужен специфичный Executor для коллбеков
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,7 +18,7 @@ import javax.inject.Singleton;
 public class WorkspaceSessionManager {
 
     private static final String TAG = "WorkspaceSessionManager"; // Добавил TAG для логгирования
-    private static final Preferences.Key<Long> WORKSPACE_ID_KEY = PreferencesKeys.longKey("workspace_id");
+    public static final Preferences.Key<Long> WORKSPACE_ID_KEY = PreferencesKeys.longKey("workspace_id");
     public static final long NO_WORKSPACE_ID = 0L; // Константа для отсутствующего ID (или -1L, если предпочитаешь)
 
     private final DataStoreManager dataStoreManager;
@@ -50,20 +49,15 @@ public class WorkspaceSessionManager {
     }
 
     /**
-     * Синхронно получает текущий ID рабочего пространства.
-     * ВНИМАНИЕ: Этот метод блокирует текущий поток до получения значения.
-     * Используйте с осторожностью, предпочтительно на фоновом потоке.
+     * Синхронно получает текущий ID рабочего пространства из снимка DataStoreManager.
+     * Блокирует поток только до первой загрузки настроек после старта процесса.
      * @return ID рабочего пространства или {@link #NO_WORKSPACE_ID}, если не установлен или произошла ошибка.
      */
     public long getWorkspaceIdSync() {
         try {
-            // dataStoreManager.getValueFuture().get() блокирует поток
-            return dataStoreManager.getValueFuture(WORKSPACE_ID_KEY, NO_WORKSPACE_ID).get();
-        } catch (ExecutionException | InterruptedException e) {
+            return dataStoreManager.getValueSync(WORKSPACE_ID_KEY, NO_WORKSPACE_ID);
+        } catch (IOException e) {
             logger.error(TAG, "Error getting workspace ID synchronously", e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt(); // Восстанавливаем флаг прерывания
-            }
             return NO_WORKSPACE_ID; // Возвращаем значение по умолчанию при ошибке
         }
     }
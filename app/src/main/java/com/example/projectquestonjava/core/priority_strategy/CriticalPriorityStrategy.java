@@ -27,4 +27,9 @@ public class CriticalPriorityStrategy implements PriorityStrategy {
     public Priority getPriority() {
         return Priority.CRITICAL;
     }
+
+    @Override
+    public long maxMinutesUntilDue() {
+        return thresholds.getCritical();
+    }
 }
\ No newline at end of file
@@ -27,4 +27,14 @@ public class HighPriorityStrategy implements PriorityStrategy {
     public Priority getPriority() {
         return Priority.HIGH;
     }
+
+    @Override
+    public boolean acceptsStatus(TaskStatus status) {
+        return status != TaskStatus.DONE;
+    }
+
+    @Override
+    public long maxMinutesUntilDue() {
+        return thresholds.getHigh();
+    }
 }
\ No newline at end of file
@@ -18,4 +18,9 @@ public class LowPriorityStrategy implements PriorityStrategy {
     public Priority getPriority() {
         return Priority.LOW;
     }
+
+    @Override
+    public boolean acceptsStatus(TaskStatus status) {
+        return status != TaskStatus.DONE;
+    }
 }
\ No newline at end of file
@@ -27,4 +27,14 @@ public class MediumPriorityStrategy implements PriorityStrategy {
     public Priority getPriority() {
         return Priority.MEDIUM;
     }
+
+    @Override
+    public boolean acceptsStatus(TaskStatus status) {
+        return status != TaskStatus.DONE;
+    }
+
+    @Override
+    public long maxMinutesUntilDue() {
+        return thresholds.getMedium();
+    }
 }
\ No newline at end of file
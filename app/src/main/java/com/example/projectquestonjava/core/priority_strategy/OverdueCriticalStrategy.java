@@ -24,4 +24,14 @@ public class OverdueCriticalStrategy implements PriorityStrategy {
     public Priority getPriority() {
         return Priority.CRITICAL;
     }
+
+    @Override
+    public boolean acceptsStatus(TaskStatus status) {
+        return status != TaskStatus.DONE;
+    }
+
+    @Override
+    public long maxMinutesUntilDue() {
+        return -1;
+    }
 }
\ No newline at end of file
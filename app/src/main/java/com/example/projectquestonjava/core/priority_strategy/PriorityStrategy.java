@@ -5,6 +5,22 @@ import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
 import java.time.LocalDateTime;
 
 public interface PriorityStrategy {
+    /** Верхняя граница "минут до дедлайна" для стратегий без порога. */
+    long NO_THRESHOLD = Long.MAX_VALUE;
+
     boolean canHandle(LocalDateTime dueDate, TaskStatus status);
     Priority getPriority();
-}
\ No newline at end of file
+
+    /**
+     * Декларативное описание стратегии для пакетного резолвера: стратегия срабатывает,
+     * если статус подходит и минут до дедлайна не больше {@link #maxMinutesUntilDue()}.
+     * Должно совпадать с {@link #canHandle}.
+     */
+    default boolean acceptsStatus(TaskStatus status) {
+        return true;
+    }
+
+    default long maxMinutesUntilDue() {
+        return NO_THRESHOLD;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.projectquestonjava.core.utils;
 
+import java.util.function.Supplier;
+
 public interface Logger {
     void info(String message);
     void warn(String message);
@@ -13,4 +15,24 @@ public interface Logger {
     void error(String tag, String message, Throwable throwable);
     void error(String tag, String message);
 
-}
\ No newline at end of file
+    // Проверки уровня. Для горячих путей: сообщение строится только если уровень включен.
+    boolean isDebugEnabled(String tag);
+    boolean isInfoEnabled(String tag);
+
+    // Ленивые варианты: Supplier вызывается только при включенном уровне
+    default void debug(String tag, Supplier<String> messageSupplier) {
+        if (isDebugEnabled(tag)) debug(tag, messageSupplier.get());
+    }
+
+    default void info(String tag, Supplier<String> messageSupplier) {
+        if (isInfoEnabled(tag)) info(tag, messageSupplier.get());
+    }
+
+    // Параметризованные варианты в стиле slf4j ("{}"). Фиксированная арность - без varargs-массива.
+    void debug(String tag, String format, Object arg);
+    void debug(String tag, String format, Object arg1, Object arg2);
+    void info(String tag, String format, Object arg);
+    void info(String tag, String format, Object arg1, Object arg2);
+    void warn(String tag, String format, Object arg);
+    void warn(String tag, String format, Object arg1, Object arg2);
+}
@@ -0,0 +1,9 @@
+package com.example.projectquestonjava.core.utils;
+
+/**
+ * Монотонные часы для таймеров (не зависят от смены системного времени).
+ * В приложении - SystemClock.elapsedRealtime(), в тестах - подменяемая реализация.
+ */
+public interface MonotonicClock {
+    long elapsedRealtimeMillis();
+}
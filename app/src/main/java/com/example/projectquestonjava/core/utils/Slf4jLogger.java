@@ -0,0 +1,56 @@
+package com.example.projectquestonjava.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Реализация {@link Logger} поверх slf4j/logback.
+ * Логгеры кешируются по тегу, а debug-вызовы становятся no-op, если debugLogsEnabled == false.
+ * Это проверка поля во время выполнения, а не вырезание при сборке: строка или лямбда на месте
+ * вызова все равно строятся, поэтому в горячих путях нужны ленивые и "{}"-варианты.
+ */
+public class Slf4jLogger implements Logger {
+
+    private final boolean debugLogsEnabled;
+    // Для методов без тега
+    private final org.slf4j.Logger defaultLogger;
+    private final Map<String, org.slf4j.Logger> loggersByTag = new ConcurrentHashMap<>();
+
+    public Slf4jLogger(boolean debugLogsEnabled) {
+        this.debugLogsEnabled = debugLogsEnabled;
+        this.defaultLogger = LoggerFactory.getLogger(Slf4jLogger.class);
+    }
+
+    private org.slf4j.Logger forTag(String tag) {
+        return loggersByTag.computeIfAbsent(tag, LoggerFactory::getLogger);
+    }
+
+    @Override
+    public boolean isDebugEnabled(String tag) {
+        return debugLogsEnabled && forTag(tag).isDebugEnabled();
+    }
+
+    @Override
+    public boolean isInfoEnabled(String tag) {
+        return forTag(tag).isInfoEnabled();
+    }
+
+    @Override public void info(String message) { defaultLogger.info(message); }
+    @Override public void warn(String message) { defaultLogger.warn(message); }
+    @Override public void debug(String message) { if (debugLogsEnabled) defaultLogger.debug(message); }
+    @Override public void error(String message, Throwable throwable) { defaultLogger.error(message, throwable); }
+
+    @Override public void info(String tag, String message) { forTag(tag).info(message); }
+    @Override public void warn(String tag, String message) { forTag(tag).warn(message); }
+    @Override public void debug(String tag, String message) { if (debugLogsEnabled) forTag(tag).debug(message); }
+    @Override public void error(String tag, String message, Throwable throwable) { forTag(tag).error(message, throwable); }
+    @Override public void error(String tag, String message) { forTag(tag).error(message); }
+
+    @Override public void debug(String tag, String format, Object arg) { if (debugLogsEnabled) forTag(tag).debug(format, arg); }
+    @Override public void debug(String tag, String format, Object arg1, Object arg2) { if (debugLogsEnabled) forTag(tag).debug(format, arg1, arg2); }
+    @Override public void info(String tag, String format, Object arg) { forTag(tag).info(format, arg); }
+    @Override public void info(String tag, String format, Object arg1, Object arg2) { forTag(tag).info(format, arg1, arg2); }
+    @Override public void warn(String tag, String format, Object arg) { forTag(tag).warn(format, arg); }
+    @Override public void warn(String tag, String format, Object arg1, Object arg2) { forTag(tag).warn(format, arg1, arg2); }
+}
@@ -44,5 +44,8 @@ public interface BadgeDao {
     @Query("SELECT * FROM badge WHERE id = :badgeId")
     Badge getBadgeByIdSync(long badgeId);
 
+    @Query("SELECT * FROM badge ORDER BY name ASC")
+    List<Badge> getAllSync();
+
 
 }
\ No newline at end of file
@@ -94,6 +94,15 @@ public interface ChallengeDao {
     @Query("SELECT * FROM challenge_rule WHERE challenge_id = :challengeId")
     List<ChallengeRule> getChallengeRulesByChallengeIdSync(long challengeId);
 
+    @Query("SELECT r.* FROM challenge_rule r INNER JOIN Challenge c ON c.id = r.challenge_id WHERE c.status = :status")
+    List<ChallengeRule> getRulesForChallengesByStatusSync(ChallengeStatus status);
+
+    @Query("SELECT * FROM gamification_challenge_progress WHERE gamification_id = :gamificationId AND challenge_id IN (:challengeIds)")
+    List<GamificationChallengeProgress> getProgressForChallengesSync(long gamificationId, List<Long> challengeIds);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertOrUpdateProgressListSync(List<GamificationChallengeProgress> progressList);
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertOrUpdateProgressSync(GamificationChallengeProgress progress);
 
@@ -37,4 +37,7 @@ public interface RewardDao {
     @Query("SELECT * FROM reward WHERE id = :id")
     Reward getByIdSync(long id);
 
+    @Query("SELECT * FROM reward")
+    List<Reward> getAllSync();
+
 }
\ No newline at end of file
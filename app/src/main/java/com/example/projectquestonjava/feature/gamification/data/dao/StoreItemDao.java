@@ -37,4 +37,7 @@ public interface StoreItemDao {
 
     @Query("SELECT * FROM store_item ORDER BY category, cost ASC")
     LiveData<List<StoreItem>> getAllFlow();
+
+    @Query("SELECT * FROM store_item ORDER BY category, cost ASC")
+    List<StoreItem> getAllSync();
 }
\ No newline at end of file
@@ -21,4 +21,7 @@ public interface StreakRewardDefinitionDao {
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     ListenableFuture<Void> insertAll(List<StreakRewardDefinition> definitions);
+
+    @Query("SELECT * FROM streak_reward_definition ORDER BY streak_day ASC")
+    List<StreakRewardDefinition> getAllSync();
 }
\ No newline at end of file
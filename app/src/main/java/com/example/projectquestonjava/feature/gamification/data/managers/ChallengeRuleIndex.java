@@ -0,0 +1,152 @@
+package com.example.projectquestonjava.feature.gamification.data.managers;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.dao.ChallengeDao;
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
+import com.example.projectquestonjava.feature.gamification.domain.logic.ChallengeRuleCondition;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.json.JSONException;
+
+/**
+ * In-memory индекс правил активных челленджей по {@link ChallengeType}.
+ * Строится двумя запросами (челленджи + все их правила), условия компилируются один раз.
+ * Сбрасывается при любой записи в таблицы Challenge / challenge_rule (InvalidationTracker),
+ * а также явно через {@link #invalidate()}.
+ */
+@Singleton
+public class ChallengeRuleIndex {
+
+    private static final String TAG = "ChallengeRuleIndex";
+
+    private final ChallengeDao challengeDao;
+    private final Logger logger;
+
+    private final Object loadLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Inject
+    public ChallengeRuleIndex(AppDatabase database, ChallengeDao challengeDao, Logger logger) {
+        this.challengeDao = challengeDao;
+        this.logger = logger;
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("Challenge", "challenge_rule") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        });
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    /** Текущий индекс; при необходимости строится синхронно на вызывающем (фоновом) потоке. */
+    public Snapshot getSnapshotSync() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+        synchronized (loadLock) {
+            current = snapshot;
+            if (current != null) return current;
+            long versionAtLoad = version.get();
+            current = load();
+            // Если во время загрузки пришла инвалидация - используем результат один раз, но не кешируем
+            if (version.get() == versionAtLoad) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot load() {
+        List<Challenge> activeChallenges = challengeDao.getChallengesByStatusSync(ChallengeStatus.ACTIVE);
+        List<ChallengeRule> rules = challengeDao.getRulesForChallengesByStatusSync(ChallengeStatus.ACTIVE);
+
+        Map<Long, Challenge> challengesById = new HashMap<>();
+        if (activeChallenges != null) {
+            for (Challenge challenge : activeChallenges) challengesById.put(challenge.getId(), challenge);
+        }
+
+        Map<ChallengeType, List<IndexedRule>> rulesByType = new EnumMap<>(ChallengeType.class);
+        Map<Long, List<ChallengeRule>> rulesByChallenge = new HashMap<>();
+        if (rules != null) {
+            for (ChallengeRule rule : rules) {
+                if (!challengesById.containsKey(rule.getChallengeId()) || rule.getType() == null) continue;
+                ChallengeRuleCondition condition;
+                try {
+                    condition = ChallengeRuleCondition.compile(rule.getConditionJson());
+                } catch (JSONException e) {
+                    logger.error(TAG, "Error parsing conditions JSON for rule " + rule.getId() + ": " + rule.getConditionJson(), e);
+                    condition = ChallengeRuleCondition.NEVER;
+                }
+                rulesByType.computeIfAbsent(rule.getType(), t -> new ArrayList<>()).add(new IndexedRule(rule, condition));
+                rulesByChallenge.computeIfAbsent(rule.getChallengeId(), id -> new ArrayList<>()).add(rule);
+            }
+        }
+        logger.debug(TAG, "Index built: {} active challenges, {} rules", challengesById.size(), rules != null ? rules.size() : 0);
+        return new Snapshot(challengesById, rulesByType, rulesByChallenge);
+    }
+
+    public static final class IndexedRule {
+        private final ChallengeRule rule;
+        private final ChallengeRuleCondition condition;
+
+        IndexedRule(ChallengeRule rule, ChallengeRuleCondition condition) {
+            this.rule = rule;
+            this.condition = condition;
+        }
+
+        public ChallengeRule getRule() {
+            return rule;
+        }
+
+        public ChallengeRuleCondition getCondition() {
+            return condition;
+        }
+    }
+
+    /** Неизменяемый снимок индекса. */
+    public static final class Snapshot {
+        private final Map<Long, Challenge> challengesById;
+        private final Map<ChallengeType, List<IndexedRule>> rulesByType;
+        private final Map<Long, List<ChallengeRule>> rulesByChallenge;
+
+        Snapshot(Map<Long, Challenge> challengesById,
+                 Map<ChallengeType, List<IndexedRule>> rulesByType,
+                 Map<Long, List<ChallengeRule>> rulesByChallenge) {
+            this.challengesById = challengesById;
+            this.rulesByType = rulesByType;
+            this.rulesByChallenge = rulesByChallenge;
+        }
+
+        public List<IndexedRule> getRulesForType(ChallengeType type) {
+            List<IndexedRule> rules = rulesByType.get(type);
+            return rules != null ? rules : Collections.emptyList();
+        }
+
+        public List<ChallengeRule> getRulesForChallenge(long challengeId) {
+            List<ChallengeRule> rules = rulesByChallenge.get(challengeId);
+            return rules != null ? rules : Collections.emptyList();
+        }
+
+        public Challenge getChallenge(long challengeId) {
+            return challengesById.get(challengeId);
+        }
+    }
+}
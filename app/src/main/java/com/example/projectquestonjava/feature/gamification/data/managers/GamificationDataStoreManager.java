@@ -16,8 +16,11 @@ import com.google.common.util.concurrent.MoreExecutors;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executor;
@@ -47,6 +50,20 @@ public class GamificationDataStoreManager {
     }
 
     // --- Методы для gamification_id ---
+    /**
+     * Ключи, которые стираются вместе с сессией пользователя. Отдаются вызывающему,
+     * чтобы он очистил их одной записью с ключами пользователя и воркспейса.
+     */
+    public List<Preferences.Key<?>> getSessionKeys() {
+        return Arrays.asList(GAMIFICATION_ID_KEY, SELECTED_PLANT_ID_KEY, HIDDEN_EXPIRED_TASK_IDS_KEY);
+    }
+
+    /** Добавляет id геймификации и выбранного растения в пакет для одной записи сессии. */
+    public void putSessionValues(Map<Preferences.Key<?>, Object> values, long gamificationId, long selectedPlantId) {
+        values.put(GAMIFICATION_ID_KEY, gamificationId);
+        values.put(SELECTED_PLANT_ID_KEY, selectedPlantId);
+    }
+
     public ListenableFuture<Void> clearGamificationId() {
         return dataStoreManager.clearValueFuture(GAMIFICATION_ID_KEY);
     }
@@ -65,7 +82,7 @@ public class GamificationDataStoreManager {
 
     public long getGamificationIdSync() throws IOException {
         try {
-            return dataStoreManager.getValueFuture(GAMIFICATION_ID_KEY, -1L).get();
+            return dataStoreManager.getValueSync(GAMIFICATION_ID_KEY, -1L);
         } catch (Exception e) {
             logger.error("GamificationDataStoreManager", "Error getting gamification_id sync", e);
             throw new IOException("Failed to get gamification_id", e);
@@ -83,7 +100,7 @@ public class GamificationDataStoreManager {
 
     public long getSelectedPlantIdSync() throws IOException {
         try {
-            return dataStoreManager.getValueFuture(SELECTED_PLANT_ID_KEY, -1L).get();
+            return dataStoreManager.getValueSync(SELECTED_PLANT_ID_KEY, -1L);
         } catch (Exception e) {
             logger.error("GamificationDataStoreManager", "Error getting selected_plant_id sync", e);
             throw new IOException("Failed to get selected_plant_id", e);
@@ -115,7 +132,7 @@ public class GamificationDataStoreManager {
     public LocalDateTime getStartTimeSurpriseTaskSync() throws IOException {
         Converters converter = new Converters();
         try {
-            Long timestamp = dataStoreManager.getValueFuture(START_TIME_SURPRISE_TASK_KEY, -1L).get();
+            Long timestamp = dataStoreManager.getValueSync(START_TIME_SURPRISE_TASK_KEY, -1L);
             return timestamp == -1L ? null : converter.fromTimestamp(timestamp);
         } catch (Exception e) {
             logger.error("GamificationDataStoreManager", "Error getting start_time_surprise_task sync", e);
@@ -0,0 +1,240 @@
+package com.example.projectquestonjava.feature.gamification.data.managers;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.dao.BadgeDao;
+import com.example.projectquestonjava.feature.gamification.data.dao.RewardDao;
+import com.example.projectquestonjava.feature.gamification.data.dao.StoreItemDao;
+import com.example.projectquestonjava.feature.gamification.data.dao.StreakRewardDefinitionDao;
+import com.example.projectquestonjava.feature.gamification.data.model.Badge;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.data.model.StoreItem;
+import com.example.projectquestonjava.feature.gamification.data.model.StreakRewardDefinition;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Справочные данные геймификации в памяти: награды, значки, награды за серию и товары магазина.
+ * Эти таблицы заполняются DatabaseInitializer и почти не меняются, поэтому читаются одним
+ * проходом в неизменяемый {@link Snapshot} с поиском по id за O(1). Запись в любую из таблиц
+ * (InvalidationTracker) сбрасывает снимок и запускает перечитывание; снимок, прочитанный до
+ * сброса, в кеш не попадает.
+ * Испытания сюда не входят: их статус меняется по мере прогресса пользователя.
+ */
+@Singleton
+public class ReferenceDataCatalog {
+
+    private static final String TAG = "ReferenceDataCatalog";
+
+    private final AppDatabase database;
+    private final RewardDao rewardDao;
+    private final BadgeDao badgeDao;
+    private final StreakRewardDefinitionDao streakRewardDefinitionDao;
+    private final StoreItemDao storeItemDao;
+    private final Executor ioExecutor;
+    private final Logger logger;
+
+    private final MutableLiveData<Snapshot> snapshotLiveData = new MutableLiveData<>();
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot; // null - не загружен или сброшен
+    private long version = 0L;
+    @Nullable
+    private ListenableFuture<Snapshot> pendingLoad;
+
+    @Inject
+    public ReferenceDataCatalog(
+            AppDatabase database,
+            RewardDao rewardDao,
+            BadgeDao badgeDao,
+            StreakRewardDefinitionDao streakRewardDefinitionDao,
+            StoreItemDao storeItemDao,
+            @IODispatcher Executor ioExecutor,
+            Logger logger) {
+        this.database = database;
+        this.rewardDao = rewardDao;
+        this.badgeDao = badgeDao;
+        this.streakRewardDefinitionDao = streakRewardDefinitionDao;
+        this.storeItemDao = storeItemDao;
+        this.ioExecutor = ioExecutor;
+        this.logger = logger;
+        database.getInvalidationTracker().addObserver(
+                new InvalidationTracker.Observer("reward", "badge", "streak_reward_definition", "store_item") {
+                    @Override
+                    public void onInvalidated(@NonNull Set<String> tables) {
+                        invalidate(tables);
+                    }
+                });
+    }
+
+    /** Снимок каталога; если он уже в памяти, future завершен сразу. */
+    public ListenableFuture<Snapshot> get() {
+        Snapshot current = snapshot;
+        if (current != null) return Futures.immediateFuture(current);
+        synchronized (lock) {
+            if (snapshot != null) return Futures.immediateFuture(snapshot);
+            if (pendingLoad == null) {
+                long versionAtLoad = version;
+                ListenableFuture<Snapshot> load = Futures.submit(() -> load(versionAtLoad), ioExecutor);
+                pendingLoad = load;
+                // Упавшая загрузка не должна залипнуть: следующий get() запустит новую
+                load.addListener(() -> {
+                    synchronized (lock) {
+                        if (pendingLoad == load) pendingLoad = null;
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+            return pendingLoad;
+        }
+    }
+
+    /** Для синхронного кода (в т.ч. внутри транзакций): при пустом кеше читает таблицы на текущем потоке. */
+    public Snapshot getSync() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+        long versionAtLoad;
+        synchronized (lock) {
+            versionAtLoad = version;
+        }
+        return load(versionAtLoad);
+    }
+
+    /** Актуальный снимок для UI; подписка запускает загрузку, если ее еще не было. */
+    public LiveData<Snapshot> getSnapshotLiveData() {
+        get();
+        return snapshotLiveData;
+    }
+
+    /** Загрузка при старте приложения, чтобы экраны наград открывались без запросов. */
+    public void preload() {
+        get();
+    }
+
+    private Snapshot load(long versionAtLoad) {
+        Snapshot loaded = database.runInTransaction(() -> new Snapshot(versionAtLoad,
+                rewardDao.getAllSync(), badgeDao.getAllSync(),
+                streakRewardDefinitionDao.getAllSync(), storeItemDao.getAllSync()));
+        boolean current;
+        synchronized (lock) {
+            current = version == versionAtLoad;
+            if (current) {
+                snapshot = loaded;
+                pendingLoad = null;
+            }
+        }
+        if (current) {
+            logger.debug(TAG, "Loaded catalog v{}: {}", versionAtLoad, loaded);
+            snapshotLiveData.postValue(loaded);
+        }
+        return loaded;
+    }
+
+    private void invalidate(Set<String> tables) {
+        synchronized (lock) {
+            version++;
+            snapshot = null;
+            pendingLoad = null;
+        }
+        logger.debug(TAG, "Catalog invalidated by {}", tables);
+        // Перечитываем сразу: подписчики LiveData ждут новое значение
+        get();
+    }
+
+    /** Неизменяемый снимок справочных таблиц. */
+    public static final class Snapshot {
+        private final long version;
+        private final Map<Long, Reward> rewardsById;
+        private final List<Badge> badges;
+        private final Map<Long, Badge> badgesById;
+        private final NavigableMap<Integer, StreakRewardDefinition> streakDefinitionsByDay;
+        private final List<StoreItem> storeItems;
+        private final Map<Long, StoreItem> storeItemsById;
+
+        Snapshot(long version, List<Reward> rewards, List<Badge> badgesByName,
+                 List<StreakRewardDefinition> streakDefinitions, List<StoreItem> storeItemsSorted) {
+            this.version = version;
+            Map<Long, Reward> rewardMap = new HashMap<>(rewards.size() * 2);
+            for (Reward reward : rewards) rewardMap.put(reward.getId(), reward);
+            this.rewardsById = Collections.unmodifiableMap(rewardMap);
+
+            this.badges = Collections.unmodifiableList(new ArrayList<>(badgesByName));
+            Map<Long, Badge> badgeMap = new HashMap<>(badgesByName.size() * 2);
+            for (Badge badge : badgesByName) badgeMap.put(badge.getId(), badge);
+            this.badgesById = Collections.unmodifiableMap(badgeMap);
+
+            TreeMap<Integer, StreakRewardDefinition> definitionMap = new TreeMap<>();
+            // Как в запросе с LIMIT 1: при дублях дня берется первая запись
+            for (StreakRewardDefinition definition : streakDefinitions) definitionMap.putIfAbsent(definition.getStreakDay(), definition);
+            this.streakDefinitionsByDay = Collections.unmodifiableNavigableMap(definitionMap);
+
+            this.storeItems = Collections.unmodifiableList(new ArrayList<>(storeItemsSorted));
+            Map<Long, StoreItem> itemMap = new HashMap<>(storeItemsSorted.size() * 2);
+            for (StoreItem item : storeItemsSorted) itemMap.put(item.id, item);
+            this.storeItemsById = Collections.unmodifiableMap(itemMap);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        @Nullable
+        public Reward getReward(long rewardId) {
+            return rewardsById.get(rewardId);
+        }
+
+        /** Все значки по имени (как в BadgeDao.getAllBadgesFlow). */
+        public List<Badge> getBadges() {
+            return badges;
+        }
+
+        @Nullable
+        public Badge getBadge(long badgeId) {
+            return badgesById.get(badgeId);
+        }
+
+        @Nullable
+        public StreakRewardDefinition getStreakDefinition(int streakDay) {
+            return streakDefinitionsByDay.get(streakDay);
+        }
+
+        /** Определения для дней серии startDay..endDay включительно, по возрастанию дня. */
+        public List<StreakRewardDefinition> getStreakDefinitions(int startDay, int endDay) {
+            if (startDay > endDay) return Collections.emptyList();
+            return new ArrayList<>(streakDefinitionsByDay.subMap(startDay, true, endDay, true).values());
+        }
+
+        /** Товары по категории и цене (как в StoreItemDao.getAll). */
+        public List<StoreItem> getStoreItems() {
+            return storeItems;
+        }
+
+        @Nullable
+        public StoreItem getStoreItem(long itemId) {
+            return storeItemsById.get(itemId);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return rewardsById.size() + " rewards, " + badges.size() + " badges, "
+                    + streakDefinitionsByDay.size() + " streak definitions, " + storeItems.size() + " store items";
+        }
+    }
+}
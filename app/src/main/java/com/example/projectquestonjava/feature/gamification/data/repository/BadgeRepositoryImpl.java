@@ -4,9 +4,9 @@ package com.example.projectquestonjava.feature.gamification.data.repository;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Transformations;
 import com.example.projectquestonjava.core.utils.Logger;
-import com.example.projectquestonjava.feature.gamification.data.dao.BadgeDao;
 import com.example.projectquestonjava.feature.gamification.data.dao.GamificationBadgeCrossRefDao;
 import com.example.projectquestonjava.feature.gamification.data.managers.GamificationDataStoreManager;
+import com.example.projectquestonjava.feature.gamification.data.managers.ReferenceDataCatalog;
 import com.example.projectquestonjava.feature.gamification.data.model.Badge;
 import com.example.projectquestonjava.feature.gamification.data.model.GamificationBadgeCrossRef;
 import com.example.projectquestonjava.feature.gamification.domain.repository.BadgeRepository;
@@ -23,7 +23,7 @@ import javax.inject.Singleton;
 public class BadgeRepositoryImpl implements BadgeRepository {
 
     private static final String TAG = "BadgeRepositoryImpl";
-    private final BadgeDao badgeDao;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final GamificationBadgeCrossRefDao gamificationBadgeCrossRefDao;
     private final GamificationDataStoreManager gamificationDataStoreManager;
     private final Logger logger;
@@ -31,12 +31,12 @@ public class BadgeRepositoryImpl implements BadgeRepository {
 
     @Inject
     public BadgeRepositoryImpl(
-            BadgeDao badgeDao,
+            ReferenceDataCatalog referenceDataCatalog,
             GamificationBadgeCrossRefDao gamificationBadgeCrossRefDao,
             GamificationDataStoreManager gamificationDataStoreManager,
             Logger logger,
             @com.example.projectquestonjava.core.di.IODispatcher Executor ioExecutor) {
-        this.badgeDao = badgeDao;
+        this.referenceDataCatalog = referenceDataCatalog;
         this.gamificationBadgeCrossRefDao = gamificationBadgeCrossRefDao;
         this.gamificationDataStoreManager = gamificationDataStoreManager;
         this.logger = logger;
@@ -46,14 +46,15 @@ public class BadgeRepositoryImpl implements BadgeRepository {
     @Override
     public LiveData<List<Badge>> getAllBadgesFlow() {
         logger.debug(TAG, "Getting all badges LiveData");
-        return badgeDao.getAllBadgesFlow(); // DAO уже возвращает LiveData
+        // Каталог перечитывает значки при изменении таблицы, как и LiveData из DAO
+        return Transformations.map(referenceDataCatalog.getSnapshotLiveData(), ReferenceDataCatalog.Snapshot::getBadges);
     }
 
     @Override
     public ListenableFuture<List<Badge>> getAllBadges() {
         logger.debug(TAG, "Getting all badges future");
-        return Futures.catchingAsync(
-                badgeDao.getAllBadges(),
+        return Futures.catching(
+                Futures.transform(referenceDataCatalog.get(), ReferenceDataCatalog.Snapshot::getBadges, MoreExecutors.directExecutor()),
                 Exception.class,
                 e -> {
                     logger.error(TAG, "Error getting all badges future", e);
@@ -66,8 +67,8 @@ public class BadgeRepositoryImpl implements BadgeRepository {
     @Override
     public ListenableFuture<Badge> getBadgeById(long badgeId) {
         logger.debug(TAG, "Getting badge by id=" + badgeId);
-        return Futures.catchingAsync(
-                badgeDao.getBadgeById(badgeId),
+        return Futures.catching(
+                Futures.transform(referenceDataCatalog.get(), snapshot -> snapshot.getBadge(badgeId), MoreExecutors.directExecutor()),
                 Exception.class,
                 e -> {
                     logger.error(TAG, "Error getting badge by id=" + badgeId, e);
@@ -152,7 +153,7 @@ public class BadgeRepositoryImpl implements BadgeRepository {
     public Badge getBadgeByIdSync(long badgeId) {
         logger.debug(TAG, "SYNC Getting badge by id=" + badgeId);
         try {
-            return badgeDao.getBadgeByIdSync(badgeId);
+            return referenceDataCatalog.getSync().getBadge(badgeId);
         } catch (Exception e) {
             logger.error(TAG, "Error SYNC getting badge by id=" + badgeId, e);
             return null; // или throw
@@ -242,6 +242,31 @@ public class ChallengeRepositoryImpl implements ChallengeRepository {
         challengeDao.insertOrUpdateProgressSync(progressToSave); // DAO должен иметь insertOrUpdateProgressSync
     }
 
+    @Override
+    public List<GamificationChallengeProgress> getProgressForChallengesSync(long gamificationId, List<Long> challengeIds) {
+        if (challengeIds == null || challengeIds.isEmpty()) return Collections.emptyList();
+        logger.debug(TAG, "SYNC Getting progress for {} challenges (GamiID {})", challengeIds.size(), gamificationId);
+        return challengeDao.getProgressForChallengesSync(gamificationId, challengeIds);
+    }
+
+    @Override
+    public void insertOrUpdateProgressBatchSync(long gamificationId, List<GamificationChallengeProgress> progressList) throws IOException {
+        if (progressList == null || progressList.isEmpty()) return;
+        // Проверяем ID один раз на весь пакет, а не на каждую запись
+        long currentGamificationId = gamificationDataStoreManager.getGamificationIdSync();
+        if (gamificationId != currentGamificationId) {
+            logger.error(TAG, "SYNC Mismatch Gamification ID during batch progress update. Batch GamiID: " + gamificationId + ", Current GamiID: " + currentGamificationId);
+            throw new IllegalStateException("Gamification ID mismatch");
+        }
+        for (GamificationChallengeProgress progress : progressList) {
+            if (progress.getGamificationId() != gamificationId) {
+                throw new IllegalStateException("Gamification ID mismatch in progress batch for rule " + progress.getRuleId());
+            }
+        }
+        logger.debug(TAG, "SYNC Inserting/Updating {} progress rows in one statement batch", progressList.size());
+        challengeDao.insertOrUpdateProgressListSync(progressList);
+    }
+
     @Override
     public void updateChallengeStatusSync(long challengeId, ChallengeStatus status) {
         logger.debug(TAG, "SYNC Updating status for challenge " + challengeId + " to " + status);
@@ -3,6 +3,7 @@ package com.example.projectquestonjava.feature.gamification.data.repository;
 import androidx.lifecycle.LiveData;
 import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.feature.gamification.data.dao.RewardDao;
+import com.example.projectquestonjava.feature.gamification.data.managers.ReferenceDataCatalog;
 import com.example.projectquestonjava.feature.gamification.data.model.Reward;
 import com.example.projectquestonjava.feature.gamification.domain.repository.RewardRepository;
 import com.google.common.util.concurrent.Futures;
@@ -19,15 +20,18 @@ public class RewardRepositoryImpl implements RewardRepository {
 
     private static final String TAG = "RewardRepositoryImpl";
     private final RewardDao rewardDao;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final Logger logger;
     private final Executor ioExecutor;
 
     @Inject
     public RewardRepositoryImpl(
             RewardDao rewardDao,
+            ReferenceDataCatalog referenceDataCatalog,
             Logger logger,
             @com.example.projectquestonjava.core.di.IODispatcher Executor ioExecutor) {
         this.rewardDao = rewardDao;
+        this.referenceDataCatalog = referenceDataCatalog;
         this.logger = logger;
         this.ioExecutor = ioExecutor;
     }
@@ -35,8 +39,9 @@ public class RewardRepositoryImpl implements RewardRepository {
     @Override
     public ListenableFuture<Reward> getRewardById(long rewardId) {
         logger.debug(TAG, "Getting reward by id=" + rewardId);
-        return Futures.catchingAsync(
-                rewardDao.getById(rewardId),
+        // Справочник наград читается из каталога в памяти, а не отдельным запросом
+        return Futures.catching(
+                Futures.transform(referenceDataCatalog.get(), snapshot -> snapshot.getReward(rewardId), MoreExecutors.directExecutor()),
                 Exception.class,
                 e -> {
                     logger.error(TAG, "Error getting reward by id=" + rewardId, e);
@@ -111,6 +116,6 @@ public class RewardRepositoryImpl implements RewardRepository {
     @Override
     public Reward getRewardByIdSync(long rewardId) {
         logger.debug(TAG, "SYNC Getting reward by id=" + rewardId);
-        return rewardDao.getByIdSync(rewardId); // DAO должен иметь getByIdSync
+        return referenceDataCatalog.getSync().getReward(rewardId);
     }
 }
\ No newline at end of file
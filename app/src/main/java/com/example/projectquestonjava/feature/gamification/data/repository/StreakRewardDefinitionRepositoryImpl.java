@@ -2,10 +2,12 @@ package com.example.projectquestonjava.feature.gamification.data.repository;
 
 import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.feature.gamification.data.dao.StreakRewardDefinitionDao;
+import com.example.projectquestonjava.feature.gamification.data.managers.ReferenceDataCatalog;
 import com.example.projectquestonjava.feature.gamification.data.model.StreakRewardDefinition;
 import com.example.projectquestonjava.feature.gamification.domain.repository.StreakRewardDefinitionRepository;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.List;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
@@ -16,15 +18,18 @@ public class StreakRewardDefinitionRepositoryImpl implements StreakRewardDefinit
 
     private static final String TAG = "StreakRewardDefRepo";
     private final StreakRewardDefinitionDao streakRewardDefinitionDao;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final Logger logger;
     private final Executor ioExecutor;
 
     @Inject
     public StreakRewardDefinitionRepositoryImpl(
             StreakRewardDefinitionDao streakRewardDefinitionDao,
+            ReferenceDataCatalog referenceDataCatalog,
             Logger logger,
             @com.example.projectquestonjava.core.di.IODispatcher Executor ioExecutor) {
         this.streakRewardDefinitionDao = streakRewardDefinitionDao;
+        this.referenceDataCatalog = referenceDataCatalog;
         this.logger = logger;
         this.ioExecutor = ioExecutor;
     }
@@ -32,8 +37,9 @@ public class StreakRewardDefinitionRepositoryImpl implements StreakRewardDefinit
     @Override
     public ListenableFuture<StreakRewardDefinition> getRewardDefinitionForStreak(int streakDay) {
         logger.debug(TAG, "Getting reward definition for streakDay=" + streakDay);
-        return Futures.catchingAsync(
-                streakRewardDefinitionDao.getRewardDefinitionForStreak(streakDay),
+        return Futures.catching(
+                Futures.transform(referenceDataCatalog.get(),
+                        snapshot -> snapshot.getStreakDefinition(streakDay), MoreExecutors.directExecutor()),
                 Exception.class,
                 e -> {
                     logger.error(TAG, "Error getting definition for streakDay=" + streakDay, e);
@@ -46,8 +52,9 @@ public class StreakRewardDefinitionRepositoryImpl implements StreakRewardDefinit
     @Override
     public ListenableFuture<List<StreakRewardDefinition>> getRewardDefinitionsForStreakRange(int startStreak, int endStreak) {
         logger.debug(TAG, "Getting reward definitions for range " + startStreak + ".." + endStreak);
-        return Futures.catchingAsync(
-                streakRewardDefinitionDao.getRewardDefinitionsForStreakRange(startStreak, endStreak),
+        return Futures.catching(
+                Futures.transform(referenceDataCatalog.get(),
+                        snapshot -> snapshot.getStreakDefinitions(startStreak, endStreak), MoreExecutors.directExecutor()),
                 Exception.class,
                 e -> {
                     logger.error(TAG, "Error getting definitions for range " + startStreak + ".." + endStreak, e);
@@ -0,0 +1,94 @@
+package com.example.projectquestonjava.feature.gamification.domain.logic;
+
+import androidx.annotation.Nullable;
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import com.example.projectquestonjava.feature.gamification.domain.model.GamificationEvent;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Скомпилированное условие правила челленджа.
+ * conditionJson разбирается один раз при построении индекса, дальше проверка события - без парсинга.
+ */
+public final class ChallengeRuleCondition {
+
+    /** Условие без ограничений (пустой или отсутствующий conditionJson). */
+    public static final ChallengeRuleCondition ALWAYS = new ChallengeRuleCondition(Collections.emptySet(), null, null, null, true);
+    /** Условие, которое никогда не выполняется (битый conditionJson). */
+    public static final ChallengeRuleCondition NEVER = new ChallengeRuleCondition(Collections.emptySet(), null, null, null, false);
+
+    private final Set<String> requiredTagsLowercase;
+    @Nullable private final Integer minDurationSeconds;
+    @Nullable private final Integer minStreak;
+    @Nullable private final Integer exactStreak;
+    private final boolean satisfiable;
+
+    private ChallengeRuleCondition(Set<String> requiredTagsLowercase, @Nullable Integer minDurationSeconds,
+                                   @Nullable Integer minStreak, @Nullable Integer exactStreak, boolean satisfiable) {
+        this.requiredTagsLowercase = requiredTagsLowercase;
+        this.minDurationSeconds = minDurationSeconds;
+        this.minStreak = minStreak;
+        this.exactStreak = exactStreak;
+        this.satisfiable = satisfiable;
+    }
+
+    /**
+     * Разбирает conditionJson правила.
+     * @throws JSONException если JSON некорректен - вызывающий решает, как это логировать.
+     */
+    public static ChallengeRuleCondition compile(@Nullable String conditionJson) throws JSONException {
+        if (conditionJson == null || conditionJson.trim().isEmpty()) return ALWAYS;
+        JSONObject conditions = new JSONObject(conditionJson);
+
+        Set<String> requiredTags = Collections.emptySet();
+        if (conditions.has("tags")) {
+            JSONArray tagsJson = conditions.getJSONArray("tags");
+            requiredTags = new HashSet<>(tagsJson.length());
+            for (int i = 0; i < tagsJson.length(); i++) {
+                requiredTags.add(tagsJson.getString(i).toLowerCase(Locale.ROOT));
+            }
+        }
+        Integer minDurationSeconds = conditions.has("minDurationMinutes") ? conditions.getInt("minDurationMinutes") * 60 : null;
+        Integer minStreak = conditions.has("minStreak") ? conditions.getInt("minStreak") : null;
+        Integer exactStreak = conditions.has("exactStreak") ? conditions.getInt("exactStreak") : null;
+        return new ChallengeRuleCondition(requiredTags, minDurationSeconds, minStreak, exactStreak, true);
+    }
+
+    /** Тип правила, которому соответствует событие, или null, если событие не участвует в челленджах. */
+    @Nullable
+    public static ChallengeType ruleTypeFor(GamificationEvent event) {
+        if (event instanceof GamificationEvent.TaskCompleted) return ChallengeType.TASK_COMPLETION;
+        if (event instanceof GamificationEvent.PomodoroCompleted) return ChallengeType.POMODORO_SESSION;
+        if (event instanceof GamificationEvent.StreakUpdated) return ChallengeType.DAILY_STREAK;
+        return null;
+    }
+
+    public boolean matches(GamificationEvent event) {
+        if (!satisfiable) return false;
+        if (event instanceof GamificationEvent.TaskCompleted) {
+            if (requiredTagsLowercase.isEmpty()) return true;
+            List<Tag> tags = ((GamificationEvent.TaskCompleted) event).getTags();
+            if (tags == null || tags.isEmpty()) return false;
+            Set<String> taskTagNames = new HashSet<>(tags.size());
+            for (Tag tag : tags) {
+                taskTagNames.add(tag.getName().toLowerCase(Locale.ROOT));
+            }
+            return taskTagNames.containsAll(requiredTagsLowercase);
+        } else if (event instanceof GamificationEvent.PomodoroCompleted) {
+            return minDurationSeconds == null
+                    || ((GamificationEvent.PomodoroCompleted) event).getDurationSeconds() >= minDurationSeconds;
+        } else if (event instanceof GamificationEvent.StreakUpdated) {
+            int streak = ((GamificationEvent.StreakUpdated) event).getNewStreakValue();
+            if (minStreak != null && streak < minStreak) return false;
+            return exactStreak == null || streak == exactStreak;
+        }
+        return true;
+    }
+}
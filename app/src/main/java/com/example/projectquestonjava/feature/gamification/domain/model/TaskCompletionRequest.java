@@ -0,0 +1,19 @@
+package com.example.projectquestonjava.feature.gamification.domain.model;
+
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/** Задача для пакетного завершения: id и теги (нужны условиям челленджей). */
+@Getter
+public class TaskCompletionRequest {
+    private final long taskId;
+    private final List<Tag> tags;
+
+    public TaskCompletionRequest(long taskId, List<Tag> tags) {
+        this.taskId = taskId;
+        this.tags = tags != null ? tags : Collections.emptyList();
+    }
+}
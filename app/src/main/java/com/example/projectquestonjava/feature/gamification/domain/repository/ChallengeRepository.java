@@ -37,5 +37,7 @@ public interface ChallengeRepository {
     GamificationChallengeProgress getProgressForRuleSync(long challengeId, long ruleId) throws IOException;
     List<GamificationChallengeProgress> getAllProgressForChallengeSync(long gamificationId, long challengeId);
     void insertOrUpdateProgressSync(GamificationChallengeProgress progress) throws IOException;
+    List<GamificationChallengeProgress> getProgressForChallengesSync(long gamificationId, List<Long> challengeIds);
+    void insertOrUpdateProgressBatchSync(long gamificationId, List<GamificationChallengeProgress> progressList) throws IOException;
     void updateChallengeStatusSync(long challengeId, ChallengeStatus status);
 }
\ No newline at end of file
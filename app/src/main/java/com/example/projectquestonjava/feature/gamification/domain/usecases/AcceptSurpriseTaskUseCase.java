@@ -62,7 +62,7 @@ public class AcceptSurpriseTaskUseCase {
             try {
                 unitOfWork.withTransaction(() -> { // Callable<Void>
                     // Шаг 1: Получаем награду
-                    Reward reward = Futures.getDone(rewardRepository.getRewardById(task.getRewardId()));
+                    Reward reward = rewardRepository.getRewardByIdSync(task.getRewardId());
                     if (reward == null) {
                         throw new IllegalStateException("Reward not found for surprise task " + task.getId());
                     }
@@ -66,13 +66,13 @@ public class ApplyGrowthPointsUseCase {
         int potentialNewStage = currentPlant.getGrowthStage();
         boolean stageDidChange = false;
 
-        int nextStage = currentPlant.getGrowthStage() + 1;
-        Integer thresholdForNextStage = GROWTH_THRESHOLDS.get(nextStage);
-
-        if (thresholdForNextStage != null && newTotalPoints >= thresholdForNextStage) {
-            potentialNewStage = nextStage;
+        // Пакетное начисление (несколько задач сразу) может перешагнуть несколько порогов
+        Integer thresholdForNextStage = GROWTH_THRESHOLDS.get(potentialNewStage + 1);
+        while (thresholdForNextStage != null && newTotalPoints >= thresholdForNextStage) {
+            potentialNewStage++;
             stageDidChange = true;
             logger.info(TAG, "Plant " + plantId + " reached stage " + potentialNewStage + "! (Threshold: " + thresholdForNextStage + ", Total Points: " + newTotalPoints + ")");
+            thresholdForNextStage = GROWTH_THRESHOLDS.get(potentialNewStage + 1);
         }
 
         VirtualGarden updatedPlant = new VirtualGarden(
@@ -56,7 +56,16 @@ public class ApplyRewardUseCase {
             if (currentGamification == null) {
                 throw new IllegalStateException("Gamification data not found for ID " + gamificationId);
             }
-            int currentLevel = currentGamification.getLevel();
+            return execute(gamificationId, currentGamification.getLevel(), reward);
+        } catch (Exception e) {
+            logger.error(TAG, "SYNC Failed to apply reward " + reward.getId() + " ('" + reward.getName() + "')", e);
+            throw e; // Пробрасываем для обработки внешней транзакцией
+        }
+    }
+
+    /** То же, но уровень уже известен вызывающему (пакетная обработка читает профиль один раз). */
+    public RewardApplicationResult execute(long gamificationId, int currentLevel, Reward reward) throws Exception {
+        try {
             int deltaXp = 0;
             int deltaCoins = 0;
 
@@ -4,6 +4,7 @@ import com.example.projectquestonjava.core.context_scope.scope.UnitOfWork;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.managers.ReferenceDataCatalog;
 import com.example.projectquestonjava.feature.gamification.data.model.Gamification;
 import com.example.projectquestonjava.feature.gamification.data.model.GamificationBadgeCrossRef;
 import com.example.projectquestonjava.feature.gamification.data.model.Reward;
@@ -14,8 +15,6 @@ import com.example.projectquestonjava.feature.gamification.domain.model.PlantTyp
 import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
 import com.example.projectquestonjava.feature.gamification.domain.repository.BadgeRepository;
 import com.example.projectquestonjava.feature.gamification.domain.repository.GamificationRepository;
-import com.example.projectquestonjava.feature.gamification.domain.repository.RewardRepository;
-import com.example.projectquestonjava.feature.gamification.domain.repository.StreakRewardDefinitionRepository;
 import com.example.projectquestonjava.feature.gamification.domain.repository.VirtualGardenRepository;
 import com.example.projectquestonjava.feature.statistics.domain.repository.GlobalStatisticsRepository;
 import com.google.common.util.concurrent.Futures;
@@ -38,8 +37,7 @@ public class ClaimDailyRewardUseCase {
     private static final long FALLBACK_REWARD_ID_FOR_DUPLICATE_PLANT = 101L;
 
     private final GamificationRepository gamificationRepository;
-    private final StreakRewardDefinitionRepository streakRewardDefinitionRepository;
-    private final RewardRepository rewardRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final BadgeRepository badgeRepository;
     private final VirtualGardenRepository virtualGardenRepository;
     private final GlobalStatisticsRepository globalStatisticsRepository;
@@ -53,8 +51,7 @@ public class ClaimDailyRewardUseCase {
     @Inject
     public ClaimDailyRewardUseCase(
             GamificationRepository gamificationRepository,
-            StreakRewardDefinitionRepository streakRewardDefinitionRepository,
-            RewardRepository rewardRepository,
+            ReferenceDataCatalog referenceDataCatalog,
             BadgeRepository badgeRepository,
             VirtualGardenRepository virtualGardenRepository,
             GlobalStatisticsRepository globalStatisticsRepository,
@@ -65,8 +62,7 @@ public class ClaimDailyRewardUseCase {
             @IODispatcher Executor ioExecutor,
             Logger logger) {
         this.gamificationRepository = gamificationRepository;
-        this.streakRewardDefinitionRepository = streakRewardDefinitionRepository;
-        this.rewardRepository = rewardRepository;
+        this.referenceDataCatalog = referenceDataCatalog;
         this.badgeRepository = badgeRepository;
         this.virtualGardenRepository = virtualGardenRepository;
         this.globalStatisticsRepository = globalStatisticsRepository;
@@ -101,53 +97,49 @@ public class ClaimDailyRewardUseCase {
                     logger.debug(TAG, "Calculated new streak: " + newStreak);
 
                     return Futures.transformAsync(
-                            streakRewardDefinitionRepository.getRewardDefinitionForStreak(newStreak),
-                            definition -> {
+                            referenceDataCatalog.get(),
+                            catalog -> {
+                                StreakRewardDefinition definition = catalog.getStreakDefinition(newStreak);
                                 if (definition == null) {
                                     return Futures.immediateFailedFuture(new IllegalStateException("Reward definition not found for streak day " + newStreak + "."));
                                 }
+                                Reward baseReward = catalog.getReward(definition.getRewardId());
+                                if (baseReward == null) {
+                                    return Futures.immediateFailedFuture(new IllegalStateException("Reward ID " + definition.getRewardId() + " not found."));
+                                }
                                 return Futures.transformAsync(
-                                        rewardRepository.getRewardById(definition.getRewardId()),
-                                        baseReward -> {
-                                            if (baseReward == null) {
-                                                return Futures.immediateFailedFuture(new IllegalStateException("Reward ID " + definition.getRewardId() + " not found."));
+                                        checkAndGetFinalReward(gamificationId, baseReward, catalog), // Этот метод уже возвращает ListenableFuture<Reward>
+                                        finalRewardToApply -> {
+                                            if (finalRewardToApply == null) {
+                                                return Futures.immediateFailedFuture(new IllegalStateException("Final reward to apply is null."));
                                             }
-                                            return Futures.transformAsync(
-                                                    checkAndGetFinalReward(gamificationId, baseReward), // Этот метод уже возвращает ListenableFuture<Reward>
-                                                    finalRewardToApply -> {
-                                                        if (finalRewardToApply == null) {
-                                                            return Futures.immediateFailedFuture(new IllegalStateException("Final reward to apply is null."));
-                                                        }
-                                                        // Выполнение транзакции
-                                                        return Futures.submit(() -> { // Оборачиваем транзакцию в submit, чтобы она выполнилась на ioExecutor
-                                                            unitOfWork.withTransaction((Callable<Void>) () -> {
-                                                                ApplyRewardUseCase.RewardApplicationResult rewardResult = applyRewardUseCase.execute(gamificationId, finalRewardToApply); // СИНХРОННЫЙ
-                                                                int deltaXp = rewardResult.getDeltaXp();
-                                                                int deltaCoins = rewardResult.getDeltaCoins();
+                                            // Выполнение транзакции
+                                            return Futures.submit(() -> { // Оборачиваем транзакцию в submit, чтобы она выполнилась на ioExecutor
+                                                unitOfWork.withTransaction((Callable<Void>) () -> {
+                                                    ApplyRewardUseCase.RewardApplicationResult rewardResult = applyRewardUseCase.execute(gamificationId, finalRewardToApply); // СИНХРОННЫЙ
+                                                    int deltaXp = rewardResult.getDeltaXp();
+                                                    int deltaCoins = rewardResult.getDeltaCoins();
 
-                                                                Gamification gamificationForUpdate = gamificationRepository.getGamificationByIdSync(gamificationId); // СИНХРОННЫЙ
-                                                                if (gamificationForUpdate == null) throw new IllegalStateException("Gamification profile disappeared.");
+                                                    Gamification gamificationForUpdate = gamificationRepository.getGamificationByIdSync(gamificationId); // СИНХРОННЫЙ
+                                                    if (gamificationForUpdate == null) throw new IllegalStateException("Gamification profile disappeared.");
 
-                                                                Gamification updatedGamification = new Gamification(
-                                                                        gamificationForUpdate.getId(), gamificationForUpdate.getUserId(),
-                                                                        gamificationForUpdate.getLevel(), Math.max(0, gamificationForUpdate.getExperience() + deltaXp),
-                                                                        Math.max(0, gamificationForUpdate.getCoins() + deltaCoins),
-                                                                        gamificationForUpdate.getMaxExperienceForLevel(), dateTimeUtils.currentUtcDateTime(),
-                                                                        newStreak, today, Math.max(gamificationForUpdate.getMaxStreak(), newStreak)
-                                                                );
-                                                                gamificationRepository.updateGamificationSync(updatedGamification); // СИНХРОННЫЙ
-                                                                globalStatisticsRepository.updateLastActiveSync(); // СИНХРОННЫЙ
+                                                    Gamification updatedGamification = new Gamification(
+                                                            gamificationForUpdate.getId(), gamificationForUpdate.getUserId(),
+                                                            gamificationForUpdate.getLevel(), Math.max(0, gamificationForUpdate.getExperience() + deltaXp),
+                                                            Math.max(0, gamificationForUpdate.getCoins() + deltaCoins),
+                                                            gamificationForUpdate.getMaxExperienceForLevel(), dateTimeUtils.currentUtcDateTime(),
+                                                            newStreak, today, Math.max(gamificationForUpdate.getMaxStreak(), newStreak)
+                                                    );
+                                                    gamificationRepository.updateGamificationSync(updatedGamification); // СИНХРОННЫЙ
+                                                    globalStatisticsRepository.updateLastActiveSync(); // СИНХРОННЫЙ
 
-                                                                GamificationEvent event = new GamificationEvent.StreakUpdated(newStreak);
-                                                                updateChallengeProgressUseCase.executeSync(gamificationId, event); // СИНХРОННЫЙ
-                                                                logger.info(TAG, "Daily reward " + finalRewardToApply.getId() + " ('" + finalRewardToApply.getName() + "') claimed successfully.");
-                                                                return null;
-                                                            });
-                                                            return null; // для ListenableFuture<Void>
-                                                        }, ioExecutor);
-                                                    },
-                                                    ioExecutor
-                                            );
+                                                    GamificationEvent event = new GamificationEvent.StreakUpdated(newStreak);
+                                                    updateChallengeProgressUseCase.executeSync(gamificationId, event); // СИНХРОННЫЙ
+                                                    logger.info(TAG, "Daily reward " + finalRewardToApply.getId() + " ('" + finalRewardToApply.getName() + "') claimed successfully.");
+                                                    return null;
+                                                });
+                                                return null; // для ListenableFuture<Void>
+                                            }, ioExecutor);
                                         },
                                         ioExecutor
                                 );
@@ -159,7 +151,7 @@ public class ClaimDailyRewardUseCase {
         );
     }
 
-    private ListenableFuture<Reward> checkAndGetFinalReward(long gamificationId, Reward baseReward) {
+    private ListenableFuture<Reward> checkAndGetFinalReward(long gamificationId, Reward baseReward, ReferenceDataCatalog.Snapshot catalog) {
         if (baseReward.getRewardType() == RewardType.BADGE) {
             long badgeId;
             try { badgeId = Long.parseLong(baseReward.getRewardValue()); }
@@ -168,7 +160,7 @@ public class ClaimDailyRewardUseCase {
             return Futures.transformAsync(badgeRepository.getEarnedBadges(), earnedBadges -> { // getEarnedBadges для текущего пользователя
                 boolean alreadyHasBadge = earnedBadges != null && earnedBadges.stream().anyMatch(ref -> ref.getBadgeId() == badgeId && ref.getGamificationId() == gamificationId);
                 if (alreadyHasBadge) {
-                    return rewardRepository.getRewardById(FALLBACK_REWARD_ID_FOR_DUPLICATE_BADGE);
+                    return Futures.immediateFuture(catalog.getReward(FALLBACK_REWARD_ID_FOR_DUPLICATE_BADGE));
                 }
                 return Futures.immediateFuture(baseReward);
             }, ioExecutor);
@@ -180,7 +172,7 @@ public class ClaimDailyRewardUseCase {
             return Futures.transformAsync(virtualGardenRepository.getAllPlantsFuture(), userPlants -> { // getAllPlantsFuture для текущего пользователя
                 boolean alreadyHasPlant = userPlants != null && userPlants.stream().anyMatch(p -> p.getPlantType() == plantTypeToAward && p.getGamificationId() == gamificationId);
                 if (alreadyHasPlant) {
-                    return rewardRepository.getRewardById(FALLBACK_REWARD_ID_FOR_DUPLICATE_PLANT);
+                    return Futures.immediateFuture(catalog.getReward(FALLBACK_REWARD_ID_FOR_DUPLICATE_PLANT));
                 }
                 return Futures.immediateFuture(baseReward);
             }, ioExecutor);
@@ -3,13 +3,12 @@ package com.example.projectquestonjava.feature.gamification.domain.usecases;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.managers.ReferenceDataCatalog;
 import com.example.projectquestonjava.feature.gamification.data.model.Gamification;
 import com.example.projectquestonjava.feature.gamification.data.model.Reward;
 import com.example.projectquestonjava.feature.gamification.data.model.StreakRewardDefinition;
 import com.example.projectquestonjava.feature.gamification.domain.model.DailyRewardsInfo;
 import com.example.projectquestonjava.feature.gamification.domain.repository.GamificationRepository;
-import com.example.projectquestonjava.feature.gamification.domain.repository.RewardRepository;
-import com.example.projectquestonjava.feature.gamification.domain.repository.StreakRewardDefinitionRepository;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -18,12 +17,8 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 
 public class GetDailyRewardsUseCase {
@@ -31,8 +26,7 @@ public class GetDailyRewardsUseCase {
     private static final int DAYS_IN_WEEK = 7;
 
     private final GamificationRepository gamificationRepository;
-    private final StreakRewardDefinitionRepository streakRewardDefinitionRepository;
-    private final RewardRepository rewardRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final DateTimeUtils dateTimeUtils;
     private final Executor ioExecutor;
     private final Logger logger;
@@ -40,14 +34,12 @@ public class GetDailyRewardsUseCase {
     @Inject
     public GetDailyRewardsUseCase(
             GamificationRepository gamificationRepository,
-            StreakRewardDefinitionRepository streakRewardDefinitionRepository,
-            RewardRepository rewardRepository,
+            ReferenceDataCatalog referenceDataCatalog,
             DateTimeUtils dateTimeUtils,
             @IODispatcher Executor ioExecutor,
             Logger logger) {
         this.gamificationRepository = gamificationRepository;
-        this.streakRewardDefinitionRepository = streakRewardDefinitionRepository;
-        this.rewardRepository = rewardRepository;
+        this.referenceDataCatalog = referenceDataCatalog;
         this.dateTimeUtils = dateTimeUtils;
         this.ioExecutor = ioExecutor;
         this.logger = logger;
@@ -82,35 +74,17 @@ public class GetDailyRewardsUseCase {
 
             logger.debug(TAG, "Current streak: " + currentStreak + ", Last claimed: " + lastClaimedDate + ", Can claim today: " + canClaimToday + ", Today's streak day: " + todayStreakDay + ", Display range: " + currentDisplayWeekStartStreak + ".." + currentDisplayWeekEndStreak);
 
-            ListenableFuture<List<StreakRewardDefinition>> definitionsFuture =
-                    streakRewardDefinitionRepository.getRewardDefinitionsForStreakRange(currentDisplayWeekStartStreak, currentDisplayWeekEndStreak);
-
             long finalDaysSinceLastClaim = daysSinceLastClaim;
-            return Futures.transformAsync(definitionsFuture, definitions -> {
-                if (definitions == null || definitions.isEmpty()) {
-                    return Futures.immediateFuture(new DailyRewardsInfo(Collections.emptyList(), currentStreak, canClaimToday, todayStreakDay, finalDaysSinceLastClaim));
-                }
-
-                List<ListenableFuture<Reward>> rewardFutures = new ArrayList<>();
-                for (StreakRewardDefinition def : definitions) {
-                    rewardFutures.add(rewardRepository.getRewardById(def.getRewardId()));
+            // Определения и награды - справочные данные, берем их из одного снимка каталога
+            return Futures.transform(referenceDataCatalog.get(), snapshot -> {
+                List<Reward> rewards = new ArrayList<>(DAYS_IN_WEEK);
+                // Определения уже упорядочены по дню серии
+                for (StreakRewardDefinition def : snapshot.getStreakDefinitions(currentDisplayWeekStartStreak, currentDisplayWeekEndStreak)) {
+                    Reward reward = snapshot.getReward(def.getRewardId());
+                    if (reward != null) rewards.add(reward);
                 }
-
-                return Futures.transform(Futures.allAsList(rewardFutures), rewardListFromFutures -> {
-                    List<Reward> validRewards = rewardListFromFutures.stream()
-                            .filter(Objects::nonNull) // Отфильтровываем null награды
-                            .collect(Collectors.toList());
-
-                    Map<Long, StreakRewardDefinition> definitionMap = definitions.stream()
-                            .collect(Collectors.toMap(StreakRewardDefinition::getRewardId, d -> d));
-
-                    validRewards.sort(Comparator.comparingInt(r -> {
-                        StreakRewardDefinition def = definitionMap.get(r.getId());
-                        return def != null ? def.getStreakDay() : Integer.MAX_VALUE;
-                    }));
-                    return new DailyRewardsInfo(validRewards, currentStreak, canClaimToday, todayStreakDay, finalDaysSinceLastClaim);
-                }, MoreExecutors.directExecutor()); // Преобразование списка наград
-            }, ioExecutor); // Преобразование определений наград
+                return new DailyRewardsInfo(rewards, currentStreak, canClaimToday, todayStreakDay, finalDaysSinceLastClaim);
+            }, MoreExecutors.directExecutor()); // Снимок каталога
         }, ioExecutor); // Преобразование профиля геймификации
     }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import com.example.projectquestonjava.feature.gamification.data.model.Reward;
 import com.example.projectquestonjava.feature.gamification.domain.model.GamificationConstants;
 import com.example.projectquestonjava.feature.gamification.domain.model.GamificationEvent;
 import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import com.example.projectquestonjava.feature.gamification.domain.model.TaskCompletionRequest;
 import com.example.projectquestonjava.feature.gamification.domain.repository.GamificationRepository;
 import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
 import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
@@ -24,7 +25,11 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
@@ -76,8 +81,22 @@ public class ProcessTaskCompletionUseCase {
     }
 
     public ListenableFuture<Void> execute(long taskId, List<Tag> tags) {
+        return execute(Collections.singletonList(new TaskCompletionRequest(taskId, tags)));
+    }
+
+    /**
+     * Завершение пакета задач одной транзакцией: статусы и статистика задач пишутся пачками,
+     * профиль геймификации читается и пишется один раз с суммарными дельтами XP/монет,
+     * челленджи обрабатывают все события пакета за один проход.
+     */
+    public ListenableFuture<Void> execute(List<TaskCompletionRequest> requests) {
         return Futures.submit(() -> {
-            logger.info(TAG, "execute: START for taskId=" + taskId); // <-- ЛОГ НАЧАЛА
+            // Повторы одной задачи в пакете схлопываются, порядок сохраняется
+            Map<Long, TaskCompletionRequest> requestsById = new LinkedHashMap<>();
+            for (TaskCompletionRequest request : requests) requestsById.putIfAbsent(request.getTaskId(), request);
+            List<Long> taskIds = new ArrayList<>(requestsById.keySet());
+            logger.info(TAG, "execute: START for " + taskIds.size() + " task(s): " + taskIds); // <-- ЛОГ НАЧАЛА
+            if (taskIds.isEmpty()) return null;
             try {
                 int userId = userSessionManager.getUserIdSync();
                 if (userId == UserSessionManager.NO_USER_ID) {
@@ -89,83 +108,78 @@ public class ProcessTaskCompletionUseCase {
                 LocalDateTime completionTimeUtc = dateTimeUtils.currentUtcDateTime();
 
                 unitOfWork.withTransaction((Callable<Void>) () -> {
-                    logger.debug(TAG, "execute: Transaction START for taskId=" + taskId);
+                    logger.debug(TAG, "execute: Transaction START for " + taskIds.size() + " task(s)");
 
-                    taskRepository.updateTaskStatusSync(taskId, userId, TaskStatus.DONE, completionTimeUtc);
-                    logger.debug(TAG, "execute: Task " + taskId + " status updated to DONE (SYNC).");
-
-                    TaskStatistics defaultStats = new TaskStatistics(taskId, null, 0, 0, 0, 0, false);
-                    TaskStatistics statistics = taskStatisticsRepository.ensureAndGetStatisticsSync(taskId, defaultStats);
-                    boolean wasCompletedOnce = statistics.isWasCompletedOnce();
-                    logger.debug(TAG, "execute: Task wasCompletedOnce: " + wasCompletedOnce);
+                    taskRepository.updateTaskStatusBatchSync(taskIds, userId, TaskStatus.DONE, completionTimeUtc);
+                    logger.debug(TAG, "execute: Tasks status updated to DONE (SYNC).");
 
+                    Map<Long, TaskStatistics> statistics = taskStatisticsRepository.ensureAndGetStatisticsBatchSync(taskIds);
+                    List<Long> firstCompletionIds = new ArrayList<>();
+                    for (long taskId : taskIds) {
+                        TaskStatistics stats = statistics.get(taskId);
+                        if (stats == null || !stats.isWasCompletedOnce()) firstCompletionIds.add(taskId);
+                    }
+                    logger.debug(TAG, "execute: First completions: " + firstCompletionIds.size() + " of " + taskIds.size());
 
-                    int finalDeltaXp = 0;
-                    int finalDeltaCoins = 0;
+                    int baseDeltaXp = 0;
+                    int baseDeltaCoins = 0;
+                    // Награды челленджей по событиям, в порядке firstCompletionIds
+                    List<ApplyRewardUseCase.RewardApplicationResult> challengeRewards = Collections.emptyList();
                     Gamification gamificationToUpdate = null;
 
-                    if (!wasCompletedOnce) {
-                        logger.debug(TAG, "execute: Processing first completion rewards for taskId=" + taskId);
-                        globalStatisticsRepository.incrementCompletedTasksSync();
-                        logger.debug(TAG, "execute: Incremented global completed tasks.");
+                    if (!firstCompletionIds.isEmpty()) {
+                        int firstCount = firstCompletionIds.size();
+                        globalStatisticsRepository.addCompletedTasksSync(firstCount);
+                        logger.debug(TAG, "execute: Added " + firstCount + " global completed tasks.");
 
                         if (gamificationId != null && gamificationId != -1L) {
-                            logger.debug(TAG, "execute: Gamification ID " + gamificationId + " is valid.");
                             gamificationToUpdate = gamificationRepository.getGamificationByIdSync(gamificationId);
                             if (gamificationToUpdate == null) {
                                 logger.error(TAG, "execute: Gamification data not found for ID " + gamificationId);
                                 throw new IllegalStateException("Gamification data not found for ID " + gamificationId);
                             }
-                            logger.debug(TAG, "execute: Gamification profile loaded for ID " + gamificationId);
-
-
-                            logger.debug(TAG, "execute: Applying base XP reward...");
-                            ApplyRewardUseCase.RewardApplicationResult xpResult = applyRewardUseCase.execute(gamificationId, new Reward("XP за задачу", "", RewardType.EXPERIENCE, BASE_XP_REWARD_VALUE));
-                            finalDeltaXp += xpResult.getDeltaXp();
-                            logger.debug(TAG, "execute: Base XP applied. Delta: " + xpResult.getDeltaXp());
-
-                            logger.debug(TAG, "execute: Applying base Coin reward...");
-                            ApplyRewardUseCase.RewardApplicationResult coinResult = applyRewardUseCase.execute(gamificationId, new Reward("Монеты за задачу", "", RewardType.COINS, BASE_COIN_REWARD_VALUE));
-                            finalDeltaCoins += coinResult.getDeltaCoins();
-                            logger.debug(TAG, "execute: Base Coins applied. Delta: " + coinResult.getDeltaCoins());
-
-
-                            logger.debug(TAG, "execute: Updating challenge progress...");
-                            GamificationEvent event = new GamificationEvent.TaskCompleted(taskId, tags);
-                            ApplyRewardUseCase.RewardApplicationResult challengeResult = updateChallengeProgressUseCase.executeSync(gamificationId, event);
-                            finalDeltaXp += challengeResult.getDeltaXp();
-                            finalDeltaCoins += challengeResult.getDeltaCoins();
-                            logger.debug(TAG, "execute: Challenge progress updated. DeltaXP: " + challengeResult.getDeltaXp() + ", DeltaCoins: " + challengeResult.getDeltaCoins());
-
-
-                            taskStatisticsRepository.markTaskAsCompletedOnceSync(taskId);
-                            logger.debug(TAG, "execute: Task " + taskId + " marked as completed once.");
+                            int level = gamificationToUpdate.getLevel();
+
+                            // Базовая награда зависит только от уровня, который за пакет не меняется
+                            baseDeltaXp = applyRewardUseCase.execute(gamificationId, level,
+                                    new Reward("XP за задачу", "", RewardType.EXPERIENCE, BASE_XP_REWARD_VALUE)).getDeltaXp();
+                            baseDeltaCoins = applyRewardUseCase.execute(gamificationId, level,
+                                    new Reward("Монеты за задачу", "", RewardType.COINS, BASE_COIN_REWARD_VALUE)).getDeltaCoins();
+                            logger.debug(TAG, "execute: Base reward per task. XP: " + baseDeltaXp + ", Coins: " + baseDeltaCoins);
+
+                            List<GamificationEvent> events = new ArrayList<>(firstCount);
+                            for (long taskId : firstCompletionIds) {
+                                events.add(new GamificationEvent.TaskCompleted(taskId, requestsById.get(taskId).getTags()));
+                            }
+                            challengeRewards = updateChallengeProgressUseCase.executeBatchSync(gamificationId, events);
+                            logger.debug(TAG, "execute: Challenge progress updated. DeltaXP: " +
+                                    UpdateChallengeProgressUseCase.sumXp(challengeRewards) +
+                                    ", DeltaCoins: " + UpdateChallengeProgressUseCase.sumCoins(challengeRewards));
 
                             long selectedPlantId = gamificationDataStoreManager.getSelectedPlantIdSync();
-                            logger.debug(TAG, "execute: Selected plant ID: " + selectedPlantId);
                             if (selectedPlantId != -1L) {
-                                logger.debug(TAG, "execute: Applying growth points to plant " + selectedPlantId);
-                                applyGrowthPointsUseCase.executeSync(selectedPlantId, GamificationConstants.GROWTH_POINTS_PER_COMPLETED_FOCUS_SESSION);
+                                applyGrowthPointsUseCase.executeSync(selectedPlantId,
+                                        GamificationConstants.GROWTH_POINTS_PER_COMPLETED_FOCUS_SESSION * firstCount);
                                 logger.debug(TAG, "execute: Growth points applied to plant " + selectedPlantId);
                             }
                         } else {
                             logger.warn(TAG, "execute: Gamification ID is null or -1. Skipping gamification rewards for first completion.");
-                            taskStatisticsRepository.markTaskAsCompletedOnceSync(taskId); // Все равно отмечаем как выполненную
                         }
+                        taskStatisticsRepository.markTasksAsCompletedOnceSync(firstCompletionIds);
                     } else {
-                        logger.debug(TAG, "execute: Task " + taskId + " was already completed once. Skipping first completion rewards.");
+                        logger.debug(TAG, "execute: All tasks were already completed once. Skipping first completion rewards.");
                     }
 
-                    taskStatisticsRepository.updateCompletionTimeSync(taskId, completionTimeUtc);
-                    logger.debug(TAG, "execute: Task " + taskId + " completion time updated.");
-
+                    taskStatisticsRepository.updateCompletionTimeBatchSync(taskIds, completionTimeUtc);
+                    logger.debug(TAG, "execute: Completion time updated.");
 
                     if (gamificationToUpdate != null) { // Блок обновления профиля геймификации
-                        logger.debug(TAG, "execute: Preparing to update gamification profile for ID " + gamificationToUpdate.getId());
+                        int totalDeltaXp = baseDeltaXp * firstCompletionIds.size() + UpdateChallengeProgressUseCase.sumXp(challengeRewards);
+                        int totalDeltaCoins = baseDeltaCoins * firstCompletionIds.size() + UpdateChallengeProgressUseCase.sumCoins(challengeRewards);
                         Gamification finalGamification = new Gamification(
                                 gamificationToUpdate.getId(), gamificationToUpdate.getUserId(),
-                                gamificationToUpdate.getLevel(), Math.max(0, gamificationToUpdate.getExperience() + finalDeltaXp),
-                                Math.max(0, gamificationToUpdate.getCoins() + finalDeltaCoins),
+                                gamificationToUpdate.getLevel(), Math.max(0, gamificationToUpdate.getExperience() + totalDeltaXp),
+                                Math.max(0, gamificationToUpdate.getCoins() + totalDeltaCoins),
                                 gamificationToUpdate.getMaxExperienceForLevel(), completionTimeUtc,
                                 gamificationToUpdate.getCurrentStreak(), gamificationToUpdate.getLastClaimedDate(),
                                 gamificationToUpdate.getMaxStreak()
@@ -174,25 +188,32 @@ public class ProcessTaskCompletionUseCase {
                         logger.debug(TAG, "execute: Gamification profile updated. New XP: " + finalGamification.getExperience() + ", New Coins: " + finalGamification.getCoins());
 
                         globalStatisticsRepository.updateLastActiveSync();
-                        logger.debug(TAG, "execute: Global statistics last active updated.");
-
-                        if (finalDeltaXp != 0 || finalDeltaCoins != 0) {
-                            gamificationHistoryRepository.insertHistoryEntrySync(new GamificationHistory(
-                                    gamificationId, completionTimeUtc, finalDeltaXp, finalDeltaCoins,
-                                    HISTORY_REASON_TASK_COMPLETED, taskId
-                            ));
-                            logger.debug(TAG, "execute: Gamification history entry inserted.");
+
+                        // По записи истории на задачу; награда челленджа идет в запись задачи, которая его завершила
+                        List<GamificationHistory> historyEntries = new ArrayList<>(firstCompletionIds.size());
+                        for (int i = 0; i < firstCompletionIds.size(); i++) {
+                            ApplyRewardUseCase.RewardApplicationResult challengeReward = challengeRewards.get(i);
+                            int entryXp = baseDeltaXp + challengeReward.getDeltaXp();
+                            int entryCoins = baseDeltaCoins + challengeReward.getDeltaCoins();
+                            if (entryXp != 0 || entryCoins != 0) {
+                                historyEntries.add(new GamificationHistory(
+                                        gamificationId, completionTimeUtc, entryXp, entryCoins,
+                                        HISTORY_REASON_TASK_COMPLETED, firstCompletionIds.get(i)
+                                ));
+                            }
                         }
+                        gamificationHistoryRepository.insertHistoryEntriesSync(historyEntries);
+                        logger.debug(TAG, "execute: " + historyEntries.size() + " gamification history entries inserted.");
                     }
-                    logger.info(TAG, "execute: Transaction for task " + taskId + " completion finished successfully.");
+                    logger.info(TAG, "execute: Transaction for " + taskIds.size() + " task(s) finished successfully.");
                     return null;
                 });
-                logger.info(TAG, "ProcessTaskCompletionUseCase.execute: END for taskId=" + taskId); // <-- ЛОГ ЗАВЕРШЕНИЯ
+                logger.info(TAG, "ProcessTaskCompletionUseCase.execute: END for " + taskIds.size() + " task(s)"); // <-- ЛОГ ЗАВЕРШЕНИЯ
                 return null;
             } catch (Exception e) {
-                logger.error(TAG, "ProcessTaskCompletionUseCase.execute: FAILED for taskId=" + taskId, e);
+                logger.error(TAG, "ProcessTaskCompletionUseCase.execute: FAILED for tasks " + taskIds, e);
                 throw e;
             }
         }, ioExecutor);
     }
-}
\ No newline at end of file
+}
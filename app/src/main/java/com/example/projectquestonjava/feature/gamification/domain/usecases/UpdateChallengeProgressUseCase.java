@@ -1,11 +1,14 @@
 package com.example.projectquestonjava.feature.gamification.domain.usecases;
 
+import com.example.projectquestonjava.core.context_scope.scope.UnitOfWork;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.managers.ChallengeRuleIndex;
 import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
 import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
 import com.example.projectquestonjava.feature.gamification.data.model.GamificationChallengeProgress;
 import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.logic.ChallengeRuleCondition;
 import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
 import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
 import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
@@ -14,20 +17,20 @@ import com.example.projectquestonjava.feature.gamification.domain.repository.Cha
 import com.example.projectquestonjava.feature.gamification.domain.repository.RewardRepository;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 
 public class UpdateChallengeProgressUseCase {
@@ -36,6 +39,8 @@ public class UpdateChallengeProgressUseCase {
     private final ChallengeRepository challengeRepository;
     private final RewardRepository rewardRepository;
     private final ApplyRewardUseCase applyRewardUseCase;
+    private final ChallengeRuleIndex ruleIndex;
+    private final UnitOfWork unitOfWork;
     private final Logger logger;
 
     @Inject
@@ -43,54 +48,103 @@ public class UpdateChallengeProgressUseCase {
             ChallengeRepository challengeRepository,
             RewardRepository rewardRepository,
             ApplyRewardUseCase applyRewardUseCase,
+            ChallengeRuleIndex ruleIndex,
+            UnitOfWork unitOfWork,
             @IODispatcher Executor ioExecutor,
             Logger logger) {
         this.challengeRepository = challengeRepository;
         this.rewardRepository = rewardRepository;
         this.applyRewardUseCase = applyRewardUseCase;
+        this.ruleIndex = ruleIndex;
+        this.unitOfWork = unitOfWork;
         this.logger = logger;
     }
 
+    /**
+     * Обрабатывает событие: из индекса берутся только правила нужного {@link ChallengeType},
+     * условия проверяются скомпилированными предикатами, а весь прогресс по событию
+     * читается одним запросом и пишется одной пачкой в одной транзакции.
+     */
     public ApplyRewardUseCase.RewardApplicationResult executeSync(long gamificationId, GamificationEvent event) throws Exception {
-        logger.debug(TAG, "SYNC Processing event: " + event.getClass().getSimpleName() + " for gamificationId " + gamificationId);
-        AtomicInteger totalDeltaXp = new AtomicInteger(0);
-        AtomicInteger totalDeltaCoins = new AtomicInteger(0);
+        logger.debug(TAG, () -> "SYNC Processing event: " + event.getClass().getSimpleName() + " for gamificationId " + gamificationId);
 
-        List<Challenge> activeChallenges = challengeRepository.getActiveChallengesSync();
-        if (activeChallenges == null) {
-            logger.warn(TAG, "SYNC No active challenges found or error fetching them.");
+        ChallengeType ruleType = ChallengeRuleCondition.ruleTypeFor(event);
+        if (ruleType == null) {
+            logger.debug(TAG, "SYNC Event {} is not tracked by challenges.", event.getClass().getSimpleName());
             return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
         }
-        logger.debug(TAG, "SYNC Found " + activeChallenges.size() + " active challenges.");
-
-        for (Challenge challenge : activeChallenges) {
-            logger.debug(TAG, "SYNC Checking challenge: " + challenge.getName() + " (ID: " + challenge.getId() + ")");
-            List<ChallengeRule> rules = challengeRepository.getChallengeRulesSync(challenge.getId());
-            if (rules == null || rules.isEmpty()) {
-                logger.debug(TAG, "SYNC No rules for challenge " + challenge.getId());
-                continue;
+
+        ChallengeRuleIndex.Snapshot index = ruleIndex.getSnapshotSync();
+        List<ChallengeRule> matchedRules = new ArrayList<>();
+        for (ChallengeRuleIndex.IndexedRule indexedRule : index.getRulesForType(ruleType)) {
+            if (indexedRule.getCondition().matches(event)) {
+                matchedRules.add(indexedRule.getRule());
+            } else {
+                logger.debug(TAG, "SYNC Rule {} DOES NOT match event.", indexedRule.getRule().getId());
             }
-            for (ChallengeRule rule : rules) {
-                logger.debug(TAG, "SYNC Checking rule: " + rule.getId() + " (Type: " + rule.getType() + ")");
-                if (isRuleApplicable(rule, event)) {
-                    logger.info(TAG, "SYNC Rule " + rule.getId() + " (Challenge " + challenge.getId() + ") MATCHES event.");
-                    try {
-                        ApplyRewardUseCase.RewardApplicationResult rewardDelta =
-                                updateProgressAndCheckCompletionSync(gamificationId, challenge.getId(), rule);
-                        if (rewardDelta != null) {
-                            totalDeltaXp.addAndGet(rewardDelta.getDeltaXp());
-                            totalDeltaCoins.addAndGet(rewardDelta.getDeltaCoins());
-                        }
-                    } catch (Exception e) {
-                        logger.error(TAG, "SYNC Error updating progress for rule " + rule.getId() + " in challenge " + challenge.getId(), e);
-                    }
-                } else {
-                    logger.debug(TAG, "SYNC Rule " + rule.getId() + " DOES NOT match event.");
+        }
+        if (matchedRules.isEmpty()) {
+            logger.debug(TAG, "SYNC No matching rules for type {}.", ruleType);
+            return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
+        }
+        logger.debug(TAG, "SYNC {} rules match event type {}.", matchedRules.size(), ruleType);
+
+        ApplyRewardUseCase.RewardApplicationResult result = unitOfWork.withTransaction(
+                () -> applyMatchedRulesSync(gamificationId, Collections.singletonList(matchedRules), index).get(0));
+        logger.info(TAG, "SYNC Finished processing event. Total Delta(XP/Coins): (" + result.getDeltaXp() + "/" + result.getDeltaCoins() + ")");
+        return result;
+    }
+
+    /**
+     * Пакет событий за один проход: один снимок индекса, одно чтение прогресса по всем
+     * затронутым челленджам и одна пачка записей. События применяются по порядку в памяти,
+     * поэтому результат совпадает с последовательными вызовами {@link #executeSync}.
+     *
+     * @return награды по событиям, в порядке events: элемент i - награды челленджей,
+     *         которые завершило событие i (нулевая награда, если таких нет)
+     */
+    public List<ApplyRewardUseCase.RewardApplicationResult> executeBatchSync(long gamificationId, List<GamificationEvent> events) throws Exception {
+        logger.debug(TAG, "SYNC Processing batch of {} events for gamificationId {}", events.size(), gamificationId);
+        ChallengeRuleIndex.Snapshot index = ruleIndex.getSnapshotSync();
+        // Список на каждое событие (в том числе пустой), чтобы награду можно было отнести к событию
+        List<List<ChallengeRule>> matchedPerEvent = new ArrayList<>(events.size());
+        boolean anyMatched = false;
+        for (GamificationEvent event : events) {
+            ChallengeType ruleType = ChallengeRuleCondition.ruleTypeFor(event);
+            List<ChallengeRule> matchedRules = new ArrayList<>();
+            if (ruleType != null) {
+                for (ChallengeRuleIndex.IndexedRule indexedRule : index.getRulesForType(ruleType)) {
+                    if (indexedRule.getCondition().matches(event)) matchedRules.add(indexedRule.getRule());
                 }
             }
+            anyMatched |= !matchedRules.isEmpty();
+            matchedPerEvent.add(matchedRules);
         }
-        logger.info(TAG, "SYNC Finished processing event. Total Delta(XP/Coins): (" + totalDeltaXp.get() + "/" + totalDeltaCoins.get() + ")");
-        return new ApplyRewardUseCase.RewardApplicationResult(totalDeltaXp.get(), totalDeltaCoins.get());
+        if (!anyMatched) {
+            logger.debug(TAG, "SYNC No matching rules for the batch.");
+            return noRewards(events.size());
+        }
+        List<ApplyRewardUseCase.RewardApplicationResult> result = unitOfWork.withTransaction(
+                () -> applyMatchedRulesSync(gamificationId, matchedPerEvent, index));
+        logger.info(TAG, "SYNC Finished processing batch of " + events.size() + " events. Total Delta(XP/Coins): (" +
+                sumXp(result) + "/" + sumCoins(result) + ")");
+        return result;
+    }
+
+    public static int sumXp(List<ApplyRewardUseCase.RewardApplicationResult> results) {
+        int total = 0;
+        for (ApplyRewardUseCase.RewardApplicationResult result : results) total += result.getDeltaXp();
+        return total;
+    }
+
+    public static int sumCoins(List<ApplyRewardUseCase.RewardApplicationResult> results) {
+        int total = 0;
+        for (ApplyRewardUseCase.RewardApplicationResult result : results) total += result.getDeltaCoins();
+        return total;
+    }
+
+    private static List<ApplyRewardUseCase.RewardApplicationResult> noRewards(int count) {
+        return new ArrayList<>(Collections.nCopies(count, new ApplyRewardUseCase.RewardApplicationResult(0, 0)));
     }
 
     public ListenableFuture<ApplyRewardUseCase.RewardApplicationResult> execute(long gamificationId, GamificationEvent event, Executor executor) {
@@ -98,179 +152,119 @@ public class UpdateChallengeProgressUseCase {
     }
 
 
-    private ApplyRewardUseCase.RewardApplicationResult updateProgressAndCheckCompletionSync(long gamificationId, long challengeId, ChallengeRule rule) throws Exception {
-        GamificationChallengeProgress progress = challengeRepository.getProgressForRuleSync(challengeId, rule.getId());
-        logger.info(TAG, "SYNC updateProgressAndCheckCompletionSync for rule " + rule.getId() + 
-                   ". Current progress: " + (progress != null ? progress.getProgress() : "null") + 
-                   ", Completed: " + (progress != null && progress.isCompleted()) +
-                   ", Target: " + rule.getTarget() +
-                   ", Period: " + rule.getPeriod());
-
-        // Проверяем, завершено ли правило для текущего периода
-        boolean isAlreadyCompletedThisPeriod = progress != null && progress.isCompleted() && isProgressValidForPeriod(progress, rule);
-        logger.info(TAG, "SYNC Rule " + rule.getId() + " isAlreadyCompletedThisPeriod: " + isAlreadyCompletedThisPeriod + 
-                   " (isProgressValidForPeriod: " + (progress != null ? isProgressValidForPeriod(progress, rule) : "N/A") + ")");
+    // matchedPerEvent - совпавшие правила для каждого события пакета, в порядке событий;
+    // результат - награды челленджей, отнесенные к событию, которое их завершило
+    private List<ApplyRewardUseCase.RewardApplicationResult> applyMatchedRulesSync(
+            long gamificationId, List<List<ChallengeRule>> matchedPerEvent, ChallengeRuleIndex.Snapshot index) throws Exception {
+        Set<Long> challengeIds = new LinkedHashSet<>();
+        for (List<ChallengeRule> matchedRules : matchedPerEvent) {
+            for (ChallengeRule rule : matchedRules) challengeIds.add(rule.getChallengeId());
+        }
 
-        if (isAlreadyCompletedThisPeriod) {
-            logger.info(TAG, "SYNC Rule " + rule.getId() + " (Challenge " + challengeId + ") already completed for this period. No update.");
-            return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
+        // Весь прогресс затронутых челленджей одним запросом (нужен и для проверки завершения челленджа)
+        Map<Long, GamificationChallengeProgress> progressByRule = new HashMap<>();
+        for (GamificationChallengeProgress progress : challengeRepository.getProgressForChallengesSync(gamificationId, new ArrayList<>(challengeIds))) {
+            progressByRule.put(progress.getRuleId(), progress);
         }
 
-        // Определяем текущий прогресс
-        boolean isProgressValid = progress != null && isProgressValidForPeriod(progress, rule);
-        int currentProgressValue = isProgressValid ? progress.getProgress() : 0;
-        logger.info(TAG, "SYNC Rule " + rule.getId() + " currentProgressValue: " + currentProgressValue + 
-                   " (isProgressValid: " + isProgressValid + ")");
+        LocalDateTime now = LocalDateTime.now();
+        // Правило, задетое несколькими событиями, пишется один раз с итоговым значением
+        Map<Long, GamificationChallengeProgress> updates = new LinkedHashMap<>();
+        // Челлендж -> индекс события, завершившего его последнее правило
+        Map<Long, Integer> challengesToCheck = new LinkedHashMap<>();
+
+        // События применяются по порядку, так что правило может продвинуться несколько раз
+        for (int eventIndex = 0; eventIndex < matchedPerEvent.size(); eventIndex++) {
+            for (ChallengeRule rule : matchedPerEvent.get(eventIndex)) {
+                GamificationChallengeProgress progress = progressByRule.get(rule.getId());
+                boolean isProgressValid = progress != null && isProgressValidForPeriod(progress, rule, now);
+                if (isProgressValid && progress.isCompleted()) {
+                    logger.debug(TAG, "SYNC Rule {} (Challenge {}) already completed for this period. No update.", rule.getId(), rule.getChallengeId());
+                    continue;
+                }
+                int newProgressValue = (isProgressValid ? progress.getProgress() : 0) + 1;
+                boolean isRuleCompletedNow = newProgressValue >= rule.getTarget();
 
-        int newProgressValue = currentProgressValue + 1;
-        boolean isRuleCompletedNow = newProgressValue >= rule.getTarget();
+                GamificationChallengeProgress updated = new GamificationChallengeProgress(
+                        gamificationId, rule.getChallengeId(), rule.getId(), newProgressValue, isRuleCompletedNow, now);
+                updates.put(rule.getId(), updated);
+                progressByRule.put(rule.getId(), updated);
+                logger.debug(TAG, () -> "SYNC Progress for rule " + rule.getId() + ": " + newProgressValue + "/" + rule.getTarget() + ", Completed: " + isRuleCompletedNow);
 
-        GamificationChallengeProgress progressToUpdate = new GamificationChallengeProgress(
-                gamificationId, challengeId, rule.getId(), newProgressValue, isRuleCompletedNow, LocalDateTime.now()
-        );
+                if (isRuleCompletedNow) {
+                    // Челлендж завершает событие, закрывшее его последнее правило
+                    challengesToCheck.put(rule.getChallengeId(), eventIndex);
+                }
+            }
+        }
 
-        challengeRepository.insertOrUpdateProgressSync(progressToUpdate);
-        logger.info(TAG, "SYNC Progress updated for rule " + rule.getId() + ". New value: " + newProgressValue + 
-                   "/" + rule.getTarget() + ", Completed: " + isRuleCompletedNow);
+        challengeRepository.insertOrUpdateProgressBatchSync(gamificationId, new ArrayList<>(updates.values()));
 
-        if (isRuleCompletedNow) {
-            logger.info(TAG, "SYNC Rule " + rule.getId() + " completed. Checking overall challenge " + challengeId + " completion.");
-            return checkOverallChallengeCompletionSync(gamificationId, challengeId);
-        } else {
-            return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
+        int[] deltaXp = new int[matchedPerEvent.size()];
+        int[] deltaCoins = new int[matchedPerEvent.size()];
+        for (Map.Entry<Long, Integer> entry : challengesToCheck.entrySet()) {
+            ApplyRewardUseCase.RewardApplicationResult rewardDelta =
+                    completeChallengeIfAllRulesDoneSync(gamificationId, entry.getKey(), index, progressByRule, now);
+            deltaXp[entry.getValue()] += rewardDelta.getDeltaXp();
+            deltaCoins[entry.getValue()] += rewardDelta.getDeltaCoins();
+        }
+        List<ApplyRewardUseCase.RewardApplicationResult> perEvent = new ArrayList<>(matchedPerEvent.size());
+        for (int i = 0; i < matchedPerEvent.size(); i++) {
+            perEvent.add(new ApplyRewardUseCase.RewardApplicationResult(deltaXp[i], deltaCoins[i]));
         }
+        return perEvent;
     }
 
-    private ApplyRewardUseCase.RewardApplicationResult checkOverallChallengeCompletionSync(long gamificationId, long challengeId) throws Exception {
-        List<ChallengeRule> allRules = challengeRepository.getChallengeRulesSync(challengeId);
-        List<GamificationChallengeProgress> allProgressList = challengeRepository.getAllProgressForChallengeSync(gamificationId, challengeId);
-
-        if (allRules == null || allRules.isEmpty()) {
+    private ApplyRewardUseCase.RewardApplicationResult completeChallengeIfAllRulesDoneSync(
+            long gamificationId, long challengeId, ChallengeRuleIndex.Snapshot index,
+            Map<Long, GamificationChallengeProgress> progressByRule, LocalDateTime now) throws Exception {
+        List<ChallengeRule> allRules = index.getRulesForChallenge(challengeId);
+        if (allRules.isEmpty()) {
             logger.warn(TAG, "SYNC No rules found for challenge " + challengeId + ". Cannot complete.");
             return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
         }
 
-        Map<Long, GamificationChallengeProgress> progressMap = allProgressList.stream()
-                .collect(Collectors.toMap(GamificationChallengeProgress::getRuleId, p -> p, (p1, p2) -> p1));
-
-        boolean allRulesAreCompletedThisPeriod = allRules.stream().allMatch(rule -> {
-            GamificationChallengeProgress progressForRule = progressMap.get(rule.getId());
-            boolean ruleCompleted = progressForRule != null && progressForRule.isCompleted();
-            
-            // Для периодических челленджей дополнительно проверяем период
-            if (ruleCompleted && (rule.getPeriod() == ChallengePeriod.DAILY || 
-                                 rule.getPeriod() == ChallengePeriod.WEEKLY || 
-                                 rule.getPeriod() == ChallengePeriod.MONTHLY)) {
-                ruleCompleted = isProgressValidForPeriod(progressForRule, rule);
-            }
-            
-            logger.debug(TAG, "SYNC Challenge " + challengeId + ", Rule " + rule.getId() + ": isCompletedThisPeriod = " + ruleCompleted + 
-                         " (progress: " + (progressForRule != null ? progressForRule.getProgress() : "null") + 
-                         ", completed: " + (progressForRule != null && progressForRule.isCompleted()) + ")");
-            return ruleCompleted;
-        });
-
-        if (allRulesAreCompletedThisPeriod) {
-            logger.info(TAG, "SYNC Challenge " + challengeId + " ALL RULES COMPLETED by user " + gamificationId + "!");
-            
-            Challenge challenge = challengeRepository.getChallengeByIdSync(challengeId);
-            if (challenge == null) throw new IllegalStateException("Challenge " + challengeId + " not found after completion.");
-            
-            logger.info(TAG, "SYNC Challenge " + challengeId + " details: name='" + challenge.getName() + 
-                       "', period=" + challenge.getPeriod() + ", rewardId=" + challenge.getRewardId());
-            
-            // Для ежедневных, недельных и месячных челленджей НЕ меняем статус на COMPLETED
-            // Они должны оставаться ACTIVE для повторного выполнения в следующем периоде
-            if (challenge.getPeriod() == ChallengePeriod.ONCE || challenge.getPeriod() == ChallengePeriod.EVENT) {
-                challengeRepository.updateChallengeStatusSync(challengeId, ChallengeStatus.COMPLETED);
-                logger.info(TAG, "SYNC Challenge " + challengeId + " status set to COMPLETED (ONCE/EVENT challenge)");
-            } else {
-                logger.info(TAG, "SYNC Challenge " + challengeId + " status remains ACTIVE (periodic challenge)");
+        for (ChallengeRule rule : allRules) {
+            GamificationChallengeProgress progressForRule = progressByRule.get(rule.getId());
+            // Для ONCE/EVENT isProgressValidForPeriod всегда true, для периодических - проверяет период
+            boolean ruleCompleted = progressForRule != null && progressForRule.isCompleted()
+                    && isProgressValidForPeriod(progressForRule, rule, now);
+            if (!ruleCompleted) {
+                logger.debug(TAG, "SYNC Challenge {} not yet fully completed for this period (rule {}).", challengeId, rule.getId());
+                return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
             }
-            
-            Reward reward = rewardRepository.getRewardByIdSync(challenge.getRewardId());
-            if (reward == null) throw new IllegalStateException("Reward " + challenge.getRewardId() + " not found.");
-            
-            logger.info(TAG, "SYNC Applying reward: " + reward.getName() + " (Type: " + reward.getRewardType() + ", Value: " + reward.getRewardValue() + ")");
-
-            ApplyRewardUseCase.RewardApplicationResult rewardDelta = applyRewardUseCase.execute(gamificationId, reward);
-            logger.info(TAG, "SYNC Awarded reward '" + reward.getName() + "' for challenge " + challengeId + ". Delta: XP=" + rewardDelta.getDeltaXp() + ", Coins=" + rewardDelta.getDeltaCoins());
-            return rewardDelta;
         }
-        logger.debug(TAG, "SYNC Challenge " + challengeId + " not yet fully completed for this period.");
-        return new ApplyRewardUseCase.RewardApplicationResult(0, 0);
-    }
 
-    private boolean isRuleApplicable(ChallengeRule rule, GamificationEvent event) {
-        boolean typeMatches = false;
-        if (event instanceof GamificationEvent.TaskCompleted && rule.getType() == ChallengeType.TASK_COMPLETION) {
-            typeMatches = true;
-        } else if (event instanceof GamificationEvent.PomodoroCompleted && rule.getType() == ChallengeType.POMODORO_SESSION) {
-            typeMatches = true;
-        } else if (event instanceof GamificationEvent.StreakUpdated && rule.getType() == ChallengeType.DAILY_STREAK) {
-            typeMatches = true;
-        }
-        // Добавьте другие типы событий и правил по мере необходимости
-        if (!typeMatches) {
-            logger.debug(TAG, "SYNC Rule " + rule.getId() + " type " + rule.getType() + " does not match event type " + event.getClass().getSimpleName());
-            return false;
-        }
-        boolean conditionsMet = checkRuleConditions(rule, event);
-        logger.debug(TAG, "SYNC Rule " + rule.getId() + " conditionsMet: " + conditionsMet);
-        return conditionsMet;
-    }
+        logger.info(TAG, "SYNC Challenge " + challengeId + " ALL RULES COMPLETED by user " + gamificationId + "!");
+        Challenge challenge = index.getChallenge(challengeId);
+        if (challenge == null) throw new IllegalStateException("Challenge " + challengeId + " not found after completion.");
 
-    private boolean checkRuleConditions(ChallengeRule rule, GamificationEvent event) {
-        if (rule.getConditionJson() == null || rule.getConditionJson().trim().isEmpty()) return true;
-        try {
-            JSONObject conditions = new JSONObject(rule.getConditionJson());
-            if (event instanceof GamificationEvent.TaskCompleted) {
-                GamificationEvent.TaskCompleted taskEvent = (GamificationEvent.TaskCompleted) event;
-                if (conditions.has("tags")) {
-                    JSONArray requiredTagsJson = conditions.getJSONArray("tags");
-                    Set<String> taskTagNames = taskEvent.getTags().stream()
-                            .map(tag -> tag.getName().toLowerCase())
-                            .collect(Collectors.toSet());
-                    for (int i = 0; i < requiredTagsJson.length(); i++) {
-                        if (!taskTagNames.contains(requiredTagsJson.getString(i).toLowerCase())) {
-                            return false;
-                        }
-                    }
-                }
-                // Добавьте другие условия для TaskCompleted, если нужно
-            } else if (event instanceof GamificationEvent.PomodoroCompleted) {
-                GamificationEvent.PomodoroCompleted pomodoroEvent = (GamificationEvent.PomodoroCompleted) event;
-                if (conditions.has("minDurationMinutes")) {
-                    if (pomodoroEvent.getDurationSeconds() < conditions.getInt("minDurationMinutes") * 60) {
-                        return false;
-                    }
-                }
-            } else if (event instanceof GamificationEvent.StreakUpdated) {
-                GamificationEvent.StreakUpdated streakEvent = (GamificationEvent.StreakUpdated) event;
-                if (conditions.has("minStreak")) {
-                    if (streakEvent.getNewStreakValue() < conditions.getInt("minStreak")) return false;
-                }
-                if (conditions.has("exactStreak")) {
-                    if (streakEvent.getNewStreakValue() != conditions.getInt("exactStreak")) return false;
-                }
-            }
-            // Добавьте другие типы событий
-            return true;
-        } catch (JSONException e) {
-            logger.error(TAG, "Error parsing conditions JSON for rule " + rule.getId() + ": " + rule.getConditionJson(), e);
-            return false;
+        // Для ежедневных, недельных и месячных челленджей НЕ меняем статус на COMPLETED
+        // Они должны оставаться ACTIVE для повторного выполнения в следующем периоде
+        if (challenge.getPeriod() == ChallengePeriod.ONCE || challenge.getPeriod() == ChallengePeriod.EVENT) {
+            challengeRepository.updateChallengeStatusSync(challengeId, ChallengeStatus.COMPLETED);
+            // Трекер инвалидации срабатывает асинхронно - сбрасываем индекс сразу
+            ruleIndex.invalidate();
+            logger.info(TAG, "SYNC Challenge " + challengeId + " status set to COMPLETED (ONCE/EVENT challenge)");
         }
+
+        Reward reward = rewardRepository.getRewardByIdSync(challenge.getRewardId());
+        if (reward == null) throw new IllegalStateException("Reward " + challenge.getRewardId() + " not found.");
+
+        ApplyRewardUseCase.RewardApplicationResult rewardDelta = applyRewardUseCase.execute(gamificationId, reward);
+        logger.info(TAG, "SYNC Awarded reward '" + reward.getName() + "' for challenge " + challengeId + ". Delta: XP=" + rewardDelta.getDeltaXp() + ", Coins=" + rewardDelta.getDeltaCoins());
+        return rewardDelta;
     }
-    private boolean isProgressValidForPeriod(GamificationChallengeProgress progress, ChallengeRule rule) {
+
+    private boolean isProgressValidForPeriod(GamificationChallengeProgress progress, ChallengeRule rule, LocalDateTime now) {
         if (rule.getPeriod() == ChallengePeriod.ONCE || rule.getPeriod() == ChallengePeriod.EVENT) {
             return true; // Для этих периодов прогресс не сбрасывается автоматически датой
         }
-        LocalDateTime now = LocalDateTime.now(); // Локальное время устройства
         LocalDateTime lastUpdated = progress.getLastUpdated(); // Время из БД
 
-        logger.info(TAG, "SYNC isProgressValidForPeriod check: rule=" + rule.getId() + 
-                   ", period=" + rule.getPeriod() + 
-                   ", now=" + now + 
+        logger.debug(TAG, () -> "SYNC isProgressValidForPeriod check: rule=" + rule.getId() +
+                   ", period=" + rule.getPeriod() +
+                   ", now=" + now +
                    ", lastUpdated=" + lastUpdated);
 
         // Конвертируем lastUpdated в локальную зону для сравнения дат
@@ -280,8 +274,8 @@ public class UpdateChallengeProgressUseCase {
         LocalDate nowDateLocal = now.toLocalDate();
         LocalDate lastUpdateDateLocal = lastUpdatedLocal.toLocalDate();
 
-        logger.info(TAG, "SYNC Date comparison: nowDate=" + nowDateLocal + 
-                   ", lastUpdateDate=" + lastUpdateDateLocal + 
+        logger.debug(TAG, () -> "SYNC Date comparison: nowDate=" + nowDateLocal +
+                   ", lastUpdateDate=" + lastUpdateDateLocal +
                    " (converted from " + lastUpdated + " to " + lastUpdatedLocal + ")");
 
         boolean result;
@@ -303,7 +297,7 @@ public class UpdateChallengeProgressUseCase {
                 result = true; // Неизвестный или необрабатываемый период
         }
         
-        logger.info(TAG, "SYNC isProgressValidForPeriod result: " + result);
+        logger.debug(TAG, "SYNC isProgressValidForPeriod result: {}", result);
         return result;
     }
 }
\ No newline at end of file
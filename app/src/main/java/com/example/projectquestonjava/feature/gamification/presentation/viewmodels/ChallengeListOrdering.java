@@ -0,0 +1,133 @@
+package com.example.projectquestonjava.feature.gamification.presentation.viewmodels;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeProgressFullDetails;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Фильтрация и сортировка списка испытаний для {@link ChallengesViewModel}.
+ * Вынесено из ViewModel без изменения логики: не зависит от Android и часов,
+ * поэтому проверяется и измеряется на обычной JVM.
+ */
+final class ChallengeListOrdering {
+
+    private ChallengeListOrdering() { }
+
+    static List<ChallengeProgressFullDetails> filter(
+            @NonNull List<ChallengeProgressFullDetails> challenges,
+            @Nullable ChallengePeriod period,
+            @NonNull Set<ChallengeFilterOption> filters,
+            @NonNull LocalDate today
+    ) {
+        Stream<ChallengeProgressFullDetails> stream = challenges.stream();
+
+        if (period != null) {
+            stream = stream.filter(details -> details.getChallengeAndReward().getChallenge().getPeriod() == period);
+        }
+
+        if (!filters.contains(ChallengeFilterOption.ALL)) {
+            LocalDate tomorrow = today.plusDays(1);
+
+            stream = stream.filter(details -> {
+                Challenge challenge = details.getChallengeAndReward().getChallenge();
+                Reward reward = details.getChallengeAndReward().getReward();
+                boolean isCompleted = challenge.getStatus() == ChallengeStatus.COMPLETED;
+                boolean isExpired = challenge.getStatus() == ChallengeStatus.EXPIRED;
+                boolean isActive = challenge.getStatus() == ChallengeStatus.ACTIVE;
+                boolean isUrgent = isActive && (challenge.getEndDate().toLocalDate().isEqual(today) ||
+                        challenge.getEndDate().toLocalDate().isEqual(tomorrow));
+
+                for (ChallengeFilterOption filter : filters) {
+                    boolean match = false;
+                    switch (filter) {
+                        case ACTIVE: if (isActive) match = true; break;
+                        case COMPLETED: if (isCompleted) match = true; break;
+                        case EXPIRED: if (isExpired) match = true; break;
+                        case MISSED: if (isExpired && !isCompleted) match = true; break;
+                        case URGENT: if (isUrgent) match = true; break;
+                        case HIGH_REWARD: if (isHighReward(reward.getRewardType(), reward.getRewardValue())) match = true; break;
+                        case HAS_BADGE_REWARD: if (reward.getRewardType() == RewardType.BADGE) match = true; break;
+                        case HAS_COIN_REWARD: if (reward.getRewardType() == RewardType.COINS) match = true; break;
+                        case HAS_XP_REWARD: if (reward.getRewardType() == RewardType.EXPERIENCE) match = true; break;
+                        // ALL не должен быть здесь, если он не единственный фильтр
+                    }
+                    if (!match) return false;
+                }
+                return true;
+            });
+        }
+        return stream.collect(Collectors.toList());
+    }
+
+    static List<ChallengeProgressFullDetails> sort(
+            List<ChallengeProgressFullDetails> challenges,
+            ChallengeSortOption sortOption
+    ) {
+        List<ChallengeProgressFullDetails> sortedList = new ArrayList<>(challenges);
+        Comparator<ChallengeProgressFullDetails> comparator = null;
+        switch (sortOption) {
+            case DEADLINE_ASC: comparator = Comparator.comparing(d -> d.getChallengeAndReward().getChallenge().getEndDate()); break;
+            case DEADLINE_DESC: comparator = Comparator.comparing((ChallengeProgressFullDetails d) -> d.getChallengeAndReward().getChallenge().getEndDate()).reversed(); break;
+            case PROGRESS_DESC:
+                comparator = Comparator.comparingDouble((ChallengeProgressFullDetails d) -> {
+                    float progressVal = d.getProgress().getProgress();
+                    float targetVal = d.getRule().getTarget();
+                    return targetVal > 0 ? (double) progressVal / targetVal : 0.0;
+                }).reversed();
+                break;
+            case PROGRESS_ASC:
+                comparator = Comparator.comparingDouble(d -> {
+                    float progressVal = d.getProgress().getProgress();
+                    float targetVal = d.getRule().getTarget();
+                    return targetVal > 0 ? (double) progressVal / targetVal : 0.0;
+                });
+                break;
+            case REWARD_VALUE_DESC: comparator = Comparator.comparingInt((ChallengeProgressFullDetails d) -> calculateRewardSortValue(d.getChallengeAndReward().getReward().getRewardType(), d.getChallengeAndReward().getReward().getRewardValue())).reversed(); break;
+            case REWARD_VALUE_ASC: comparator = Comparator.comparingInt(d -> calculateRewardSortValue(d.getChallengeAndReward().getReward().getRewardType(), d.getChallengeAndReward().getReward().getRewardValue())); break;
+            case NAME_ASC: comparator = Comparator.comparing(d -> d.getChallengeAndReward().getChallenge().getName()); break;
+            case NAME_DESC: comparator = Comparator.comparing((ChallengeProgressFullDetails d) -> d.getChallengeAndReward().getChallenge().getName()).reversed(); break;
+        }
+        if (comparator != null) {
+            sortedList.sort(comparator);
+        }
+        return sortedList;
+    }
+
+    private static boolean isHighReward(RewardType type, String valueStr) {
+        if (type == null || valueStr == null) return false;
+        try {
+            return switch (type) {
+                case COINS, EXPERIENCE -> Integer.parseInt(valueStr) >= 50; // Примерный порог
+                case BADGE, PLANT, THEME -> true; // Всегда считаем ценными
+            };
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static int calculateRewardSortValue(RewardType type, String valueStr) {
+        if (type == null || valueStr == null) return 0;
+        try {
+            return switch (type) {
+                case COINS, EXPERIENCE -> Integer.parseInt(valueStr);
+                case BADGE -> 1000;
+                case PLANT -> 1500;
+                case THEME -> 2000;
+            };
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.example.projectquestonjava.R; // Для иконок в ChallengeCardInfo
 import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
@@ -16,7 +17,6 @@ import com.example.projectquestonjava.feature.gamification.domain.model.Challeng
 import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeProgressFullDetails;
 import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
 import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
-import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
 import com.example.projectquestonjava.feature.gamification.domain.repository.ChallengeRepository;
 import com.example.projectquestonjava.feature.gamification.presentation.utils.GamificationUiUtils;
 import dagger.hilt.android.lifecycle.HiltViewModel;
@@ -28,7 +28,6 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -37,10 +36,7 @@ import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.inject.Inject;
 
 
@@ -71,7 +67,7 @@ public class ChallengesViewModel extends ViewModel {
 
     // Mediator для объединения триггеров и данных
     private final MediatorLiveData<Object> loadDataMediator = new MediatorLiveData<>();
-    private final ScheduledExecutorService debounceExecutor = new ScheduledThreadPoolExecutor(1);
+    private final ScheduledExecutorService debounceExecutor; // Общий планировщик приложения
     private ScheduledFuture<?> scheduledLoadTask;
 
     private final MutableLiveData<ChallengeCardInfo> _challengeToShowDetails = new MutableLiveData<>(null);
@@ -84,10 +80,12 @@ public class ChallengesViewModel extends ViewModel {
     public ChallengesViewModel(
             ChallengeRepository challengeRepository,
             @IODispatcher Executor ioExecutor,
+            @ScheduledExecutor ScheduledExecutorService debounceExecutor,
             DateTimeUtils dateTimeUtils, // Внедряем
             Logger logger) {
         this.challengeRepository = challengeRepository;
         this.ioExecutor = ioExecutor;
+        this.debounceExecutor = debounceExecutor;
         this.dateTimeUtils = dateTimeUtils; // Сохраняем
         this.logger = logger;
 
@@ -184,106 +182,14 @@ public class ChallengesViewModel extends ViewModel {
             @Nullable ChallengePeriod period,
             @NonNull Set<ChallengeFilterOption> filters
     ) {
-        Stream<ChallengeProgressFullDetails> stream = challenges.stream();
-
-        if (period != null) {
-            stream = stream.filter(details -> details.getChallengeAndReward().getChallenge().getPeriod() == period);
-        }
-
-        if (!filters.contains(ChallengeFilterOption.ALL)) {
-            LocalDateTime now = dateTimeUtils.currentLocalDateTime(); // Используем dateTimeUtils
-            LocalDate today = now.toLocalDate();
-            LocalDate tomorrow = today.plusDays(1);
-
-            stream = stream.filter(details -> {
-                Challenge challenge = details.getChallengeAndReward().getChallenge();
-                Reward reward = details.getChallengeAndReward().getReward();
-                boolean isCompleted = challenge.getStatus() == ChallengeStatus.COMPLETED;
-                boolean isExpired = challenge.getStatus() == ChallengeStatus.EXPIRED;
-                boolean isActive = challenge.getStatus() == ChallengeStatus.ACTIVE;
-                boolean isUrgent = isActive && (challenge.getEndDate().toLocalDate().isEqual(today) ||
-                        challenge.getEndDate().toLocalDate().isEqual(tomorrow));
-
-                for (ChallengeFilterOption filter : filters) {
-                    boolean match = false;
-                    switch (filter) {
-                        case ACTIVE: if (isActive) match = true; break;
-                        case COMPLETED: if (isCompleted) match = true; break;
-                        case EXPIRED: if (isExpired) match = true; break;
-                        case MISSED: if (isExpired && !isCompleted) match = true; break;
-                        case URGENT: if (isUrgent) match = true; break;
-                        case HIGH_REWARD: if (isHighReward(reward.getRewardType(), reward.getRewardValue())) match = true; break;
-                        case HAS_BADGE_REWARD: if (reward.getRewardType() == RewardType.BADGE) match = true; break;
-                        case HAS_COIN_REWARD: if (reward.getRewardType() == RewardType.COINS) match = true; break;
-                        case HAS_XP_REWARD: if (reward.getRewardType() == RewardType.EXPERIENCE) match = true; break;
-                        // ALL не должен быть здесь, если он не единственный фильтр
-                    }
-                    if (!match) return false;
-                }
-                return true;
-            });
-        }
-        return stream.collect(Collectors.toList());
-    }
-
-    private boolean isHighReward(RewardType type, String valueStr) {
-        if (type == null || valueStr == null) return false;
-        try {
-            return switch (type) {
-                case COINS, EXPERIENCE -> Integer.parseInt(valueStr) >= 50; // Примерный порог
-                case BADGE, PLANT, THEME -> true; // Всегда считаем ценными
-            };
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return ChallengeListOrdering.filter(challenges, period, filters, dateTimeUtils.currentLocalDate());
     }
 
     private List<ChallengeProgressFullDetails> sortChallenges(
             List<ChallengeProgressFullDetails> challenges,
             ChallengeSortOption sortOption
     ) {
-        List<ChallengeProgressFullDetails> sortedList = new ArrayList<>(challenges);
-        Comparator<ChallengeProgressFullDetails> comparator = null;
-        switch (sortOption) {
-            case DEADLINE_ASC: comparator = Comparator.comparing(d -> d.getChallengeAndReward().getChallenge().getEndDate()); break;
-            case DEADLINE_DESC: comparator = Comparator.comparing((ChallengeProgressFullDetails d) -> d.getChallengeAndReward().getChallenge().getEndDate()).reversed(); break;
-            case PROGRESS_DESC:
-                comparator = Comparator.comparingDouble((ChallengeProgressFullDetails d) -> {
-                    float progressVal = d.getProgress().getProgress();
-                    float targetVal = d.getRule().getTarget();
-                    return targetVal > 0 ? (double) progressVal / targetVal : 0.0;
-                }).reversed();
-                break;
-            case PROGRESS_ASC:
-                comparator = Comparator.comparingDouble(d -> {
-                    float progressVal = d.getProgress().getProgress();
-                    float targetVal = d.getRule().getTarget();
-                    return targetVal > 0 ? (double) progressVal / targetVal : 0.0;
-                });
-                break;
-            case REWARD_VALUE_DESC: comparator = Comparator.comparingInt((ChallengeProgressFullDetails d) -> calculateRewardSortValue(d.getChallengeAndReward().getReward().getRewardType(), d.getChallengeAndReward().getReward().getRewardValue())).reversed(); break;
-            case REWARD_VALUE_ASC: comparator = Comparator.comparingInt(d -> calculateRewardSortValue(d.getChallengeAndReward().getReward().getRewardType(), d.getChallengeAndReward().getReward().getRewardValue())); break;
-            case NAME_ASC: comparator = Comparator.comparing(d -> d.getChallengeAndReward().getChallenge().getName()); break;
-            case NAME_DESC: comparator = Comparator.comparing((ChallengeProgressFullDetails d) -> d.getChallengeAndReward().getChallenge().getName()).reversed(); break;
-        }
-        if (comparator != null) {
-            sortedList.sort(comparator);
-        }
-        return sortedList;
-    }
-
-    private int calculateRewardSortValue(RewardType type, String valueStr) {
-        if (type == null || valueStr == null) return 0;
-        try {
-            return switch (type) {
-                case COINS, EXPERIENCE -> Integer.parseInt(valueStr);
-                case BADGE -> 1000;
-                case PLANT -> 1500;
-                case THEME -> 2000;
-            };
-        } catch (NumberFormatException e) {
-            return 0;
-        }
+        return ChallengeListOrdering.sort(challenges, sortOption);
     }
 
     // --- Методы для UI ---
@@ -488,12 +394,7 @@ public class ChallengesViewModel extends ViewModel {
         
         // Отменяем запланированную задачу
         if (scheduledLoadTask != null && !scheduledLoadTask.isDone()) {
-            scheduledLoadTask.cancel(true);
-        }
-        
-        // Завершаем executor
-        if (debounceExecutor != null && !debounceExecutor.isShutdown()) {
-            debounceExecutor.shutdownNow();
+            scheduledLoadTask.cancel(false); // Планировщик общий - не прерываем его поток
         }
         
         // Очищаем MediatorLiveData от всех источников
@@ -53,4 +53,9 @@ public interface PomodoroSessionDao {
 
     @Update
     int updateSync(PomodoroSession session); // Уже был
+
+    // Компактирование: порция сессий старше горизонта, см. HistoryRetentionManager
+    @Query("DELETE FROM pomodoro_session WHERE id IN " +
+            "(SELECT id FROM pomodoro_session WHERE start_time < :horizonUtc LIMIT :limit)")
+    int deleteOlderThanSync(LocalDateTime horizonUtc, int limit);
 }
\ No newline at end of file
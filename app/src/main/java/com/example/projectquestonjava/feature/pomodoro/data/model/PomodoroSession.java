@@ -29,7 +29,8 @@ import java.util.Objects;
                         onDelete = ForeignKey.RESTRICT
                 )
         },
-        indices = {@Index("user_id"), @Index("task_id")}
+        // (user_id, start_time) - выборки сессий пользователя за период; префикс покрывает FK по user_id
+        indices = {@Index(value = {"user_id", "start_time"}), @Index("task_id")}
 )
 public class PomodoroSession {
 
@@ -0,0 +1,39 @@
+package com.example.projectquestonjava.feature.pomodoro.data.service;
+
+import androidx.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * Что сейчас показано в уведомлении таймера: сигнатура (тип состояния и фаза) и момент
+ * окончания обратного отсчета. Секунды отсчитывает системный хронометр, поэтому уведомление
+ * перепубликуется только при смене сигнатуры или заметном расхождении движка с хронометром.
+ */
+class NotificationRepostTracker {
+
+    // Расхождение хронометра с движком, после которого уведомление перепубликуется
+    static final long COUNTDOWN_DRIFT_TOLERANCE_MS = 2000L;
+
+    @Nullable
+    private String postedSignature;
+    @Nullable
+    private Long postedCountdownEndMillis;
+
+    boolean needsRepost(String signature, @Nullable Long countdownEndMillis) {
+        if (!signature.equals(postedSignature)) return true;
+        if (countdownEndMillis == null || postedCountdownEndMillis == null) {
+            return !Objects.equals(countdownEndMillis, postedCountdownEndMillis);
+        }
+        return Math.abs(countdownEndMillis - postedCountdownEndMillis) > COUNTDOWN_DRIFT_TOLERANCE_MS;
+    }
+
+    void onPosted(String signature, @Nullable Long countdownEndMillis) {
+        postedSignature = signature;
+        postedCountdownEndMillis = countdownEndMillis;
+    }
+
+    /** Уведомление снято: следующее состояние публикуется заново. */
+    void reset() {
+        postedSignature = null;
+        postedCountdownEndMillis = null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.projectquestonjava.feature.pomodoro.data.service;
+
+import com.example.projectquestonjava.core.utils.MonotonicClock;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обратный отсчет фазы на общем планировщике.
+ * Оставшееся время считается от монотонного дедлайна, поэтому задержки планировщика
+ * не накапливаются. Тик отдается слушателю только при смене отображаемой секунды.
+ */
+class PhaseTicker {
+
+    interface Listener {
+        /** Отображаемое количество секунд изменилось. */
+        void onSecondChanged(int remainingSeconds);
+        /** Дедлайн достигнут. */
+        void onFinished();
+    }
+
+    private static final long SECOND_MS = 1000L;
+
+    private final ScheduledExecutorService scheduler;
+    private final MonotonicClock clock;
+
+    private ScheduledFuture<?> pendingTick;
+    private long deadlineMillis;
+    private int lastEmittedSeconds;
+    private Listener listener;
+    // Поколение запуска: тик, запланированный до cancel()/start(), игнорируется
+    private long generation;
+
+    PhaseTicker(ScheduledExecutorService scheduler, MonotonicClock clock) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    synchronized void start(int remainingSeconds, Listener listener) {
+        cancel();
+        this.listener = listener;
+        this.deadlineMillis = clock.elapsedRealtimeMillis() + remainingSeconds * SECOND_MS;
+        this.lastEmittedSeconds = remainingSeconds;
+        scheduleNext(generation);
+    }
+
+    /** Останавливает отсчет и возвращает оставшиеся (округленные вверх) секунды. */
+    synchronized int cancel() {
+        generation++;
+        if (pendingTick != null) {
+            pendingTick.cancel(false);
+            pendingTick = null;
+        }
+        if (listener == null) return 0;
+        listener = null;
+        return remainingSecondsAt(clock.elapsedRealtimeMillis());
+    }
+
+    synchronized boolean isRunning() {
+        return listener != null;
+    }
+
+    private void scheduleNext(long scheduledGeneration) {
+        long msLeft = deadlineMillis - clock.elapsedRealtimeMillis();
+        // Просыпаемся ровно на границе следующей отображаемой секунды
+        long delay = msLeft <= 0 ? 0 : (msLeft % SECOND_MS == 0 ? SECOND_MS : msLeft % SECOND_MS);
+        pendingTick = scheduler.schedule(() -> onTick(scheduledGeneration), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void onTick(long scheduledGeneration) {
+        Listener currentListener;
+        int secondsToEmit = -1;
+        boolean finished;
+        synchronized (this) {
+            if (scheduledGeneration != generation || listener == null) return;
+            currentListener = listener;
+            long now = clock.elapsedRealtimeMillis();
+            int remaining = remainingSecondsAt(now);
+            if (remaining != lastEmittedSeconds) {
+                lastEmittedSeconds = remaining;
+                secondsToEmit = remaining;
+            }
+            finished = deadlineMillis - now <= 0;
+            if (finished) {
+                listener = null;
+                pendingTick = null;
+            } else {
+                scheduleNext(scheduledGeneration);
+            }
+        }
+        // Слушатель вызывается вне монитора, чтобы он мог сам вызвать cancel()/start()
+        if (secondsToEmit >= 0) currentListener.onSecondChanged(secondsToEmit);
+        if (finished) currentListener.onFinished();
+    }
+
+    private int remainingSecondsAt(long nowMillis) {
+        long msLeft = deadlineMillis - nowMillis;
+        if (msLeft <= 0) return 0;
+        return (int) ((msLeft + SECOND_MS - 1) / SECOND_MS);
+    }
+}
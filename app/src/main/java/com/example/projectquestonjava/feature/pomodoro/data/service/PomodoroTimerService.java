@@ -14,6 +14,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Observer;
 
 import com.example.projectquestonjava.R;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
 import com.example.projectquestonjava.core.managers.UserSessionManager;
 import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.feature.pomodoro.domain.model.InterruptedPhaseInfo;
@@ -21,13 +22,19 @@ import com.example.projectquestonjava.feature.pomodoro.domain.model.PomodoroPhas
 import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
 import com.example.projectquestonjava.feature.pomodoro.domain.model.TimerState;
 import com.example.projectquestonjava.feature.pomodoro.presentation.controllers.PomodoroNotificationController;
+import com.example.projectquestonjava.feature.statistics.data.managers.StatisticsWriteBuffer;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 import dagger.hilt.android.AndroidEntryPoint;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import javax.inject.Inject;
 
@@ -40,12 +47,17 @@ public class PomodoroTimerService extends Service {
     PomodoroNotificationController notificationController;
     @Inject
     Logger logger;
+    @Inject
+    ExecutorRegistry executorRegistry;
+    @Inject
+    StatisticsWriteBuffer statisticsWriteBuffer;
 
-    private ExecutorService serviceActionExecutor; // Для обработки команд в onStartCommand
+    private Executor serviceActionExecutor; // Последовательная обработка команд из onStartCommand
     private final PomodoroBinder binder = new PomodoroBinder();
 
     private boolean isForegroundService = false;
-    private TimerState previousEngineStateForNotificationUpdates = TimerState.Idle.getInstance();
+    private final NotificationRepostTracker notificationRepostTracker = new NotificationRepostTracker();
+    private final Map<String, List<NotificationCompat.Action>> notificationActionsBySignature = new HashMap<>();
     private Intent lastReceivedIntentForRestore = null;
 
     // Observer для LiveData состояния таймера
@@ -84,30 +96,25 @@ public class PomodoroTimerService extends Service {
     @Override
     public void onCreate() {
         super.onCreate();
-        serviceActionExecutor = Executors.newSingleThreadExecutor();
+        serviceActionExecutor = executorRegistry.newSerialExecutor("pomodoro-service-actions");
         logger.debug(TAG, "Service onCreate");
         notificationController.createNotificationChannel();
 
         timerStateObserver = engineState -> {
             if (engineState == null) return;
-            logger.debug(TAG, "Service Observed EngineState: " + engineState.getClass().getSimpleName() +
-                    ", PrevNotifState: " + previousEngineStateForNotificationUpdates.getClass().getSimpleName());
 
             if (engineState instanceof TimerState.Running ||
                     engineState instanceof TimerState.Paused ||
                     engineState instanceof TimerState.WaitingForConfirmation) {
-                ensureForegroundServiceStarted(engineState);
-                // Обновляем уведомление если состояние изменилось ИЛИ если сервис только что стал foreground
-                // ИЛИ если предыдущее состояние было Idle (первый запуск таймера)
-                if (!engineState.equals(previousEngineStateForNotificationUpdates) ||
-                        !isForegroundService /* стал foreground только что */ ||
-                        previousEngineStateForNotificationUpdates instanceof TimerState.Idle) {
+                if (!isForegroundService) {
+                    ensureForegroundServiceStarted(engineState);
+                } else if (needsNotificationRepost(engineState)) {
+                    // Секунды отсчитывает хронометр уведомления, перепубликуем только при смене типа состояния/фазы
                     updateNotificationContent(engineState);
                 }
             } else if (engineState instanceof TimerState.Idle) {
                 stopForegroundServiceAndSelf();
             }
-            previousEngineStateForNotificationUpdates = engineState;
         };
         // Подписываемся на LiveData из TimerEngine
         // Важно: TimerEngine должен быть инициализирован до этой подписки
@@ -204,12 +211,15 @@ public class PomodoroTimerService extends Service {
         // PomodoroNotificationController.startForeground уже должен это учитывать.
         if (!isForegroundService) {
             try {
+                Long countdownEndMillis = getCountdownEndMillis(engineState);
                 notificationController.startForeground(
                         this,
                         getNotificationText(engineState),
+                        countdownEndMillis,
                         getNotificationActionsForState(engineState)
                 );
                 isForegroundService = true;
+                notificationRepostTracker.onPosted(getNotificationSignature(engineState), countdownEndMillis);
                 logger.info(TAG, "Service started in foreground. State: " + engineState.getClass().getSimpleName());
             } catch (Exception e) {
                 logger.error(TAG, "Error starting foreground service", e);
@@ -221,11 +231,42 @@ public class PomodoroTimerService extends Service {
 
     private void updateNotificationContent(TimerState state) {
         if (isForegroundService) {
+            logger.debug(TAG, "Reposting notification for state: " + state.getClass().getSimpleName());
+            Long countdownEndMillis = getCountdownEndMillis(state);
             notificationController.updateNotification(
                     getNotificationText(state),
+                    countdownEndMillis,
                     getNotificationActionsForState(state)
             );
+            notificationRepostTracker.onPosted(getNotificationSignature(state), countdownEndMillis);
+        }
+    }
+
+    private boolean needsNotificationRepost(TimerState state) {
+        return notificationRepostTracker.needsRepost(getNotificationSignature(state), getCountdownEndMillis(state));
+    }
+
+    /** Тип состояния + фаза: все, от чего зависят текст и кнопки уведомления, кроме секунд. */
+    private String getNotificationSignature(TimerState state) {
+        PomodoroPhase currentPhase = timerEngine.getCurrentPhaseLiveData().getValue();
+        StringBuilder signature = new StringBuilder(state.getClass().getSimpleName())
+                .append('|').append(phaseFromStateOrEngine(state, currentPhase))
+                .append('|').append(currentPhase != null && currentPhase.isBreak());
+        if (state instanceof TimerState.Running) {
+            signature.append('|').append(((TimerState.Running) state).getTotalSeconds());
+        } else if (state instanceof TimerState.Paused) {
+            // Текст паузы статичный и включает оставшееся время
+            signature.append('|').append(((TimerState.Paused) state).getRemainingSeconds());
         }
+        return signature.toString();
+    }
+
+    @Nullable
+    private Long getCountdownEndMillis(TimerState state) {
+        if (state instanceof TimerState.Running) {
+            return System.currentTimeMillis() + ((TimerState.Running) state).getRemainingSeconds() * 1000L;
+        }
+        return null;
     }
 
     private String getNotificationText(TimerState state) {
@@ -234,7 +275,8 @@ public class PomodoroTimerService extends Service {
         String phaseTypeString = getPhaseTypeString(phaseType);
 
         if (state instanceof TimerState.Running) {
-            return phaseTypeString + ": " + formatTime(((TimerState.Running) state).getRemainingSeconds());
+            // Оставшееся время показывает хронометр уведомления
+            return phaseTypeString;
         } else if (state instanceof TimerState.Paused) {
             return "Пауза (" + phaseTypeString + "): " + formatTime(((TimerState.Paused) state).getRemainingSeconds());
         } else if (state instanceof TimerState.WaitingForConfirmation) {
@@ -245,6 +287,13 @@ public class PomodoroTimerService extends Service {
 
     private List<NotificationCompat.Action> getNotificationActionsForState(TimerState state) {
         PomodoroPhase currentPhase = timerEngine.getCurrentPhaseLiveData().getValue();
+        // Набор кнопок зависит только от типа состояния и фазы, поэтому кешируем списки
+        String key = state.getClass().getSimpleName() + '|' + (currentPhase != null && currentPhase.isBreak()) +
+                '|' + (state instanceof TimerState.WaitingForConfirmation &&
+                ((TimerState.WaitingForConfirmation) state).getType().isFocus());
+        List<NotificationCompat.Action> cached = notificationActionsBySignature.get(key);
+        if (cached != null) return cached;
+
         List<NotificationCompat.Action> actions = new ArrayList<>();
 
         if (state instanceof TimerState.Running) {
@@ -266,7 +315,9 @@ public class PomodoroTimerService extends Service {
             }
             actions.add(notificationController.createAction(ACTION_STOP, R.drawable.stop, "Стоп"));
         }
-        return actions;
+        List<NotificationCompat.Action> result = Collections.unmodifiableList(actions);
+        notificationActionsBySignature.put(key, result);
+        return result;
     }
 
     private SessionType phaseFromStateOrEngine(TimerState state, @Nullable PomodoroPhase enginePhase) {
@@ -288,6 +339,7 @@ public class PomodoroTimerService extends Service {
     private void stopForegroundServiceAndSelf() {
         logger.info(TAG, "Stopping foreground service and self.");
         isForegroundService = false;
+        notificationRepostTracker.reset();
         stopForeground(Service.STOP_FOREGROUND_REMOVE);
         stopSelf();
     }
@@ -300,13 +352,22 @@ public class PomodoroTimerService extends Service {
 
     @Override
     public void onDestroy() {
-        logger.info(TAG, "Service onDestroy. Removing observer, shutting down executor.");
+        logger.info(TAG, "Service onDestroy. Removing observer.");
         if (timerStateObserver != null && timerEngine != null && timerEngine.getTimerStateLiveData() != null) {
             timerEngine.getTimerStateLiveData().removeObserver(timerStateObserver);
         }
-        if (serviceActionExecutor != null && !serviceActionExecutor.isShutdown()) {
-            serviceActionExecutor.shutdownNow();
-        }
+        // serviceActionExecutor не владеет потоками (он поверх общего IO-пула), останавливать его не нужно
+        // Дописываем в БД все, что осталось в буфере статистики (flush идет вне главного потока)
+        Futures.addCallback(statisticsWriteBuffer.flush(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                logger.debug(TAG, "Statistics buffer flushed on service stop.");
+            }
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                logger.error(TAG, "Failed to flush statistics buffer on service stop", t);
+            }
+        }, MoreExecutors.directExecutor());
         // Если TimerEngine не Singleton и должен останавливаться с сервисом:
         // if (timerEngine != null) {
         //     timerEngine.shutdown();
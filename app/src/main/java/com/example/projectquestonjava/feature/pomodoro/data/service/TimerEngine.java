@@ -10,10 +10,13 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Observer;
 
 import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
 import com.example.projectquestonjava.core.managers.SoundManager;
 import com.example.projectquestonjava.core.managers.VibrationManager;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.core.utils.MonotonicClock;
 import com.example.projectquestonjava.feature.pomodoro.data.managers.PomodoroSessionManager;
 import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
 import com.example.projectquestonjava.feature.pomodoro.domain.model.InterruptedPhaseInfo;
@@ -33,12 +36,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -55,8 +55,8 @@ public class TimerEngine {
     private final PomodoroSettingsRepository settingsRepository;
     private final PomodoroSessionManager pomodoroSessionManager;
     private final DateTimeUtils dateTimeUtils;
-    private final ExecutorService engineExecutor;
-    private final ExecutorService settingsExecutor;
+    private final Executor engineExecutor;
+    private final Executor settingsExecutor;
     private Logger logger = null;
 
     private final MutableLiveData<TimerState> _timerStateLiveData = new MutableLiveData<>(TimerState.Idle.getInstance());
@@ -85,8 +85,12 @@ public class TimerEngine {
     private volatile LocalDateTime currentPhaseStartTime = null; // UTC
     private final AtomicInteger accumulatedInterruptionsInCurrentPhase = new AtomicInteger(0);
 
-    private volatile Future<?> activeTimerJob = null;
+    // Обратный отсчет фазы на общем @ScheduledExecutor, без отдельного потока на таймер
+    private final PhaseTicker phaseTicker;
     private final Object timerJobLock = new Object();
+    // Под timerJobLock: слушатель активного тикера и последнее отданное состояние Running
+    private PhaseTicker.Listener activeTickListener = null;
+    private TimerState.Running runningState = null;
     private final AtomicReference<PomodoroSettings> currentSettingsRef = new AtomicReference<>(new PomodoroSettings());
     private List<PomodoroPhase> originalPhasesForCurrentCycle = Collections.emptyList();
 
@@ -100,6 +104,9 @@ public class TimerEngine {
             PomodoroSessionManager pomodoroSessionManager,
             DateTimeUtils dateTimeUtils,
             @IODispatcher Executor ioExecutor,
+            @ScheduledExecutor ScheduledExecutorService scheduledExecutor,
+            ExecutorRegistry executorRegistry,
+            MonotonicClock monotonicClock,
             Logger logger) {
         this.soundManager = soundManager;
         this.vibrationManager = vibrationManager;
@@ -107,8 +114,9 @@ public class TimerEngine {
         this.settingsRepository = settingsRepository;
         this.pomodoroSessionManager = pomodoroSessionManager;
         this.dateTimeUtils = dateTimeUtils;
-        this.engineExecutor = (ExecutorService) ioExecutor;
-        this.settingsExecutor = Executors.newSingleThreadExecutor();
+        this.engineExecutor = ioExecutor;
+        this.settingsExecutor = executorRegistry.newSerialExecutor("timer-settings");
+        this.phaseTicker = new PhaseTicker(scheduledExecutor, monotonicClock);
         this.logger = logger;
 
         _currentPhaseLiveData.addSource(_pomodoroPhasesLiveData, phases -> updateCurrentPhaseMediator());
@@ -254,89 +262,58 @@ public class TimerEngine {
 
 
     private void launchTimerTask(TimerState.Running initialRunningState) {
-        synchronized (timerJobLock) { // Синхронизируем доступ к activeTimerJob
+        synchronized (timerJobLock) {
             cancelActiveTimerJobInternal(); // Убедимся, что предыдущий точно отменен
-            AtomicInteger remaining = new AtomicInteger(initialRunningState.getRemainingSeconds());
-            logger.debug(TAG, "Launching timer task for " + initialRunningState.getType() + " with " + remaining.get() + " seconds.");
-
-            activeTimerJob = engineExecutor.submit(() -> {
-                try {
-                    while (remaining.get() > 0) { // Убрали !Thread.currentThread().isInterrupted() из условия цикла
-                        if (Thread.currentThread().isInterrupted()) { // Проверяем прерывание в начале итерации
-                            logger.info(TAG, "Timer task for " + initialRunningState.getType() + " was interrupted (inside loop check). Remaining: " + remaining.get());
-                            break; // Выходим из цикла, если поток прерван
-                        }
-                        Thread.sleep(1000);
-                        // Повторная проверка на прерывание после sleep
-                        if (Thread.currentThread().isInterrupted()) {
-                            logger.info(TAG, "Timer task for " + initialRunningState.getType() + " was interrupted (after sleep). Remaining: " + remaining.get());
-                            break;
-                        }
-
-                        int currentRemaining = remaining.decrementAndGet();
-                        TimerState currentStateOnMainThread = _timerStateLiveData.getValue(); // Читаем на том же потоке, что и postValue
-
-                        if (currentStateOnMainThread instanceof TimerState.Running &&
-                                ((TimerState.Running) currentStateOnMainThread).getType() == initialRunningState.getType() &&
-                                // Дополнительная проверка, чтобы убедиться, что это тот же таймер
-                                Objects.equals(activeTimerJob, Thread.currentThread().isInterrupted() ? null : activeTimerJob)) {
-
-                            TimerState.Running updatedState = ((TimerState.Running) currentStateOnMainThread).copy(
-                                    currentRemaining, null, null, null
-                            );
-                            // Обновляем LiveData всегда на главном потоке, если у вас есть MainExecutor
-                            // Если нет, то postValue() безопасен
-                            _timerStateLiveData.postValue(updatedState);
-                        } else {
-                            logger.info(TAG, "Timer task for " + initialRunningState.getType() + " exiting. Current state: " +
-                                    (currentStateOnMainThread != null ? currentStateOnMainThread.getClass().getSimpleName() : "null") +
-                                    ", Expected type: " + initialRunningState.getType());
-                            break;
-                        }
-                    }
-                    // Проверяем, был ли цикл прерван или завершился естественно
-                    if (remaining.get() == 0 && !Thread.currentThread().isInterrupted()) {
-                        logger.info(TAG, "Timer task for " + initialRunningState.getType() + " completed naturally.");
-                        // Вызов handleNaturalPhaseCompletionInternal должен быть на engineExecutor
-                        engineExecutor.execute(this::handleNaturalPhaseCompletionInternal);
-                    } else if (Thread.currentThread().isInterrupted()){
-                        logger.info(TAG, "Timer task for " + initialRunningState.getType() + " did not complete naturally due to interruption. Remaining: " + remaining.get());
+            logger.debug(TAG, "Launching timer task for {} with {} seconds.", initialRunningState.getType(), initialRunningState.getRemainingSeconds());
+            runningState = initialRunningState;
+            PhaseTicker.Listener tickListener = new PhaseTicker.Listener() {
+                @Override
+                public void onSecondChanged(int remainingSeconds) {
+                    TimerState.Running updatedState;
+                    synchronized (timerJobLock) {
+                        if (activeTickListener != this || runningState == null) return; // Тик от отмененного таймера
+                        updatedState = runningState.copy(remainingSeconds, null, null, null);
+                        runningState = updatedState;
                     }
-                } catch (InterruptedException e) {
-                    logger.info(TAG, "Timer task for " + initialRunningState.getType() + " explicitly interrupted via InterruptedException. Remaining: " + remaining.get());
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    logger.error(TAG, "Exception in timer task for " + initialRunningState.getType(), e);
-                    engineExecutor.execute(() -> setIdleStateAndResetCycleInternals(true));
-                } finally {
+                    _timerStateLiveData.postValue(updatedState);
+                }
+
+                @Override
+                public void onFinished() {
                     synchronized (timerJobLock) {
-                        // Обнуляем activeTimerJob только если это был текущий джоб
-                        if (activeTimerJob != null && activeTimerJob.isDone()) { // Проверяем, что это тот же джоб и он завершен
-                            activeTimerJob = null;
-                        }
+                        if (activeTickListener != this) return;
+                        activeTickListener = null;
+                        runningState = null;
                     }
-                    logger.debug(TAG, "Timer task for " + initialRunningState.getType() + " finished execution block.");
+                    logger.info(TAG, "Timer task for " + initialRunningState.getType() + " completed naturally.");
+                    engineExecutor.execute(TimerEngine.this::handleNaturalPhaseCompletionInternal);
                 }
-            });
+            };
+            activeTickListener = tickListener;
+            phaseTicker.start(initialRunningState.getRemainingSeconds(), tickListener);
         }
     }
 
     public void pause() {
         engineExecutor.execute(() -> {
             logger.debug(TAG, "CMD: Pause");
+            TimerState.Running currentRunning;
+            int remainingSeconds;
             synchronized (timerJobLock) {
-                cancelActiveTimerJobInternal();
+                // Берем состояние движка, а не LiveData: postValue мог еще не доехать до главного потока
+                currentRunning = runningState;
+                remainingSeconds = cancelActiveTimerJobInternal();
             }
-            TimerState currentState = _timerStateLiveData.getValue();
-            if (currentState instanceof TimerState.Running) {
+            if (currentRunning != null) {
                 int interruptions = accumulatedInterruptionsInCurrentPhase.incrementAndGet();
                 _timerStateLiveData.postValue(new TimerState.Paused(
-                        ((TimerState.Running) currentState).getRemainingSeconds(),
-                        ((TimerState.Running) currentState).getTotalSeconds(),
-                        ((TimerState.Running) currentState).getType(),
+                        remainingSeconds,
+                        currentRunning.getTotalSeconds(),
+                        currentRunning.getType(),
                         interruptions
                 ));
             } else {
+                TimerState currentState = _timerStateLiveData.getValue();
                 logger.warn(TAG, "Cannot pause, current state is not Running: " + (currentState != null ? currentState.getClass().getSimpleName() : "null"));
             }
         });
@@ -562,8 +539,7 @@ public class TimerEngine {
             cancelActiveTimerJobInternal();
         }
         stopCurrentOperationAndSound();
-        engineExecutor.shutdownNow();
-        settingsExecutor.shutdownNow();
+        // Исполнители общие (ExecutorRegistry) - их жизненным циклом управляет приложение
         soundManager.shutdown();
         vibrationManager.shutdown();
         settingsRepository.getSettingsFlow().removeObserver(settingsObserver);
@@ -583,14 +559,12 @@ public class TimerEngine {
         settingsRepository.getSettingsFlow().removeObserver(settingsObserver);
     }
 
-    private void cancelActiveTimerJobInternal() {
-        Future<?> jobToCancel = activeTimerJob;
-        if (jobToCancel != null) {
-            if (!jobToCancel.isDone() && !jobToCancel.isCancelled()) {
-                logger.debug(TAG, "Cancelling active timer job: " + jobToCancel.hashCode());
-                jobToCancel.cancel(true);
-            }
-            activeTimerJob = null;
-        }
+    /** Останавливает тикер текущей фазы. Возвращает оставшиеся секунды (0, если таймер не шел). */
+    private int cancelActiveTimerJobInternal() {
+        activeTickListener = null;
+        runningState = null;
+        if (!phaseTicker.isRunning()) return 0;
+        logger.debug(TAG, "Cancelling active phase ticker.");
+        return phaseTicker.cancel();
     }
-}
\ No newline at end of file
+}
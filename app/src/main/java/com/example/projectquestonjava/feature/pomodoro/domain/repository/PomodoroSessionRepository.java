@@ -15,6 +15,7 @@ public interface PomodoroSessionRepository {
     ListenableFuture<PomodoroSession> getLatestSession(long taskId);
     LiveData<List<PomodoroSession>> getAllSessionsForUserFlow();
     ListenableFuture<List<PomodoroSession>> getSessionsInPeriod(LocalDateTime startTime, LocalDateTime endTime);
+
     ListenableFuture<PomodoroSession> getSessionById(long sessionId);
 
     // --- SYNC ---
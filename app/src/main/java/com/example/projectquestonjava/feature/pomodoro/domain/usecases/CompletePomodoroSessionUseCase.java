@@ -18,12 +18,12 @@ import com.example.projectquestonjava.feature.gamification.domain.usecases.Updat
 import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
 import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
 import com.example.projectquestonjava.feature.pomodoro.domain.repository.PomodoroSessionRepository;
+import com.example.projectquestonjava.feature.statistics.data.managers.StatisticsWriteBuffer;
 import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
 import com.example.projectquestonjava.feature.statistics.domain.repository.GamificationHistoryRepository;
-import com.example.projectquestonjava.feature.statistics.domain.repository.GlobalStatisticsRepository;
-import com.example.projectquestonjava.feature.statistics.domain.repository.TaskStatisticsRepository;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.Callable;
@@ -34,10 +34,9 @@ public class CompletePomodoroSessionUseCase {
     private static final String TAG = "CompletePomodoroSessionUC";
 
     private final PomodoroSessionRepository pomodoroSessionRepository;
-    private final TaskStatisticsRepository taskStatisticsRepository;
     private final GamificationRepository gamificationRepository;
     private final GamificationHistoryRepository gamificationHistoryRepository;
-    private final GlobalStatisticsRepository globalStatisticsRepository;
+    private final StatisticsWriteBuffer statisticsWriteBuffer;
     private final ApplyRewardUseCase applyRewardUseCase;
     private final UpdateChallengeProgressUseCase updateChallengeProgressUseCase;
     private final ApplyGrowthPointsUseCase applyGrowthPointsUseCase;
@@ -51,10 +50,9 @@ public class CompletePomodoroSessionUseCase {
     @Inject
     public CompletePomodoroSessionUseCase(
             PomodoroSessionRepository pomodoroSessionRepository,
-            TaskStatisticsRepository taskStatisticsRepository,
             GamificationRepository gamificationRepository,
             GamificationHistoryRepository gamificationHistoryRepository,
-            GlobalStatisticsRepository globalStatisticsRepository,
+            StatisticsWriteBuffer statisticsWriteBuffer,
             ApplyRewardUseCase applyRewardUseCase,
             UpdateChallengeProgressUseCase updateChallengeProgressUseCase,
             ApplyGrowthPointsUseCase applyGrowthPointsUseCase,
@@ -65,10 +63,9 @@ public class CompletePomodoroSessionUseCase {
             Logger logger,
             UnitOfWork unitOfWork) {
         this.pomodoroSessionRepository = pomodoroSessionRepository;
-        this.taskStatisticsRepository = taskStatisticsRepository;
         this.gamificationRepository = gamificationRepository;
         this.gamificationHistoryRepository = gamificationHistoryRepository;
-        this.globalStatisticsRepository = globalStatisticsRepository;
+        this.statisticsWriteBuffer = statisticsWriteBuffer;
         this.applyRewardUseCase = applyRewardUseCase;
         this.updateChallengeProgressUseCase = updateChallengeProgressUseCase;
         this.applyGrowthPointsUseCase = applyGrowthPointsUseCase;
@@ -83,7 +80,7 @@ public class CompletePomodoroSessionUseCase {
     public ListenableFuture<Void> execute(
             long sessionId, long taskId, SessionType type,
             int actualDurationSeconds, int interruptionsInPhase) {
-        return Futures.submit(() -> {
+        ListenableFuture<Void> phaseFuture = Futures.submit(() -> {
             try {
                 // userId и gamificationId получаем синхронно, т.к. мы на ioExecutor
                 int userId = userSessionManager.getUserIdSync();
@@ -116,15 +113,6 @@ public class CompletePomodoroSessionUseCase {
                     logger.debug(TAG, "PomodoroSession " + sessionId + " updated in DB.");
 
                     int minFocusDurationSecForStatsAndReward = GamificationConstants.MIN_FOCUS_DURATION_FOR_REWARD_MINUTES * 60;
-                    if (type.isFocus()) {
-                        taskStatisticsRepository.addTimeToSpentSync(taskId, actualDurationSeconds);
-                        taskStatisticsRepository.addTotalPomodoroFocusTimeSync(taskId, actualDurationSeconds);
-                        if (actualDurationSeconds >= minFocusDurationSecForStatsAndReward) {
-                            taskStatisticsRepository.incrementCompletedPomodoroFocusSessionsSync(taskId);
-                        }
-                    }
-                    taskStatisticsRepository.incrementTotalPomodoroInterruptionsSync(taskId, interruptionsInPhase);
-                    logger.debug(TAG, "TaskStatistics for " + taskId + " updated.");
 
                     if (type.isFocus() && actualDurationSeconds >= minFocusDurationSecForStatsAndReward && gamificationId != -1L) {
                         Gamification currentGami = gamificationRepository.getGamificationByIdSync(gamificationId);
@@ -172,18 +160,28 @@ public class CompletePomodoroSessionUseCase {
                         }
                     }
 
-                    if (type.isFocus() && actualDurationSeconds >= minFocusDurationSecForStatsAndReward) {
-                        globalStatisticsRepository.addTotalTimeSpentSync(actualDurationSeconds / 60);
-                    }
-                    globalStatisticsRepository.updateLastActiveSync();
-                    logger.debug(TAG, "GlobalStatistics updated.");
                     return null;
                 });
+
+                // Счетчики статистики копятся в буфере и сбрасываются одной транзакцией на границе фазы
+                boolean countsAsCompleted = type.isFocus()
+                        && actualDurationSeconds >= GamificationConstants.MIN_FOCUS_DURATION_FOR_REWARD_MINUTES * 60;
+                int focusSeconds = type.isFocus() ? actualDurationSeconds : 0;
+                statisticsWriteBuffer.addTaskDeltas(taskId, focusSeconds, focusSeconds,
+                        countsAsCompleted ? 1 : 0, interruptionsInPhase);
+                statisticsWriteBuffer.addUserActivity(userId,
+                        countsAsCompleted ? actualDurationSeconds / 60 : 0, completionTimeUtc);
                 return null;
             } catch (Exception e) {
                 logger.error(TAG, "Error completing Pomodoro session " + sessionId, e);
                 throw e;
             }
         }, ioExecutor);
+
+        // Фаза уже зафиксирована; ошибка сброса не валит ее - дельты остаются в буфере до следующего flush
+        return Futures.transformAsync(phaseFuture,
+                ignored -> Futures.catching(statisticsWriteBuffer.flush(), Exception.class, e -> null,
+                        MoreExecutors.directExecutor()),
+                MoreExecutors.directExecutor());
     }
 }
\ No newline at end of file
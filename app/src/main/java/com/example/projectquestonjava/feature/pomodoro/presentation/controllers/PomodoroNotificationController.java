@@ -2,11 +2,14 @@ package com.example.projectquestonjava.feature.pomodoro.presentation.controllers
 
 import android.app.PendingIntent;
 import android.app.Service;
+import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
 import com.example.projectquestonjava.core.managers.PomodoroNotificationManager;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.List; // Для NotificationCompat.Action
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class PomodoroNotificationController {
@@ -16,6 +19,10 @@ public class PomodoroNotificationController {
     private final PomodoroNotificationManager notificationManager;
     private final PomodoroNotificationIntentProvider intentProvider;
 
+    // PendingIntent'ы и кнопки не зависят от секунд таймера, поэтому создаются один раз
+    private final Map<String, NotificationCompat.Action> actionCache = new ConcurrentHashMap<>();
+    private volatile PendingIntent openAppIntent;
+
     @Inject
     public PomodoroNotificationController(
             PomodoroNotificationManager notificationManager,
@@ -29,24 +36,46 @@ public class PomodoroNotificationController {
     }
 
     public void startForeground(Service service, String contentText, List<NotificationCompat.Action> actions) {
-        PendingIntent openAppIntent = intentProvider.createOpenAppIntent();
-        NotificationCompat.Builder notificationBuilder = notificationManager.buildNotification(contentText, actions, openAppIntent);
+        startForeground(service, contentText, null, actions);
+    }
+
+    public void startForeground(Service service, String contentText, @Nullable Long countdownEndMillis,
+                                List<NotificationCompat.Action> actions) {
+        NotificationCompat.Builder notificationBuilder =
+                notificationManager.buildNotification(contentText, countdownEndMillis, actions, getOpenAppIntent());
         service.startForeground(NOTIFICATION_ID, notificationBuilder.build());
     }
 
     public void updateNotification(String contentText, List<NotificationCompat.Action> actions) {
-        PendingIntent openAppIntent = intentProvider.createOpenAppIntent();
-        NotificationCompat.Builder notificationBuilder = notificationManager.buildNotification(contentText, actions, openAppIntent);
+        updateNotification(contentText, null, actions);
+    }
+
+    public void updateNotification(String contentText, @Nullable Long countdownEndMillis,
+                                   List<NotificationCompat.Action> actions) {
+        NotificationCompat.Builder notificationBuilder =
+                notificationManager.buildNotification(contentText, countdownEndMillis, actions, getOpenAppIntent());
         notificationManager.updateNotification(NOTIFICATION_ID, notificationBuilder);
     }
 
 
     public NotificationCompat.Action createAction(String actionString, int iconResId, String title) {
-        PendingIntent pendingIntent = intentProvider.createActionIntent(actionString);
-        return new NotificationCompat.Action.Builder(iconResId, title, pendingIntent).build();
+        // Одно действие может выводиться с разными подписями (например, SKIP_BREAK), ключ учитывает обе
+        return actionCache.computeIfAbsent(actionString + '|' + iconResId + '|' + title, key -> {
+            PendingIntent pendingIntent = intentProvider.createActionIntent(actionString);
+            return new NotificationCompat.Action.Builder(iconResId, title, pendingIntent).build();
+        });
+    }
+
+    private PendingIntent getOpenAppIntent() {
+        PendingIntent intent = openAppIntent;
+        if (intent == null) {
+            intent = intentProvider.createOpenAppIntent();
+            openAppIntent = intent;
+        }
+        return intent;
     }
 
     public void cancelNotification() {
         notificationManager.cancelNotification(NOTIFICATION_ID);
     }
-}
\ No newline at end of file
+}
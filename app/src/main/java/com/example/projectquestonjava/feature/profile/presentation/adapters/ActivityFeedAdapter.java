@@ -1,6 +1,7 @@
 package com.example.projectquestonjava.feature.profile.presentation.adapters;
 
 import android.content.Context;
+import android.graphics.Rect;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,6 +10,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.core.widget.NestedScrollView;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
@@ -19,14 +21,91 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.function.IntConsumer;
 
+/**
+ * Лента активности профиля - окно {@link com.example.projectquestonjava.core.data.paging.KeysetPageWindow}.
+ * Список лежит внутри NestedScrollView с wrap_content, поэтому RecyclerView привязывает все
+ * элементы окна сразу, и onBind не говорит, что видно на экране. Видимые позиции считаются по
+ * области прокрутки в {@link #reportVisibleItems} и уходят в onItemVisible. Когда окно сбрасывает
+ * страницы сверху, контент под ними съезжает; {@link #saveScrollAnchor}/{@link #restoreScrollAnchor}
+ * возвращают первую видимую запись на прежнее место, иначе прокрутка перескочила бы к концу окна
+ * и запустила бы следующую догрузку.
+ */
 public class ActivityFeedAdapter extends ListAdapter<GamificationHistory, ActivityFeedAdapter.HistoryViewHolder> {
 
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT).withLocale(new Locale("ru"));
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withLocale(new Locale("ru"));
 
-    public ActivityFeedAdapter() {
+    private final IntConsumer onItemVisible;
+    private final Rect viewport = new Rect();
+    private final Rect itemBounds = new Rect();
+    private long anchorId = RecyclerView.NO_ID;
+    private int anchorOffset;
+
+    public ActivityFeedAdapter(@NonNull IntConsumer onItemVisible) {
         super(HISTORY_DIFF_CALLBACK);
+        this.onItemVisible = onItemVisible;
+        // Окно сдвигается добавлением и удалением страниц с краев: id сохраняют привязку view к записи
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    /** Запоминает первую видимую запись перед заменой окна; начало ленты на экране не якорится. */
+    public void saveScrollAnchor(@NonNull NestedScrollView scrollView, @NonNull RecyclerView recyclerView) {
+        anchorId = RecyclerView.NO_ID;
+        scrollView.getDrawingRect(viewport);
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            View child = recyclerView.getChildAt(i);
+            child.getDrawingRect(itemBounds);
+            scrollView.offsetDescendantRectToMyCoords(child, itemBounds);
+            if (!Rect.intersects(viewport, itemBounds)) continue;
+            int position = recyclerView.getChildAdapterPosition(child);
+            if (position == RecyclerView.NO_POSITION) continue;
+            // Новые записи в голове ленты должны появиться на экране, а не над ним
+            if (position > 0) {
+                anchorId = getItemId(position);
+                anchorOffset = itemBounds.top - viewport.top;
+            }
+            return;
+        }
+    }
+
+    /** После раскладки нового окна прокручивает scrollView так, чтобы запомненная запись осталась на месте. */
+    public void restoreScrollAnchor(@NonNull NestedScrollView scrollView, @NonNull RecyclerView recyclerView) {
+        if (anchorId == RecyclerView.NO_ID) return;
+        RecyclerView.ViewHolder holder = recyclerView.findViewHolderForItemId(anchorId);
+        anchorId = RecyclerView.NO_ID;
+        if (holder == null) return;
+        scrollView.getDrawingRect(viewport);
+        holder.itemView.getDrawingRect(itemBounds);
+        scrollView.offsetDescendantRectToMyCoords(holder.itemView, itemBounds);
+        int shift = itemBounds.top - viewport.top - anchorOffset;
+        if (shift != 0) scrollView.scrollBy(0, shift);
+    }
+
+    /** Сообщает первую и последнюю позиции ленты, попадающие в видимую область scrollView. */
+    public void reportVisibleItems(@NonNull NestedScrollView scrollView, @NonNull RecyclerView recyclerView) {
+        scrollView.getDrawingRect(viewport);
+        int first = RecyclerView.NO_POSITION;
+        int last = RecyclerView.NO_POSITION;
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            View child = recyclerView.getChildAt(i);
+            child.getDrawingRect(itemBounds);
+            scrollView.offsetDescendantRectToMyCoords(child, itemBounds);
+            if (!Rect.intersects(viewport, itemBounds)) continue;
+            int position = recyclerView.getChildAdapterPosition(child);
+            if (position == RecyclerView.NO_POSITION) continue;
+            if (first == RecyclerView.NO_POSITION || position < first) first = position;
+            if (position > last) last = position;
+        }
+        if (first == RecyclerView.NO_POSITION) return;
+        onItemVisible.accept(first);
+        if (last != first) onItemVisible.accept(last);
     }
 
     @NonNull
@@ -8,6 +8,7 @@ import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
@@ -19,6 +20,7 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.core.view.MenuProvider;
 import androidx.core.widget.ImageViewCompat;
+import androidx.core.widget.NestedScrollView;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.ViewModelProvider;
@@ -69,6 +71,7 @@ public class ProfileFragment extends BaseFragment implements RecentBadgesAdapter
     private TextView textViewNoRecentBadges;
     private Button buttonAllBadges;
 
+    private NestedScrollView scrollViewProfile;
     private RecyclerView recyclerViewActivityFeed;
     private ActivityFeedAdapter activityFeedAdapter;
     private TextView textViewNoActivity;
@@ -149,6 +152,7 @@ public class ProfileFragment extends BaseFragment implements RecentBadgesAdapter
         textViewNoRecentBadges = view.findViewById(R.id.textView_no_recent_badges_profile);
         buttonAllBadges = view.findViewById(R.id.button_all_badges_profile);
 
+        scrollViewProfile = view.findViewById(R.id.nestedScrollView_profile);
         recyclerViewActivityFeed = view.findViewById(R.id.recyclerView_activity_feed);
         textViewNoActivity = view.findViewById(R.id.textView_no_activity_profile);
 
@@ -183,10 +187,37 @@ public class ProfileFragment extends BaseFragment implements RecentBadgesAdapter
         recyclerViewRecentBadges.setLayoutManager(new LinearLayoutManager(getContext(), LinearLayoutManager.HORIZONTAL, false));
         recyclerViewRecentBadges.setAdapter(recentBadgesAdapter);
 
-        activityFeedAdapter = new ActivityFeedAdapter();
+        activityFeedAdapter = new ActivityFeedAdapter(viewModel::onHistoryItemVisible);
         recyclerViewActivityFeed.setLayoutManager(new LinearLayoutManager(getContext()));
         recyclerViewActivityFeed.setAdapter(activityFeedAdapter);
         recyclerViewActivityFeed.setNestedScrollingEnabled(false);
+        // Лента прокручивается вместе со всем экраном: догрузку страниц ведет прокрутка NestedScrollView
+        scrollViewProfile.setOnScrollChangeListener(
+                (NestedScrollView.OnScrollChangeListener) (v, scrollX, scrollY, oldScrollX, oldScrollY) -> reportVisibleHistory());
+    }
+
+    // Раскладка уже прошла, кадр еще не нарисован: сдвиг прокрутки не виден пользователю
+    private static void runBeforeNextDraw(View view, Runnable action) {
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                action.run();
+                return true;
+            }
+        });
+    }
+
+    private void onHistoryWindowLaidOut() {
+        if (activityFeedAdapter == null || scrollViewProfile == null || recyclerViewActivityFeed == null) return;
+        activityFeedAdapter.restoreScrollAnchor(scrollViewProfile, recyclerViewActivityFeed);
+        // Короткое окно может целиком уместиться на экране, тогда прокрутки для догрузки не будет
+        reportVisibleHistory();
+    }
+
+    private void reportVisibleHistory() {
+        if (activityFeedAdapter == null || scrollViewProfile == null || recyclerViewActivityFeed == null) return;
+        activityFeedAdapter.reportVisibleItems(scrollViewProfile, recyclerViewActivityFeed);
     }
 
     private void setupClickListeners() {
@@ -315,7 +346,9 @@ public class ProfileFragment extends BaseFragment implements RecentBadgesAdapter
             } else {
                 textViewNoActivity.setVisibility(View.GONE);
                 recyclerViewActivityFeed.setVisibility(View.VISIBLE);
-                activityFeedAdapter.submitList(uiState.getRecentHistory());
+                RecyclerView feed = recyclerViewActivityFeed;
+                activityFeedAdapter.saveScrollAnchor(scrollViewProfile, feed);
+                activityFeedAdapter.submitList(uiState.getRecentHistory(), () -> runBeforeNextDraw(feed, this::onHistoryWindowLaidOut));
             }
         });
     }
@@ -373,6 +406,10 @@ public class ProfileFragment extends BaseFragment implements RecentBadgesAdapter
         }
         recyclerViewActivityFeed = null;
         activityFeedAdapter = null;
+        if (scrollViewProfile != null) {
+            scrollViewProfile.setOnScrollChangeListener((NestedScrollView.OnScrollChangeListener) null);
+        }
+        scrollViewProfile = null;
         textViewNoActivity = null;
         quickAccessGardenCard = null;
         quickAccessStatisticsCard = null;
@@ -98,6 +98,14 @@ public class MainSettingsViewModel extends ViewModel {
         updateUiState(builder -> builder.isLoading(false));
     }
 
+    // Ключи пользователя, воркспейса и геймификации очищаются одной записью DataStore
+    private List<Preferences.Key<?>> sessionKeys() {
+        List<Preferences.Key<?>> keys = new ArrayList<>(gamificationDataStoreManager.getSessionKeys());
+        keys.add(UserSessionManager.USER_ID_KEY);
+        keys.add(WorkspaceSessionManager.WORKSPACE_ID_KEY);
+        return keys;
+    }
+
     private void updateUiState(Function<MainSettingsScreenUiState.MainSettingsScreenUiStateBuilder, MainSettingsScreenUiState.MainSettingsScreenUiStateBuilder> updater) {
         MainSettingsScreenUiState current = _uiState.getValue();
         MainSettingsScreenUiState.MainSettingsScreenUiStateBuilder builder = (current != null ? current.toBuilder() : MainSettingsScreenUiState.builder());
@@ -155,9 +163,8 @@ public class MainSettingsViewModel extends ViewModel {
         updateUiState(builder -> builder.isLoading(true));
         ioExecutor.execute(() -> {
             try {
-                Futures.getDone(userSessionManager.clearUserIdAsync());
-                Futures.getDone(workspaceSessionManager.clearWorkspaceIdAsync());
-                Futures.getDone(gamificationDataStoreManager.clearAllGamificationData());
+                // Все ключи сессии очищаются одной записью DataStore
+                userSessionManager.clearSessionValuesAsync(sessionKeys()).get();
                 logger.info(TAG, "User session data cleared successfully.");
                 snackbarManager.showMessage("Вы успешно вышли из аккаунта.");
                 // Навигация на экран входа должна произойти в UI (например, MainActivity наблюдает за userIdFlow)
@@ -219,9 +226,8 @@ public class MainSettingsViewModel extends ViewModel {
             try {
                 // TODO: Реальная логика удаления аккаунта из БД и всех связанных данных
                 Thread.sleep(2000); // Имитация
-                Futures.getDone(userSessionManager.clearUserIdAsync());
-                Futures.getDone(workspaceSessionManager.clearWorkspaceIdAsync());
-                Futures.getDone(gamificationDataStoreManager.clearAllGamificationData());
+                // Все ключи сессии очищаются одной записью DataStore
+                userSessionManager.clearSessionValuesAsync(sessionKeys()).get();
                 // MainActivity.deleteAllDatabases(applicationContext); // Если это статический метод
                 logger.info(TAG, "Account deleted successfully (simulation).");
                 snackbarManager.showMessage("Аккаунт успешно удален.");
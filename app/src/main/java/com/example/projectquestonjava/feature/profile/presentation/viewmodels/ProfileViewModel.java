@@ -4,6 +4,8 @@ import android.os.Handler;
 import android.os.Looper;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.datastore.preferences.core.Preferences;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
@@ -11,6 +13,7 @@ import androidx.lifecycle.Observer; // Добавлен импорт для Obse
 import androidx.lifecycle.Transformations;
 import androidx.lifecycle.ViewModel;
 import com.example.projectquestonjava.core.data.model.core.UserAuth;
+import com.example.projectquestonjava.core.data.paging.KeysetPageWindow;
 import com.example.projectquestonjava.core.di.IODispatcher;
 import com.example.projectquestonjava.core.domain.repository.UserAuthRepository;
 import com.example.projectquestonjava.core.managers.SnackbarManager;
@@ -33,6 +36,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 import dagger.hilt.android.lifecycle.HiltViewModel;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -47,7 +51,10 @@ public class ProfileViewModel extends ViewModel {
 
     private static final String TAG = "ProfileViewModel";
     private static final int RECENT_BADGES_LIMIT = 5;
-    private static final int RECENT_HISTORY_LIMIT = 5;
+    // Лента активности: окно из HISTORY_MAX_PAGES страниц по курсору (timestamp, id)
+    private static final int HISTORY_PAGE_SIZE = 20;
+    private static final int HISTORY_MAX_PAGES = 5;
+    private static final int HISTORY_PREFETCH_DISTANCE = 5;
     private boolean initialDataLoaded = false;
 
     private final UserAuthRepository userAuthRepository;
@@ -69,6 +76,9 @@ public class ProfileViewModel extends ViewModel {
     private final LiveData<List<GamificationBadgeCrossRef>> earnedBadgesRefsLiveData;
     private final LiveData<List<Badge>> allBadgesLiveData;
     private final LiveData<List<GamificationHistory>> recentHistoryLiveData;
+    // Окно ленты текущего пользователя; меняется только на главном потоке
+    @Nullable
+    private KeysetPageWindow<GamificationHistory> historyWindow;
 
     // Объявляем Observer для userIdSource здесь, чтобы можно было его удалить в onCleared
     private final Observer<Integer> userIdSourceObserver;
@@ -166,15 +176,19 @@ public class ProfileViewModel extends ViewModel {
         recentHistoryLiveData = Transformations.distinctUntilChanged(
                 Transformations.switchMap(userIdSource, userId -> { // Зависимость от userId
                     if (userId == null || userId == UserSessionManager.NO_USER_ID) {
+                        historyWindow = null;
                         return new MutableLiveData<>(Collections.emptyList());
                     }
-                    return Transformations.map(
-                            gamificationHistoryRepository.getHistoryFlow(), // Этот Flow уже должен зависеть от gamificationId (который зависит от userId)
-                            historyList -> {
-                                if (historyList == null) return Collections.emptyList();
-                                return historyList.stream().limit(RECENT_HISTORY_LIMIT).collect(Collectors.toList());
-                            }
-                    );
+                    // Новое окно на пользователя: курсоры прежнего окна относятся к чужой ленте
+                    KeysetPageWindow<GamificationHistory> window = gamificationHistoryRepository.newHistoryWindow(
+                            HISTORY_PAGE_SIZE, HISTORY_MAX_PAGES, HISTORY_PREFETCH_DISTANCE);
+                    historyWindow = window;
+                    MediatorLiveData<List<GamificationHistory>> feed = new MediatorLiveData<>();
+                    // Самая новая запись - сигнал о добавлениях; первая эмиссия загружает окно
+                    feed.addSource(Transformations.distinctUntilChanged(
+                            gamificationHistoryRepository.getRecentHistoryFlow(1)), head -> window.onHeadChanged());
+                    feed.addSource(window.getItems(), feed::setValue);
+                    return feed;
                 })
         );
         logger.debug(TAG, "recentHistoryLiveData initialized. HasActiveObservers (at init): " + recentHistoryLiveData.hasActiveObservers());
@@ -253,16 +267,18 @@ public class ProfileViewModel extends ViewModel {
     }
 
 
+    /** Позиция ленты активности на экране; у краев окна догружает соседние страницы. */
+    public void onHistoryItemVisible(int position) {
+        if (historyWindow != null) historyWindow.onItemVisible(position);
+    }
+
     public void logout() {
         logger.info(TAG, "Performing logout...");
         updateUiStateLoading(true);
         ioExecutor.execute(() -> {
             try {
-                Futures.getDone(userSessionManager.clearUserIdAsync());
-                Futures.getDone(workspaceSessionManager.clearWorkspaceIdAsync());
-                Futures.getDone(gamificationDataStoreManager.clearGamificationId());
-                Futures.getDone(gamificationDataStoreManager.clearSelectedPlantId());
-                Futures.getDone(gamificationDataStoreManager.clearHiddenExpiredTaskIds());
+                // Все ключи сессии очищаются одной записью DataStore
+                userSessionManager.clearSessionValuesAsync(sessionKeys()).get();
                 logger.info(TAG, "User session data cleared successfully.");
             } catch (Exception e) {
                 logger.error(TAG, "Error during logout data clearing", e);
@@ -284,6 +300,14 @@ public class ProfileViewModel extends ViewModel {
         }
     }
 
+    // Ключи пользователя, воркспейса и геймификации очищаются одной записью DataStore
+    private List<Preferences.Key<?>> sessionKeys() {
+        List<Preferences.Key<?>> keys = new ArrayList<>(gamificationDataStoreManager.getSessionKeys());
+        keys.add(UserSessionManager.USER_ID_KEY);
+        keys.add(WorkspaceSessionManager.WORKSPACE_ID_KEY);
+        return keys;
+    }
+
     private void updateUiStateLoading(boolean isLoading) {
         ProfileUiState current = _uiStateLiveData.getValue();
         if (current != null) {
@@ -0,0 +1,42 @@
+package com.example.projectquestonjava.feature.statistics.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.feature.statistics.domain.model.CompletionTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.PeriodTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.WeekdayAggregate;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Только чтение: строки daily_user_stats пишутся триггерами (см. DailyUserStatsSql).
+ */
+@Dao
+public interface DailyUserStatsDao {
+
+    @Query("SELECT * FROM daily_user_stats WHERE user_id = :userId AND day BETWEEN :startDay AND :endDay ORDER BY day ASC")
+    ListenableFuture<List<DailyUserStats>> getDailyStatsInRange(int userId, LocalDate startDay, LocalDate endDay);
+
+    // 1970-01-01 - четверг, поэтому ISO-день недели = (epochDay + 3) % 7 + 1
+    @Query("SELECT (day + 3) % 7 + 1 AS day_of_week, SUM(tasks_completed) AS value " +
+            "FROM daily_user_stats WHERE user_id = :userId AND tasks_completed > 0 GROUP BY day_of_week")
+    ListenableFuture<List<WeekdayAggregate>> getAllTimeTasksByWeekday(int userId);
+
+    @Query("SELECT (day + 3) % 7 + 1 AS day_of_week, SUM(tasks_completed) AS value " +
+            "FROM daily_user_stats WHERE user_id = :userId AND day BETWEEN :startDay AND :endDay AND tasks_completed > 0 " +
+            "GROUP BY day_of_week")
+    ListenableFuture<List<WeekdayAggregate>> getTasksByWeekdayInRange(int userId, LocalDate startDay, LocalDate endDay);
+
+    // Агрегат без строк дает одну строку с NULL - COALESCE возвращает нули
+    @Query("SELECT COALESCE(SUM(tasks_completed), 0) AS tasks_completed, COALESCE(SUM(session_seconds), 0) AS session_seconds, " +
+            "COALESCE(SUM(xp_change), 0) AS xp_change, COALESCE(SUM(coins_change), 0) AS coins_change " +
+            "FROM daily_user_stats WHERE user_id = :userId AND day BETWEEN :startDay AND :endDay")
+    ListenableFuture<PeriodTotals> getPeriodTotals(int userId, LocalDate startDay, LocalDate endDay);
+
+    @Query("SELECT COALESCE(SUM(tasks_completed), 0) AS completed_count, " +
+            "MIN(CASE WHEN tasks_completed > 0 THEN day END) AS first_day " +
+            "FROM daily_user_stats WHERE user_id = :userId")
+    ListenableFuture<CompletionTotals> getCompletionTotals(int userId);
+}
@@ -6,7 +6,6 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
-// AggregatedHistoryPoint не используется в DAO напрямую, а в ViewModel/Repository
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,8 +16,27 @@ public interface GamificationHistoryDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     ListenableFuture<Long> insert(GamificationHistory historyEntry);
 
-    @Query("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId ORDER BY timestamp DESC")
-    LiveData<List<GamificationHistory>> getHistoryForGamificationFlow(long gamificationId);
+    // Лента истории: ключ (timestamp, id) по убыванию. Индекс (gamification_id, timestamp) неявно
+    // содержит rowid, поэтому и LIMIT, и keyset-курсор обслуживаются индексом без сортировки.
+    @Query("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId " +
+            "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    LiveData<List<GamificationHistory>> getRecentHistoryFlow(long gamificationId, int limit);
+
+    @Query("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId " +
+            "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    ListenableFuture<List<GamificationHistory>> getHistoryHead(long gamificationId, int limit);
+
+    // Страница записей старше курсора, от новых к старым
+    @Query("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId " +
+            "AND (timestamp < :timestamp OR (timestamp = :timestamp AND id < :id)) " +
+            "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    ListenableFuture<List<GamificationHistory>> getHistoryOlderThan(long gamificationId, LocalDateTime timestamp, long id, int limit);
+
+    // Страница записей новее курсора, от старых к новым (ближайшие к курсору первыми)
+    @Query("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId " +
+            "AND (timestamp > :timestamp OR (timestamp = :timestamp AND id > :id)) " +
+            "ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    ListenableFuture<List<GamificationHistory>> getHistoryNewerThan(long gamificationId, LocalDateTime timestamp, long id, int limit);
 
     @Query("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId ORDER BY timestamp DESC")
     ListenableFuture<List<GamificationHistory>> getHistoryForGamification(long gamificationId);
@@ -32,4 +50,12 @@ public interface GamificationHistoryDao {
     // --- SYNC ---
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     long insertSync(GamificationHistory historyEntry);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAllSync(List<GamificationHistory> historyEntries);
+
+    // Компактирование: порция записей старше горизонта (по индексу timestamp), см. HistoryRetentionManager
+    @Query("DELETE FROM gamification_history WHERE id IN " +
+            "(SELECT id FROM gamification_history WHERE timestamp < :horizonUtc LIMIT :limit)")
+    int deleteOlderThanSync(LocalDateTime horizonUtc, int limit);
 }
\ No newline at end of file
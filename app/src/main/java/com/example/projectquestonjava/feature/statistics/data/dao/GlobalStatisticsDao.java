@@ -52,9 +52,15 @@ public interface GlobalStatisticsDao {
     @Query("UPDATE global_statistics SET completed_tasks = completed_tasks + 1 WHERE user_id = :userId")
     void incrementCompletedTasksSync(int userId); // Уже был
 
+    @Query("UPDATE global_statistics SET completed_tasks = completed_tasks + :count WHERE user_id = :userId")
+    void addCompletedTasksSync(int userId, int count);
+
     @Query("UPDATE global_statistics SET total_time_spent = total_time_spent + :timeToAdd WHERE user_id = :userId")
     void addTotalTimeSpentSync(int userId, int timeToAdd); // Уже был
 
     @Query("UPDATE global_statistics SET last_active = :timestamp WHERE user_id = :userId")
     void updateLastActiveSync(int userId, LocalDateTime timestamp); // Уже был
+
+    @Query("UPDATE global_statistics SET total_time_spent = total_time_spent + :timeToAdd, last_active = :timestamp WHERE user_id = :userId")
+    void applyActivityDeltaSync(int userId, int timeToAdd, LocalDateTime timestamp);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import com.example.projectquestonjava.feature.statistics.data.model.TaskHistory;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Dao
@@ -17,12 +18,32 @@ public interface TaskHistoryDao {
     @Query("SELECT * FROM task_history WHERE task_id = :taskId AND user_id = :userId ORDER BY changed_at DESC")
     LiveData<List<TaskHistory>> getHistoryByTaskId(long taskId, int userId);
 
-    @Query("SELECT * FROM task_history WHERE user_id = :userId ORDER BY changed_at DESC")
-    LiveData<List<TaskHistory>> getAllHistoryForUser(int userId);
+    // Лента изменений пользователя страницами по ключу (changed_at, id), см. индекс (user_id, changed_at)
+    @Query("SELECT * FROM task_history WHERE user_id = :userId ORDER BY changed_at DESC, id DESC LIMIT :limit")
+    LiveData<List<TaskHistory>> getRecentHistoryForUser(int userId, int limit);
+
+    @Query("SELECT * FROM task_history WHERE user_id = :userId ORDER BY changed_at DESC, id DESC LIMIT :limit")
+    ListenableFuture<List<TaskHistory>> getHistoryHeadForUser(int userId, int limit);
+
+    @Query("SELECT * FROM task_history WHERE user_id = :userId " +
+            "AND (changed_at < :changedAt OR (changed_at = :changedAt AND id < :id)) " +
+            "ORDER BY changed_at DESC, id DESC LIMIT :limit")
+    ListenableFuture<List<TaskHistory>> getHistoryOlderThan(int userId, LocalDateTime changedAt, int id, int limit);
+
+    @Query("SELECT * FROM task_history WHERE user_id = :userId " +
+            "AND (changed_at > :changedAt OR (changed_at = :changedAt AND id > :id)) " +
+            "ORDER BY changed_at ASC, id ASC LIMIT :limit")
+    ListenableFuture<List<TaskHistory>> getHistoryNewerThan(int userId, LocalDateTime changedAt, int id, int limit);
 
     @Query("DELETE FROM task_history WHERE task_id = :taskId AND user_id = :userId")
     ListenableFuture<Integer> deleteHistoryForTask(long taskId, int userId);
 
     @Query("DELETE FROM task_history WHERE user_id = :userId")
     ListenableFuture<Integer> deleteHistoryForUser(int userId);
+
+    // --- SYNC ---
+    // Компактирование: порция записей старше горизонта, см. HistoryRetentionManager
+    @Query("DELETE FROM task_history WHERE id IN " +
+            "(SELECT id FROM task_history WHERE changed_at < :horizonUtc LIMIT :limit)")
+    int deleteOlderThanSync(LocalDateTime horizonUtc, int limit);
 }
\ No newline at end of file
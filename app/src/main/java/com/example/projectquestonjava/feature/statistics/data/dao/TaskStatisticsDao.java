@@ -75,9 +75,31 @@ public interface TaskStatisticsDao {
     @Query("UPDATE task_statistics SET total_pomodoro_interruptions = total_pomodoro_interruptions + :countToAdd WHERE task_id = :taskId")
     void incrementTotalPomodoroInterruptionsSync(long taskId, int countToAdd); // Уже был
 
+    // Накопленные дельты Pomodoro одним UPDATE (см. StatisticsWriteBuffer)
+    @Query("UPDATE task_statistics SET " +
+            "time_spent_seconds = time_spent_seconds + :timeSpentSeconds, " +
+            "total_pomodoro_focus_seconds = total_pomodoro_focus_seconds + :focusSeconds, " +
+            "completed_pomodoro_focus_sessions = completed_pomodoro_focus_sessions + :completedSessions, " +
+            "total_pomodoro_interruptions = total_pomodoro_interruptions + :interruptions " +
+            "WHERE task_id = :taskId")
+    void applyPomodoroDeltasSync(long taskId, int timeSpentSeconds, int focusSeconds, int completedSessions, int interruptions);
+
     @Query("UPDATE task_statistics SET was_completed_once = 1 WHERE task_id = :taskId")
     void markTaskAsCompletedOnceSync(long taskId); // Уже был
 
     @Query("UPDATE task_statistics SET completion_time = :completionTime WHERE task_id = :taskId")
     void updateCompletionTimeSync(long taskId, LocalDateTime completionTime); // Уже был
+
+    // --- SYNC: пакетные варианты для завершения нескольких задач одной транзакцией ---
+    @Query("SELECT * FROM task_statistics WHERE task_id IN (:taskIds)")
+    List<TaskStatistics> getStatisticsForTasksSync(List<Long> taskIds);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertTaskStatisticsBatchSync(List<TaskStatistics> statistics);
+
+    @Query("UPDATE task_statistics SET was_completed_once = 1 WHERE task_id IN (:taskIds)")
+    void markTasksAsCompletedOnceSync(List<Long> taskIds);
+
+    @Query("UPDATE task_statistics SET completion_time = :completionTime WHERE task_id IN (:taskIds)")
+    void updateCompletionTimeBatchSync(List<Long> taskIds, LocalDateTime completionTime);
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.example.projectquestonjava.feature.statistics.data.managers;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.pomodoro.data.dao.PomodoroSessionDao;
+import com.example.projectquestonjava.feature.statistics.data.dao.GamificationHistoryDao;
+import com.example.projectquestonjava.feature.statistics.data.dao.TaskHistoryDao;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStatsSql;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Компактирование истории: сырые строки gamification_history, pomodoro_session и task_history
+ * старше горизонта хранения удаляются порциями. Итоги по дням для опыта, монет и минут фокуса уже
+ * лежат в daily_user_stats; перед удалением горизонт записывается в stats_retention, и эти дни
+ * замораживаются (см. {@link DailyUserStatsSql}). Для task_history дневного среза нет, ее записи
+ * просто удаляются.
+ *
+ * <p>Порция - {@code DELETE ... WHERE id IN (SELECT id ... LIMIT :limit)}: SQLite на Android собран
+ * без SQLITE_ENABLE_UPDATE_DELETE_LIMIT, поэтому {@code DELETE ... LIMIT} напрямую не поддерживается.
+ * Каждая порция удаляется отдельной короткой транзакцией, поэтому писатель не блокируется
+ * надолго, а WAL не разрастается. После удаления освобожденные страницы возвращаются системе
+ * через incremental_vacuum; первый раз БД переводится в этот режим полным VACUUM.
+ */
+@Singleton
+public class HistoryRetentionManager {
+    private static final String TAG = "HistoryRetention";
+
+    public static final int DEFAULT_RETENTION_DAYS = 365;
+    static final int DELETE_CHUNK_SIZE = 500;
+    // Полный VACUUM переписывает весь файл, поэтому делаем его только когда освободилось заметно строк
+    private static final int FULL_VACUUM_MIN_DELETED_ROWS = 5_000;
+    private static final long INITIAL_DELAY_MINUTES = 10;
+    private static final long PERIOD_HOURS = 24;
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private final AppDatabase appDatabase;
+    private final GamificationHistoryDao gamificationHistoryDao;
+    private final TaskHistoryDao taskHistoryDao;
+    private final PomodoroSessionDao pomodoroSessionDao;
+    private final ExecutorRegistry executorRegistry;
+    private final Executor compactionExecutor;
+    private final DateTimeUtils dateTimeUtils;
+    private final Logger logger;
+
+    private ScheduledFuture<?> scheduledRun;
+
+    @Inject
+    public HistoryRetentionManager(
+            AppDatabase appDatabase,
+            GamificationHistoryDao gamificationHistoryDao,
+            TaskHistoryDao taskHistoryDao,
+            PomodoroSessionDao pomodoroSessionDao,
+            ExecutorRegistry executorRegistry,
+            DateTimeUtils dateTimeUtils,
+            Logger logger) {
+        this.appDatabase = appDatabase;
+        this.gamificationHistoryDao = gamificationHistoryDao;
+        this.taskHistoryDao = taskHistoryDao;
+        this.pomodoroSessionDao = pomodoroSessionDao;
+        this.executorRegistry = executorRegistry;
+        this.compactionExecutor = executorRegistry.newSerialExecutor("history-retention");
+        this.dateTimeUtils = dateTimeUtils;
+        this.logger = logger;
+    }
+
+    /** Запускает ежедневное компактирование; повторный вызов заменяет расписание. */
+    public synchronized void schedule(int retentionDays) {
+        if (scheduledRun != null) scheduledRun.cancel(false);
+        // Таймер только ставит задачу в очередь, сама работа идет на последовательном исполнителе
+        scheduledRun = executorRegistry.scheduled().scheduleWithFixedDelay(
+                () -> runScheduled(retentionDays), INITIAL_DELAY_MINUTES, TimeUnit.HOURS.toMinutes(PERIOD_HOURS), TimeUnit.MINUTES);
+        logger.debug(TAG, "Scheduled history compaction, retention {} day(s)", retentionDays);
+    }
+
+    private void runScheduled(int retentionDays) {
+        Futures.addCallback(compact(retentionDays), new FutureCallback<CompactionResult>() {
+            @Override
+            public void onSuccess(CompactionResult result) { }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                logger.error(TAG, "Scheduled history compaction failed", t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    public ListenableFuture<CompactionResult> compact(int retentionDays) {
+        return Futures.submit(() -> compactSync(retentionDays), compactionExecutor);
+    }
+
+    private CompactionResult compactSync(int retentionDays) {
+        if (retentionDays <= 0) throw new IllegalArgumentException("retentionDays must be positive");
+        // Горизонт - начало локального дня, чтобы замороженные дни были полными
+        LocalDate firstKeptDay = dateTimeUtils.currentLocalDate().minusDays(retentionDays);
+        LocalDateTime horizonUtc = dateTimeUtils.localToUtcLocalDateTime(firstKeptDay.atStartOfDay());
+        SupportSQLiteDatabase db = appDatabase.getOpenHelper().getWritableDatabase();
+
+        // Сначала фиксируем горизонт отдельной транзакцией: триггеры удаления уже не тронут эти дни
+        long horizonSeconds = horizonUtc.toEpochSecond(ZoneOffset.UTC);
+        appDatabase.runInTransaction(() -> {
+            for (String sql : DailyUserStatsSql.ADVANCE_HORIZON) {
+                db.execSQL(sql, new Object[]{horizonSeconds});
+            }
+        });
+
+        CompactionResult result = new CompactionResult(
+                deleteInChunks(() -> gamificationHistoryDao.deleteOlderThanSync(horizonUtc, DELETE_CHUNK_SIZE)),
+                deleteInChunks(() -> pomodoroSessionDao.deleteOlderThanSync(horizonUtc, DELETE_CHUNK_SIZE)),
+                deleteInChunks(() -> taskHistoryDao.deleteOlderThanSync(horizonUtc, DELETE_CHUNK_SIZE)));
+        logger.info(TAG, "Compacted history before " + firstKeptDay + ": " + result);
+
+        if (result.total() > 0) reclaimSpace(db, result.total());
+        return result;
+    }
+
+    private int deleteInChunks(IntSupplier deleteChunk) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.getAsInt();
+            total += deleted;
+        } while (deleted >= DELETE_CHUNK_SIZE);
+        return total;
+    }
+
+    private void reclaimSpace(SupportSQLiteDatabase db, int deletedRows) {
+        try {
+            if (queryLong(db, "PRAGMA auto_vacuum") == AUTO_VACUUM_INCREMENTAL) {
+                drain(db, "PRAGMA incremental_vacuum");
+            } else if (deletedRows >= FULL_VACUUM_MIN_DELETED_ROWS) {
+                // Смена режима auto_vacuum вступает в силу только после полного VACUUM
+                logger.info(TAG, "Switching database to incremental auto_vacuum");
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                db.execSQL("VACUUM");
+            }
+            drain(db, "PRAGMA wal_checkpoint(TRUNCATE)");
+        } catch (Exception e) {
+            // VACUUM не пройдет при открытых читателях; освободим место при следующем запуске
+            logger.warn(TAG, "Failed to reclaim database space: " + e.getMessage());
+        }
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        }
+    }
+
+    // PRAGMA с результатом выполняется по шагам курсора
+    private static void drain(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            while (cursor.moveToNext()) { /* no-op */ }
+        }
+    }
+
+    public record CompactionResult(int gamificationHistoryRows, int pomodoroSessionRows, int taskHistoryRows) {
+        public int total() {
+            return gamificationHistoryRows + pomodoroSessionRows + taskHistoryRows;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.projectquestonjava.feature.statistics.data.managers;
+
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
+import com.example.projectquestonjava.core.context_scope.scope.UnitOfWork;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.statistics.data.dao.GlobalStatisticsDao;
+import com.example.projectquestonjava.feature.statistics.data.dao.TaskStatisticsDao;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Write-behind буфер счетчиков статистики Pomodoro.
+ * Дельты копятся в памяти по задаче и по пользователю, а {@link #flush()} применяет их
+ * одной транзакцией: один UPDATE на строку task_statistics и один на global_statistics,
+ * поэтому наблюдатели этих таблиц инвалидируются один раз за фазу.
+ * Сбросы выполняются последовательно; при ошибке дельты возвращаются в буфер.
+ */
+@Singleton
+public class StatisticsWriteBuffer {
+    private static final String TAG = "StatisticsWriteBuffer";
+
+    private final TaskStatisticsDao taskStatisticsDao;
+    private final GlobalStatisticsDao globalStatisticsDao;
+    private final UnitOfWork unitOfWork;
+    private final Executor flushExecutor;
+    private final Logger logger;
+
+    private final Object lock = new Object();
+    private Map<Long, TaskDelta> pendingTaskDeltas = new HashMap<>();
+    private Map<Integer, UserDelta> pendingUserDeltas = new HashMap<>();
+
+    @Inject
+    public StatisticsWriteBuffer(
+            TaskStatisticsDao taskStatisticsDao,
+            GlobalStatisticsDao globalStatisticsDao,
+            UnitOfWork unitOfWork,
+            ExecutorRegistry executorRegistry,
+            Logger logger) {
+        this.taskStatisticsDao = taskStatisticsDao;
+        this.globalStatisticsDao = globalStatisticsDao;
+        this.unitOfWork = unitOfWork;
+        this.flushExecutor = executorRegistry.newSerialExecutor("statistics-flush");
+        this.logger = logger;
+    }
+
+    public void addTaskDeltas(long taskId, int timeSpentSeconds, int focusSeconds, int completedSessions, int interruptions) {
+        synchronized (lock) {
+            TaskDelta delta = pendingTaskDeltas.get(taskId);
+            if (delta == null) {
+                delta = new TaskDelta();
+                pendingTaskDeltas.put(taskId, delta);
+            }
+            delta.timeSpentSeconds += Math.max(0, timeSpentSeconds);
+            delta.focusSeconds += Math.max(0, focusSeconds);
+            delta.completedSessions += Math.max(0, completedSessions);
+            delta.interruptions += Math.max(0, interruptions);
+        }
+    }
+
+    public void addUserActivity(int userId, int timeSpentToAdd, LocalDateTime lastActiveUtc) {
+        synchronized (lock) {
+            UserDelta delta = pendingUserDeltas.get(userId);
+            if (delta == null) {
+                delta = new UserDelta();
+                pendingUserDeltas.put(userId, delta);
+            }
+            delta.timeSpent += Math.max(0, timeSpentToAdd);
+            if (delta.lastActive == null || (lastActiveUtc != null && lastActiveUtc.isAfter(delta.lastActive))) {
+                delta.lastActive = lastActiveUtc;
+            }
+        }
+    }
+
+    /** Асинхронный сброс на последовательном исполнителе (границы фаз, остановка сервиса, уход в фон). */
+    public ListenableFuture<Void> flush() {
+        return Futures.submit(() -> {
+            flushSync();
+            return null;
+        }, flushExecutor);
+    }
+
+    /** Синхронный сброс в текущем потоке; нельзя вызывать на главном потоке. */
+    public void flushSync() throws Exception {
+        Map<Long, TaskDelta> taskDeltas;
+        Map<Integer, UserDelta> userDeltas;
+        synchronized (lock) {
+            if (pendingTaskDeltas.isEmpty() && pendingUserDeltas.isEmpty()) return;
+            taskDeltas = pendingTaskDeltas;
+            userDeltas = pendingUserDeltas;
+            pendingTaskDeltas = new HashMap<>();
+            pendingUserDeltas = new HashMap<>();
+        }
+        try {
+            unitOfWork.withTransaction(() -> {
+                for (Map.Entry<Long, TaskDelta> entry : taskDeltas.entrySet()) {
+                    TaskDelta d = entry.getValue();
+                    taskStatisticsDao.applyPomodoroDeltasSync(entry.getKey(),
+                            d.timeSpentSeconds, d.focusSeconds, d.completedSessions, d.interruptions);
+                }
+                for (Map.Entry<Integer, UserDelta> entry : userDeltas.entrySet()) {
+                    UserDelta d = entry.getValue();
+                    if (d.lastActive != null) {
+                        globalStatisticsDao.applyActivityDeltaSync(entry.getKey(), d.timeSpent, d.lastActive);
+                    } else if (d.timeSpent > 0) {
+                        globalStatisticsDao.addTotalTimeSpentSync(entry.getKey(), d.timeSpent);
+                    }
+                }
+            });
+            logger.debug(TAG, "Flushed statistics deltas: {} task(s), {} user(s)", taskDeltas.size(), userDeltas.size());
+        } catch (Exception e) {
+            logger.error(TAG, "Failed to flush statistics deltas, returning them to the buffer", e);
+            requeue(taskDeltas, userDeltas);
+            throw e;
+        }
+    }
+
+    private void requeue(Map<Long, TaskDelta> taskDeltas, Map<Integer, UserDelta> userDeltas) {
+        for (Map.Entry<Long, TaskDelta> entry : taskDeltas.entrySet()) {
+            TaskDelta d = entry.getValue();
+            addTaskDeltas(entry.getKey(), d.timeSpentSeconds, d.focusSeconds, d.completedSessions, d.interruptions);
+        }
+        for (Map.Entry<Integer, UserDelta> entry : userDeltas.entrySet()) {
+            addUserActivity(entry.getKey(), entry.getValue().timeSpent, entry.getValue().lastActive);
+        }
+    }
+
+    private static final class TaskDelta {
+        int timeSpentSeconds;
+        int focusSeconds;
+        int completedSessions;
+        int interruptions;
+    }
+
+    private static final class UserDelta {
+        int timeSpent; // минуты, как в global_statistics.total_time_spent
+        LocalDateTime lastActive;
+    }
+}
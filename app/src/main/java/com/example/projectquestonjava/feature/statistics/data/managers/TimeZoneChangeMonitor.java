@@ -0,0 +1,104 @@
+package com.example.projectquestonjava.feature.statistics.data.managers;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.datastore.preferences.core.Preferences;
+import androidx.datastore.preferences.core.PreferencesKeys;
+import com.example.projectquestonjava.core.concurrency.ExecutorRegistry;
+import com.example.projectquestonjava.core.managers.DataStoreManager;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.statistics.domain.repository.DailyStatsRepository;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Пересчитывает daily_user_stats после смены часового пояса устройства: день строки вычисляется
+ * модификатором 'localtime', поэтому после смены пояса накопленные строки лежат не в своих днях.
+ * Пояс, в котором построены срезы, хранится в DataStore. Проверка выполняется при старте
+ * приложения (пояс мог смениться, пока процесса не было) и по ACTION_TIMEZONE_CHANGED.
+ */
+@Singleton
+public class TimeZoneChangeMonitor {
+    private static final String TAG = "TimeZoneChangeMonitor";
+    private static final Preferences.Key<String> STATS_ZONE_ID_KEY = PreferencesKeys.stringKey("daily_stats_zone_id");
+
+    private final Context context;
+    private final DataStoreManager dataStoreManager;
+    private final DailyStatsRepository dailyStatsRepository;
+    private final Executor checkExecutor;
+    private final Logger logger;
+
+    private boolean started;
+
+    @Inject
+    public TimeZoneChangeMonitor(
+            @ApplicationContext Context context,
+            DataStoreManager dataStoreManager,
+            DailyStatsRepository dailyStatsRepository,
+            ExecutorRegistry executorRegistry,
+            Logger logger) {
+        this.context = context;
+        this.dataStoreManager = dataStoreManager;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.checkExecutor = executorRegistry.newSerialExecutor("stats-timezone");
+        this.logger = logger;
+    }
+
+    /** Подписывается на смену пояса и сразу сверяет текущий пояс; повторные вызовы игнорируются. */
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        ContextCompat.registerReceiver(context, new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context receiverContext, Intent intent) {
+                String zoneId = intent.getStringExtra(Intent.EXTRA_TIMEZONE);
+                check(zoneId != null ? zoneId : ZoneId.systemDefault().getId());
+            }
+        }, new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED), ContextCompat.RECEIVER_NOT_EXPORTED);
+        check(ZoneId.systemDefault().getId());
+    }
+
+    private void check(String zoneId) {
+        Futures.addCallback(onZoneObserved(zoneId), new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean rebuilt) { }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                logger.error(TAG, "Failed to rebuild daily stats for time zone " + zoneId, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Сверяет пояс с тем, в котором построены срезы, и при расхождении пересчитывает их.
+     * Возвращает true, если был пересчет. Без сохраненного пояса (первый запуск) срезы считаются
+     * построенными в текущем: их до сих пор вели триггеры.
+     */
+    public ListenableFuture<Boolean> onZoneObserved(String zoneId) {
+        return Futures.submitAsync(() -> {
+            String builtInZone = dataStoreManager.getValueSync(STATS_ZONE_ID_KEY, "");
+            if (zoneId.equals(builtInZone)) return Futures.immediateFuture(false);
+            if (builtInZone.isEmpty()) {
+                return Futures.transform(dataStoreManager.saveValueFuture(STATS_ZONE_ID_KEY, zoneId),
+                        ignored -> false, MoreExecutors.directExecutor());
+            }
+            logger.info(TAG, "Time zone changed from " + builtInZone + " to " + zoneId + ", rebuilding daily stats");
+            return Futures.transformAsync(dailyStatsRepository.rebuildAll(),
+                    ignored -> Futures.transform(dataStoreManager.saveValueFuture(STATS_ZONE_ID_KEY, zoneId),
+                            saved -> true, MoreExecutors.directExecutor()),
+                    MoreExecutors.directExecutor());
+        }, checkExecutor);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.projectquestonjava.feature.statistics.data.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import com.example.projectquestonjava.core.data.model.core.UserAuth;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Дневной срез статистики пользователя (rollup). Строки поддерживаются SQL-триггерами
+ * на task_statistics / pomodoro_session / gamification_history (см. {@link DailyUserStatsSql}),
+ * поэтому графики за любой период читают O(дней) строк независимо от объема истории.
+ * day - локальный день пользователя (epochDay).
+ */
+@Entity(
+        tableName = "daily_user_stats",
+        primaryKeys = {"user_id", "day"},
+        foreignKeys = {
+                @ForeignKey(
+                        entity = UserAuth.class,
+                        parentColumns = {"id"},
+                        childColumns = {"user_id"},
+                        onDelete = ForeignKey.CASCADE
+                )
+        }
+)
+public class DailyUserStats {
+
+    @ColumnInfo(name = "user_id")
+    private final int userId;
+
+    @NonNull
+    @ColumnInfo(name = "day")
+    private final LocalDate day;
+
+    @ColumnInfo(name = "tasks_completed", defaultValue = "0")
+    private final int tasksCompleted;
+
+    @ColumnInfo(name = "focus_minutes", defaultValue = "0")
+    private final int focusMinutes;
+
+    @ColumnInfo(name = "session_seconds", defaultValue = "0")
+    private final int sessionSeconds;
+
+    @ColumnInfo(name = "xp_change", defaultValue = "0")
+    private final int xpChange;
+
+    @ColumnInfo(name = "coins_change", defaultValue = "0")
+    private final int coinsChange;
+
+    public DailyUserStats(int userId, @NonNull LocalDate day, int tasksCompleted, int focusMinutes,
+                          int sessionSeconds, int xpChange, int coinsChange) {
+        this.userId = userId;
+        this.day = day;
+        this.tasksCompleted = tasksCompleted;
+        this.focusMinutes = focusMinutes;
+        this.sessionSeconds = sessionSeconds;
+        this.xpChange = xpChange;
+        this.coinsChange = coinsChange;
+    }
+
+    public int getUserId() { return userId; }
+    @NonNull public LocalDate getDay() { return day; }
+    public int getTasksCompleted() { return tasksCompleted; }
+    public int getFocusMinutes() { return focusMinutes; }
+    public int getSessionSeconds() { return sessionSeconds; }
+    public int getXpChange() { return xpChange; }
+    public int getCoinsChange() { return coinsChange; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyUserStats that = (DailyUserStats) o;
+        return userId == that.userId && tasksCompleted == that.tasksCompleted && focusMinutes == that.focusMinutes
+                && sessionSeconds == that.sessionSeconds && xpChange == that.xpChange
+                && coinsChange == that.coinsChange && day.equals(that.day);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, day, tasksCompleted, focusMinutes, sessionSeconds, xpChange, coinsChange);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DailyUserStats{" +
+                "userId=" + userId +
+                ", day=" + day +
+                ", tasksCompleted=" + tasksCompleted +
+                ", focusMinutes=" + focusMinutes +
+                ", sessionSeconds=" + sessionSeconds +
+                ", xpChange=" + xpChange +
+                ", coinsChange=" + coinsChange +
+                '}';
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.projectquestonjava.feature.statistics.data.model;
+
+import android.database.Cursor;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL для поддержки таблицы daily_user_stats: триггеры и полный пересчет (backfill).
+ *
+ * <p>Триггеры не прибавляют дельты, а пересчитывают затронутый (пользователь, день) из исходных
+ * таблиц в той же транзакции, что и сама запись. Поэтому INSERT OR REPLACE, каскадные удаления и
+ * повторные обновления не приводят к расхождениям. Пересчет одного дня - это диапазонный запрос
+ * по метке времени, т.е. O(событий за день).
+ *
+ * <p>Метки времени хранятся в UTC (epoch seconds), день строки - локальный epochDay,
+ * вычисленный SQLite-модификатором 'localtime' (с учетом перехода на летнее время).
+ *
+ * <p>Сырые строки pomodoro_session / gamification_history старше горизонта хранения удаляются
+ * (см. HistoryRetentionManager). Горизонт лежит в stats_retention; дни до него заморожены:
+ * их минуты и опыт больше не пересчитываются ни триггерами, ни {@link #rebuild}, иначе удаление
+ * сырых строк обнулило бы срез.
+ */
+public final class DailyUserStatsSql {
+
+    static final String TABLE = "daily_user_stats";
+
+    /** Совпадает со схемой, которую Room генерирует для {@link DailyUserStats}. */
+    public static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS `daily_user_stats` ("
+            + "`user_id` INTEGER NOT NULL, `day` INTEGER NOT NULL, "
+            + "`tasks_completed` INTEGER NOT NULL DEFAULT 0, `focus_minutes` INTEGER NOT NULL DEFAULT 0, "
+            + "`session_seconds` INTEGER NOT NULL DEFAULT 0, `xp_change` INTEGER NOT NULL DEFAULT 0, "
+            + "`coins_change` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`user_id`, `day`), "
+            + "FOREIGN KEY(`user_id`) REFERENCES `users`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )";
+
+    /** Одна строка (id = 0): UTC epoch seconds начала первого незамороженного локального дня. */
+    public static final String CREATE_RETENTION_TABLE = "CREATE TABLE IF NOT EXISTS `stats_retention` ("
+            + "`id` INTEGER NOT NULL PRIMARY KEY CHECK (`id` = 0), `horizon_utc` INTEGER NOT NULL)";
+
+    /** Горизонт только сдвигается вперед; параметр - UTC epoch seconds. */
+    public static final String[] ADVANCE_HORIZON = {
+            "INSERT OR IGNORE INTO stats_retention (id, horizon_utc) VALUES (0, ?)",
+            "UPDATE stats_retention SET horizon_utc = MAX(horizon_utc, ?) WHERE id = 0"
+    };
+
+    private static final String TASK_USER_OF_NEW = "(SELECT user_id FROM task WHERE id = NEW.task_id)";
+    private static final String TASK_USER_OF_OLD = "(SELECT user_id FROM task WHERE id = OLD.task_id)";
+    private static final String GAMI_USER_OF_NEW = "(SELECT user_id FROM gamification WHERE id = NEW.gamification_id)";
+    private static final String GAMI_USER_OF_OLD = "(SELECT user_id FROM gamification WHERE id = OLD.gamification_id)";
+    private static final String ROW_USER = TABLE + ".user_id";
+    private static final String ROW_DAY = TABLE + ".day";
+    // Без горизонта замороженных дней нет
+    private static final String FIRST_LIVE_DAY = "(SELECT COALESCE(MAX("
+            + localDay("horizon_utc") + "), -2147483648) FROM stats_retention)";
+
+    private DailyUserStatsSql() {}
+
+    /** Локальный epochDay для UTC epoch seconds. */
+    static String localDay(String epochSeconds) {
+        return "CAST(julianday(" + epochSeconds + ", 'unixepoch', 'localtime') - 2440587.5 AS INTEGER)";
+    }
+
+    // Модификатор 'utc' трактует время слева как локальное: получаем UTC-границы локального дня
+    private static String dayStartUtc(String day) {
+        return "CAST(strftime('%s', (" + day + ") * 86400, 'unixepoch', 'utc') AS INTEGER)";
+    }
+
+    private static String dayEndUtc(String day) {
+        return "(CAST(strftime('%s', ((" + day + ") + 1) * 86400, 'unixepoch', 'utc') AS INTEGER) - 1)";
+    }
+
+    // NULL в user/day (нет владельца или метки времени) - строка пропускается через OR IGNORE
+    private static String ensureRow(String user, String day) {
+        return "INSERT OR IGNORE INTO " + TABLE + " (user_id, day) VALUES (" + user + ", " + day + ");";
+    }
+
+    private static String whereRow(String user, String day) {
+        return " WHERE user_id = " + user + " AND day = " + day + ";";
+    }
+
+    private static String whereLiveRow(String user, String day) {
+        return " WHERE user_id = " + user + " AND day = " + day + " AND day >= " + FIRST_LIVE_DAY + ";";
+    }
+
+    private static String recomputeTasks(String user, String day) {
+        return "UPDATE " + TABLE + " SET tasks_completed = ("
+                + "SELECT COUNT(*) FROM task_statistics ts JOIN task t ON t.id = ts.task_id "
+                + "WHERE t.user_id = " + user
+                + " AND ts.completion_time BETWEEN " + dayStartUtc(day) + " AND " + dayEndUtc(day) + ")"
+                + whereRow(user, day);
+    }
+
+    private static String recomputePomodoro(String user, String day) {
+        String range = " WHERE user_id = " + user
+                + " AND start_time BETWEEN " + dayStartUtc(day) + " AND " + dayEndUtc(day);
+        // Минуты фокуса - деление на 60 по каждой сессии, как в прежнем подсчете в памяти
+        return "UPDATE " + TABLE + " SET "
+                + "focus_minutes = (SELECT COALESCE(SUM(CASE WHEN session_type = 'FOCUS' THEN actual_duration_seconds / 60 ELSE 0 END), 0) "
+                + "FROM pomodoro_session" + range + "), "
+                + "session_seconds = (SELECT COALESCE(SUM(actual_duration_seconds), 0) FROM pomodoro_session" + range + ")"
+                + whereLiveRow(user, day);
+    }
+
+    private static String recomputeGamification(String user, String day) {
+        String range = " FROM gamification_history h JOIN gamification g ON g.id = h.gamification_id "
+                + "WHERE g.user_id = " + user
+                + " AND h.timestamp BETWEEN " + dayStartUtc(day) + " AND " + dayEndUtc(day);
+        return "UPDATE " + TABLE + " SET "
+                + "xp_change = (SELECT COALESCE(SUM(h.xp_change), 0)" + range + "), "
+                + "coins_change = (SELECT COALESCE(SUM(h.coins_change), 0)" + range + ")"
+                + whereLiveRow(user, day);
+    }
+
+    private static String trigger(String name, String event, String body) {
+        return "CREATE TRIGGER IF NOT EXISTS " + name + " " + event + " FOR EACH ROW BEGIN " + body + " END";
+    }
+
+    private static String[] triggers() {
+        String newTaskDay = localDay("NEW.completion_time");
+        String oldTaskDay = localDay("OLD.completion_time");
+        String newSessionDay = localDay("NEW.start_time");
+        String oldSessionDay = localDay("OLD.start_time");
+        String newHistoryDay = localDay("NEW.timestamp");
+        String oldHistoryDay = localDay("OLD.timestamp");
+
+        return new String[]{
+                // --- task_statistics: выполненные задачи ---
+                trigger("trg_dus_task_stats_ai", "AFTER INSERT ON task_statistics",
+                        ensureRow(TASK_USER_OF_NEW, newTaskDay) + recomputeTasks(TASK_USER_OF_NEW, newTaskDay)),
+                trigger("trg_dus_task_stats_au", "AFTER UPDATE OF completion_time, task_id ON task_statistics",
+                        recomputeTasks(TASK_USER_OF_OLD, oldTaskDay)
+                                + ensureRow(TASK_USER_OF_NEW, newTaskDay) + recomputeTasks(TASK_USER_OF_NEW, newTaskDay)),
+                trigger("trg_dus_task_stats_ad", "AFTER DELETE ON task_statistics",
+                        recomputeTasks(TASK_USER_OF_OLD, oldTaskDay)),
+                // При каскадном удалении задачи владелец уже не найден, поэтому снимаем отметку заранее
+                trigger("trg_dus_task_bd", "BEFORE DELETE ON task",
+                        "UPDATE task_statistics SET completion_time = NULL WHERE task_id = OLD.id AND completion_time IS NOT NULL;"),
+
+                // --- pomodoro_session: минуты фокуса и общее время сессий ---
+                trigger("trg_dus_pomodoro_ai", "AFTER INSERT ON pomodoro_session",
+                        ensureRow("NEW.user_id", newSessionDay) + recomputePomodoro("NEW.user_id", newSessionDay)),
+                trigger("trg_dus_pomodoro_au",
+                        "AFTER UPDATE OF user_id, start_time, session_type, actual_duration_seconds ON pomodoro_session",
+                        recomputePomodoro("OLD.user_id", oldSessionDay)
+                                + ensureRow("NEW.user_id", newSessionDay) + recomputePomodoro("NEW.user_id", newSessionDay)),
+                trigger("trg_dus_pomodoro_ad", "AFTER DELETE ON pomodoro_session",
+                        recomputePomodoro("OLD.user_id", oldSessionDay)),
+
+                // --- gamification_history: опыт и монеты ---
+                trigger("trg_dus_gami_history_ai", "AFTER INSERT ON gamification_history",
+                        ensureRow(GAMI_USER_OF_NEW, newHistoryDay) + recomputeGamification(GAMI_USER_OF_NEW, newHistoryDay)),
+                trigger("trg_dus_gami_history_au",
+                        "AFTER UPDATE OF gamification_id, timestamp, xp_change, coins_change ON gamification_history",
+                        recomputeGamification(GAMI_USER_OF_OLD, oldHistoryDay)
+                                + ensureRow(GAMI_USER_OF_NEW, newHistoryDay) + recomputeGamification(GAMI_USER_OF_NEW, newHistoryDay)),
+                trigger("trg_dus_gami_history_ad", "AFTER DELETE ON gamification_history",
+                        recomputeGamification(GAMI_USER_OF_OLD, oldHistoryDay)),
+                trigger("trg_dus_gamification_ad", "AFTER DELETE ON gamification",
+                        "UPDATE " + TABLE + " SET xp_change = 0, coins_change = 0 WHERE user_id = OLD.user_id;")
+        };
+    }
+
+    /** Создает триггеры (идемпотентно). Вызывается при создании БД и в миграции. */
+    public static void createTriggers(SupportSQLiteDatabase db) {
+        // Триггеры читают горизонт хранения, поэтому таблица создается вместе с ними
+        db.execSQL(CREATE_RETENTION_TABLE);
+        for (String sql : triggers()) {
+            db.execSQL(sql);
+        }
+    }
+
+    /** Пересоздает триггеры после изменения их SQL (CREATE TRIGGER IF NOT EXISTS старые не заменяет). */
+    public static void recreateTriggers(SupportSQLiteDatabase db) {
+        List<String> names = new ArrayList<>();
+        try (Cursor cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'trigger' AND name LIKE 'trg_dus_%'")) {
+            while (cursor.moveToNext()) names.add(cursor.getString(0));
+        }
+        for (String name : names) {
+            db.execSQL("DROP TRIGGER IF EXISTS " + name);
+        }
+        createTriggers(db);
+    }
+
+    /**
+     * Полный пересчет таблицы из исходных данных. Нужен один раз при появлении таблицы
+     * (миграция) и после смены часового пояса устройства (см. TimeZoneChangeMonitor), т.к. локальный
+     * день строк зависит от него.
+     * Замороженные дни сохраняют минуты и опыт, пересчитывается только число выполненных задач.
+     * Вызывающий код отвечает за транзакцию.
+     */
+    public static void rebuild(SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE + " WHERE day >= " + FIRST_LIVE_DAY);
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE + " (user_id, day) "
+                + "SELECT DISTINCT t.user_id, " + localDay("ts.completion_time") + " "
+                + "FROM task_statistics ts JOIN task t ON t.id = ts.task_id WHERE ts.completion_time IS NOT NULL");
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE + " (user_id, day) "
+                + "SELECT DISTINCT user_id, " + localDay("start_time") + " FROM pomodoro_session");
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE + " (user_id, day) "
+                + "SELECT DISTINCT g.user_id, " + localDay("h.timestamp") + " "
+                + "FROM gamification_history h JOIN gamification g ON g.id = h.gamification_id");
+        db.execSQL(stripTerminator(recomputeTasks(ROW_USER, ROW_DAY)));
+        db.execSQL(stripTerminator(recomputePomodoro(ROW_USER, ROW_DAY)));
+        db.execSQL(stripTerminator(recomputeGamification(ROW_USER, ROW_DAY)));
+    }
+
+    private static String stripTerminator(String statement) {
+        return statement.endsWith(";") ? statement.substring(0, statement.length() - 1) : statement;
+    }
+}
@@ -22,7 +22,8 @@ import java.util.Objects;
                         onDelete = ForeignKey.CASCADE
                 )
         },
-        indices = {@Index("gamification_id"), @Index("timestamp")}
+        // (gamification_id, timestamp) - история за период; префикс покрывает FK по gamification_id
+        indices = {@Index(value = {"gamification_id", "timestamp"}), @Index("timestamp")}
 )
 public class GamificationHistory {
 
@@ -28,8 +28,8 @@ import java.util.Objects;
                         onDelete = ForeignKey.RESTRICT
                 )
         },
-        // Индексы уже есть в ForeignKey
-        indices = {@androidx.room.Index(value = {"task_id"}), @androidx.room.Index(value = {"user_id"})}
+        // (user_id, changed_at) - лента истории пользователя по времени; префикс покрывает FK по user_id
+        indices = {@androidx.room.Index(value = {"task_id"}), @androidx.room.Index(value = {"user_id", "changed_at"})}
 )
 public class TaskHistory {
 
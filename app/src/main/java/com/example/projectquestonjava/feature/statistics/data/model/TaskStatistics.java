@@ -5,6 +5,7 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import com.example.projectquestonjava.core.data.model.core.Task;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -23,8 +24,9 @@ import lombok.Data;
                         childColumns = {"task_id"},
                         onDelete = ForeignKey.CASCADE
                 )
-        }
-
+        },
+        // Диапазонные выборки по времени выполнения (статистика, пересчет дневных срезов)
+        indices = {@Index("completion_time")}
 )
 public class TaskStatistics {
 
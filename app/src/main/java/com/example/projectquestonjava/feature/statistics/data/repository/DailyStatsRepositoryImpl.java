@@ -0,0 +1,94 @@
+package com.example.projectquestonjava.feature.statistics.data.repository;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.managers.UserSessionManager;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.statistics.data.dao.DailyUserStatsDao;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStatsSql;
+import com.example.projectquestonjava.feature.statistics.domain.model.CompletionTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.PeriodTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.WeekdayAggregate;
+import com.example.projectquestonjava.feature.statistics.domain.repository.DailyStatsRepository;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class DailyStatsRepositoryImpl implements DailyStatsRepository {
+
+    private static final String TAG = "DailyStatsRepository";
+    private final AppDatabase appDatabase;
+    private final DailyUserStatsDao dailyUserStatsDao;
+    private final UserSessionManager userSessionManager;
+    private final Executor ioExecutor;
+    private final Logger logger;
+
+    @Inject
+    public DailyStatsRepositoryImpl(
+            AppDatabase appDatabase,
+            DailyUserStatsDao dailyUserStatsDao,
+            UserSessionManager userSessionManager,
+            @IODispatcher Executor ioExecutor,
+            Logger logger) {
+        this.appDatabase = appDatabase;
+        this.dailyUserStatsDao = dailyUserStatsDao;
+        this.userSessionManager = userSessionManager;
+        this.ioExecutor = ioExecutor;
+        this.logger = logger;
+    }
+
+    private <T> ListenableFuture<T> executeWithUserCheck(IntFunction<ListenableFuture<T>> function) {
+        int userId = userSessionManager.getUserIdSync();
+        if (userId == UserSessionManager.NO_USER_ID) {
+            logger.warn(TAG, "User not logged in. Operation aborted.");
+            return Futures.immediateFailedFuture(new IllegalStateException("User not logged in"));
+        }
+        return function.apply(userId);
+    }
+
+    @Override
+    public ListenableFuture<List<DailyUserStats>> getDailyStats(LocalDate startDay, LocalDate endDay) {
+        return executeWithUserCheck(userId -> {
+            logger.debug(TAG, "Getting daily stats {} - {}", startDay, endDay);
+            return dailyUserStatsDao.getDailyStatsInRange(userId, startDay, endDay);
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<WeekdayAggregate>> getAllTimeTasksByWeekday() {
+        return executeWithUserCheck(dailyUserStatsDao::getAllTimeTasksByWeekday);
+    }
+
+    @Override
+    public ListenableFuture<List<WeekdayAggregate>> getTasksByWeekday(LocalDate startDay, LocalDate endDay) {
+        return executeWithUserCheck(userId -> dailyUserStatsDao.getTasksByWeekdayInRange(userId, startDay, endDay));
+    }
+
+    @Override
+    public ListenableFuture<PeriodTotals> getPeriodTotals(LocalDate startDay, LocalDate endDay) {
+        return executeWithUserCheck(userId -> dailyUserStatsDao.getPeriodTotals(userId, startDay, endDay));
+    }
+
+    @Override
+    public ListenableFuture<CompletionTotals> getCompletionTotals() {
+        return executeWithUserCheck(dailyUserStatsDao::getCompletionTotals);
+    }
+
+    @Override
+    public ListenableFuture<Void> rebuildAll() {
+        return Futures.submit(() -> {
+            logger.info(TAG, "Rebuilding daily_user_stats from raw history");
+            SupportSQLiteDatabase db = appDatabase.getOpenHelper().getWritableDatabase();
+            appDatabase.runInTransaction(() -> DailyUserStatsSql.rebuild(db));
+            return null;
+        }, ioExecutor);
+    }
+}
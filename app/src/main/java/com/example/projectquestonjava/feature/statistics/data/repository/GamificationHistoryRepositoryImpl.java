@@ -1,8 +1,11 @@
 package com.example.projectquestonjava.feature.statistics.data.repository;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Transformations;
+import com.example.projectquestonjava.core.data.paging.KeysetPageWindow;
 import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.di.MainExecutor;
 import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.feature.gamification.data.managers.GamificationDataStoreManager;
 import com.example.projectquestonjava.feature.statistics.data.dao.GamificationHistoryDao;
@@ -26,6 +29,7 @@ public class GamificationHistoryRepositoryImpl implements GamificationHistoryRep
     private final GamificationHistoryDao gamificationHistoryDao;
     private final GamificationDataStoreManager gamificationDataStoreManager;
     private final Executor ioExecutor;
+    private final Executor mainExecutor;
     private final Logger logger;
 
     @Inject
@@ -33,10 +37,12 @@ public class GamificationHistoryRepositoryImpl implements GamificationHistoryRep
             GamificationHistoryDao gamificationHistoryDao,
             GamificationDataStoreManager gamificationDataStoreManager,
             @IODispatcher Executor ioExecutor,
+            @MainExecutor Executor mainExecutor,
             Logger logger) {
         this.gamificationHistoryDao = gamificationHistoryDao;
         this.gamificationDataStoreManager = gamificationDataStoreManager;
         this.ioExecutor = ioExecutor;
+        this.mainExecutor = mainExecutor;
         this.logger = logger;
     }
 
@@ -54,16 +60,55 @@ public class GamificationHistoryRepositoryImpl implements GamificationHistoryRep
     }
 
     @Override
-    public LiveData<List<GamificationHistory>> getHistoryFlow() {
-        logger.debug(TAG, "Getting history LiveData for current user");
+    public LiveData<List<GamificationHistory>> getRecentHistoryFlow(int limit) {
+        logger.debug(TAG, "Getting recent history LiveData (limit=" + limit + ") for current user");
         return Transformations.switchMap(gamificationDataStoreManager.getGamificationIdFlow(), gamificationId -> {
             if (gamificationId == null || gamificationId == -1L) {
                 logger.warn(TAG, "No gamification ID found for history LiveData.");
                 return new LiveData<List<GamificationHistory>>(Collections.emptyList()) {};
             }
-            return gamificationHistoryDao.getHistoryForGamificationFlow(gamificationId);
+            return gamificationHistoryDao.getRecentHistoryFlow(gamificationId, limit);
         });
     }
+
+    @Override
+    public ListenableFuture<List<GamificationHistory>> getHistoryHead(int limit) {
+        return executeWithGamificationId(gamiId -> gamificationHistoryDao.getHistoryHead(gamiId, limit));
+    }
+
+    @Override
+    public ListenableFuture<List<GamificationHistory>> getHistoryOlderThan(GamificationHistory anchor, int limit) {
+        return executeWithGamificationId(gamiId ->
+                gamificationHistoryDao.getHistoryOlderThan(gamiId, anchor.getTimestamp(), anchor.getId(), limit));
+    }
+
+    @Override
+    public ListenableFuture<List<GamificationHistory>> getHistoryNewerThan(GamificationHistory anchor, int limit) {
+        return executeWithGamificationId(gamiId ->
+                gamificationHistoryDao.getHistoryNewerThan(gamiId, anchor.getTimestamp(), anchor.getId(), limit));
+    }
+
+    @Override
+    public KeysetPageWindow<GamificationHistory> newHistoryWindow(int pageSize, int maxPages, int prefetchDistance) {
+        KeysetPageWindow.PageSource<GamificationHistory> source = new KeysetPageWindow.PageSource<>() {
+            @Override
+            public ListenableFuture<List<GamificationHistory>> loadHead(int limit) {
+                return getHistoryHead(limit);
+            }
+
+            @Override
+            public ListenableFuture<List<GamificationHistory>> loadOlder(@NonNull GamificationHistory anchor, int limit) {
+                return getHistoryOlderThan(anchor, limit);
+            }
+
+            @Override
+            public ListenableFuture<List<GamificationHistory>> loadNewer(@NonNull GamificationHistory anchor, int limit) {
+                return getHistoryNewerThan(anchor, limit);
+            }
+        };
+        return new KeysetPageWindow<>(source, pageSize, maxPages, prefetchDistance, mainExecutor);
+    }
+
     @Override
     public long insertHistoryEntrySync(GamificationHistory entry) {
         // Проверка gamificationId через UserSessionManager не нужна, т.к. entry уже содержит gamificationId.
@@ -72,6 +117,13 @@ public class GamificationHistoryRepositoryImpl implements GamificationHistoryRep
         return gamificationHistoryDao.insertSync(entry); // DAO должен иметь insertSync
     }
 
+    @Override
+    public void insertHistoryEntriesSync(List<GamificationHistory> entries) {
+        if (entries.isEmpty()) return;
+        logger.debug(TAG, "SYNC Inserting " + entries.size() + " history entries");
+        gamificationHistoryDao.insertAllSync(entries);
+    }
+
     @Override
     public ListenableFuture<List<GamificationHistory>> getHistoryForPeriod(LocalDateTime startTime, LocalDateTime endTime) {
         return executeWithGamificationId(gamiId -> {
@@ -157,6 +157,18 @@ public class GlobalStatisticsRepositoryImpl implements GlobalStatisticsRepositor
         }
     }
 
+    @Override
+    public void addCompletedTasksSync(int count) {
+        if (count <= 0) return;
+        int userId = userSessionManager.getUserIdSync();
+        if (userId != UserSessionManager.NO_USER_ID) {
+            logger.debug(TAG, "SYNC Adding " + count + " completed tasks for user " + userId);
+            globalStatisticsDao.addCompletedTasksSync(userId, count);
+        } else {
+            logger.warn(TAG, "SYNC Cannot add completed tasks: User not logged in.");
+        }
+    }
+
     @Override
     public void addTotalTimeSpentSync(int timeToAdd) {
         if (timeToAdd <= 0) return;
@@ -9,11 +9,15 @@ import com.example.projectquestonjava.core.utils.Logger;
 import com.example.projectquestonjava.feature.statistics.data.dao.TaskStatisticsDao;
 import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
 import com.example.projectquestonjava.feature.statistics.domain.repository.TaskStatisticsRepository;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -22,6 +26,8 @@ import javax.inject.Singleton;
 public class TaskStatisticsRepositoryImpl implements TaskStatisticsRepository {
 
     private static final String TAG = "TaskStatisticsRepo";
+    // Пакетные запросы режутся на части: у SQLite лимит 999 параметров на запрос
+    private static final int SQL_BATCH_SIZE = 500;
     private final TaskStatisticsDao taskStatisticsDao;
     private final UserSessionManager userSessionManager;
     private final Executor ioExecutor;
@@ -237,6 +243,45 @@ public class TaskStatisticsRepositoryImpl implements TaskStatisticsRepository {
         taskStatisticsDao.updateCompletionTimeSync(taskId, completionTime);
     }
 
+    @Override
+    public Map<Long, TaskStatistics> ensureAndGetStatisticsBatchSync(List<Long> taskIds) {
+        logger.debug(TAG, "SYNC Ensuring statistics for " + taskIds.size() + " tasks");
+        Map<Long, TaskStatistics> result = new HashMap<>(taskIds.size() * 2);
+        for (List<Long> chunk : Lists.partition(taskIds, SQL_BATCH_SIZE)) {
+            for (TaskStatistics stats : taskStatisticsDao.getStatisticsForTasksSync(chunk)) {
+                result.put(stats.getTaskId(), stats);
+            }
+        }
+        List<TaskStatistics> missing = new ArrayList<>();
+        for (long taskId : taskIds) {
+            if (!result.containsKey(taskId)) {
+                TaskStatistics stats = new TaskStatistics(taskId, null, 0, 0, 0, 0, false);
+                missing.add(stats);
+                result.put(taskId, stats);
+            }
+        }
+        if (!missing.isEmpty()) {
+            taskStatisticsDao.insertTaskStatisticsBatchSync(missing);
+        }
+        return result;
+    }
+
+    @Override
+    public void markTasksAsCompletedOnceSync(List<Long> taskIds) {
+        logger.debug(TAG, "SYNC Marking " + taskIds.size() + " tasks as completed once.");
+        for (List<Long> chunk : Lists.partition(taskIds, SQL_BATCH_SIZE)) {
+            taskStatisticsDao.markTasksAsCompletedOnceSync(chunk);
+        }
+    }
+
+    @Override
+    public void updateCompletionTimeBatchSync(List<Long> taskIds, LocalDateTime completionTime) {
+        logger.debug(TAG, "SYNC Updating completion time for " + taskIds.size() + " tasks to " + completionTime);
+        for (List<Long> chunk : Lists.partition(taskIds, SQL_BATCH_SIZE)) {
+            taskStatisticsDao.updateCompletionTimeBatchSync(chunk, completionTime);
+        }
+    }
+
     @Override
     public TaskStatistics ensureAndGetStatisticsSync(long taskId, TaskStatistics defaultStats) {
         // Этот метод требует проверки userId, которая должна быть в DAO или здесь, если userId не часть defaultStats
@@ -1,8 +1,10 @@
 package com.example.projectquestonjava.feature.statistics.di;
 
+import com.example.projectquestonjava.feature.statistics.data.repository.DailyStatsRepositoryImpl;
 import com.example.projectquestonjava.feature.statistics.data.repository.GamificationHistoryRepositoryImpl;
 import com.example.projectquestonjava.feature.statistics.data.repository.GlobalStatisticsRepositoryImpl;
 import com.example.projectquestonjava.feature.statistics.data.repository.TaskStatisticsRepositoryImpl;
+import com.example.projectquestonjava.feature.statistics.domain.repository.DailyStatsRepository;
 import com.example.projectquestonjava.feature.statistics.domain.repository.GamificationHistoryRepository;
 import com.example.projectquestonjava.feature.statistics.domain.repository.GlobalStatisticsRepository;
 import com.example.projectquestonjava.feature.statistics.domain.repository.TaskStatisticsRepository;
@@ -27,4 +29,8 @@ public abstract class StatisticsRepositoryModule {
     @Binds
     @Singleton
     public abstract GlobalStatisticsRepository bindGlobalStatisticsRepository(GlobalStatisticsRepositoryImpl impl);
+
+    @Binds
+    @Singleton
+    public abstract DailyStatsRepository bindDailyStatsRepository(DailyStatsRepositoryImpl impl);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.projectquestonjava.feature.statistics.domain.model;
+
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Всего выполненных задач пользователя и локальный день первого выполнения (по дневным срезам). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionTotals {
+    @ColumnInfo(name = "completed_count")
+    private int completedCount;
+    @Nullable
+    @ColumnInfo(name = "first_day")
+    private LocalDate firstDay;
+}
@@ -0,0 +1,22 @@
+package com.example.projectquestonjava.feature.statistics.domain.model;
+
+import androidx.room.ColumnInfo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Суммы по дневным срезам за период: одна строка вместо строк каждого дня. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodTotals {
+    @ColumnInfo(name = "tasks_completed")
+    private int tasksCompleted;
+    @ColumnInfo(name = "session_seconds")
+    private int sessionSeconds;
+    @ColumnInfo(name = "xp_change")
+    private int xpChange;
+    @ColumnInfo(name = "coins_change")
+    private int coinsChange;
+}
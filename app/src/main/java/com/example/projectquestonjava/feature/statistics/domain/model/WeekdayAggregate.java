@@ -0,0 +1,18 @@
+package com.example.projectquestonjava.feature.statistics.domain.model;
+
+import androidx.room.ColumnInfo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Значение, просуммированное по дню недели (ISO: 1 - понедельник ... 7 - воскресенье). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekdayAggregate {
+    @ColumnInfo(name = "day_of_week")
+    private int dayOfWeek;
+    @ColumnInfo(name = "value")
+    private long value;
+}
@@ -0,0 +1,28 @@
+package com.example.projectquestonjava.feature.statistics.domain.repository;
+
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.feature.statistics.domain.model.CompletionTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.PeriodTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.WeekdayAggregate;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.time.LocalDate;
+import java.util.List;
+
+/** Дневные срезы статистики текущего пользователя (таблица daily_user_stats). */
+public interface DailyStatsRepository {
+
+    // Только дни с активностью; пропуски заполняет вызывающий код
+    ListenableFuture<List<DailyUserStats>> getDailyStats(LocalDate startDay, LocalDate endDay);
+
+    ListenableFuture<List<WeekdayAggregate>> getAllTimeTasksByWeekday();
+
+    // Только дни недели с выполненными задачами
+    ListenableFuture<List<WeekdayAggregate>> getTasksByWeekday(LocalDate startDay, LocalDate endDay);
+
+    ListenableFuture<PeriodTotals> getPeriodTotals(LocalDate startDay, LocalDate endDay);
+
+    ListenableFuture<CompletionTotals> getCompletionTotals();
+
+    // Полный пересчет срезов из исходных таблиц (разовый backfill / смена часового пояса, см. TimeZoneChangeMonitor)
+    ListenableFuture<Void> rebuildAll();
+}
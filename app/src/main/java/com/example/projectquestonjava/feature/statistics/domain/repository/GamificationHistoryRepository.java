@@ -1,17 +1,29 @@
 package com.example.projectquestonjava.feature.statistics.domain.repository;
 
 import androidx.lifecycle.LiveData;
+import com.example.projectquestonjava.core.data.paging.KeysetPageWindow;
 import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
-// AggregatedHistoryPoint не используется в интерфейсе репозитория напрямую
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface GamificationHistoryRepository {
-    LiveData<List<GamificationHistory>> getHistoryFlow();
+    // Последние limit записей текущего пользователя (живой запрос с LIMIT)
+    LiveData<List<GamificationHistory>> getRecentHistoryFlow(int limit);
+
+    // Страницы ленты по курсору (timestamp, id), см. KeysetPageWindow.PageSource
+    ListenableFuture<List<GamificationHistory>> getHistoryHead(int limit);
+    ListenableFuture<List<GamificationHistory>> getHistoryOlderThan(GamificationHistory anchor, int limit);
+    ListenableFuture<List<GamificationHistory>> getHistoryNewerThan(GamificationHistory anchor, int limit);
+
+    // Ограниченное окно полной ленты истории с догрузкой при прокрутке
+    KeysetPageWindow<GamificationHistory> newHistoryWindow(int pageSize, int maxPages, int prefetchDistance);
+
     ListenableFuture<List<GamificationHistory>> getHistoryForPeriod(LocalDateTime startTime, LocalDateTime endTime);
+
     ListenableFuture<Long> insertHistoryEntry(GamificationHistory entry);
     ListenableFuture<Void> deleteHistoryForGamification(); // gamificationId будет браться из сессии в реализации
     // --- SYNC ---
     long insertHistoryEntrySync(GamificationHistory entry);
+    void insertHistoryEntriesSync(List<GamificationHistory> entries);
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ public interface GlobalStatisticsRepository {
     // При необходимости можно добавить и другие Sync методы
     void insertOrUpdateGlobalStatisticsSync(GlobalStatistics globalStatistics); // Для TestDataInitializer
     void incrementCompletedTasksSync();
+    void addCompletedTasksSync(int count);
     void addTotalTimeSpentSync(int timeToAdd);
     void updateLastActiveSync();
 }
\ No newline at end of file
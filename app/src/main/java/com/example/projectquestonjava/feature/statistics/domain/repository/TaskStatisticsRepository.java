@@ -6,6 +6,7 @@ import com.example.projectquestonjava.feature.statistics.data.model.TaskStatisti
 import com.google.common.util.concurrent.ListenableFuture; // Для асинхронных операций
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskStatisticsRepository {
 
@@ -47,6 +48,10 @@ public interface TaskStatisticsRepository {
     void markTaskAsCompletedOnceSync(long taskId); // Уже был
     void updateCompletionTimeSync(long taskId, LocalDateTime completionTime); // Уже был
     TaskStatistics ensureAndGetStatisticsSync(long taskId, TaskStatistics defaultStats); // Уже был
+    // Пакетные варианты: статистика по задачам (недостающие строки создаются пустыми)
+    Map<Long, TaskStatistics> ensureAndGetStatisticsBatchSync(List<Long> taskIds);
+    void markTasksAsCompletedOnceSync(List<Long> taskIds);
+    void updateCompletionTimeBatchSync(List<Long> taskIds, LocalDateTime completionTime);
     TaskStatistics getStatisticsForTaskSync(long taskId);
 
 
@@ -6,18 +6,17 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.example.projectquestonjava.core.di.IODispatcher;
+import com.example.projectquestonjava.core.di.ScheduledExecutor;
 import com.example.projectquestonjava.core.managers.UserSessionManager;
 import com.example.projectquestonjava.core.utils.DateTimeUtils;
 import com.example.projectquestonjava.core.utils.Logger;
-import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
-import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
-import com.example.projectquestonjava.feature.pomodoro.domain.repository.PomodoroSessionRepository;
-import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
 import com.example.projectquestonjava.feature.statistics.data.model.GlobalStatistics;
-import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
-import com.example.projectquestonjava.feature.statistics.domain.repository.GamificationHistoryRepository;
+import com.example.projectquestonjava.feature.statistics.domain.model.CompletionTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.PeriodTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.WeekdayAggregate;
+import com.example.projectquestonjava.feature.statistics.domain.repository.DailyStatsRepository;
 import com.example.projectquestonjava.feature.statistics.domain.repository.GlobalStatisticsRepository;
-import com.example.projectquestonjava.feature.statistics.domain.repository.TaskStatisticsRepository;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -25,12 +24,9 @@ import com.google.common.util.concurrent.MoreExecutors; // Для directExecutor
 import dagger.hilt.android.lifecycle.HiltViewModel;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -39,10 +35,9 @@ import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.ToIntFunction;
 import javax.inject.Inject;
 
 @HiltViewModel
@@ -51,13 +46,11 @@ public class StatisticsViewModel extends ViewModel {
     private static final String TAG = "StatisticsViewModel";
 
     private final GlobalStatisticsRepository globalStatsRepository;
-    private final TaskStatisticsRepository taskStatsRepository;
-    private final PomodoroSessionRepository pomodoroSessionRepository;
-    private final GamificationHistoryRepository gamificationHistoryRepository;
+    private final DailyStatsRepository dailyStatsRepository;
     private final UserSessionManager userSessionManager;
     private final DateTimeUtils dateTimeUtils;
     private final Executor ioExecutor;
-    private final ScheduledExecutorService debounceExecutor = new ScheduledThreadPoolExecutor(1);
+    private final ScheduledExecutorService debounceExecutor; // Общий планировщик приложения
     private ScheduledFuture<?> scheduledLoadTask;
     private final Logger logger;
 
@@ -75,20 +68,18 @@ public class StatisticsViewModel extends ViewModel {
     @Inject
     public StatisticsViewModel(
             GlobalStatisticsRepository globalStatsRepository,
-            TaskStatisticsRepository taskStatsRepository,
-            PomodoroSessionRepository pomodoroSessionRepository,
-            GamificationHistoryRepository gamificationHistoryRepository,
+            DailyStatsRepository dailyStatsRepository,
             UserSessionManager userSessionManager,
             DateTimeUtils dateTimeUtils,
             @IODispatcher Executor ioExecutor,
+            @ScheduledExecutor ScheduledExecutorService debounceExecutor,
             Logger logger) {
         this.globalStatsRepository = globalStatsRepository;
-        this.taskStatsRepository = taskStatsRepository;
-        this.pomodoroSessionRepository = pomodoroSessionRepository;
-        this.gamificationHistoryRepository = gamificationHistoryRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
         this.userSessionManager = userSessionManager;
         this.dateTimeUtils = dateTimeUtils;
         this.ioExecutor = ioExecutor;
+        this.debounceExecutor = debounceExecutor;
         this.logger = logger;
 
         logger.debug(TAG, "Initializing StatisticsViewModel.");
@@ -158,19 +149,22 @@ public class StatisticsViewModel extends ViewModel {
         }, 100, TimeUnit.MILLISECONDS);
     }
 
-    // ... (остальная часть loadStatisticsForDateRangeInternal и другие методы остаются такими же, как в предыдущем ответе)
+    // Графики читаются из дневных срезов daily_user_stats: по одной строке на день с активностью,
+    // поэтому время загрузки не зависит от объема накопленной истории. Итоги периода и разбивка
+    // по дням недели считаются в SQL (GROUP BY по срезам) и приходят готовыми строками
     private void loadStatisticsForDateRangeInternal(LocalDate startDate, LocalDate endDate) {
-        logger.debug(TAG, "Loading statistics for range: " + startDate + " to " + endDate);
+        logger.debug(TAG, "Loading statistics for range: {} to {}", startDate, endDate);
 
         ListenableFuture<GlobalStatistics> globalStatsFuture = globalStatsRepository.getGlobalStatisticsSuspend();
-        ListenableFuture<List<TaskStatistics>> taskStatsPeriodFuture = taskStatsRepository.getTaskStatsInPeriod(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
-        ListenableFuture<List<PomodoroSession>> pomodoroSessionsPeriodFuture = pomodoroSessionRepository.getSessionsInPeriod(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
-        ListenableFuture<List<GamificationHistory>> gamificationHistoryPeriodFuture = gamificationHistoryRepository.getHistoryForPeriod(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
-        ListenableFuture<List<TaskStatistics>> allTaskStatsFuture = taskStatsRepository.getAllTaskStatisticsSuspend();
+        ListenableFuture<List<DailyUserStats>> dailyStatsFuture = dailyStatsRepository.getDailyStats(startDate, endDate);
+        ListenableFuture<PeriodTotals> periodTotalsFuture = dailyStatsRepository.getPeriodTotals(startDate, endDate);
+        ListenableFuture<List<WeekdayAggregate>> periodByWeekdayFuture = dailyStatsRepository.getTasksByWeekday(startDate, endDate);
+        ListenableFuture<CompletionTotals> completionTotalsFuture = dailyStatsRepository.getCompletionTotals();
+        ListenableFuture<List<WeekdayAggregate>> allTimeByWeekdayFuture = dailyStatsRepository.getAllTimeTasksByWeekday();
 
         List<ListenableFuture<?>> futures = List.of(
-                globalStatsFuture, taskStatsPeriodFuture, pomodoroSessionsPeriodFuture,
-                gamificationHistoryPeriodFuture, allTaskStatsFuture
+                globalStatsFuture, dailyStatsFuture, periodTotalsFuture, periodByWeekdayFuture,
+                completionTotalsFuture, allTimeByWeekdayFuture
         );
 
         ListenableFuture<List<Object>> allDataFuture = Futures.allAsList(futures);
@@ -181,39 +175,40 @@ public class StatisticsViewModel extends ViewModel {
             public void onSuccess(List<Object> results) {
                 try {
                     GlobalStatistics globalStats = (GlobalStatistics) results.get(0);
-                    List<TaskStatistics> taskStatsInPeriod = (List<TaskStatistics>) results.get(1);
-                    List<PomodoroSession> pomodoroSessionsInPeriod = (List<PomodoroSession>) results.get(2);
-                    List<GamificationHistory> gamificationHistoryInPeriod = (List<GamificationHistory>) results.get(3);
-                    List<TaskStatistics> allTaskStats = (List<TaskStatistics>) results.get(4);
+                    List<DailyUserStats> dailyStats = (List<DailyUserStats>) results.get(1);
+                    PeriodTotals periodTotals = (PeriodTotals) results.get(2);
+                    List<WeekdayAggregate> periodByWeekday = (List<WeekdayAggregate>) results.get(3);
+                    CompletionTotals completionTotals = (CompletionTotals) results.get(4);
+                    List<WeekdayAggregate> allTimeByWeekday = (List<WeekdayAggregate>) results.get(5);
 
                     Float completionRateOverall = calculateCompletionRate(globalStats);
-                    float avgTasksOverall = calculateAverageTasksPerDay(allTaskStats, globalStats);
-                    DayOfWeek mostProductiveDayOverall = findMostProductiveDayOfWeek(allTaskStats);
+                    float avgTasksOverall = calculateAverageTasksPerDay(completionTotals, globalStats);
+                    DayOfWeek mostProductiveDayOverall = findMostProductiveDayOfWeek(allTimeByWeekday);
 
-                    Map<LocalDate, Integer> completedTasksByDayMap = aggregateTasksByDay(taskStatsInPeriod, startDate, endDate);
-                    Map<LocalDate, Integer> pomodoroMinutesByDayMap = aggregatePomodoroByDay(pomodoroSessionsInPeriod, startDate, endDate);
-                    Map<LocalDate, DateTimeUtils.Pair<Integer, Integer>> gamificationChangesByDayMap = aggregateGamificationByDay(gamificationHistoryInPeriod, startDate, endDate);
-                    Map<DayOfWeek, Integer> tasksByDayOfWeekMap = aggregateTasksByDayOfWeek(taskStatsInPeriod);
+                    Map<LocalDate, Integer> completedTasksByDayMap = toDayMap(dailyStats, DailyUserStats::getTasksCompleted, startDate, endDate);
+                    Map<LocalDate, Integer> pomodoroMinutesByDayMap = toDayMap(dailyStats, DailyUserStats::getFocusMinutes, startDate, endDate);
+                    Map<LocalDate, Integer> xpByDayMap = toDayMap(dailyStats, DailyUserStats::getXpChange, startDate, endDate);
+                    Map<LocalDate, Integer> coinsByDayMap = toDayMap(dailyStats, DailyUserStats::getCoinsChange, startDate, endDate);
 
                     List<DatePoint> taskCompletionTrend = mapToDatePoints(completedTasksByDayMap, startDate, endDate);
                     List<DatePoint> pomodoroFocusTrend = mapToDatePoints(pomodoroMinutesByDayMap, startDate, endDate);
-                    List<DatePoint> xpGainTrend = mapToGamificationDatePoints(gamificationChangesByDayMap, startDate, endDate, DateTimeUtils.Pair::first);
-                    List<DatePoint> coinGainTrend = mapToGamificationDatePoints(gamificationChangesByDayMap, startDate, endDate, DateTimeUtils.Pair::second);
-                    List<DayOfWeekPoint> tasksCompletedByDayOfWeek = mapToDayOfWeekPoints(tasksByDayOfWeekMap);
+                    List<DatePoint> xpGainTrend = mapToDatePoints(xpByDayMap, startDate, endDate);
+                    List<DatePoint> coinGainTrend = mapToDatePoints(coinsByDayMap, startDate, endDate);
+                    List<DayOfWeekPoint> tasksCompletedByDayOfWeek = mapToDayOfWeekPoints(periodByWeekday);
 
-                    int totalTasksCompletedInPeriod = (int) taskStatsInPeriod.stream().filter(ts -> ts.getCompletionTime() != null).count();
-                    int totalPomodoroSecondsInPeriod = pomodoroSessionsInPeriod.stream().mapToInt(PomodoroSession::getActualDurationSeconds).sum();
+                    int totalTasksCompletedInPeriod = periodTotals.getTasksCompleted();
+                    int totalPomodoroSecondsInPeriod = periodTotals.getSessionSeconds();
                     long numberOfDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
                     float averageDailyPomodoroMinutes = (numberOfDays > 0) ? (float) totalPomodoroSecondsInPeriod / 60 / numberOfDays : 0f;
-                    int totalXpGainedInPeriod = gamificationHistoryInPeriod.stream().mapToInt(GamificationHistory::getXpChange).sum();
-                    int totalCoinsGainedInPeriod = gamificationHistoryInPeriod.stream().mapToInt(GamificationHistory::getCoinsChange).sum();
+                    int totalXpGainedInPeriod = periodTotals.getXpChange();
+                    int totalCoinsGainedInPeriod = periodTotals.getCoinsChange();
                     LocalDate mostProductiveDayInPeriod = completedTasksByDayMap.entrySet().stream()
                             .filter(entry -> entry.getValue() > 0)
                             .max(Map.Entry.comparingByValue())
                             .map(Map.Entry::getKey)
                             .orElse(null);
 
-                    logger.debug(TAG, "Data processed successfully for " + startDate + " - " + endDate + ".");
+                    logger.debug(TAG, "Data processed successfully for {} - {}.", startDate, endDate);
                     _uiStateLiveData.postValue(
                             Objects.requireNonNull(_uiStateLiveData.getValue()).toBuilder()
                                     .isLoading(false)
@@ -248,72 +243,42 @@ public class StatisticsViewModel extends ViewModel {
         }, ioExecutor);
     }
 
-    private Map<LocalDate, Integer> aggregateTasksByDay(List<TaskStatistics> stats, LocalDate startDate, LocalDate endDate) {
+    // Срезы содержат только дни с активностью - остальные дни периода заполняются нулями
+    private Map<LocalDate, Integer> toDayMap(List<DailyUserStats> rows, ToIntFunction<DailyUserStats> valueSelector,
+                                             LocalDate startDate, LocalDate endDate) {
         Map<LocalDate, Integer> dateMap = new HashMap<>();
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) { dateMap.put(date, 0); }
-        if (stats != null) {
-            stats.stream().filter(s -> s.getCompletionTime() != null).forEach(s -> {
-                LocalDate date = dateTimeUtils.utcToLocalLocalDateTime(s.getCompletionTime()).toLocalDate();
-                dateMap.computeIfPresent(date, (k, v) -> v + 1);
-            });
-        } return dateMap;
-    }
-    private Map<LocalDate, Integer> aggregatePomodoroByDay(List<PomodoroSession> sessions, LocalDate startDate, LocalDate endDate) {
-        Map<LocalDate, Integer> dateMap = new HashMap<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) { dateMap.put(date, 0); }
-        if (sessions != null) {
-            sessions.forEach(s -> {
-                if (s.getSessionType() == SessionType.FOCUS) {
-                    LocalDate date = dateTimeUtils.utcToLocalLocalDateTime(s.getStartTime()).toLocalDate();
-                    dateMap.computeIfPresent(date, (k, v) -> v + (s.getActualDurationSeconds() / 60));
-                }
-            });
-        } return dateMap;
-    }
-    private Map<LocalDate, DateTimeUtils.Pair<Integer, Integer>> aggregateGamificationByDay(List<GamificationHistory> history, LocalDate startDate, LocalDate endDate) {
-        Map<LocalDate, DateTimeUtils.Pair<Integer, Integer>> dateMap = new HashMap<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) { dateMap.put(date, new DateTimeUtils.Pair<>(0,0));}
-        if (history != null) {
-            history.forEach(h -> {
-                LocalDate date = dateTimeUtils.utcToLocalLocalDateTime(h.getTimestamp()).toLocalDate();
-                dateMap.computeIfPresent(date, (k, current) -> new DateTimeUtils.Pair<>(current.first() + h.getXpChange(), current.second() + h.getCoinsChange()));
-            });
+        if (rows != null) {
+            for (DailyUserStats row : rows) {
+                dateMap.computeIfPresent(row.getDay(), (k, v) -> v + valueSelector.applyAsInt(row));
+            }
         } return dateMap;
     }
-    private Map<DayOfWeek, Integer> aggregateTasksByDayOfWeek(List<TaskStatistics> stats) {
-        if (stats == null) return Collections.emptyMap();
-        return stats.stream().filter(s -> s.getCompletionTime() != null)
-                .collect(Collectors.groupingBy(s -> dateTimeUtils.utcToLocalLocalDateTime(s.getCompletionTime()).getDayOfWeek(), Collectors.summingInt(s -> 1)));
-    }
     private Float calculateCompletionRate(GlobalStatistics gs) {
         return (gs == null || gs.getTotalTasks() <= 0) ? null : Math.max(0f, Math.min(1f, (float) gs.getCompletedTasks() / gs.getTotalTasks()));
     }
-    private float calculateAverageTasksPerDay(List<TaskStatistics> allStats, GlobalStatistics gs) {
-        if (allStats == null || allStats.isEmpty()) return 0f;
-        LocalDateTime firstActivityDate = null;
+    private float calculateAverageTasksPerDay(CompletionTotals totals, GlobalStatistics gs) {
+        if (totals == null || totals.getCompletedCount() == 0) return 0f;
+        LocalDate startDate = null;
         if (gs != null && gs.getLastActive() != null) {
-            firstActivityDate = gs.getLastActive();
+            startDate = dateTimeUtils.utcToLocalLocalDateTime(gs.getLastActive()).toLocalDate();
         }
-        LocalDateTime firstCompletion = allStats.stream()
-                .map(TaskStatistics::getCompletionTime)
-                .filter(Objects::nonNull)
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
-        if (firstCompletion != null && (firstActivityDate == null || firstCompletion.isBefore(firstActivityDate))) {
-            firstActivityDate = firstCompletion;
+        LocalDate firstCompletionDay = totals.getFirstDay();
+        if (firstCompletionDay != null && (startDate == null || firstCompletionDay.isBefore(startDate))) {
+            startDate = firstCompletionDay;
         }
-        if (firstActivityDate == null) return 0f;
+        if (startDate == null) return 0f;
 
-        LocalDate startDate = dateTimeUtils.utcToLocalLocalDateTime(firstActivityDate).toLocalDate();
         long daysActive = ChronoUnit.DAYS.between(startDate, dateTimeUtils.currentLocalDate()) + 1;
         daysActive = Math.max(1, daysActive);
-        long totalCompleted = allStats.stream().filter(s->s.getCompletionTime() != null).count();
-        return (float) totalCompleted / daysActive;
+        return (float) totals.getCompletedCount() / daysActive;
     }
-    private DayOfWeek findMostProductiveDayOfWeek(List<TaskStatistics> allStats) {
-        if (allStats == null) return null;
-        return aggregateTasksByDayOfWeek(allStats).entrySet().stream()
-                .max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null);
+    private DayOfWeek findMostProductiveDayOfWeek(List<WeekdayAggregate> allTimeByWeekday) {
+        if (allTimeByWeekday == null) return null;
+        return allTimeByWeekday.stream()
+                .max(Comparator.comparingLong(WeekdayAggregate::getValue))
+                .map(row -> DayOfWeek.of(row.getDayOfWeek()))
+                .orElse(null);
     }
     private List<DatePoint> mapToDatePoints(Map<LocalDate, Integer> data, LocalDate startDate, LocalDate endDate) {
         List<DatePoint> points = new ArrayList<>();
@@ -321,19 +286,16 @@ public class StatisticsViewModel extends ViewModel {
             points.add(new DatePoint(date, Objects.requireNonNull(data.getOrDefault(date, 0)).floatValue()));
         } return points;
     }
-    private List<DatePoint> mapToGamificationDatePoints(Map<LocalDate, DateTimeUtils.Pair<Integer,Integer>> data, LocalDate startDate, LocalDate endDate, Function<DateTimeUtils.Pair<Integer,Integer>, Integer> valueSelector) {
-        List<DatePoint> points = new ArrayList<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            DateTimeUtils.Pair<Integer,Integer> pair = data.getOrDefault(date, new DateTimeUtils.Pair<>(0,0));
-            points.add(new DatePoint(date, valueSelector.apply(pair).floatValue()));
-        } return points;
-    }
-    private List<DayOfWeekPoint> mapToDayOfWeekPoints(Map<DayOfWeek, Integer> data) {
-        List<DayOfWeekPoint> points = new ArrayList<>();
+    // Дни недели без выполненных задач в результате запроса отсутствуют - для них нулевые точки
+    private List<DayOfWeekPoint> mapToDayOfWeekPoints(List<WeekdayAggregate> rows) {
+        float[] values = new float[DayOfWeek.values().length];
+        if (rows != null) {
+            for (WeekdayAggregate row : rows) values[row.getDayOfWeek() - 1] = row.getValue();
+        }
+        List<DayOfWeekPoint> points = new ArrayList<>(values.length);
         for (DayOfWeek day : DayOfWeek.values()) {
-            points.add(new DayOfWeekPoint(day, Objects.requireNonNull(data.getOrDefault(day, 0)).floatValue()));
+            points.add(new DayOfWeekPoint(day, values[day.getValue() - 1]));
         }
-        points.sort(Comparator.comparingInt(p -> p.dayOfWeek().getValue()));
         return points;
     }
 
@@ -384,8 +346,9 @@ public class StatisticsViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (!debounceExecutor.isShutdown()) {
-            debounceExecutor.shutdownNow();
+        // Планировщик общий - отменяем только свою отложенную загрузку
+        if (scheduledLoadTask != null) {
+            scheduledLoadTask.cancel(false);
         }
         logger.debug(TAG, "StatisticsViewModel cleared.");
     }
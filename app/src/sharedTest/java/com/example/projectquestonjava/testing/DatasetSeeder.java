@@ -0,0 +1,113 @@
+package com.example.projectquestonjava.testing;
+
+import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Approach;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.core.UserAuth;
+import com.example.projectquestonjava.core.data.model.core.Workspace;
+import com.example.projectquestonjava.core.data.model.enums.ApproachName;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
+import com.example.projectquestonjava.feature.gamification.data.model.Gamification;
+import com.example.projectquestonjava.feature.gamification.data.model.GamificationChallengeProgress;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
+import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
+import com.example.projectquestonjava.feature.statistics.data.model.GlobalStatistics;
+import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Заполняет БД воспроизводимым набором данных: пользователь, рабочее пространство,
+ * профиль геймификации и задачи, разбросанные по трем месяцам вокруг опорного.
+ * Seed фиксирован, поэтому прогоны с одним размером набора сравнимы между собой.
+ */
+public final class DatasetSeeder {
+
+    public static final int USER_ID = 1;
+    private static final long SEED = 42L;
+
+    private final AppDatabase db;
+    private final Random random = new Random(SEED);
+
+    public DatasetSeeder(AppDatabase db) {
+        this.db = db;
+    }
+
+    public record Dataset(int userId, long workspaceId, long gamificationId) { }
+
+    /** Пользователь, рабочее пространство и профиль; вызывается один раз на БД. */
+    public Dataset seedProfile() {
+        return db.runInTransaction(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            db.userAuthDao().insertUserSync(new UserAuth(USER_ID, "bench@example.com", "hash", "bench", null));
+            long approachId = db.approachDao().insertApproach(new Approach(0, ApproachName.CALENDAR, "Calendar"));
+            long workspaceId = db.workspaceDao().insertWorkspaceSync(
+                    new Workspace(0, USER_ID, "Benchmark", "", approachId, now, now));
+            long gamificationId = db.gamificationDao().insertSync(
+                    new Gamification(USER_ID, 1, 0, 0, 100, now, 0, LocalDate.now(), 0));
+            db.globalStatisticsDao().insertOrUpdateGlobalStatisticsSync(
+                    new GlobalStatistics(USER_ID, 1, 0, 0, 0, now));
+            return new Dataset(USER_ID, workspaceId, gamificationId);
+        });
+    }
+
+    /**
+     * Задачи с параметрами календаря и статистикой; сроки равномерно распределены по
+     * месяцу до, самому месяцу и месяцу после anchorMonthStart. Примерно у трети задач
+     * есть завершенные помидоры, каждая пятая задача уже выполнена.
+     */
+    public List<Long> seedTasks(Dataset dataset, int count, LocalDate anchorMonthStart) {
+        return db.runInTransaction(() -> {
+            LocalDate from = anchorMonthStart.minusMonths(1);
+            int spanDays = (int) (anchorMonthStart.plusMonths(2).toEpochDay() - from.toEpochDay());
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = new ArrayList<>(count);
+            List<TaskStatistics> statistics = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime due = from.plusDays(random.nextInt(spanDays))
+                        .atTime(random.nextInt(24), random.nextInt(4) * 15);
+                TaskStatus status = i % 5 == 0 ? TaskStatus.DONE : TaskStatus.TODO;
+                long taskId = db.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                        "Task " + i, "Description " + i, due, status, now, now));
+                db.calendarTaskDao().insertCalendarParamsSync(new CalendarParams(taskId, null, false, null));
+                statistics.add(new TaskStatistics(taskId, null, 0, 0, 0, 0, status == TaskStatus.DONE));
+                if (i % 3 == 0) {
+                    db.pomodoroSessionDao().insertSync(new PomodoroSession(0, dataset.userId(), taskId,
+                            due.minusHours(1), SessionType.FOCUS, 25 * 60, 25 * 60, 0, true));
+                }
+                ids.add(taskId);
+            }
+            db.taskStatisticsDao().insertTaskStatisticsBatchSync(statistics);
+            return ids;
+        });
+    }
+
+    /**
+     * Активные испытания на завершение задач с недостижимой целью, чтобы прогресс
+     * обновлялся в каждой итерации, но награды не выдавались.
+     */
+    public void seedTaskCompletionChallenges(Dataset dataset, int count) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        long rewardId = db.rewardDao().insert(new Reward("Bench reward", "", RewardType.COINS, "10")).get();
+        List<GamificationChallengeProgress> progress = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long challengeId = db.challengeDao().insertChallenge(new Challenge("Challenge " + i, "",
+                    now.minusDays(1), now.plusDays(30), rewardId, ChallengeStatus.ACTIVE, ChallengePeriod.ONCE)).get();
+            long ruleId = db.challengeDao().insertRule(new ChallengeRule(challengeId, ChallengeType.TASK_COMPLETION,
+                    Integer.MAX_VALUE, null, ChallengePeriod.ONCE)).get();
+            progress.add(new GamificationChallengeProgress(dataset.gamificationId(), challengeId, ruleId));
+        }
+        db.challengeDao().insertOrUpdateProgressListSync(progress);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.projectquestonjava.testing;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.TaskFtsSql;
+import com.example.projectquestonjava.core.di.DatabaseModule;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStatsSql;
+import com.google.common.util.concurrent.MoreExecutors;
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import dagger.hilt.components.SingletonComponent;
+import dagger.hilt.testing.TestInstallIn;
+import javax.inject.Singleton;
+
+/**
+ * AppDatabase в памяти вместо файла. Триггеры дневных срезов и поискового индекса, PRAGMA те же, что в
+ * {@link DatabaseModule}; запросы выполняются на вызывающем потоке, чтобы замер не
+ * включал переключения между пулами, а LiveData отдавала значение сразу.
+ */
+@Module
+@TestInstallIn(components = SingletonComponent.class, replaces = DatabaseModule.class)
+public class InMemoryDatabaseModule {
+
+    @Provides
+    @Singleton
+    public AppDatabase provideAppDatabase(@ApplicationContext Context context) {
+        return create(context);
+    }
+
+    public static AppDatabase create(Context context) {
+        return Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        super.onCreate(db);
+                        DailyUserStatsSql.createTriggers(db);
+                        TaskFtsSql.createTriggers(db);
+                    }
+
+                    @Override
+                    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                        super.onOpen(db);
+                        db.execSQL("PRAGMA recursive_triggers = ON");
+                    }
+                })
+                .allowMainThreadQueries()
+                .setQueryExecutor(MoreExecutors.directExecutor())
+                .setTransactionExecutor(MoreExecutors.directExecutor())
+                .build();
+    }
+}
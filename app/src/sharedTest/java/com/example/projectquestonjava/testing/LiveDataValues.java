@@ -0,0 +1,35 @@
+package com.example.projectquestonjava.testing;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Первое непустое значение LiveData. Рассчитано на InstantTaskExecutorRule: значения
+ * доставляются на потоке источника (Room, DataStore), поэтому ждем их через latch.
+ */
+public final class LiveDataValues {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private LiveDataValues() { }
+
+    public static <T> T await(LiveData<T> liveData) throws InterruptedException {
+        AtomicReference<T> holder = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Observer<T> observer = value -> {
+            if (value != null && holder.compareAndSet(null, value)) latch.countDown();
+        };
+        liveData.observeForever(observer);
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("LiveData produced no value in " + TIMEOUT_SECONDS + "s");
+            }
+            return holder.get();
+        } finally {
+            liveData.removeObserver(observer);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.projectquestonjava.testing;
+
+import androidx.annotation.NonNull;
+import com.example.projectquestonjava.core.utils.MonotonicClock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик и монотонные часы с ручным временем: задачи выполняются только в
+ * {@link #advanceBy(long)}, по порядку сроков, и часы в момент выполнения показывают срок задачи.
+ * latenessMillis имитирует опоздание планировщика (каждая задача срабатывает позже срока).
+ * Поддерживаются только schedule(Runnable, ...) и execute - этого хватает таймерам приложения.
+ */
+public final class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService, MonotonicClock {
+
+    private final PriorityQueue<Task> queue = new PriorityQueue<>(
+            Comparator.comparingLong((Task t) -> t.dueMillis).thenComparingLong(t -> t.sequence));
+    private long nowMillis;
+    private long sequence;
+    private long latenessMillis;
+
+    @Override
+    public synchronized long elapsedRealtimeMillis() {
+        return nowMillis;
+    }
+
+    public synchronized void setLatenessMillis(long latenessMillis) {
+        this.latenessMillis = latenessMillis;
+    }
+
+    /** Сдвигает часы и выполняет все задачи, срок которых наступил, включая запланированные по ходу. */
+    public void advanceBy(long millis) {
+        long target;
+        synchronized (this) {
+            target = nowMillis + millis;
+        }
+        while (true) {
+            Task next;
+            synchronized (this) {
+                next = queue.peek();
+                if (next == null || next.dueMillis > target) {
+                    nowMillis = target;
+                    return;
+                }
+                queue.poll();
+                nowMillis = next.dueMillis;
+            }
+            next.run();
+        }
+    }
+
+    public synchronized int pendingTasks() {
+        return (int) queue.stream().filter(t -> !t.isCancelled()).count();
+    }
+
+    @NonNull
+    @Override
+    public synchronized ScheduledFuture<?> schedule(@NonNull Runnable command, long delay, @NonNull TimeUnit unit) {
+        Task task = new Task(command, nowMillis + unit.toMillis(Math.max(0, delay)) + latenessMillis, sequence++);
+        queue.add(task);
+        return task;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        schedule(command, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @NonNull
+    @Override
+    public <V> ScheduledFuture<V> schedule(@NonNull Callable<V> callable, long delay, @NonNull TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @NonNull
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(@NonNull Runnable command, long initialDelay, long period, @NonNull TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @NonNull
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(@NonNull Runnable command, long initialDelay, long delay, @NonNull TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shutdown() { }
+
+    @NonNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) {
+        return false;
+    }
+
+    private final class Task implements ScheduledFuture<Object> {
+        private final Runnable command;
+        private final long dueMillis;
+        private final long sequence;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        Task(Runnable command, long dueMillis, long sequence) {
+            this.command = command;
+            this.dueMillis = dueMillis;
+            this.sequence = sequence;
+        }
+
+        void run() {
+            if (cancelled) return;
+            done = true;
+            command.run();
+        }
+
+        @Override
+        public long getDelay(@NonNull TimeUnit unit) {
+            return unit.convert(dueMillis - elapsedRealtimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(@NonNull Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (done) return false;
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done || cancelled;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, @NonNull TimeUnit unit) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.projectquestonjava.testing;
+
+import com.example.projectquestonjava.core.utils.Logger;
+
+/** Логгер с выключенными уровнями: в замерах не должно быть стоимости вывода. */
+public final class NoOpLogger implements Logger {
+    @Override public void info(String message) { }
+    @Override public void warn(String message) { }
+    @Override public void debug(String message) { }
+    @Override public void error(String message, Throwable throwable) { }
+    @Override public void info(String tag, String message) { }
+    @Override public void warn(String tag, String message) { }
+    @Override public void debug(String tag, String message) { }
+    @Override public void error(String tag, String message, Throwable throwable) { }
+    @Override public void error(String tag, String message) { }
+    @Override public boolean isDebugEnabled(String tag) { return false; }
+    @Override public boolean isInfoEnabled(String tag) { return false; }
+    @Override public void debug(String tag, String format, Object arg) { }
+    @Override public void debug(String tag, String format, Object arg1, Object arg2) { }
+    @Override public void info(String tag, String format, Object arg) { }
+    @Override public void info(String tag, String format, Object arg1, Object arg2) { }
+    @Override public void warn(String tag, String format, Object arg) { }
+    @Override public void warn(String tag, String format, Object arg1, Object arg2) { }
+}
@@ -0,0 +1,20 @@
+package com.example.projectquestonjava.testing;
+
+import com.example.projectquestonjava.core.di.LoggerModule;
+import com.example.projectquestonjava.core.utils.Logger;
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.components.SingletonComponent;
+import dagger.hilt.testing.TestInstallIn;
+import javax.inject.Singleton;
+
+@Module
+@TestInstallIn(components = SingletonComponent.class, replaces = LoggerModule.class)
+public class NoOpLoggerModule {
+
+    @Provides
+    @Singleton
+    public Logger provideLogger() {
+        return new NoOpLogger();
+    }
+}
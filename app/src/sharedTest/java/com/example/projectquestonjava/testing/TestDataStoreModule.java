@@ -0,0 +1,37 @@
+package com.example.projectquestonjava.testing;
+
+import android.content.Context;
+import androidx.datastore.preferences.core.Preferences;
+import androidx.datastore.preferences.rxjava3.RxPreferenceDataStoreBuilder;
+import androidx.datastore.rxjava3.RxDataStore;
+import com.example.projectquestonjava.core.di.DataStoreModule;
+import com.example.projectquestonjava.core.di.IODispatcher;
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import dagger.hilt.components.SingletonComponent;
+import dagger.hilt.testing.TestInstallIn;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import javax.inject.Singleton;
+
+/**
+ * DataStore с отдельным файлом на каждый компонент Hilt: тесты одного процесса создают
+ * несколько компонентов, а два активных DataStore на одном файле DataStore не допускает.
+ */
+@Module
+@TestInstallIn(components = SingletonComponent.class, replaces = DataStoreModule.class)
+public class TestDataStoreModule {
+
+    @Provides
+    @Singleton
+    public RxDataStore<Preferences> provideRxPreferencesDataStore(
+            @ApplicationContext Context context,
+            @IODispatcher Executor ioExecutor
+    ) {
+        return new RxPreferenceDataStoreBuilder(context, "test_preferences_" + UUID.randomUUID())
+                .setIoScheduler(Schedulers.from(ioExecutor))
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.projectquestonjava.testing;
+
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.data.repositories.PriorityResolverImpl;
+import com.example.projectquestonjava.core.domain.model.PriorityThresholds;
+import com.example.projectquestonjava.core.priority_strategy.CompletedTaskStrategy;
+import com.example.projectquestonjava.core.priority_strategy.CriticalPriorityStrategy;
+import com.example.projectquestonjava.core.priority_strategy.HighPriorityStrategy;
+import com.example.projectquestonjava.core.priority_strategy.LowPriorityStrategy;
+import com.example.projectquestonjava.core.priority_strategy.MediumPriorityStrategy;
+import com.example.projectquestonjava.core.priority_strategy.OverdueCriticalStrategy;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Объекты для unit-тестов и JMH-бенчмарков без Hilt и БД. */
+public final class TestFixtures {
+
+    private TestFixtures() { }
+
+    /** Резолвер со стратегиями в том же порядке, что и в PriorityModule. */
+    public static PriorityResolverImpl priorityResolver(DateTimeUtils dateTimeUtils) {
+        PriorityThresholds thresholds = new PriorityThresholds();
+        return new PriorityResolverImpl(List.of(
+                new OverdueCriticalStrategy(dateTimeUtils),
+                new CompletedTaskStrategy(),
+                new CriticalPriorityStrategy(dateTimeUtils, thresholds),
+                new HighPriorityStrategy(dateTimeUtils, thresholds),
+                new MediumPriorityStrategy(dateTimeUtils, thresholds),
+                new LowPriorityStrategy()
+        ), dateTimeUtils, new NoOpLogger());
+    }
+
+    /** Задачи со сроками в пределах трех суток от текущего момента (UTC), чтобы попадать во все пороги. */
+    public static List<Task> tasksAroundNow(int count, DateTimeUtils dateTimeUtils) {
+        Random random = new Random(42L);
+        LocalDateTime nowUtc = dateTimeUtils.currentUtcDateTime();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime due = nowUtc.plusMinutes(random.nextInt(6 * 24 * 60) - 3 * 24 * 60);
+            TaskStatus status = i % 5 == 0 ? TaskStatus.DONE : TaskStatus.TODO;
+            tasks.add(new Task(i + 1, DatasetSeeder.USER_ID, 1L, "Task " + i, "", due, status, nowUtc, nowUtc));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.projectquestonjava.approach.calendar.data.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.model.DailyTaskCount;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.core.TaskTagCrossRef;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.LiveDataValues;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class CalendarTaskDaoTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 10, 0, 0);
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private AppDatabase db;
+    private DatasetSeeder.Dataset dataset;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        dataset = new DatasetSeeder(db).seedProfile();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void tasksInRange_joinParamsTagsAndPomodoroCount() throws Exception {
+        long inRange = insertTask("В диапазоне", DAY.plusHours(9), true);
+        long tagId = db.tagDao().insertTagSync(new Tag("работа", "#FF0000"));
+        db.taskTagCrossRefDao().insertAllTaskTagSync(List.of(new TaskTagCrossRef(inRange, tagId)));
+        db.taskStatisticsDao().insertOrUpdateTaskStatisticsSync(new TaskStatistics(inRange, null, 0, 0, 3, 0, false));
+        insertTask("Без параметров календаря", DAY.plusHours(10), false);
+        insertTask("Вне диапазона", DAY.plusDays(2), true);
+
+        List<CalendarTaskWithTagsAndPomodoro> result = LiveDataValues.await(db.calendarTaskDao()
+                .getCalendarTasksInDateRange(dataset.workspaceId(), dataset.userId(), epoch(DAY), epoch(DAY.plusDays(1)) - 1));
+
+        assertEquals(1, result.size());
+        CalendarTaskWithTagsAndPomodoro item = result.get(0);
+        assertEquals(inRange, item.getTask().getId());
+        assertNotNull(item.getCalendarParams());
+        assertEquals(3, item.getPomodoroCount());
+        assertEquals(1, item.getTags().size());
+        assertEquals("работа", item.getTags().get(0).getName());
+    }
+
+    @Test
+    public void tasksInRange_withoutStatisticsHaveZeroPomodoros() throws Exception {
+        insertTask("Без статистики", DAY.plusHours(9), true);
+
+        List<CalendarTaskWithTagsAndPomodoro> result = LiveDataValues.await(db.calendarTaskDao()
+                .getCalendarTasksInDateRange(dataset.workspaceId(), dataset.userId(), epoch(DAY), epoch(DAY.plusDays(1)) - 1));
+
+        assertEquals(1, result.size());
+        assertEquals(0, result.get(0).getPomodoroCount());
+    }
+
+    @Test
+    public void dailyTaskCounts_groupByLocalDayAndStatus() throws Exception {
+        // В Европе в этот день переход на летнее время: сутки короче, смещение меняется посреди дня
+        LocalDate day = LocalDate.of(2026, 3, 29);
+        insertTaskAtLocal("Начало дня", day.atTime(0, 30), TaskStatus.TODO);
+        insertTaskAtLocal("Конец дня", day.atTime(23, 30), TaskStatus.TODO);
+        insertTaskAtLocal("Выполнена", day.atTime(12, 0), TaskStatus.DONE);
+        insertTaskAtLocal("Следующий день", day.plusDays(1).atTime(0, 30), TaskStatus.TODO);
+        insertTask("Без параметров календаря", toUtc(day.atTime(9, 0)), false);
+
+        List<DailyTaskCount> rows = db.calendarTaskDao().getDailyTaskCountsFuture(dataset.workspaceId(), dataset.userId(),
+                epoch(toUtc(day.atStartOfDay())), epoch(toUtc(day.plusDays(2).atStartOfDay())) - 1).get();
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (DailyTaskCount row : rows) counts.put(row.getDay() + "/" + row.getStatus(), row.getCount());
+        assertEquals(Map.of(
+                day + "/TODO", 2,
+                day + "/DONE", 1,
+                day.plusDays(1) + "/TODO", 1), counts);
+    }
+
+    @Test
+    public void dailyTaskCounts_liveDataMatchesFuture() throws Exception {
+        LocalDate day = LocalDate.of(2026, 10, 25);
+        insertTaskAtLocal("Ночь", day.atTime(1, 0), TaskStatus.TODO);
+        insertTaskAtLocal("Вечер", day.atTime(22, 0), TaskStatus.TODO);
+        long start = epoch(toUtc(day.atStartOfDay()));
+        long end = epoch(toUtc(day.plusDays(1).atStartOfDay())) - 1;
+
+        List<DailyTaskCount> rows = LiveDataValues.await(db.calendarTaskDao()
+                .getDailyTaskCounts(dataset.workspaceId(), dataset.userId(), start, end));
+
+        assertEquals(1, rows.size());
+        assertEquals(day, rows.get(0).getDay());
+        assertEquals(2, rows.get(0).getCount());
+    }
+
+    private void insertTaskAtLocal(String title, LocalDateTime local, TaskStatus status) {
+        insertTask(title, toUtc(local), true, status);
+    }
+
+    // SQLite 'localtime' и JVM в тестах берут одну и ту же системную зону
+    private static LocalDateTime toUtc(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private long insertTask(String title, LocalDateTime dueUtc, boolean withCalendarParams) {
+        return insertTask(title, dueUtc, withCalendarParams, TaskStatus.TODO);
+    }
+
+    private long insertTask(String title, LocalDateTime dueUtc, boolean withCalendarParams, TaskStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        long taskId = db.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                title, "", dueUtc, status, now, now));
+        if (withCalendarParams) {
+            db.calendarTaskDao().insertCalendarParamsSync(new CalendarParams(taskId, null, false, null));
+        }
+        return taskId;
+    }
+
+    private static long epoch(LocalDateTime utc) {
+        return utc.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.projectquestonjava.approach.calendar.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarMonthData;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class CalendarMonthDataCacheTest {
+
+    private static final long WORKSPACE = 1L;
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    private AppDatabase db;
+    private CalendarMonthDataCache cache;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        cache = new CalendarMonthDataCache(db, new NoOpLogger());
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void leastRecentlyUsedMonth_isEvicted() {
+        for (int i = 0; i < CalendarMonthDataCache.MAX_MONTHS; i++) {
+            cache.put(WORKSPACE, MARCH.plusMonths(i), data(i));
+        }
+        // Обращение делает март самым свежим, вытесняется апрель
+        assertNotNull(cache.get(WORKSPACE, MARCH));
+
+        cache.put(WORKSPACE, MARCH.plusMonths(CalendarMonthDataCache.MAX_MONTHS), data(99));
+
+        assertNotNull(cache.get(WORKSPACE, MARCH));
+        assertNull(cache.get(WORKSPACE, MARCH.plusMonths(1)));
+        assertNotNull(cache.get(WORKSPACE, MARCH.plusMonths(CalendarMonthDataCache.MAX_MONTHS)));
+    }
+
+    @Test
+    public void monthsOfDifferentWorkspaces_areSeparate() {
+        cache.put(WORKSPACE, MARCH, data(1));
+
+        assertNull(cache.get(WORKSPACE + 1, MARCH));
+    }
+
+    @Test
+    public void tryStartLoad_skipsCachedAndLoadingMonths() {
+        cache.put(WORKSPACE, MARCH, data(1));
+        assertEquals(-1L, cache.tryStartLoad(WORKSPACE, MARCH));
+
+        long version = cache.tryStartLoad(WORKSPACE, MARCH.plusMonths(1));
+        assertTrue(version >= 0);
+        assertEquals(-1L, cache.tryStartLoad(WORKSPACE, MARCH.plusMonths(1)));
+
+        cache.finishLoad(WORKSPACE, MARCH.plusMonths(1), data(2), version);
+        assertEquals(data(2), cache.get(WORKSPACE, MARCH.plusMonths(1)));
+    }
+
+    @Test
+    public void failedLoad_canBeRetried() {
+        long version = cache.tryStartLoad(WORKSPACE, MARCH);
+        cache.finishLoad(WORKSPACE, MARCH, null, version);
+
+        assertNull(cache.get(WORKSPACE, MARCH));
+        assertTrue(cache.tryStartLoad(WORKSPACE, MARCH) >= 0);
+    }
+
+    @Test
+    public void loadStartedBeforeInvalidation_isDiscarded() {
+        long version = cache.tryStartLoad(WORKSPACE, MARCH);
+        cache.invalidateAll();
+
+        cache.finishLoad(WORKSPACE, MARCH, data(1), version);
+
+        assertNull(cache.get(WORKSPACE, MARCH));
+    }
+
+    @Test
+    public void taskWrite_invalidatesAllMonths() throws Exception {
+        cache.put(WORKSPACE, MARCH, data(1));
+        cache.put(WORKSPACE, MARCH.plusMonths(1), data(2));
+
+        DatasetSeeder.Dataset dataset = new DatasetSeeder(db).seedProfile();
+        LocalDateTime now = LocalDateTime.now();
+        long taskId = db.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                "Новая", "", now, TaskStatus.TODO, now, now));
+        db.calendarTaskDao().insertCalendarParamsSync(new CalendarParams(taskId, null, false, null));
+
+        // InvalidationTracker сообщает об изменениях асинхронно
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.get(WORKSPACE, MARCH) != null && System.currentTimeMillis() < deadline) {
+            db.getInvalidationTracker().refreshVersionsAsync();
+            Thread.sleep(20);
+        }
+        assertNull(cache.get(WORKSPACE, MARCH));
+        assertNull(cache.get(WORKSPACE, MARCH.plusMonths(1)));
+    }
+
+    private static CalendarMonthData data(int count) {
+        return new CalendarMonthData(Collections.emptyList(), Map.of(LocalDate.of(2026, 3, 1), count));
+    }
+}
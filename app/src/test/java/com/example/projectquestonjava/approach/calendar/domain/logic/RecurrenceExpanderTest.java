@@ -0,0 +1,69 @@
+package com.example.projectquestonjava.approach.calendar.domain.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.example.projectquestonjava.approach.calendar.domain.model.RecurrenceRule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class RecurrenceExpanderTest {
+
+    // Четверг
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 15, 9, 0);
+
+    @Test
+    public void daily_skipsToWindowWithoutLosingTime() {
+        assertEquals(List.of(at(2026, 3, 1), at(2026, 3, 2), at(2026, 3, 3)),
+                expand("DAILY", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3)));
+    }
+
+    @Test
+    public void daily_countIsCountedFromSeriesStart() {
+        // 17 дней января + 28 февраля + 5 марта = 50
+        assertEquals(List.of(at(2026, 3, 1), at(2026, 3, 2), at(2026, 3, 3), at(2026, 3, 4), at(2026, 3, 5)),
+                expand("FREQ=DAILY;COUNT=50", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+    }
+
+    @Test
+    public void weeklyByDay_startsFromSeriesStartWithinFirstWeek() {
+        assertEquals(List.of(at(2026, 1, 15), at(2026, 1, 19), at(2026, 1, 22), at(2026, 1, 26)),
+                expand("FREQ=WEEKLY;BYDAY=MO,TH;COUNT=4", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31)));
+    }
+
+    @Test
+    public void weeklyByDay_countAcrossSkippedWeeks() {
+        // Вхождения 6..10 серии: 15, 19, 22, 26, 29 января пропущены окном
+        assertEquals(List.of(at(2026, 2, 2), at(2026, 2, 5), at(2026, 2, 9), at(2026, 2, 12), at(2026, 2, 16)),
+                expand("FREQ=WEEKLY;BYDAY=MO,TH;COUNT=10", LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28)));
+    }
+
+    @Test
+    public void monthly_skipsMonthsWithoutTheDayAndStopsAtUntil() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 31, 9, 0);
+        List<LocalDateTime> result = new ArrayList<>();
+        RecurrenceExpander.occurrences(RecurrenceRule.parse("FREQ=MONTHLY;UNTIL=20260601"), start,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)).forEachRemaining(result::add);
+
+        assertEquals(List.of(at(2026, 1, 31), at(2026, 3, 31), at(2026, 5, 31)), result);
+    }
+
+    @Test
+    public void parse_rejectsUnsupportedRules() {
+        assertNull(RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO"));
+        assertNull(RecurrenceRule.parse("FREQ=HOURLY"));
+        assertNull(RecurrenceRule.parse("FREQ=DAILY;BYMONTH=1"));
+        assertNull(RecurrenceRule.parse(""));
+    }
+
+    private static List<LocalDateTime> expand(String rule, LocalDate from, LocalDate to) {
+        return RecurrenceExpander.expand(RecurrenceRule.parse(rule), START, from, to);
+    }
+
+    private static LocalDateTime at(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 9, 0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.projectquestonjava.approach.calendar.domain.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.projectquestonjava.core.data.model.enums.Priority;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import org.junit.Test;
+
+/** Ключ DiffUtil: задача серии и ее вхождения делят id, но остаются разными элементами списка. */
+public class CalendarTaskSummaryTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    @Test
+    public void sameTask_isSameItemEvenAfterMove() {
+        assertTrue(summary(1, DUE, false).isSameItem(summary(1, DUE.plusDays(2), false)));
+        assertFalse(summary(1, DUE, false).isSameItem(summary(2, DUE, false)));
+    }
+
+    @Test
+    public void occurrence_isNotTheSeriesTask() {
+        assertFalse(summary(1, DUE, false).isSameItem(summary(1, DUE, true)));
+        assertFalse(summary(1, DUE, true).isSameItem(summary(1, DUE, false)));
+    }
+
+    @Test
+    public void occurrences_ofOneSeries_differByDueDate() {
+        assertTrue(summary(1, DUE.plusDays(1), true).isSameItem(summary(1, DUE.plusDays(1), true)));
+        assertFalse(summary(1, DUE.plusDays(1), true).isSameItem(summary(1, DUE.plusDays(2), true)));
+    }
+
+    private static CalendarTaskSummary summary(long id, LocalDateTime due, boolean occurrence) {
+        return new CalendarTaskSummary(id, "Задача " + id, "", due, TaskStatus.TODO, Priority.MEDIUM,
+                0, Collections.emptyList(), "FREQ=DAILY", null, occurrence);
+    }
+}
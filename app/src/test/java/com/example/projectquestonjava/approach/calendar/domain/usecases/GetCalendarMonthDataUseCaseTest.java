@@ -0,0 +1,159 @@
+package com.example.projectquestonjava.approach.calendar.domain.usecases;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.approach.calendar.data.managers.CalendarMonthDataCache;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarMonthData;
+import com.example.projectquestonjava.approach.calendar.domain.model.DailyTaskCount;
+import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.managers.WorkspaceSessionManager;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Сетка месяца рисуется из кеша, живой запрос его обновляет, соседние месяцы предзагружаются. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class GetCalendarMonthDataUseCaseTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final MutableLiveData<Long> workspaceId = new MutableLiveData<>(1L);
+    private final Map<YearMonth, MutableLiveData<List<DailyTaskCount>>> liveCounts = new HashMap<>();
+    private final Map<YearMonth, SettableFuture<List<DailyTaskCount>>> loads = new HashMap<>();
+    private final List<YearMonth> loadRequests = new ArrayList<>();
+
+    private AppDatabase db;
+    private CalendarMonthDataCache cache;
+    private GetCalendarMonthDataUseCase useCase;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        cache = new CalendarMonthDataCache(db, new NoOpLogger());
+        CalendarRepository repository = (CalendarRepository) Proxy.newProxyInstance(
+                CalendarRepository.class.getClassLoader(), new Class<?>[]{CalendarRepository.class},
+                (proxy, method, args) -> {
+                    YearMonth month = (YearMonth) args[1];
+                    switch (method.getName()) {
+                        case "getDailyTaskCounts":
+                            return liveCounts.computeIfAbsent(month, m -> new MutableLiveData<>());
+                        case "loadDailyTaskCounts":
+                            loadRequests.add(month);
+                            return loads.computeIfAbsent(month, m -> SettableFuture.create());
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        WorkspaceSessionManager workspaceSessionManager = new WorkspaceSessionManager(null, new NoOpLogger()) {
+            @Override
+            public LiveData<Long> getWorkspaceIdLiveData() {
+                return workspaceId;
+            }
+        };
+        useCase = new GetCalendarMonthDataUseCase(repository, cache, workspaceSessionManager,
+                MoreExecutors.directExecutor(), new NoOpLogger());
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void liveRows_areSummedByDayAndCached() {
+        List<CalendarMonthData> values = observe(useCase.execute(MARCH.atDay(1)));
+
+        liveCounts.get(MARCH).setValue(List.of(
+                count(MARCH.atDay(2), TaskStatus.TODO, 2),
+                count(MARCH.atDay(2), TaskStatus.DONE, 1),
+                count(MARCH.atDay(5), TaskStatus.TODO, 4)));
+
+        CalendarMonthData last = values.get(values.size() - 1);
+        assertEquals(Map.of(MARCH.atDay(2), 3, MARCH.atDay(5), 4), last.getDailyTaskCounts());
+        assertSame(last, cache.get(1L, MARCH));
+    }
+
+    @Test
+    public void cachedMonth_isEmittedBeforeQueryReturns() {
+        CalendarMonthData cached = new CalendarMonthData(List.of(), Map.of(MARCH.atDay(1), 7));
+        cache.put(1L, MARCH, cached);
+
+        List<CalendarMonthData> values = observe(useCase.execute(MARCH.atDay(1)));
+
+        assertEquals(List.of(cached), values);
+    }
+
+    @Test
+    public void neighbourMonths_arePrefetchedOnce() {
+        observe(useCase.execute(MARCH.atDay(1)));
+        liveCounts.get(MARCH).setValue(List.of());
+        liveCounts.get(MARCH).setValue(List.of(count(MARCH.atDay(3), TaskStatus.TODO, 1)));
+
+        assertEquals(List.of(MARCH.minusMonths(1), MARCH.plusMonths(1)), loadRequests);
+
+        loads.get(MARCH.plusMonths(1)).set(List.of(count(MARCH.plusMonths(1).atDay(1), TaskStatus.TODO, 2)));
+        loads.get(MARCH.minusMonths(1)).setException(new IllegalStateException("db closed"));
+
+        assertNotNull(cache.get(1L, MARCH.plusMonths(1)));
+        assertEquals(Map.of(MARCH.plusMonths(1).atDay(1), 2), cache.get(1L, MARCH.plusMonths(1)).getDailyTaskCounts());
+        assertNull(cache.get(1L, MARCH.minusMonths(1)));
+    }
+
+    @Test
+    public void noWorkspace_emitsEmpty() {
+        workspaceId.setValue(WorkspaceSessionManager.NO_WORKSPACE_ID);
+
+        List<CalendarMonthData> values = observe(useCase.execute(MARCH.atDay(1)));
+
+        assertEquals(List.of(CalendarMonthData.EMPTY), values);
+        assertTrue(liveCounts.isEmpty());
+    }
+
+    @Test
+    public void sumByDay_mergesStatuses() {
+        assertEquals(Map.of(MARCH.atDay(1), 5), GetCalendarMonthDataUseCase.sumByDay(List.of(
+                count(MARCH.atDay(1), TaskStatus.TODO, 2),
+                count(MARCH.atDay(1), TaskStatus.DONE, 3))));
+        assertEquals(Map.of(), GetCalendarMonthDataUseCase.sumByDay(List.of()));
+    }
+
+    private static <T> List<T> observe(LiveData<T> liveData) {
+        List<T> values = new ArrayList<>();
+        liveData.observeForever(values::add);
+        return values;
+    }
+
+    private static DailyTaskCount count(LocalDate day, TaskStatus status, int count) {
+        return new DailyTaskCount(day, status, count);
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.projectquestonjava.approach.calendar.domain.usecases;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.projectquestonjava.approach.calendar.data.model.CalendarParams;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarDashboardData;
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskWithTagsAndPomodoro;
+import com.example.projectquestonjava.approach.calendar.domain.repository.CalendarRepository;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.Priority;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.managers.WorkspaceSessionManager;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.feature.gamification.data.model.Gamification;
+import com.example.projectquestonjava.feature.gamification.domain.repository.GamificationRepository;
+import com.example.projectquestonjava.testing.ManualScheduler;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import com.example.projectquestonjava.testing.TestFixtures;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Скользящее окно дашборда: какие диапазоны запрашиваются и как задачи режутся по дням. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class GetDashboardWindowUseCaseTest {
+
+    private static final LocalDate CENTER = LocalDate.of(2025, 3, 10);
+    private static final int RADIUS = 3;
+    // UTC+3 без перехода на летнее время: задача в 22:00 UTC попадает на следующий локальный день
+    private static final ZoneId ZONE = ZoneId.of("Europe/Moscow");
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final List<RangeRequest> requests = new ArrayList<>();
+    private final MutableLiveData<Long> workspaceId = new MutableLiveData<>();
+    private final MutableLiveData<Gamification> gamification = new MutableLiveData<>();
+    private final ManualScheduler scheduler = new ManualScheduler();
+    // Часы сдвигаются вместе с планировщиком, чтобы пересчет по таймеру видел новое время
+    private LocalDateTime now = CENTER.atTime(12, 0);
+    private final DateTimeUtils dateTimeUtils = new DateTimeUtils(ZONE) {
+        @Override
+        public LocalDateTime currentLocalDateTime() {
+            return now;
+        }
+    };
+
+    private GetDashboardWindowUseCase.DayWindow window;
+    private Map<LocalDate, CalendarDashboardData> lastValue;
+
+    @Before
+    public void setUp() {
+        CalendarRepository calendarRepository = (CalendarRepository) Proxy.newProxyInstance(
+                CalendarRepository.class.getClassLoader(), new Class<?>[]{CalendarRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getTasksForLocalDateRange")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    RangeRequest request = new RangeRequest((Long) args[0], (LocalDate) args[1], (LocalDate) args[2]);
+                    requests.add(request);
+                    return request.result;
+                });
+        GamificationRepository gamificationRepository = (GamificationRepository) Proxy.newProxyInstance(
+                GamificationRepository.class.getClassLoader(), new Class<?>[]{GamificationRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getCurrentUserGamificationFlow")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return gamification;
+                });
+        WorkspaceSessionManager workspaceSessionManager = new WorkspaceSessionManager(null, new NoOpLogger()) {
+            @Override
+            public LiveData<Long> getWorkspaceIdLiveData() {
+                return workspaceId;
+            }
+        };
+
+        GetDashboardWindowUseCase useCase = new GetDashboardWindowUseCase(calendarRepository, gamificationRepository,
+                TestFixtures.priorityResolver(dateTimeUtils), workspaceSessionManager, dateTimeUtils, scheduler, new NoOpLogger());
+        window = useCase.execute(RADIUS);
+        window.getData().observeForever(value -> lastValue = value);
+
+        workspaceId.setValue(1L);
+        gamification.setValue(new Gamification(1, 1, 0, 0, 100, LocalDateTime.of(2025, 3, 1, 0, 0), 0, CENTER, 0));
+    }
+
+    @Test
+    public void firstCenter_loadsWholeWindowWithOneQuery() {
+        window.setCenter(CENTER);
+
+        assertEquals(1, requests.size());
+        assertRange(requests.get(0), CENTER.minusDays(RADIUS), CENTER.plusDays(RADIUS));
+        assertEquals(1L, requests.get(0).workspaceId);
+    }
+
+    @Test
+    public void nothingEmitted_untilSegmentReturns() {
+        window.setCenter(CENTER);
+        assertTrue(lastValue == null || lastValue.isEmpty());
+
+        requests.get(0).result.setValue(Collections.emptyList());
+
+        assertEquals(2 * RADIUS + 1, lastValue.size());
+        assertTrue(lastValue.get(CENTER).getTasks().isEmpty());
+    }
+
+    @Test
+    public void tasks_areSlicedByLocalDay() {
+        window.setCenter(CENTER);
+        // 22:00 UTC 9 марта = 01:00 10 марта по Москве
+        CalendarTaskWithTagsAndPomodoro lateEvening = task(1, CENTER.minusDays(1).atTime(22, 0));
+        CalendarTaskWithTagsAndPomodoro morning = task(2, CENTER.atTime(6, 0));
+        CalendarTaskWithTagsAndPomodoro nextDay = task(3, CENTER.plusDays(1).atTime(12, 0));
+        requests.get(0).result.setValue(List.of(lateEvening, morning, nextDay));
+
+        assertEquals(2, lastValue.get(CENTER).getTasks().size());
+        assertEquals(1, lastValue.get(CENTER.plusDays(1)).getTasks().size());
+        assertTrue(lastValue.get(CENTER.minusDays(1)).getTasks().isEmpty());
+        assertEquals(gamification.getValue(), lastValue.get(CENTER).getGamification());
+    }
+
+    @Test
+    public void shiftByOneDay_loadsOnlyNewEdgeDay() {
+        window.setCenter(CENTER);
+        requests.get(0).result.setValue(Collections.emptyList());
+
+        window.setCenter(CENTER.plusDays(1));
+
+        assertEquals(2, requests.size());
+        assertRange(requests.get(1), CENTER.plusDays(RADIUS + 1), CENTER.plusDays(RADIUS + 1));
+
+        requests.get(1).result.setValue(List.of(task(7, CENTER.plusDays(RADIUS + 1).atTime(12, 0))));
+        assertEquals(2 * RADIUS + 1, lastValue.size());
+        assertEquals(1, lastValue.get(CENTER.plusDays(RADIUS + 1)).getTasks().size());
+        // День, вышедший за окно, в выдачу не попадает
+        assertTrue(!lastValue.containsKey(CENTER.minusDays(RADIUS)));
+    }
+
+    @Test
+    public void tooManySegments_rebaseWindowIntoOneQuery() {
+        window.setCenter(CENTER);
+        for (int shift = 1; shift <= 3; shift++) {
+            window.setCenter(CENTER.plusDays(shift));
+        }
+        assertEquals(4, requests.size());
+
+        // Пятый сегмент превысил бы лимит - окно перезапрашивается целиком
+        window.setCenter(CENTER.plusDays(4));
+
+        assertEquals(5, requests.size());
+        assertRange(requests.get(4), CENTER.plusDays(4 - RADIUS), CENTER.plusDays(4 + RADIUS));
+    }
+
+    @Test
+    public void farJump_dropsOldSegmentsAndLoadsNewWindow() {
+        window.setCenter(CENTER);
+        RangeRequest old = requests.get(0);
+        old.result.setValue(Collections.emptyList());
+
+        LocalDate farCenter = CENTER.plusDays(30);
+        window.setCenter(farCenter);
+
+        assertEquals(2, requests.size());
+        assertRange(requests.get(1), farCenter.minusDays(RADIUS), farCenter.plusDays(RADIUS));
+        assertTrue(!old.result.hasObservers());
+    }
+
+    @Test
+    public void workspaceChange_reloadsWindow() {
+        window.setCenter(CENTER);
+        RangeRequest old = requests.get(0);
+
+        workspaceId.setValue(2L);
+
+        assertEquals(2, requests.size());
+        assertEquals(2L, requests.get(1).workspaceId);
+        assertRange(requests.get(1), CENTER.minusDays(RADIUS), CENTER.plusDays(RADIUS));
+        assertTrue(!old.result.hasObservers());
+    }
+
+    @Test
+    public void noWorkspace_emitsEmptyWithoutQueries() {
+        workspaceId.setValue(WorkspaceSessionManager.NO_WORKSPACE_ID);
+        window.setCenter(CENTER);
+
+        assertTrue(requests.isEmpty());
+        assertTrue(lastValue.isEmpty());
+    }
+
+    @Test
+    public void priorityBoundary_recomputesWindowWhenReached() {
+        window.setCenter(CENTER);
+        // 12:40 по Москве: до порога критичности (30 минут) остается 10 минут
+        requests.get(0).result.setValue(List.of(task(1, CENTER.atTime(9, 40))));
+        Priority before = lastValue.get(CENTER).getTasks().get(0).getPriority();
+        assertEquals(1, scheduler.pendingTasks());
+
+        now = now.plusMinutes(10);
+        scheduler.advanceBy(TimeUnit.MINUTES.toMillis(10));
+
+        assertEquals(Priority.CRITICAL, lastValue.get(CENTER).getTasks().get(0).getPriority());
+        assertNotEquals(before, Priority.CRITICAL);
+    }
+
+    @Test
+    public void close_cancelsPriorityRefresh() {
+        window.setCenter(CENTER);
+        requests.get(0).result.setValue(List.of(task(1, CENTER.atTime(9, 40))));
+        assertEquals(1, scheduler.pendingTasks());
+
+        window.close();
+
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    private CalendarTaskWithTagsAndPomodoro task(long id, LocalDateTime dueUtc) {
+        Task task = new Task(id, 1L, 1L, "Task " + id, "", dueUtc, TaskStatus.TODO, dueUtc, dueUtc);
+        return new CalendarTaskWithTagsAndPomodoro(task, new CalendarParams(id, null, false, null),
+                Collections.emptyList(), 0);
+    }
+
+    private static void assertRange(RangeRequest request, LocalDate start, LocalDate end) {
+        assertEquals(start, request.start);
+        assertEquals(end, request.end);
+    }
+
+    private static final class RangeRequest {
+        final long workspaceId;
+        final LocalDate start;
+        final LocalDate end;
+        final MutableLiveData<List<CalendarTaskWithTagsAndPomodoro>> result = new MutableLiveData<>();
+
+        RangeRequest(long workspaceId, LocalDate start, LocalDate end) {
+            this.workspaceId = workspaceId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.projectquestonjava.approach.calendar.presentation.viewmodels;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.projectquestonjava.approach.calendar.domain.model.CalendarTaskSummary;
+import com.example.projectquestonjava.approach.calendar.domain.model.TaskFilterOption;
+import com.example.projectquestonjava.approach.calendar.domain.model.TaskSortOption;
+import com.example.projectquestonjava.core.data.model.enums.Priority;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+/** Индекс должен давать тот же порядок, что и прежняя фильтрация и сортировка потоками. */
+public class PlanningTaskIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    public void query_matchesStreamReference_forAllSortsAndFilterCombinations() {
+        List<CalendarTaskSummary> tasks = randomTasks(300);
+        PlanningTaskIndex index = new PlanningTaskIndex(tasks);
+        TaskFilterOption[] options = TaskFilterOption.values();
+
+        for (int mask = 0; mask < (1 << options.length); mask++) {
+            Set<TaskFilterOption> filters = EnumSet.noneOf(TaskFilterOption.class);
+            for (int bit = 0; bit < options.length; bit++) {
+                if ((mask & (1 << bit)) != 0) filters.add(options[bit]);
+            }
+            for (TaskSortOption sort : TaskSortOption.values()) {
+                for (LocalDate selectedDate : new LocalDate[]{null, TODAY}) {
+                    assertEquals(filters + " " + sort + " " + selectedDate,
+                            reference(tasks, selectedDate, filters, sort),
+                            index.query(selectedDate, filters, sort, TODAY));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void query_emptySource_returnsEmpty() {
+        PlanningTaskIndex index = new PlanningTaskIndex(Collections.emptyList());
+        assertEquals(Collections.emptyList(),
+                index.query(null, EnumSet.of(TaskFilterOption.ALL), TaskSortOption.TIME_ASC, TODAY));
+    }
+
+    private static List<CalendarTaskSummary> randomTasks(int count) {
+        Random random = new Random(7L);
+        Priority[] priorities = Priority.values();
+        TaskStatus[] statuses = TaskStatus.values();
+        List<CalendarTaskSummary> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Повторяющиеся сроки и id не по порядку проверяют стабильность сортировок
+            tasks.add(new CalendarTaskSummary(random.nextInt(count * 2), "t" + i, "",
+                    TODAY.plusDays(random.nextInt(7) - 3).atTime(random.nextInt(3) * 8, 0),
+                    statuses[random.nextInt(statuses.length)], priorities[random.nextInt(priorities.length)],
+                    0, Collections.emptyList(), null, null, false));
+        }
+        return tasks;
+    }
+
+    // Прежняя реализация CalendarPlanningViewModel.filterAndSortTasks
+    private static List<CalendarTaskSummary> reference(List<CalendarTaskSummary> tasks, LocalDate selectedDate,
+                                                       Set<TaskFilterOption> filterOptions, TaskSortOption sortOption) {
+        Stream<CalendarTaskSummary> stream = tasks.stream();
+        if (!filterOptions.contains(TaskFilterOption.ALL)) {
+            stream = stream.filter(task -> {
+                boolean passesPriority = true;
+                if (filterOptions.contains(TaskFilterOption.CRITICAL_PRIORITY)) passesPriority = task.getPriority() == Priority.CRITICAL;
+                else if (filterOptions.contains(TaskFilterOption.HIGH_PRIORITY)) passesPriority = task.getPriority() == Priority.HIGH || task.getPriority() == Priority.CRITICAL;
+
+                boolean passesDateSpecific = true;
+                if (selectedDate == null) {
+                    if (filterOptions.contains(TaskFilterOption.TODAY)) passesDateSpecific = task.getDueDate().toLocalDate().isEqual(TODAY);
+                    else if (filterOptions.contains(TaskFilterOption.OVERDUE)) passesDateSpecific = task.getDueDate().toLocalDate().isBefore(TODAY) && task.getStatus() != TaskStatus.DONE;
+                }
+
+                boolean passesCompletion = true;
+                boolean hasCompleteFilter = filterOptions.contains(TaskFilterOption.COMPLETE);
+                boolean hasIncompleteFilter = filterOptions.contains(TaskFilterOption.INCOMPLETE);
+                if (hasCompleteFilter && !hasIncompleteFilter) passesCompletion = (task.getStatus() == TaskStatus.DONE);
+                else if (!hasCompleteFilter && hasIncompleteFilter) passesCompletion = (task.getStatus() != TaskStatus.DONE);
+
+                return passesPriority && passesDateSpecific && passesCompletion;
+            });
+        }
+        List<CalendarTaskSummary> filteredList = stream.collect(Collectors.toList());
+        switch (sortOption) {
+            case TIME_ASC: filteredList.sort(Comparator.comparing(CalendarTaskSummary::getDueDate)); break;
+            case TIME_DESC: filteredList.sort(Comparator.comparing(CalendarTaskSummary::getDueDate).reversed()); break;
+            case CREATED_NEWEST: filteredList.sort(Comparator.comparingLong(CalendarTaskSummary::getId).reversed()); break;
+            case CREATED_OLDEST: filteredList.sort(Comparator.comparingLong(CalendarTaskSummary::getId)); break;
+            case PRIORITY_DESC: filteredList.sort(Comparator.comparing((CalendarTaskSummary t) -> t.getPriority().ordinal()).reversed()); break;
+            case PRIORITY_ASC: filteredList.sort(Comparator.comparing((CalendarTaskSummary t) -> t.getPriority().ordinal())); break;
+            case STATUS: filteredList.sort(Comparator.comparing(t -> t.getStatus() == TaskStatus.DONE)); break;
+        }
+        return filteredList;
+    }
+}
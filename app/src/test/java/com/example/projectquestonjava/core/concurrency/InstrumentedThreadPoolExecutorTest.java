@@ -0,0 +1,152 @@
+package com.example.projectquestonjava.core.concurrency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import android.os.Looper;
+import android.os.Process;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class InstrumentedThreadPoolExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private InstrumentedThreadPoolExecutor executor;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (executor != null) executor.shutdownNow();
+    }
+
+    @Test
+    public void saturatedPool_rejectsMainThreadSubmissionInsteadOfRunningInline() {
+        assertTrue(Looper.getMainLooper().isCurrentThread());
+        executor = singleThreadPool(1);
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        AtomicBoolean ran = new AtomicBoolean();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> ran.set(true)));
+
+        assertFalse(ran.get());
+        assertEquals(1, executor.getStats().getRejected());
+        assertEquals(1, executor.getStats().getMaxQueueDepth());
+    }
+
+    @Test
+    public void saturatedPool_rejectsBackgroundSubmissionInsteadOfRunningInline() throws Exception {
+        executor = singleThreadPool(1);
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        AtomicReference<String> ranOn = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread submitter = new Thread(() -> {
+            try {
+                executor.execute(() -> ranOn.set(Thread.currentThread().getName()));
+            } catch (RejectedExecutionException e) {
+                failure.set(e);
+            }
+        }, "background-submitter");
+        submitter.start();
+        submitter.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertNull(ranOn.get());
+        assertTrue(failure.get() instanceof RejectedExecutionException);
+        assertEquals(1, executor.getStats().getRejected());
+    }
+
+    @Test
+    public void ioPool_mainThreadBurstRunsOnPoolThreads() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new NoOpLogger());
+        try {
+            int burst = 256;
+            CountDownLatch done = new CountDownLatch(burst);
+            AtomicBoolean ranOnMain = new AtomicBoolean();
+            for (int i = 0; i < burst; i++) {
+                registry.io().execute(() -> {
+                    if (Looper.getMainLooper().isCurrentThread()) ranOnMain.set(true);
+                    awaitRelease();
+                    done.countDown();
+                });
+            }
+
+            // Каждая заблокированная задача получила свой поток, ничего не ждет в очереди
+            assertEquals(burst, registry.io().getPoolSize());
+            assertEquals(0, registry.io().getQueue().size());
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertFalse(ranOnMain.get());
+            assertEquals(0, registry.io().getStats().getRejected());
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    public void ioPool_nestedBlockingGetsDoNotDeadlock() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new NoOpLogger());
+        try {
+            // Внешние задачи, как use case'ы, ждут вложенную задачу того же пула; пока release
+            // не открыт, заняты все потоки, и пул с пределом в N потоков встал бы здесь навсегда
+            int outer = 64;
+            CountDownLatch done = new CountDownLatch(outer);
+            for (int i = 0; i < outer; i++) {
+                registry.io().execute(() -> {
+                    try {
+                        registry.io().submit(this::awaitRelease).get(5, TimeUnit.SECONDS);
+                        done.countDown();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(0, registry.io().getStats().getRejected());
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    public void shutDownPool_rejectsSubmission() {
+        ExecutorRegistry registry = new ExecutorRegistry(new NoOpLogger());
+        registry.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> registry.io().execute(() -> { }));
+        assertEquals(1, registry.io().getStats().getRejected());
+    }
+
+    private InstrumentedThreadPoolExecutor singleThreadPool(int queueCapacity) {
+        return new InstrumentedThreadPoolExecutor("test", 1, 1, 30L,
+                new LinkedBlockingQueue<>(queueCapacity), Process.THREAD_PRIORITY_BACKGROUND);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.projectquestonjava.core.data.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.SubtaskRelation;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.data.model.relations.SubtaskProgress;
+import com.example.projectquestonjava.core.data.model.relations.SubtaskTreeNode;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.LiveDataValues;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Рекурсивные запросы по subtask_relation на дереве глубины 3 с циклом:
+ * root -> (late[order 1] -> mid -> leaf, early[order 0]), mid -> root.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class SubtaskRelationDaoTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private AppDatabase db;
+    private SubtaskRelationDao dao;
+    private long root;
+    private long late;
+    private long mid;
+    private long leaf;
+    private long early;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        dao = db.subtaskRelationDao();
+        DatasetSeeder.Dataset dataset = new DatasetSeeder(db).seedProfile();
+        root = insertTask(dataset, "root", TaskStatus.TODO);
+        late = insertTask(dataset, "late", TaskStatus.DONE);
+        mid = insertTask(dataset, "mid", TaskStatus.TODO);
+        leaf = insertTask(dataset, "leaf", TaskStatus.DONE);
+        early = insertTask(dataset, "early", TaskStatus.DONE);
+
+        dao.insertSubtaskRelationSync(new SubtaskRelation(root, late, 1));
+        dao.insertSubtaskRelationSync(new SubtaskRelation(root, early, 0));
+        dao.insertSubtaskRelationSync(new SubtaskRelation(late, mid, 0));
+        dao.insertSubtaskRelationSync(new SubtaskRelation(mid, leaf, 0));
+        // Испорченные данные: цикл обратно в корень
+        dao.insertSubtaskRelationSync(new SubtaskRelation(mid, root, 1));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void subtaskTrees_areDepthFirstByOrderAndCutCycles() {
+        List<SubtaskTreeNode> nodes = dao.getSubtaskTreesSync(List.of(root));
+
+        // Поддерево идет сразу за родителем, братья - по order; корень повторно не попадает
+        assertEquals(List.of(early, late, mid, leaf), taskIds(nodes));
+        assertEquals(List.of(1, 1, 2, 3), depths(nodes));
+        assertEquals(List.of(root, root, late, mid), parentIds(nodes));
+        for (SubtaskTreeNode node : nodes) assertEquals(root, node.getRootTaskId());
+    }
+
+    @Test
+    public void subtaskTrees_forSeveralRoots_areGroupedByRoot() {
+        List<SubtaskTreeNode> nodes = dao.getSubtaskTreesSync(List.of(root, mid));
+
+        List<Long> rootsInOrder = new ArrayList<>();
+        for (SubtaskTreeNode node : nodes) {
+            if (rootsInOrder.isEmpty() || rootsInOrder.get(rootsInOrder.size() - 1) != node.getRootTaskId()) {
+                rootsInOrder.add(node.getRootTaskId());
+            }
+        }
+        assertEquals(List.of(root, mid), rootsInOrder);
+
+        // Из mid: leaf (order 0), затем root (order 1) и его поддерево до возврата в mid
+        List<Long> midTree = new ArrayList<>();
+        for (SubtaskTreeNode node : nodes) if (node.getRootTaskId() == mid) midTree.add(node.getTask().getId());
+        assertEquals(List.of(leaf, root, early, late), midTree);
+    }
+
+    @Test
+    public void subtaskTreesLiveData_matchesSync() throws Exception {
+        List<SubtaskTreeNode> live = LiveDataValues.await(dao.getSubtaskTrees(List.of(root)));
+
+        assertEquals(taskIds(dao.getSubtaskTreesSync(List.of(root))), taskIds(live));
+    }
+
+    @Test
+    public void subtaskProgress_countsEveryDepthOnceDespiteCycle() {
+        Map<Long, SubtaskProgress> progress = new HashMap<>();
+        for (SubtaskProgress p : dao.getSubtaskProgressSync(List.of(root, late, leaf))) progress.put(p.getParentTaskId(), p);
+
+        // root: early, late, mid, leaf; выполнены early, late, leaf
+        assertEquals(4, progress.get(root).getTotal());
+        assertEquals(3, progress.get(root).getCompleted());
+        // late: mid, leaf, root (через цикл), early; выполнены leaf и early
+        assertEquals(4, progress.get(late).getTotal());
+        assertEquals(2, progress.get(late).getCompleted());
+        // У листа подзадач нет - строки нет
+        assertTrue(!progress.containsKey(leaf));
+    }
+
+    private long insertTask(DatasetSeeder.Dataset dataset, String title, TaskStatus status) {
+        return db.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                title, "", NOW, status, NOW, NOW));
+    }
+
+    private static List<Long> taskIds(List<SubtaskTreeNode> nodes) {
+        List<Long> ids = new ArrayList<>(nodes.size());
+        for (SubtaskTreeNode node : nodes) ids.add(node.getTask().getId());
+        return ids;
+    }
+
+    private static List<Integer> depths(List<SubtaskTreeNode> nodes) {
+        List<Integer> result = new ArrayList<>(nodes.size());
+        for (SubtaskTreeNode node : nodes) result.add(node.getDepth());
+        return result;
+    }
+
+    private static List<Long> parentIds(List<SubtaskTreeNode> nodes) {
+        List<Long> result = new ArrayList<>(nodes.size());
+        for (SubtaskTreeNode node : nodes) result.add(node.getParentTaskId());
+        return result;
+    }
+}
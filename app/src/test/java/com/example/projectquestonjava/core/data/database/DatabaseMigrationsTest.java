@@ -0,0 +1,105 @@
+package com.example.projectquestonjava.core.data.database;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Application;
+import android.content.Context;
+import android.database.Cursor;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.data.search.FtsMatchExpression;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Миграции на файловой БД. Экспортированных схем в репозитории нет, поэтому БД версии 4
+ * получается из текущей схемы откатом изменений 4 -> 5; при открытии Room прогоняет
+ * миграцию и сверяет итоговую схему с сущностями (иначе бросает IllegalStateException).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class DatabaseMigrationsTest {
+
+    private static final String DB_NAME = "migration-test.db";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void migration4To5_passesValidationAndIndexesExistingTasks() {
+        DatasetSeeder.Dataset dataset;
+        long taskId;
+        AppDatabase current = open();
+        try {
+            dataset = new DatasetSeeder(current).seedProfile();
+            taskId = current.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                    "Отчет за квартал", "", NOW, TaskStatus.TODO, NOW, NOW));
+            downgradeTo4(current.getOpenHelper().getWritableDatabase());
+        } finally {
+            current.close();
+        }
+
+        AppDatabase migrated = open();
+        try {
+            // Первое обращение запускает миграцию и проверку схемы
+            SupportSQLiteDatabase db = migrated.getOpenHelper().getWritableDatabase();
+            assertEquals(5, db.getVersion());
+            assertEquals(6, count(db, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name LIKE 'trg_fts_%'"));
+
+            // rebuild() проиндексировал задачу, созданную до миграции
+            List<Long> found = new ArrayList<>();
+            migrated.taskSearchDao().matchSync(FtsMatchExpression.from("отч"), dataset.userId())
+                    .forEach(match -> found.add(match.getTaskId()));
+            assertEquals(List.of(taskId), found);
+        } finally {
+            migrated.close();
+        }
+    }
+
+    private AppDatabase open() {
+        return Room.databaseBuilder(context, AppDatabase.class, DB_NAME)
+                .addMigrations(DatabaseMigrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    // Состояние версии 4: без task_fts и ее триггеров
+    private static void downgradeTo4(SupportSQLiteDatabase db) {
+        List<String> triggers = new ArrayList<>();
+        try (Cursor cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'trigger' AND name LIKE 'trg_fts_%'")) {
+            while (cursor.moveToNext()) triggers.add(cursor.getString(0));
+        }
+        for (String trigger : triggers) db.execSQL("DROP TRIGGER " + trigger);
+        db.execSQL("DROP TABLE task_fts");
+        db.setVersion(4);
+    }
+
+    private static long count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
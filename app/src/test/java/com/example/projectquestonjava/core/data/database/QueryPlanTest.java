@@ -0,0 +1,121 @@
+package com.example.projectquestonjava.core.data.database;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import android.database.Cursor;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.approach.calendar.data.dao.CalendarTaskDao;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Регрессия планов горячих запросов: EXPLAIN QUERY PLAN на схеме, которую создает Room,
+ * должен идти по составным индексам, а не сканировать таблицы. Запросы, не вынесенные в
+ * константы DAO, повторены здесь дословно.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class QueryPlanTest {
+
+    private static final Pattern NAMED_PARAM = Pattern.compile(":(\\w+)");
+
+    private AppDatabase db;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void pomodoroSessionsInPeriod_useUserStartTimeIndex() {
+        String plan = plan("SELECT * FROM pomodoro_session WHERE user_id = :userId "
+                + "AND start_time BETWEEN :startTime AND :endTime ORDER BY start_time ASC");
+
+        assertUsesIndex(plan, "index_pomodoro_session_user_id_start_time");
+        // Порядок дает сам индекс
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void gamificationHistoryInPeriod_usesGamificationTimestampIndex() {
+        String plan = plan("SELECT * FROM gamification_history WHERE gamification_id = :gamificationId "
+                + "AND timestamp BETWEEN :startTime AND :endTime ORDER BY timestamp ASC");
+
+        assertUsesIndex(plan, "index_gamification_history_gamification_id_timestamp");
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void retentionDelete_usesTimestampIndex() {
+        String plan = plan("DELETE FROM gamification_history WHERE id IN "
+                + "(SELECT id FROM gamification_history WHERE timestamp < :horizonUtc LIMIT :limit)");
+
+        assertUsesIndex(plan, "index_gamification_history_timestamp");
+    }
+
+    @Test
+    public void calendarRangeAndHeatmap_useUserWorkspaceDueDateIndex() {
+        String range = plan("SELECT t.*, COALESCE(ts.completed_pomodoro_focus_sessions, 0) AS pomodoroCount "
+                + "FROM task t INNER JOIN calendar_params cp ON cp.task_id = t.id "
+                + "LEFT JOIN task_statistics ts ON ts.task_id = t.id "
+                + "WHERE t.workspace_id = :workspaceId AND t.user_id = :userId AND t.due_date BETWEEN :startTime AND :endTime");
+        assertUsesIndex(range, "index_task_user_id_workspace_id_due_date");
+        assertNoFullScan(range);
+
+        String heatmap = plan(CalendarTaskDao.DAILY_TASK_COUNTS_QUERY);
+        assertUsesIndex(heatmap, "index_task_user_id_workspace_id_due_date");
+        assertNoFullScan(heatmap);
+    }
+
+    @Test
+    public void completedTasksInPeriod_doNotScanTables() {
+        // Тот же JOIN, что в пересчете дневного среза (DailyUserStatsSql) и в getTaskStatsInPeriod
+        assertNoFullScan(plan("SELECT COUNT(*) FROM task_statistics ts JOIN task t ON t.id = ts.task_id "
+                + "WHERE t.user_id = :userId AND ts.completion_time BETWEEN :startTime AND :endTime"));
+    }
+
+    private String plan(String sql) {
+        Set<String> params = new LinkedHashSet<>();
+        Matcher matcher = NAMED_PARAM.matcher(sql);
+        while (matcher.find()) params.add(matcher.group(1));
+        // Именованные параметры нумеруются по первому вхождению, значения для плана не важны
+        Object[] args = new Object[params.size()];
+        Arrays.fill(args, 1);
+
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + sql, args))) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) plan.append(cursor.getString(detail)).append('\n');
+        }
+        return plan.toString();
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan, plan.contains("INDEX " + indexName + " "));
+    }
+
+    private static void assertNoFullScan(String plan) {
+        for (String line : plan.split("\n")) {
+            // "SCAN t" без индекса - полный проход таблицы
+            assertFalse(plan, line.startsWith("SCAN ") && !line.contains("INDEX"));
+        }
+    }
+}
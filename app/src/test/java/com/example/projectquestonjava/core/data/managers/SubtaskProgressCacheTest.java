@@ -0,0 +1,144 @@
+package com.example.projectquestonjava.core.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Observer;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.dao.SubtaskRelationDao;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.SubtaskRelation;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Кеш свертки подзадач: промахи читаются один раз, запись в task или subtask_relation сбрасывает кеш. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class SubtaskProgressCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final AtomicInteger progressQueries = new AtomicInteger();
+
+    private AppDatabase db;
+    private DatasetSeeder.Dataset dataset;
+    private SubtaskProgressCache cache;
+    private long parent;
+    private long done;
+    private long todo;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        dataset = new DatasetSeeder(db).seedProfile();
+        SubtaskRelationDao realDao = db.subtaskRelationDao();
+        SubtaskRelationDao countingDao = (SubtaskRelationDao) Proxy.newProxyInstance(
+                SubtaskRelationDao.class.getClassLoader(), new Class<?>[]{SubtaskRelationDao.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getSubtaskProgressSync")) progressQueries.incrementAndGet();
+                    try {
+                        return method.invoke(realDao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        cache = new SubtaskProgressCache(db, countingDao, new NoOpLogger());
+
+        parent = insertTask("parent", TaskStatus.TODO);
+        done = insertTask("done", TaskStatus.DONE);
+        todo = insertTask("todo", TaskStatus.TODO);
+        realDao.insertSubtaskRelationSync(new SubtaskRelation(parent, done, 0));
+        realDao.insertSubtaskRelationSync(new SubtaskRelation(parent, todo, 1));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void secondRead_isServedFromCache_includingTasksWithoutSubtasks() {
+        Map<Long, Float> first = cache.getProgressSync(List.of(parent, done));
+        Map<Long, Float> second = cache.getProgressSync(List.of(parent, done));
+
+        assertEquals(0.5f, first.get(parent), 0f);
+        assertFalse(first.containsKey(done));
+        assertEquals(first, second);
+        assertEquals(1, progressQueries.get());
+    }
+
+    @Test
+    public void childStatusChange_isVisibleOnNextRead() {
+        cache.getProgressSync(List.of(parent));
+
+        db.taskDao().updateTaskStatusSync(todo, dataset.userId(), TaskStatus.DONE, NOW);
+
+        assertEquals(1f, cache.getProgressSync(List.of(parent)).get(parent), 0f);
+        assertEquals(2, progressQueries.get());
+    }
+
+    @Test
+    public void relationDelete_isVisibleOnNextRead() {
+        cache.getProgressSync(List.of(parent));
+
+        db.subtaskRelationDao().deleteSubtaskRelationSync(new SubtaskRelation(parent, todo, 1));
+
+        assertEquals(1f, cache.getProgressSync(List.of(parent)).get(parent), 0f);
+    }
+
+    @Test
+    public void relationOnlyWrite_isPublishedAsInvalidation() {
+        List<Integer> invalidations = new ArrayList<>();
+        Observer<Integer> observer = invalidations::add;
+        cache.getInvalidations().observeForever(observer);
+        // Сбросы от вставок в setUp уже доставлены при подписке
+        invalidations.clear();
+        try {
+            // Запросы списков задач смотрят на task, но не на subtask_relation: им нужен отдельный сигнал
+            db.subtaskRelationDao().deleteSubtaskRelationSync(new SubtaskRelation(parent, todo, 1));
+
+            assertEquals(1, invalidations.size());
+        } finally {
+            cache.getInvalidations().removeObserver(observer);
+        }
+    }
+
+    @Test
+    public void unrelatedTaskWrite_alsoFlushesCache() {
+        // Известное ограничение: InvalidationTracker сообщает только таблицу, поэтому
+        // правка любой задачи (не только статуса подзадачи) сбрасывает кеш целиком
+        cache.getProgressSync(List.of(parent));
+
+        insertTask("unrelated", TaskStatus.TODO);
+        cache.getProgressSync(List.of(parent));
+
+        assertEquals(2, progressQueries.get());
+    }
+
+    private long insertTask(String title, TaskStatus status) {
+        return db.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                title, "", NOW, status, NOW, NOW));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.projectquestonjava.core.data.model.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import android.database.Cursor;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.data.search.FtsMatchExpression;
+import com.example.projectquestonjava.core.data.search.TaskSearchMatch;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Триггеры task_fts держат индекс в согласии с task, связями тегов и именами тегов. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class TaskFtsSqlTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private AppDatabase db;
+    private DatasetSeeder.Dataset dataset;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        dataset = new DatasetSeeder(db).seedProfile();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void taskInsert_indexesTitleAndDescription() {
+        long taskId = insertTask("Отчет за квартал", "Собрать цифры");
+
+        String[] row = ftsRow(taskId);
+        assertEquals("Отчет за квартал", row[0]);
+        assertEquals("Собрать цифры", row[1]);
+        assertNull(row[2]);
+    }
+
+    @Test
+    public void taskUpdate_replacesIndexedText() {
+        long taskId = insertTask("Отчет", "Черновик");
+
+        db.taskDao().updateTaskSync(task(taskId, "Презентация", "Слайды"));
+
+        String[] row = ftsRow(taskId);
+        assertEquals("Презентация", row[0]);
+        assertEquals("Слайды", row[1]);
+        assertTrue(search("отчет").isEmpty());
+        assertEquals(List.of(taskId), search("през"));
+    }
+
+    @Test
+    public void taskDelete_removesIndexRow() throws Exception {
+        long taskId = insertTask("Отчет", "");
+
+        db.taskDao().deleteTaskById(taskId, dataset.userId()).get();
+
+        assertNull(ftsRow(taskId));
+        assertTrue(search("отчет").isEmpty());
+    }
+
+    @Test
+    public void tagLinkAndUnlink_refreshTagNames() {
+        long taskId = insertTask("Отчет", "");
+        long work = db.tagDao().insertTagSync(new Tag("Работа", "#FFFFFF"));
+        long urgent = db.tagDao().insertTagSync(new Tag("Срочно", "#FF0000"));
+
+        db.taskTagCrossRefDao().insertAllTaskTagSync(List.of(
+                new TaskTagCrossRef(taskId, work), new TaskTagCrossRef(taskId, urgent)));
+        String tagNames = ftsRow(taskId)[2];
+        assertTrue(tagNames, tagNames.contains("Работа") && tagNames.contains("Срочно"));
+        assertEquals(List.of(taskId), search("сроч"));
+
+        db.taskTagCrossRefDao().deleteTaskTagsByTaskIdSync(taskId);
+        assertNull(ftsRow(taskId)[2]);
+        assertTrue(search("сроч").isEmpty());
+    }
+
+    @Test
+    public void tagRename_refreshesLinkedTasksOnly() {
+        long linked = insertTask("Отчет", "");
+        long other = insertTask("Звонок", "");
+        long tagId = db.tagDao().insertTagSync(new Tag("Работа", "#FFFFFF"));
+        db.taskTagCrossRefDao().insertAllTaskTagSync(List.of(new TaskTagCrossRef(linked, tagId)));
+
+        db.getOpenHelper().getWritableDatabase().execSQL(
+                "UPDATE tags SET name = ? WHERE id = ?", new Object[]{"Офис", tagId});
+
+        assertEquals("Офис", ftsRow(linked)[2]);
+        assertNull(ftsRow(other)[2]);
+        assertEquals(List.of(linked), search("офис"));
+        assertTrue(search("работа").isEmpty());
+    }
+
+    @Test
+    public void cyrillicPrefix_matchesRegardlessOfCase() {
+        long report = insertTask("ОТЧЕТ по проекту", "");
+        insertTask("Отпуск", "");
+
+        assertEquals(List.of(report), search("отч"));
+        assertEquals(List.of(report), search("Отч Про"));
+        assertEquals(2, search("от").size());
+    }
+
+    @Test
+    public void rebuild_matchesTriggerMaintainedIndex() {
+        long taskId = insertTask("Отчет", "Цифры");
+        long tagId = db.tagDao().insertTagSync(new Tag("Работа", "#FFFFFF"));
+        db.taskTagCrossRefDao().insertAllTaskTagSync(List.of(new TaskTagCrossRef(taskId, tagId)));
+        String[] before = ftsRow(taskId);
+
+        db.runInTransaction(() -> TaskFtsSql.rebuild(db.getOpenHelper().getWritableDatabase()));
+
+        String[] after = ftsRow(taskId);
+        for (int i = 0; i < before.length; i++) assertEquals(before[i], after[i]);
+    }
+
+    private long insertTask(String title, String description) {
+        return db.taskDao().insertTaskSync(task(0, title, description));
+    }
+
+    private Task task(long id, String title, String description) {
+        return new Task(id, dataset.userId(), dataset.workspaceId(), title, description, NOW, TaskStatus.TODO, NOW, NOW);
+    }
+
+    private List<Long> search(String text) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskSearchMatch match : db.taskSearchDao().matchSync(FtsMatchExpression.from(text), dataset.userId())) {
+            ids.add(match.getTaskId());
+        }
+        return ids;
+    }
+
+    // title, description, tag_names строки индекса или null, если строки нет
+    private String[] ftsRow(long taskId) {
+        try (Cursor cursor = db.query("SELECT title, description, tag_names FROM task_fts WHERE rowid = ?",
+                new Object[]{taskId})) {
+            if (!cursor.moveToFirst()) return null;
+            return new String[]{cursor.getString(0), cursor.getString(1), cursor.getString(2)};
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.projectquestonjava.core.data.paging;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class KeysetPageWindowTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 3;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    // Лента 100..1 по убыванию: значение служит и ключом, и содержимым
+    private final ListSource source = new ListSource(100);
+
+    @Test
+    public void refresh_loadsHeadPage() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+
+        assertEquals(range(100, 91), window.getItems().getValue());
+    }
+
+    @Test
+    public void scrollingDown_appendsOlderPagesAndDropsHead() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+
+        scrollToEnd(window, 4);
+
+        // Окно ограничено MAX_PAGES страницами: голова отброшена
+        assertEquals(range(80, 51), window.getItems().getValue());
+    }
+
+    @Test
+    public void scrollingBackUp_restoresNewerPages() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+        scrollToEnd(window, 4);
+
+        window.onItemVisible(0);
+        assertEquals(range(90, 61), window.getItems().getValue());
+        window.onItemVisible(0);
+        assertEquals(range(100, 71), window.getItems().getValue());
+
+        // Пустой ответ отмечает голову ленты, после этого запросы новее не идут
+        window.onItemVisible(0);
+        assertEquals(range(100, 71), window.getItems().getValue());
+        int requests = source.newerRequests;
+        window.onItemVisible(0);
+        assertEquals(requests, source.newerRequests);
+    }
+
+    @Test
+    public void scrollingDown_stopsAtEndOfFeed() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+
+        scrollToEnd(window, 20);
+
+        assertEquals(range(30, 1), window.getItems().getValue());
+        int requests = source.olderRequests;
+        window.onItemVisible(window.getItems().getValue().size() - 1);
+        assertEquals(requests, source.olderRequests);
+    }
+
+    @Test
+    public void refresh_dropsResponsesOfEarlierGeneration() {
+        SettableFuture<List<Integer>> pendingOlder = SettableFuture.create();
+        source.nextOlder = pendingOlder;
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+        window.onItemVisible(PAGE_SIZE - 1);
+
+        window.refresh();
+        pendingOlder.set(range(90, 81));
+
+        assertEquals(range(100, 91), window.getItems().getValue());
+    }
+
+    @Test
+    public void headChanged_atHead_prependsNewEntriesWithoutReset() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+        window.onItemVisible(PAGE_SIZE - 1);
+
+        source.prepend(101);
+        source.prepend(102);
+        window.onHeadChanged();
+
+        assertEquals(range(102, 81), window.getItems().getValue());
+        assertEquals(1, source.headRequests);
+    }
+
+    @Test
+    public void headChanged_awayFromHead_waitsForScrollUp() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+        scrollToEnd(window, 4);
+
+        source.prepend(101);
+        window.onHeadChanged();
+        assertEquals(range(80, 51), window.getItems().getValue());
+        assertEquals(0, source.newerRequests);
+
+        window.onItemVisible(0);
+        window.onItemVisible(0);
+        window.onItemVisible(0);
+        // Короткая страница с новой записью тоже считается страницей окна
+        assertEquals(range(101, 81), window.getItems().getValue());
+    }
+
+    @Test
+    public void headChanged_whileLoadingNewer_checksHeadAgain() {
+        KeysetPageWindow<Integer> window = newWindow();
+        window.refresh();
+        SettableFuture<List<Integer>> pendingNewer = SettableFuture.create();
+        source.nextNewer = pendingNewer;
+        source.prepend(101);
+        window.onHeadChanged();
+
+        // Запись пришла после того, как запрос новее уже прочитал таблицу
+        source.prepend(102);
+        window.onHeadChanged();
+        pendingNewer.set(List.of(101));
+
+        assertEquals(range(102, 91), window.getItems().getValue());
+        assertEquals(2, source.newerRequests);
+    }
+
+    @Test
+    public void headChanged_onEmptyWindow_refreshes() {
+        ListSource empty = new ListSource(0);
+        KeysetPageWindow<Integer> window =
+                new KeysetPageWindow<>(empty, PAGE_SIZE, MAX_PAGES, 2, MoreExecutors.directExecutor());
+        window.refresh();
+        assertEquals(List.of(), window.getItems().getValue());
+
+        empty.prepend(1);
+        window.onHeadChanged();
+
+        assertEquals(List.of(1), window.getItems().getValue());
+        assertEquals(2, empty.headRequests);
+    }
+
+    @Test
+    public void failedHeadLoad_publishesEmptyWindow() {
+        source.failHead = true;
+        KeysetPageWindow<Integer> window = newWindow();
+
+        window.refresh();
+
+        assertEquals(List.of(), window.getItems().getValue());
+    }
+
+    private KeysetPageWindow<Integer> newWindow() {
+        return new KeysetPageWindow<>(source, PAGE_SIZE, MAX_PAGES, 2, MoreExecutors.directExecutor());
+    }
+
+    private static void scrollToEnd(KeysetPageWindow<Integer> window, int times) {
+        for (int i = 0; i < times; i++) {
+            window.onItemVisible(window.getItems().getValue().size() - 1);
+        }
+    }
+
+    private static List<Integer> range(int fromInclusive, int toInclusive) {
+        return IntStream.iterate(fromInclusive, v -> v >= toInclusive, v -> v - 1).boxed().collect(Collectors.toList());
+    }
+
+    private static final class ListSource implements KeysetPageWindow.PageSource<Integer> {
+        private final List<Integer> descending;
+        SettableFuture<List<Integer>> nextOlder;
+        SettableFuture<List<Integer>> nextNewer;
+        boolean failHead;
+        int headRequests;
+        int olderRequests;
+        int newerRequests;
+
+        ListSource(int size) {
+            descending = new ArrayList<>(range(size, 1));
+        }
+
+        void prepend(int value) {
+            descending.add(0, value);
+        }
+
+        @Override
+        public ListenableFuture<List<Integer>> loadHead(int limit) {
+            headRequests++;
+            if (failHead) return Futures.immediateFailedFuture(new IllegalStateException("head failed"));
+            return Futures.immediateFuture(new ArrayList<>(descending.subList(0, Math.min(limit, descending.size()))));
+        }
+
+        @Override
+        public ListenableFuture<List<Integer>> loadOlder(@NonNull Integer anchor, int limit) {
+            olderRequests++;
+            if (nextOlder != null) {
+                SettableFuture<List<Integer>> future = nextOlder;
+                nextOlder = null;
+                return future;
+            }
+            return Futures.immediateFuture(descending.stream().filter(v -> v < anchor).limit(limit).collect(Collectors.toList()));
+        }
+
+        @Override
+        public ListenableFuture<List<Integer>> loadNewer(@NonNull Integer anchor, int limit) {
+            newerRequests++;
+            if (nextNewer != null) {
+                SettableFuture<List<Integer>> future = nextNewer;
+                nextNewer = null;
+                return future;
+            }
+            return Futures.immediateFuture(descending.stream().filter(v -> v > anchor).sorted().limit(limit).collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.projectquestonjava.core.data.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.domain.model.PriorityResolution;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.testing.TestFixtures;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PriorityResolverImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    // Часы зафиксированы, чтобы resolve и resolveAll видели один и тот же момент
+    private final DateTimeUtils dateTimeUtils = new DateTimeUtils(ZoneOffset.UTC) {
+        @Override
+        public LocalDateTime currentLocalDateTime() {
+            return NOW;
+        }
+    };
+    private final PriorityResolverImpl resolver = TestFixtures.priorityResolver(dateTimeUtils);
+
+    @Test
+    public void resolveAll_matchesResolvePerTask() {
+        List<Task> tasks = new ArrayList<>();
+        long id = 1;
+        for (int minutes = -180; minutes <= 24 * 60; minutes += 7) {
+            for (TaskStatus status : TaskStatus.values()) {
+                LocalDateTime due = NOW.plusMinutes(minutes).plusSeconds(30);
+                tasks.add(new Task(id++, 1, 1L, "t", "", due, status, NOW, NOW));
+            }
+        }
+
+        PriorityResolution resolution = resolver.resolveAll(tasks);
+
+        for (Task task : tasks) {
+            assertEquals("task " + task.getId() + " due " + task.getDueDate() + " " + task.getStatus(),
+                    resolver.resolve(task.getDueDate(), task.getStatus()), resolution.getPriority(task.getId()));
+        }
+    }
+
+    @Test
+    public void resolveAll_nextChangeAtIsEarliestBoundary() {
+        // До порога критичности (30 минут) остается 10 минут
+        Task task = new Task(1, 1, 1L, "t", "", NOW.plusMinutes(40), TaskStatus.TODO, NOW, NOW);
+
+        PriorityResolution resolution = resolver.resolveAll(List.of(task));
+
+        assertNotNull(resolution.getNextChangeAt());
+        assertFalse(resolution.getNextChangeAt().isBefore(NOW));
+        assertFalse(resolution.getNextChangeAt().isAfter(NOW.plusMinutes(11)));
+    }
+
+    @Test
+    public void millisUntilNextChange_landsOnOrAfterBoundary() {
+        Task task = new Task(1, 1, 1L, "t", "", NOW.plusMinutes(40), TaskStatus.TODO, NOW, NOW);
+        PriorityResolution resolution = resolver.resolveAll(List.of(task));
+
+        // Таймер, выставленный на это время, должен уже видеть новый приоритет
+        LocalDateTime firedAt = NOW.plus(Duration.ofMillis(resolution.millisUntilNextChange(NOW)));
+        assertFalse(firedAt.isBefore(resolution.getNextChangeAt()));
+        assertEquals(-1, PriorityResolution.EMPTY.millisUntilNextChange(NOW));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.projectquestonjava.core.data.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class FtsMatchExpressionTest {
+
+    @Test
+    public void from_turnsWordsIntoPrefixTerms() {
+        assertEquals("отч* за* q3*", FtsMatchExpression.from("  Отч за Q3"));
+        assertEquals("a bc*", FtsMatchExpression.from("a bc"));
+    }
+
+    @Test
+    public void from_stripsFtsSyntax() {
+        assertEquals("foo* or* bar*", FtsMatchExpression.from("\"foo\" OR bar*"));
+        assertEquals("title* x", FtsMatchExpression.from("title:x -"));
+        assertNull(FtsMatchExpression.from(" *\"- "));
+        assertNull(FtsMatchExpression.from(null));
+    }
+}
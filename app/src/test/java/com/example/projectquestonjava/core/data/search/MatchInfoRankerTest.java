@@ -0,0 +1,44 @@
+package com.example.projectquestonjava.core.data.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.Test;
+
+public class MatchInfoRankerTest {
+
+    @Test
+    public void score_prefersTitleAndRareTerms() {
+        // 1 фраза, 3 колонки, 100 строк; совпадение в названии против совпадения в описании
+        double inTitle = MatchInfoRanker.score(matchInfo(1, 3, 100, 1, 5, 5, 0, 0, 0, 0, 0, 0));
+        double inDescription = MatchInfoRanker.score(matchInfo(1, 3, 100, 0, 0, 0, 1, 5, 5, 0, 0, 0));
+        double commonInTitle = MatchInfoRanker.score(matchInfo(1, 3, 100, 1, 90, 90, 0, 0, 0, 0, 0, 0));
+        assertTrue(inTitle > inDescription);
+        assertTrue(inTitle > commonInTitle);
+    }
+
+    @Test
+    public void score_sumsOverPhrases() {
+        // 2 фразы, 1 колонка: обе в строке дают больше, чем одна
+        double both = MatchInfoRanker.score(matchInfo(2, 1, 10, 1, 2, 2, 1, 2, 2));
+        double one = MatchInfoRanker.score(matchInfo(2, 1, 10, 1, 2, 2, 0, 2, 2));
+        assertTrue(both > one);
+        assertTrue(one > 0);
+    }
+
+    @Test
+    public void score_isZeroForMalformedMatchInfo() {
+        assertEquals(0, MatchInfoRanker.score(new byte[0]), 0);
+        assertEquals(0, MatchInfoRanker.score(null), 0);
+        // Заголовок обещает 1x3 пары, а данных нет
+        assertEquals(0, MatchInfoRanker.score(matchInfo(1, 3, 100)), 0);
+    }
+
+    private static byte[] matchInfo(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.nativeOrder());
+        for (int v : values) buffer.putInt(v);
+        return buffer.array();
+    }
+}
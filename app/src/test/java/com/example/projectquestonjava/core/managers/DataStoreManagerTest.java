@@ -0,0 +1,179 @@
+package com.example.projectquestonjava.core.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.datastore.preferences.core.Preferences;
+import androidx.datastore.rxjava3.RxDataStore;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import com.example.projectquestonjava.feature.gamification.data.managers.GamificationDataStoreManager;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Снимок настроек: синхронные геттеры сессии видят записи сразу, потоки по ключу общие. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class DataStoreManagerTest {
+
+    @Rule(order = 0)
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Rule(order = 1)
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    @Inject DataStoreManager dataStoreManager;
+    @Inject RxDataStore<Preferences> dataStore;
+    @Inject UserSessionManager userSessionManager;
+    @Inject WorkspaceSessionManager workspaceSessionManager;
+    @Inject GamificationDataStoreManager gamificationDataStoreManager;
+
+    @Before
+    public void setUp() {
+        hiltRule.inject();
+    }
+
+    @Test
+    public void syncGetters_returnDefaultsOnEmptyStore() {
+        assertEquals(UserSessionManager.NO_USER_ID, userSessionManager.getUserIdSync());
+        assertEquals(WorkspaceSessionManager.NO_WORKSPACE_ID, workspaceSessionManager.getWorkspaceIdSync());
+    }
+
+    @Test
+    public void write_isVisibleToSyncGetterImmediately() throws Exception {
+        userSessionManager.saveUserIdAsync(7).get();
+        assertEquals(7, userSessionManager.getUserIdSync());
+
+        userSessionManager.clearUserIdAsync().get();
+        assertEquals(UserSessionManager.NO_USER_ID, userSessionManager.getUserIdSync());
+    }
+
+    @Test
+    public void batchWrite_updatesAllKeysInSnapshot() throws Exception {
+        Map<Preferences.Key<?>, Object> values = Map.of(
+                UserSessionManager.USER_ID_KEY, 3,
+                WorkspaceSessionManager.WORKSPACE_ID_KEY, 11L);
+        userSessionManager.saveSessionValuesAsync(values).get();
+
+        assertEquals(3, userSessionManager.getUserIdSync());
+        assertEquals(11L, workspaceSessionManager.getWorkspaceIdSync());
+        assertEquals(Long.valueOf(11L), workspaceSessionManager.getWorkspaceIdFuture().get());
+
+        userSessionManager.clearSessionValuesAsync(
+                List.of(UserSessionManager.USER_ID_KEY, WorkspaceSessionManager.WORKSPACE_ID_KEY)).get();
+        assertEquals(UserSessionManager.NO_USER_ID, userSessionManager.getUserIdSync());
+        assertEquals(WorkspaceSessionManager.NO_WORKSPACE_ID, workspaceSessionManager.getWorkspaceIdSync());
+    }
+
+    @Test
+    public void staleState_doesNotOverwriteNewerSnapshot() throws Exception {
+        userSessionManager.saveUserIdAsync(1).get();
+        Preferences stale = currentPreferences();
+        userSessionManager.saveUserIdAsync(2).get();
+
+        // Опоздавшая эмиссия data() или колбэк предыдущей записи
+        dataStoreManager.publishSnapshot(stale);
+
+        assertEquals(2, userSessionManager.getUserIdSync());
+    }
+
+    @Test
+    public void everyWrite_bumpsVersion() throws Exception {
+        long before = DataStoreManager.versionOf(currentPreferences());
+
+        userSessionManager.saveUserIdAsync(4).get();
+        userSessionManager.clearUserIdAsync().get();
+
+        assertEquals(before + 2, DataStoreManager.versionOf(currentPreferences()));
+    }
+
+    @Test
+    public void preferenceLiveData_emitsWrittenValue() throws Exception {
+        LiveData<Long> workspaceId = workspaceSessionManager.getWorkspaceIdLiveData();
+        CountDownLatch written = new CountDownLatch(1);
+        Observer<Long> observer = value -> {
+            if (Objects.equals(value, 5L)) written.countDown();
+        };
+        workspaceId.observeForever(observer);
+        try {
+            workspaceSessionManager.saveWorkspaceIdAsync(5L).get();
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+        } finally {
+            workspaceId.removeObserver(observer);
+        }
+    }
+
+    @Test
+    public void gamificationSessionValues_areWrittenAndClearedThroughAccessors() throws Exception {
+        Map<Preferences.Key<?>, Object> values = new HashMap<>();
+        values.put(UserSessionManager.USER_ID_KEY, 3);
+        gamificationDataStoreManager.putSessionValues(values, 21L, 34L);
+        userSessionManager.saveSessionValuesAsync(values).get();
+
+        assertEquals(21L, gamificationDataStoreManager.getGamificationIdSync());
+        assertEquals(34L, gamificationDataStoreManager.getSelectedPlantIdSync());
+
+        userSessionManager.clearSessionValuesAsync(gamificationDataStoreManager.getSessionKeys()).get();
+        assertEquals(-1L, gamificationDataStoreManager.getGamificationIdSync());
+        assertEquals(-1L, gamificationDataStoreManager.getSelectedPlantIdSync());
+        assertEquals(3, userSessionManager.getUserIdSync());
+    }
+
+    private Preferences currentPreferences() {
+        return dataStore.data().blockingFirst();
+    }
+
+    @Test
+    public void retryWithBackoff_resubscribesInsteadOfFailing() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flowable<Integer> source = Flowable.defer(() -> subscriptions.incrementAndGet() <= 2
+                ? Flowable.error(new IOException("read failed"))
+                : Flowable.just(42));
+
+        TestSubscriber<Integer> subscriber =
+                DataStoreManager.retryWithBackoff(source, scheduler, new NoOpLogger()).test();
+        subscriber.assertNoValues().assertNoErrors();
+        assertEquals(1, subscriptions.get());
+
+        scheduler.advanceTimeBy(499, TimeUnit.MILLISECONDS);
+        assertEquals(1, subscriptions.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(2, subscriptions.get());
+
+        // Вторая ошибка подряд - задержка удваивается
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        assertEquals(2, subscriptions.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        subscriber.assertValue(42).assertNoErrors();
+    }
+
+    @Test
+    public void backoffDelay_doublesUpToCap() {
+        assertEquals(500, DataStoreManager.backoffDelayMillis(0));
+        assertEquals(1000, DataStoreManager.backoffDelayMillis(1));
+        assertEquals(16_000, DataStoreManager.backoffDelayMillis(5));
+        assertEquals(30_000, DataStoreManager.backoffDelayMillis(6));
+        assertEquals(30_000, DataStoreManager.backoffDelayMillis(100));
+    }
+}
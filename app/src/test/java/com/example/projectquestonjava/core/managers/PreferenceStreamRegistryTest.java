@@ -0,0 +1,40 @@
+package com.example.projectquestonjava.core.managers;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import androidx.lifecycle.LiveData;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Потоки настроек общие: одна LiveData на (ключ, значение по умолчанию) на весь процесс. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class PreferenceStreamRegistryTest {
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject DataStoreManager dataStoreManager;
+
+    @Before
+    public void setUp() {
+        hiltRule.inject();
+    }
+
+    @Test
+    public void preferenceLiveData_isSharedPerKeyAndDefault() {
+        LiveData<Long> first = dataStoreManager.getPreferenceLiveData(WorkspaceSessionManager.WORKSPACE_ID_KEY, 0L);
+        LiveData<Long> second = dataStoreManager.getPreferenceLiveData(WorkspaceSessionManager.WORKSPACE_ID_KEY, 0L);
+        LiveData<Long> otherDefault = dataStoreManager.getPreferenceLiveData(WorkspaceSessionManager.WORKSPACE_ID_KEY, -1L);
+
+        assertSame(first, second);
+        assertNotSame(first, otherDefault);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.projectquestonjava.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.app.Application;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+// Robolectric: logback-android читает конфигурацию из assets
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class Slf4jLoggerTest {
+
+    private static final String TAG = "Slf4jLoggerTest";
+
+    @Test
+    public void debugDisabled_supplierIsNotInvoked() {
+        Logger logger = new Slf4jLogger(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        logger.debug(TAG, () -> "message " + calls.incrementAndGet());
+
+        assertFalse(logger.isDebugEnabled(TAG));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void debugDisabled_parameterizedArgumentsAreNotFormatted() {
+        Logger logger = new Slf4jLogger(false);
+        AtomicInteger formatted = new AtomicInteger();
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "arg";
+            }
+        };
+
+        logger.debug(TAG, "value={}", arg);
+        logger.debug(TAG, "values={}, {}", arg, arg);
+
+        assertEquals(0, formatted.get());
+    }
+
+    @Test
+    public void infoSupplier_followsLevelCheck() {
+        Logger logger = new Slf4jLogger(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        logger.info(TAG, () -> "message " + calls.incrementAndGet());
+
+        assertEquals(logger.isInfoEnabled(TAG) ? 1 : 0, calls.get());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.projectquestonjava.feature.gamification.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import com.example.projectquestonjava.feature.gamification.domain.model.GamificationEvent;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Индекс правил: только активные челленджи, битые условия не совпадают, запись в таблицы сбрасывает снимок. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class ChallengeRuleIndexTest {
+
+    private AppDatabase db;
+    private ChallengeRuleIndex index;
+    private long rewardId;
+
+    @Before
+    public void setUp() throws Exception {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        index = new ChallengeRuleIndex(db, db.challengeDao(), new NoOpLogger());
+        rewardId = db.rewardDao().insert(new Reward("Монеты", "", RewardType.COINS, "10")).get();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void snapshot_groupsActiveRulesByType() throws Exception {
+        long active = insertChallenge(ChallengeStatus.ACTIVE);
+        long taskRule = insertRule(active, ChallengeType.TASK_COMPLETION, null);
+        long pomodoroRule = insertRule(active, ChallengeType.POMODORO_SESSION, "{\"minDurationMinutes\": 25}");
+        long inactive = insertChallenge(ChallengeStatus.COMPLETED);
+        insertRule(inactive, ChallengeType.TASK_COMPLETION, null);
+
+        ChallengeRuleIndex.Snapshot snapshot = index.getSnapshotSync();
+
+        assertEquals(List.of(taskRule), ruleIds(snapshot.getRulesForType(ChallengeType.TASK_COMPLETION)));
+        assertEquals(List.of(pomodoroRule), ruleIds(snapshot.getRulesForType(ChallengeType.POMODORO_SESSION)));
+        assertTrue(snapshot.getRulesForType(ChallengeType.DAILY_STREAK).isEmpty());
+        assertEquals(2, snapshot.getRulesForChallenge(active).size());
+        assertNull(snapshot.getChallenge(inactive));
+    }
+
+    @Test
+    public void malformedCondition_compilesToNeverMatching() throws Exception {
+        long challengeId = insertChallenge(ChallengeStatus.ACTIVE);
+        insertRule(challengeId, ChallengeType.TASK_COMPLETION, "{\"tags\": [");
+
+        List<ChallengeRuleIndex.IndexedRule> rules = index.getSnapshotSync().getRulesForType(ChallengeType.TASK_COMPLETION);
+
+        // Битое правило остается в индексе (для проверки завершения челленджа), но событие ему не подходит
+        assertEquals(1, rules.size());
+        assertFalse(rules.get(0).getCondition().matches(
+                new GamificationEvent.TaskCompleted(1L, List.of(new Tag("work", "#fff")))));
+    }
+
+    @Test
+    public void snapshot_isCachedUntilTablesChange() throws Exception {
+        long challengeId = insertChallenge(ChallengeStatus.ACTIVE);
+        insertRule(challengeId, ChallengeType.TASK_COMPLETION, null);
+        ChallengeRuleIndex.Snapshot first = index.getSnapshotSync();
+
+        assertSame(first, index.getSnapshotSync());
+
+        long added = insertRule(challengeId, ChallengeType.DAILY_STREAK, "{\"exactStreak\": 3}");
+
+        ChallengeRuleIndex.Snapshot rebuilt = index.getSnapshotSync();
+        assertNotSame(first, rebuilt);
+        assertEquals(List.of(added), ruleIds(rebuilt.getRulesForType(ChallengeType.DAILY_STREAK)));
+    }
+
+    @Test
+    public void completedChallenge_dropsOutOfIndex() throws Exception {
+        long challengeId = insertChallenge(ChallengeStatus.ACTIVE);
+        insertRule(challengeId, ChallengeType.TASK_COMPLETION, null);
+        assertEquals(1, index.getSnapshotSync().getRulesForType(ChallengeType.TASK_COMPLETION).size());
+
+        db.challengeDao().updateChallengeStatus(challengeId, ChallengeStatus.COMPLETED).get();
+
+        ChallengeRuleIndex.Snapshot snapshot = index.getSnapshotSync();
+        assertTrue(snapshot.getRulesForType(ChallengeType.TASK_COMPLETION).isEmpty());
+        assertNull(snapshot.getChallenge(challengeId));
+    }
+
+    @Test
+    public void explicitInvalidate_rebuildsSnapshot() {
+        ChallengeRuleIndex.Snapshot first = index.getSnapshotSync();
+
+        index.invalidate();
+
+        assertNotSame(first, index.getSnapshotSync());
+    }
+
+    private long insertChallenge(ChallengeStatus status) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        return db.challengeDao().insertChallenge(new Challenge("Челлендж", "", now.minusDays(1), now.plusDays(30),
+                rewardId, status, ChallengePeriod.ONCE)).get();
+    }
+
+    private long insertRule(long challengeId, ChallengeType type, String conditionJson) throws Exception {
+        return db.challengeDao().insertRule(new ChallengeRule(challengeId, type, 1, conditionJson, ChallengePeriod.ONCE)).get();
+    }
+
+    private static List<Long> ruleIds(List<ChallengeRuleIndex.IndexedRule> rules) {
+        List<Long> ids = new ArrayList<>(rules.size());
+        for (ChallengeRuleIndex.IndexedRule rule : rules) ids.add(rule.getRule().getId());
+        return ids;
+    }
+}
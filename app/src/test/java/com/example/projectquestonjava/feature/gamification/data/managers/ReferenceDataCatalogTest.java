@@ -0,0 +1,107 @@
+package com.example.projectquestonjava.feature.gamification.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.app.Application;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.feature.gamification.data.dao.RewardDao;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Каталог справочников: снимок кешируется, а упавшая загрузка не залипает. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class ReferenceDataCatalogTest {
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger rewardReads = new AtomicInteger();
+
+    private AppDatabase db;
+    private ReferenceDataCatalog catalog;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        RewardDao realRewardDao = db.rewardDao();
+        // Первые failuresLeft чтений наград падают, как при ошибке диска
+        RewardDao rewardDao = (RewardDao) Proxy.newProxyInstance(
+                RewardDao.class.getClassLoader(), new Class<?>[]{RewardDao.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getAllSync")) {
+                        rewardReads.incrementAndGet();
+                        if (failuresLeft.getAndDecrement() > 0) throw new IllegalStateException("disk I/O error");
+                    }
+                    try {
+                        return method.invoke(realRewardDao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        catalog = new ReferenceDataCatalog(db, rewardDao, db.badgeDao(), db.streakRewardDefinitionDao(),
+                db.storeItemDao(), MoreExecutors.directExecutor(), new NoOpLogger());
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void loadedSnapshot_isServedFromMemory() throws Exception {
+        ReferenceDataCatalog.Snapshot first = catalog.get().get();
+        ReferenceDataCatalog.Snapshot second = catalog.get().get();
+
+        assertSame(first, second);
+        assertEquals(1, rewardReads.get());
+    }
+
+    @Test
+    public void failedLoad_isRetriedOnNextGet() throws Exception {
+        long rewardId = db.rewardDao().insert(new Reward("Монеты", "", RewardType.COINS, "10")).get();
+        failuresLeft.set(1);
+
+        try {
+            catalog.get().get();
+            fail("Первая загрузка должна упасть");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+
+        ReferenceDataCatalog.Snapshot snapshot = catalog.get().get();
+        assertEquals(2, rewardReads.get());
+        assertEquals("Монеты", snapshot.getReward(rewardId).getName());
+    }
+
+    @Test
+    public void tableWrite_invalidatesSnapshot() throws Exception {
+        ReferenceDataCatalog.Snapshot before = catalog.get().get();
+
+        long rewardId = db.rewardDao().insert(new Reward("Опыт", "", RewardType.EXPERIENCE, "5")).get();
+
+        ReferenceDataCatalog.Snapshot after = catalog.get().get();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals("Опыт", after.getReward(rewardId).getName());
+    }
+}
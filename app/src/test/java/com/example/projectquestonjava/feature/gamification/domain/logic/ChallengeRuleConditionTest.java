@@ -0,0 +1,106 @@
+package com.example.projectquestonjava.feature.gamification.domain.logic;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.app.Application;
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import com.example.projectquestonjava.feature.gamification.domain.model.GamificationEvent;
+import java.util.Collections;
+import java.util.List;
+import org.json.JSONException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Скомпилированные условия правил ведут себя так же, как прежний разбор conditionJson на каждое событие.
+ * Robolectric нужен из-за org.json: в android.jar для JVM-тестов только заглушки.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class ChallengeRuleConditionTest {
+
+    @Test
+    public void emptyCondition_matchesEveryEvent() throws Exception {
+        assertSame(ChallengeRuleCondition.ALWAYS, ChallengeRuleCondition.compile(null));
+        assertSame(ChallengeRuleCondition.ALWAYS, ChallengeRuleCondition.compile("  "));
+        assertTrue(ChallengeRuleCondition.ALWAYS.matches(taskCompleted(null)));
+        assertTrue(ChallengeRuleCondition.ALWAYS.matches(new GamificationEvent.PomodoroCompleted(1L, 1, null)));
+        assertTrue(ChallengeRuleCondition.ALWAYS.matches(new GamificationEvent.StreakUpdated(0)));
+    }
+
+    @Test
+    public void tags_matchIgnoringCase() throws Exception {
+        ChallengeRuleCondition condition = ChallengeRuleCondition.compile("{\"tags\": [\"Work\", \"urgent\"]}");
+
+        assertTrue(condition.matches(taskCompleted(List.of(new Tag("work", "#fff"), new Tag("URGENT", "#000")))));
+        assertTrue(condition.matches(taskCompleted(List.of(new Tag("WORK", "#fff"), new Tag("Urgent", "#000"), new Tag("home", "#ccc")))));
+        assertFalse(condition.matches(taskCompleted(List.of(new Tag("work", "#fff")))));
+    }
+
+    @Test
+    public void tags_doNotMatchTaskWithoutTags() throws Exception {
+        ChallengeRuleCondition condition = ChallengeRuleCondition.compile("{\"tags\": [\"work\"]}");
+
+        assertFalse(condition.matches(taskCompleted(null)));
+        assertFalse(condition.matches(taskCompleted(Collections.emptyList())));
+        // Без требований к тегам задача без тегов подходит
+        assertTrue(ChallengeRuleCondition.compile("{}").matches(taskCompleted(null)));
+    }
+
+    @Test
+    public void minDurationMinutes_comparesSessionSeconds() throws Exception {
+        ChallengeRuleCondition condition = ChallengeRuleCondition.compile("{\"minDurationMinutes\": 25}");
+
+        assertTrue(condition.matches(new GamificationEvent.PomodoroCompleted(1L, 25 * 60, null)));
+        assertTrue(condition.matches(new GamificationEvent.PomodoroCompleted(2L, 50 * 60, 7L)));
+        assertFalse(condition.matches(new GamificationEvent.PomodoroCompleted(3L, 25 * 60 - 1, null)));
+    }
+
+    @Test
+    public void minStreak_isLowerBound() throws Exception {
+        ChallengeRuleCondition condition = ChallengeRuleCondition.compile("{\"minStreak\": 7}");
+
+        assertFalse(condition.matches(new GamificationEvent.StreakUpdated(6)));
+        assertTrue(condition.matches(new GamificationEvent.StreakUpdated(7)));
+        assertTrue(condition.matches(new GamificationEvent.StreakUpdated(30)));
+    }
+
+    @Test
+    public void exactStreak_matchesOnlyThatValue() throws Exception {
+        ChallengeRuleCondition condition = ChallengeRuleCondition.compile("{\"exactStreak\": 3}");
+
+        assertFalse(condition.matches(new GamificationEvent.StreakUpdated(2)));
+        assertTrue(condition.matches(new GamificationEvent.StreakUpdated(3)));
+        assertFalse(condition.matches(new GamificationEvent.StreakUpdated(4)));
+    }
+
+    @Test
+    public void minAndExactStreak_mustBothHold() throws Exception {
+        ChallengeRuleCondition condition = ChallengeRuleCondition.compile("{\"minStreak\": 5, \"exactStreak\": 3}");
+
+        assertFalse(condition.matches(new GamificationEvent.StreakUpdated(3)));
+        assertFalse(condition.matches(new GamificationEvent.StreakUpdated(5)));
+    }
+
+    @Test
+    public void malformedJson_throwsAndNeverMatches() {
+        try {
+            ChallengeRuleCondition.compile("{\"tags\": [");
+            fail("Битый JSON должен приводить к JSONException");
+        } catch (JSONException expected) {
+            // ChallengeRuleIndex подставляет NEVER
+        }
+        assertFalse(ChallengeRuleCondition.NEVER.matches(taskCompleted(null)));
+        assertFalse(ChallengeRuleCondition.NEVER.matches(new GamificationEvent.PomodoroCompleted(1L, 3600, null)));
+        assertFalse(ChallengeRuleCondition.NEVER.matches(new GamificationEvent.StreakUpdated(100)));
+    }
+
+    private static GamificationEvent.TaskCompleted taskCompleted(List<Tag> tags) {
+        return new GamificationEvent.TaskCompleted(1L, tags);
+    }
+}
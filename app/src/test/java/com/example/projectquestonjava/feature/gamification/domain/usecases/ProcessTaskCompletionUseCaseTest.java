@@ -0,0 +1,148 @@
+package com.example.projectquestonjava.feature.gamification.domain.usecases;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.datastore.preferences.core.Preferences;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.core.managers.UserSessionManager;
+import com.example.projectquestonjava.feature.gamification.data.managers.GamificationDataStoreManager;
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
+import com.example.projectquestonjava.feature.gamification.data.model.GamificationChallengeProgress;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import com.example.projectquestonjava.feature.gamification.domain.model.TaskCompletionRequest;
+import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Пакетное завершение задач: награда челленджа попадает в запись истории задачи, которая его завершила. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class ProcessTaskCompletionUseCaseTest {
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject ProcessTaskCompletionUseCase processTaskCompletionUseCase;
+    @Inject UserSessionManager userSessionManager;
+    @Inject GamificationDataStoreManager gamificationDataStoreManager;
+
+    private DatasetSeeder.Dataset dataset;
+    private int initialCoins;
+
+    @Before
+    public void setUp() throws Exception {
+        hiltRule.inject();
+        dataset = new DatasetSeeder(database).seedProfile();
+        initialCoins = database.gamificationDao().getByIdSync(dataset.gamificationId()).getCoins();
+        Map<Preferences.Key<?>, Object> session = new HashMap<>();
+        session.put(UserSessionManager.USER_ID_KEY, dataset.userId());
+        gamificationDataStoreManager.putSessionValues(session, dataset.gamificationId(), -1L);
+        userSessionManager.saveSessionValuesAsync(session).get();
+    }
+
+    @Test
+    public void challengeReward_goesToTaskThatCompletedIt() throws Exception {
+        seedTaskCompletionChallenge(2);
+        List<Long> taskIds = insertTasks(3);
+
+        processTaskCompletionUseCase.execute(requests(taskIds)).get();
+
+        Map<Long, GamificationHistory> history = historyByTask();
+        assertEquals(3, history.size());
+        int base = history.get(taskIds.get(0)).getCoinsChange();
+        assertEquals(base, history.get(taskIds.get(2)).getCoinsChange());
+        assertTrue(history.get(taskIds.get(1)).getCoinsChange() > base);
+        assertProfileMatchesHistory(history);
+    }
+
+    @Test
+    public void challengeCompletedByFirstTask_isNotMovedToLastTask() throws Exception {
+        seedTaskCompletionChallenge(1);
+        List<Long> taskIds = insertTasks(3);
+
+        processTaskCompletionUseCase.execute(requests(taskIds)).get();
+
+        Map<Long, GamificationHistory> history = historyByTask();
+        int base = history.get(taskIds.get(2)).getCoinsChange();
+        assertEquals(base, history.get(taskIds.get(1)).getCoinsChange());
+        assertTrue(history.get(taskIds.get(0)).getCoinsChange() > base);
+        assertProfileMatchesHistory(history);
+    }
+
+    @Test
+    public void alreadyCompletedTasks_getNoHistory() throws Exception {
+        List<Long> taskIds = insertTasks(2);
+        processTaskCompletionUseCase.execute(requests(taskIds.subList(0, 1))).get();
+
+        processTaskCompletionUseCase.execute(requests(taskIds)).get();
+
+        Map<Long, GamificationHistory> history = historyByTask();
+        assertEquals(2, history.size());
+        assertEquals(history.get(taskIds.get(0)).getCoinsChange(), history.get(taskIds.get(1)).getCoinsChange());
+    }
+
+    // Челлендж из одного правила: завершить target задач
+    private void seedTaskCompletionChallenge(int target) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        long rewardId = database.rewardDao().insert(new Reward("Награда", "", RewardType.COINS, "40")).get();
+        long challengeId = database.challengeDao().insertChallenge(new Challenge("Завершить " + target, "",
+                now.minusDays(1), now.plusDays(30), rewardId, ChallengeStatus.ACTIVE, ChallengePeriod.ONCE)).get();
+        long ruleId = database.challengeDao().insertRule(new ChallengeRule(challengeId, ChallengeType.TASK_COMPLETION,
+                target, null, ChallengePeriod.ONCE)).get();
+        database.challengeDao().insertOrUpdateProgressListSync(List.of(
+                new GamificationChallengeProgress(dataset.gamificationId(), challengeId, ruleId)));
+    }
+
+    private List<Long> insertTasks(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(database.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                    "Задача " + i, "", now.plusHours(i + 1), TaskStatus.TODO, now, now)));
+        }
+        return ids;
+    }
+
+    private static List<TaskCompletionRequest> requests(List<Long> taskIds) {
+        List<TaskCompletionRequest> requests = new ArrayList<>(taskIds.size());
+        for (long taskId : taskIds) requests.add(new TaskCompletionRequest(taskId, Collections.emptyList()));
+        return requests;
+    }
+
+    private Map<Long, GamificationHistory> historyByTask() throws Exception {
+        Map<Long, GamificationHistory> byTask = new HashMap<>();
+        for (GamificationHistory entry : database.gamificationHistoryDao().getHistoryForGamification(dataset.gamificationId()).get()) {
+            byTask.put(entry.getRelatedEntityId(), entry);
+        }
+        return byTask;
+    }
+
+    // Записи истории в сумме дают изменение профиля
+    private void assertProfileMatchesHistory(Map<Long, GamificationHistory> history) {
+        int coins = initialCoins;
+        for (GamificationHistory entry : history.values()) coins += entry.getCoinsChange();
+        assertEquals(coins, database.gamificationDao().getByIdSync(dataset.gamificationId()).getCoins());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.projectquestonjava.feature.gamification.domain.usecases;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.projectquestonjava.core.context_scope.scope.UnitOfWork;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Tag;
+import com.example.projectquestonjava.core.utils.Logger;
+import com.example.projectquestonjava.feature.gamification.data.managers.ChallengeRuleIndex;
+import com.example.projectquestonjava.feature.gamification.data.model.Challenge;
+import com.example.projectquestonjava.feature.gamification.data.model.ChallengeRule;
+import com.example.projectquestonjava.feature.gamification.data.model.GamificationChallengeProgress;
+import com.example.projectquestonjava.feature.gamification.data.model.Reward;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengePeriod;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeStatus;
+import com.example.projectquestonjava.feature.gamification.domain.model.ChallengeType;
+import com.example.projectquestonjava.feature.gamification.domain.model.GamificationEvent;
+import com.example.projectquestonjava.feature.gamification.domain.model.RewardType;
+import com.example.projectquestonjava.feature.gamification.domain.repository.ChallengeRepository;
+import com.example.projectquestonjava.feature.gamification.domain.repository.RewardRepository;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.google.common.util.concurrent.MoreExecutors;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Одно событие - одно чтение прогресса, одна пачка записей и одна транзакция, сколько бы правил ни совпало. */
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class UpdateChallengeProgressUseCaseTest {
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject ChallengeRepository challengeRepository;
+    @Inject RewardRepository rewardRepository;
+    @Inject ApplyRewardUseCase applyRewardUseCase;
+    @Inject ChallengeRuleIndex ruleIndex;
+    @Inject UnitOfWork unitOfWork;
+    @Inject Logger logger;
+
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final Map<String, AtomicInteger> repositoryCalls = new ConcurrentHashMap<>();
+
+    private DatasetSeeder.Dataset dataset;
+    private UpdateChallengeProgressUseCase useCase;
+
+    @Before
+    public void setUp() throws Exception {
+        hiltRule.inject();
+        dataset = new DatasetSeeder(database).seedProfile();
+        useCase = new UpdateChallengeProgressUseCase(countingRepository(), rewardRepository, applyRewardUseCase,
+                ruleIndex, countingUnitOfWork(), MoreExecutors.directExecutor(), logger);
+    }
+
+    @Test
+    public void severalMatchingRules_areWrittenInOneBatch() throws Exception {
+        long rewardId = insertReward();
+        long first = insertChallenge(rewardId);
+        long firstRule = insertRule(first, 3, "{\"tags\": [\"work\"]}");
+        long second = insertChallenge(rewardId);
+        long secondRule = insertRule(second, 3, null);
+        long thirdRule = insertRule(second, 3, "{}");
+
+        useCase.executeSync(dataset.gamificationId(), taskCompleted("Work"));
+
+        assertEquals(1, transactions.get());
+        assertEquals(1, calls("getProgressForChallengesSync"));
+        assertEquals(1, calls("insertOrUpdateProgressBatchSync"));
+        assertEquals(0, calls("insertOrUpdateProgressSync"));
+        assertEquals(1, progress(first, firstRule));
+        assertEquals(1, progress(second, secondRule));
+        assertEquals(1, progress(second, thirdRule));
+    }
+
+    @Test
+    public void unmatchedEvent_opensNoTransaction() throws Exception {
+        long challengeId = insertChallenge(insertReward());
+        insertRule(challengeId, 1, "{\"tags\": [\"work\"]}");
+
+        ApplyRewardUseCase.RewardApplicationResult result =
+                useCase.executeSync(dataset.gamificationId(), taskCompleted("home"));
+
+        assertEquals(0, result.getDeltaCoins());
+        assertEquals(0, transactions.get());
+        assertEquals(0, calls("insertOrUpdateProgressBatchSync"));
+    }
+
+    @Test
+    public void completingLastRule_awardsAndCompletesChallenge() throws Exception {
+        long challengeId = insertChallenge(insertReward());
+        insertRule(challengeId, 1, null);
+
+        ApplyRewardUseCase.RewardApplicationResult result =
+                useCase.executeSync(dataset.gamificationId(), taskCompleted("work"));
+
+        assertEquals(40, result.getDeltaCoins());
+        assertEquals(1, transactions.get());
+        assertEquals(ChallengeStatus.COMPLETED, database.challengeDao().getChallengeById(challengeId).get().getStatus());
+        // Завершенный ONCE-челлендж выпадает из индекса, второе событие его не трогает
+        assertTrue(ruleIndex.getSnapshotSync().getRulesForType(ChallengeType.TASK_COMPLETION).isEmpty());
+        assertEquals(0, useCase.executeSync(dataset.gamificationId(), taskCompleted("work")).getDeltaCoins());
+        assertEquals(1, transactions.get());
+    }
+
+    private ChallengeRepository countingRepository() {
+        return (ChallengeRepository) Proxy.newProxyInstance(
+                ChallengeRepository.class.getClassLoader(), new Class<?>[]{ChallengeRepository.class},
+                (proxy, method, args) -> {
+                    repositoryCalls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+                    try {
+                        return method.invoke(challengeRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private UnitOfWork countingUnitOfWork() {
+        return new UnitOfWork() {
+            @Override
+            public <T> T withTransaction(Callable<T> block) throws Exception {
+                transactions.incrementAndGet();
+                return unitOfWork.withTransaction(block);
+            }
+
+            @Override
+            public void withTransaction(Runnable block) throws Exception {
+                transactions.incrementAndGet();
+                unitOfWork.withTransaction(block);
+            }
+        };
+    }
+
+    private int calls(String method) {
+        AtomicInteger count = repositoryCalls.get(method);
+        return count != null ? count.get() : 0;
+    }
+
+    private long insertReward() throws Exception {
+        return database.rewardDao().insert(new Reward("Награда", "", RewardType.COINS, "40")).get();
+    }
+
+    private long insertChallenge(long rewardId) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        return database.challengeDao().insertChallenge(new Challenge("Челлендж", "", now.minusDays(1), now.plusDays(30),
+                rewardId, ChallengeStatus.ACTIVE, ChallengePeriod.ONCE)).get();
+    }
+
+    private long insertRule(long challengeId, int target, String conditionJson) throws Exception {
+        return database.challengeDao().insertRule(new ChallengeRule(challengeId, ChallengeType.TASK_COMPLETION,
+                target, conditionJson, ChallengePeriod.ONCE)).get();
+    }
+
+    private int progress(long challengeId, long ruleId) throws Exception {
+        GamificationChallengeProgress progress =
+                database.challengeDao().getProgress(dataset.gamificationId(), challengeId, ruleId).get();
+        return progress != null ? progress.getProgress() : 0;
+    }
+
+    private static GamificationEvent.TaskCompleted taskCompleted(String tagName) {
+        return new GamificationEvent.TaskCompleted(1L, List.of(new Tag(tagName, "#fff")));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.projectquestonjava.feature.pomodoro.data.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NotificationRepostTrackerTest {
+
+    private final NotificationRepostTracker tracker = new NotificationRepostTracker();
+
+    @Test
+    public void firstState_isPosted() {
+        assertTrue(tracker.needsRepost("Running|FOCUS|false|1500", 1_500_000L));
+    }
+
+    @Test
+    public void runningTicksOfSamePhase_areNotReposted() {
+        tracker.onPosted("Running|FOCUS|false|1500", 1_500_000L);
+
+        // Каждую секунду движок пересчитывает конец отсчета с точностью до секунды
+        assertFalse(tracker.needsRepost("Running|FOCUS|false|1500", 1_500_900L));
+        assertFalse(tracker.needsRepost("Running|FOCUS|false|1500", 1_499_000L));
+        assertFalse(tracker.needsRepost("Running|FOCUS|false|1500",
+                1_500_000L + NotificationRepostTracker.COUNTDOWN_DRIFT_TOLERANCE_MS));
+    }
+
+    @Test
+    public void drift_beyondTolerance_isReposted() {
+        tracker.onPosted("Running|FOCUS|false|1500", 1_500_000L);
+
+        assertTrue(tracker.needsRepost("Running|FOCUS|false|1500",
+                1_500_001L + NotificationRepostTracker.COUNTDOWN_DRIFT_TOLERANCE_MS));
+    }
+
+    @Test
+    public void stateOrPhaseChange_isReposted() {
+        tracker.onPosted("Running|FOCUS|false|1500", 1_500_000L);
+
+        assertTrue(tracker.needsRepost("Paused|FOCUS|false|1200", null));
+        assertTrue(tracker.needsRepost("Running|SHORT_BREAK|true|300", 1_500_000L));
+    }
+
+    @Test
+    public void staticState_isPostedOnce() {
+        tracker.onPosted("Paused|FOCUS|false|1200", null);
+
+        assertFalse(tracker.needsRepost("Paused|FOCUS|false|1200", null));
+    }
+
+    @Test
+    public void reset_forcesNextPost() {
+        tracker.onPosted("Running|FOCUS|false|1500", 1_500_000L);
+        tracker.reset();
+
+        assertTrue(tracker.needsRepost("Running|FOCUS|false|1500", 1_500_000L));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.projectquestonjava.feature.pomodoro.data.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.example.projectquestonjava.feature.pomodoro.domain.logic.PomodoroCycleGenerator;
+import com.example.projectquestonjava.feature.pomodoro.domain.model.PomodoroPhase;
+import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
+import com.example.projectquestonjava.testing.ManualScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PhaseTickerTest {
+
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final PhaseTicker ticker = new PhaseTicker(scheduler, scheduler);
+
+    @Test
+    public void emitsEachSecondOnceAndFinishesAtDeadline() {
+        Recorder recorder = new Recorder();
+        ticker.start(3, recorder);
+
+        scheduler.advanceBy(999);
+        assertEquals(List.of(), recorder.seconds);
+
+        scheduler.advanceBy(1);
+        assertEquals(List.of(2), recorder.seconds);
+
+        scheduler.advanceBy(2000);
+        assertEquals(List.of(2, 1, 0), recorder.seconds);
+        assertEquals(3000, recorder.finishedAt);
+        assertFalse(ticker.isRunning());
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    @Test
+    public void lateTicksDoNotAccumulateDrift() {
+        scheduler.setLatenessMillis(300);
+        Recorder recorder = new Recorder();
+        ticker.start(3, recorder);
+
+        scheduler.advanceBy(10_000);
+
+        assertEquals(List.of(2, 1, 0), recorder.seconds);
+        // Опоздание одного тика, а не трех: следующий тик планируется от дедлайна
+        assertEquals(3300, recorder.finishedAt);
+    }
+
+    @Test
+    public void cancelReturnsRemainingRoundedUpAndStopsTicks() {
+        Recorder recorder = new Recorder();
+        ticker.start(10, recorder);
+        scheduler.advanceBy(2500);
+
+        assertEquals(8, ticker.cancel());
+
+        int emitted = recorder.seconds.size();
+        scheduler.advanceBy(20_000);
+        assertEquals(emitted, recorder.seconds.size());
+        assertEquals(-1, recorder.finishedAt);
+    }
+
+    @Test
+    public void cycleOfPhases_switchesAtCumulativeBoundaries() {
+        List<PomodoroPhase> phases = new PomodoroCycleGenerator().generatePhases(60);
+        assertEquals(List.of(SessionType.FOCUS, SessionType.SHORT_BREAK, SessionType.FOCUS, SessionType.SHORT_BREAK),
+                phases.stream().map(PomodoroPhase::getType).toList());
+
+        // Как в TimerEngine: по завершении фазы сразу запускается следующая
+        List<Long> transitions = new ArrayList<>();
+        int[] lastSeconds = {-1};
+        PhaseTicker.Listener[] listener = new PhaseTicker.Listener[1];
+        int[] phaseIndex = {0};
+        listener[0] = new PhaseTicker.Listener() {
+            @Override
+            public void onSecondChanged(int remainingSeconds) {
+                lastSeconds[0] = remainingSeconds;
+            }
+
+            @Override
+            public void onFinished() {
+                transitions.add(scheduler.elapsedRealtimeMillis());
+                if (++phaseIndex[0] < phases.size()) {
+                    ticker.start(phases.get(phaseIndex[0]).getDurationSeconds(), listener[0]);
+                }
+            }
+        };
+        ticker.start(phases.get(0).getDurationSeconds(), listener[0]);
+
+        scheduler.advanceBy(25 * 60_000 + 60_000);
+        assertEquals(1, phaseIndex[0]);
+        assertEquals(4 * 60, lastSeconds[0]); // минута короткого перерыва прошла
+
+        scheduler.advanceBy(60 * 60_000);
+        assertEquals(List.of(1_500_000L, 1_800_000L, 3_300_000L, 3_600_000L), transitions);
+        assertFalse(ticker.isRunning());
+    }
+
+    private final class Recorder implements PhaseTicker.Listener {
+        final List<Integer> seconds = new ArrayList<>();
+        long finishedAt = -1;
+
+        @Override
+        public void onSecondChanged(int remainingSeconds) {
+            seconds.add(remainingSeconds);
+        }
+
+        @Override
+        public void onFinished() {
+            finishedAt = scheduler.elapsedRealtimeMillis();
+        }
+    }
+}
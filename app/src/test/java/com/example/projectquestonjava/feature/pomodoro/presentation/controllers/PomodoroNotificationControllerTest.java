@@ -0,0 +1,109 @@
+package com.example.projectquestonjava.feature.pomodoro.presentation.controllers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.Manifest;
+import android.app.Application;
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import androidx.core.app.NotificationCompat;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.R;
+import com.example.projectquestonjava.core.managers.PomodoroNotificationManager;
+import com.example.projectquestonjava.feature.pomodoro.data.service.PomodoroTimerService;
+import com.example.projectquestonjava.testing.NoOpLogger;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Кнопки и PendingIntent'ы создаются один раз, а секунды показывает хронометр. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class PomodoroNotificationControllerTest {
+
+    private Application application;
+    private CountingIntentProvider intentProvider;
+    private PomodoroNotificationController controller;
+
+    @Before
+    public void setUp() {
+        application = ApplicationProvider.getApplicationContext();
+        shadowOf(application).grantPermissions(Manifest.permission.POST_NOTIFICATIONS);
+        intentProvider = new CountingIntentProvider(application);
+        controller = new PomodoroNotificationController(
+                new PomodoroNotificationManager(application, new NoOpLogger()), intentProvider);
+        controller.createNotificationChannel();
+    }
+
+    @Test
+    public void createAction_isCachedPerActionIconAndTitle() {
+        NotificationCompat.Action pause = controller.createAction(PomodoroTimerService.ACTION_PAUSE, R.drawable.pause, "Пауза");
+
+        assertSame(pause, controller.createAction(PomodoroTimerService.ACTION_PAUSE, R.drawable.pause, "Пауза"));
+        assertNotSame(pause, controller.createAction(PomodoroTimerService.ACTION_PAUSE, R.drawable.pause, "Другая подпись"));
+        assertEquals(2, intentProvider.actionIntents);
+    }
+
+    @Test
+    public void updateNotification_usesCountdownChronometerAndCachedOpenIntent() {
+        List<NotificationCompat.Action> actions = List.of(
+                controller.createAction(PomodoroTimerService.ACTION_STOP, R.drawable.stop, "Стоп"));
+        long countdownEnd = System.currentTimeMillis() + 25 * 60_000L;
+
+        controller.updateNotification("Фокус", countdownEnd, actions);
+        controller.updateNotification("Фокус", countdownEnd, actions);
+
+        Notification notification = postedNotification();
+        assertEquals(countdownEnd, notification.when);
+        assertTrue(notification.extras.getBoolean(Notification.EXTRA_SHOW_CHRONOMETER));
+        assertTrue(notification.extras.getBoolean(Notification.EXTRA_CHRONOMETER_COUNT_DOWN));
+        assertTrue((notification.flags & Notification.FLAG_ONLY_ALERT_ONCE) != 0);
+        assertEquals(1, notification.actions.length);
+        assertEquals(1, intentProvider.openAppIntents);
+    }
+
+    @Test
+    public void updateNotification_withoutCountdown_hidesChronometer() {
+        controller.updateNotification("Пауза (Фокус): 20:00", null, List.of());
+
+        Notification notification = postedNotification();
+        assertFalse(notification.extras.getBoolean(Notification.EXTRA_SHOW_CHRONOMETER));
+        assertFalse(notification.extras.getBoolean(Notification.EXTRA_SHOW_WHEN));
+    }
+
+    private Notification postedNotification() {
+        NotificationManager manager = (NotificationManager) application.getSystemService(Context.NOTIFICATION_SERVICE);
+        return shadowOf(manager).getNotification(PomodoroNotificationController.NOTIFICATION_ID);
+    }
+
+    private static final class CountingIntentProvider extends PomodoroNotificationIntentProvider {
+        int actionIntents;
+        int openAppIntents;
+
+        CountingIntentProvider(Context context) {
+            super(context);
+        }
+
+        @Override
+        public PendingIntent createActionIntent(String action) {
+            actionIntents++;
+            return super.createActionIntent(action);
+        }
+
+        @Override
+        public PendingIntent createOpenAppIntent() {
+            openAppIntents++;
+            return super.createOpenAppIntent();
+        }
+    }
+}
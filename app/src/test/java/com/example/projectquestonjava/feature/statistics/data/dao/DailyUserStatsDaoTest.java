@@ -0,0 +1,159 @@
+package com.example.projectquestonjava.feature.statistics.data.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Application;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.data.model.core.Task;
+import com.example.projectquestonjava.core.data.model.enums.TaskStatus;
+import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
+import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
+import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
+import com.example.projectquestonjava.feature.statistics.domain.model.CompletionTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.PeriodTotals;
+import com.example.projectquestonjava.feature.statistics.domain.model.WeekdayAggregate;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import com.example.projectquestonjava.testing.InMemoryDatabaseModule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Дневные срезы статистики: группировка по локальному дню и агрегаты экрана статистики. */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class DailyUserStatsDaoTest {
+
+    // Понедельник
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 9);
+
+    private AppDatabase db;
+    private DatasetSeeder.Dataset dataset;
+
+    @Before
+    public void setUp() {
+        db = InMemoryDatabaseModule.create(ApplicationProvider.getApplicationContext());
+        dataset = new DatasetSeeder(db).seedProfile();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void sessionsAroundLocalMidnight_fallIntoTheirLocalDays() throws Exception {
+        long taskId = insertTask();
+        insertFocusSession(taskId, toUtc(MONDAY.atTime(23, 30)), 1500);
+        insertFocusSession(taskId, toUtc(MONDAY.plusDays(1).atTime(0, 30)), 1230);
+
+        List<DailyUserStats> days = db.dailyUserStatsDao()
+                .getDailyStatsInRange(dataset.userId(), MONDAY, MONDAY.plusDays(1)).get();
+
+        assertEquals(2, days.size());
+        assertEquals(MONDAY, days.get(0).getDay());
+        assertEquals(25, days.get(0).getFocusMinutes());
+        assertEquals(1500, days.get(0).getSessionSeconds());
+        assertEquals(MONDAY.plusDays(1), days.get(1).getDay());
+        // Минуты считаются по каждой сессии с отбрасыванием секунд
+        assertEquals(20, days.get(1).getFocusMinutes());
+    }
+
+    @Test
+    public void gamificationHistory_summedPerLocalDay() throws Exception {
+        db.gamificationHistoryDao().insertAllSync(List.of(
+                new GamificationHistory(dataset.gamificationId(), toUtc(MONDAY.atTime(9, 0)), 10, 2, "a", null),
+                new GamificationHistory(dataset.gamificationId(), toUtc(MONDAY.atTime(21, 0)), 5, -1, "b", null)));
+
+        List<DailyUserStats> days = db.dailyUserStatsDao()
+                .getDailyStatsInRange(dataset.userId(), MONDAY, MONDAY).get();
+
+        assertEquals(1, days.size());
+        assertEquals(15, days.get(0).getXpChange());
+        assertEquals(1, days.get(0).getCoinsChange());
+    }
+
+    @Test
+    public void completedTasks_groupedByWeekdayWithTotals() throws Exception {
+        completeTaskAt(MONDAY.atTime(12, 0));
+        completeTaskAt(MONDAY.plusDays(2).atTime(8, 0));
+        completeTaskAt(MONDAY.plusDays(9).atTime(18, 0));
+        // Невыполненная задача в агрегаты не попадает
+        db.taskStatisticsDao().insertOrUpdateTaskStatisticsSync(new TaskStatistics(insertTask(), null, 0, 0, 0, 0, false));
+
+        Map<Integer, Long> byWeekday = db.dailyUserStatsDao().getAllTimeTasksByWeekday(dataset.userId()).get()
+                .stream().collect(Collectors.toMap(WeekdayAggregate::getDayOfWeek, WeekdayAggregate::getValue));
+        assertEquals(Map.of(1, 1L, 3, 2L), byWeekday);
+
+        CompletionTotals totals = db.dailyUserStatsDao().getCompletionTotals(dataset.userId()).get();
+        assertEquals(3, totals.getCompletedCount());
+        assertEquals(MONDAY, totals.getFirstDay());
+    }
+
+    @Test
+    public void periodAggregates_countOnlyDaysInRange() throws Exception {
+        completeTaskAt(MONDAY.atTime(12, 0));
+        completeTaskAt(MONDAY.plusDays(2).atTime(8, 0));
+        completeTaskAt(MONDAY.plusDays(2).atTime(20, 0));
+        // Следующая неделя - за пределами периода
+        completeTaskAt(MONDAY.plusDays(7).atTime(10, 0));
+        insertFocusSession(insertTask(), toUtc(MONDAY.plusDays(1).atTime(10, 0)), 1500);
+        db.gamificationHistoryDao().insertAllSync(List.of(
+                new GamificationHistory(dataset.gamificationId(), toUtc(MONDAY.atTime(9, 0)), 10, 3, "a", null),
+                new GamificationHistory(dataset.gamificationId(), toUtc(MONDAY.plusDays(7).atTime(9, 0)), 50, 50, "b", null)));
+        LocalDate sunday = MONDAY.plusDays(6);
+
+        Map<Integer, Long> byWeekday = db.dailyUserStatsDao().getTasksByWeekdayInRange(dataset.userId(), MONDAY, sunday).get()
+                .stream().collect(Collectors.toMap(WeekdayAggregate::getDayOfWeek, WeekdayAggregate::getValue));
+        assertEquals(Map.of(1, 1L, 3, 2L), byWeekday);
+
+        PeriodTotals totals = db.dailyUserStatsDao().getPeriodTotals(dataset.userId(), MONDAY, sunday).get();
+        assertEquals(3, totals.getTasksCompleted());
+        assertEquals(1500, totals.getSessionSeconds());
+        assertEquals(10, totals.getXpChange());
+        assertEquals(3, totals.getCoinsChange());
+    }
+
+    @Test
+    public void periodTotals_areZeroForEmptyRange() throws Exception {
+        PeriodTotals totals = db.dailyUserStatsDao().getPeriodTotals(dataset.userId(), MONDAY, MONDAY.plusDays(6)).get();
+
+        assertEquals(0, totals.getTasksCompleted());
+        assertEquals(0, totals.getSessionSeconds());
+        assertEquals(0, totals.getXpChange());
+        assertEquals(0, totals.getCoinsChange());
+    }
+
+    private long insertTask() {
+        LocalDateTime now = LocalDateTime.now();
+        return db.taskDao().insertTaskSync(new Task(0, dataset.userId(), dataset.workspaceId(),
+                "Задача", "", now, TaskStatus.TODO, now, now));
+    }
+
+    private void completeTaskAt(LocalDateTime local) {
+        db.taskStatisticsDao().insertOrUpdateTaskStatisticsSync(
+                new TaskStatistics(insertTask(), toUtc(local), 0, 0, 0, 0, true));
+    }
+
+    private void insertFocusSession(long taskId, LocalDateTime startUtc, int actualSeconds) {
+        db.pomodoroSessionDao().insertSync(new PomodoroSession(0, dataset.userId(), taskId, startUtc,
+                SessionType.FOCUS, 1500, actualSeconds, 0, true));
+    }
+
+    // Метки хранятся в UTC, а день строки - локальный (модификатор 'localtime' SQLite)
+    private static LocalDateTime toUtc(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.projectquestonjava.feature.statistics.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.feature.pomodoro.data.model.PomodoroSession;
+import com.example.projectquestonjava.feature.pomodoro.domain.model.SessionType;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.feature.statistics.data.model.GamificationHistory;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class HistoryRetentionManagerTest {
+
+    private static final int RETENTION_DAYS = 365;
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject HistoryRetentionManager historyRetentionManager;
+    @Inject DateTimeUtils dateTimeUtils;
+
+    private DatasetSeeder.Dataset dataset;
+    private LocalDate today;
+    private long taskId;
+
+    @Before
+    public void setUp() {
+        hiltRule.inject();
+        DatasetSeeder seeder = new DatasetSeeder(database);
+        dataset = seeder.seedProfile();
+        today = dateTimeUtils.currentLocalDate();
+        taskId = seeder.seedTasks(dataset, 1, today.withDayOfMonth(1)).get(0);
+    }
+
+    @Test
+    public void compact_deletesOldRowsAndKeepsDailyTotals() throws Exception {
+        LocalDateTime oldUtc = utcNoon(today.minusDays(RETENTION_DAYS + 30));
+        LocalDateTime recentUtc = utcNoon(today.minusDays(10));
+        database.gamificationHistoryDao().insertAllSync(List.of(
+                new GamificationHistory(dataset.gamificationId(), oldUtc, 10, 5, "old", null),
+                new GamificationHistory(dataset.gamificationId(), oldUtc.plusMinutes(5), 20, 0, "old", null),
+                new GamificationHistory(dataset.gamificationId(), recentUtc, 7, 3, "recent", null)));
+        database.pomodoroSessionDao().insertSync(new PomodoroSession(0, dataset.userId(), taskId, oldUtc,
+                SessionType.FOCUS, 1500, 1500, 0, true));
+        database.pomodoroSessionDao().insertSync(new PomodoroSession(0, dataset.userId(), taskId, recentUtc,
+                SessionType.FOCUS, 1500, 1200, 0, true));
+        List<DailyUserStats> before = dailyStats();
+        assertFalse(before.isEmpty());
+
+        HistoryRetentionManager.CompactionResult result = historyRetentionManager.compact(RETENTION_DAYS).get();
+
+        assertEquals(2, result.gamificationHistoryRows());
+        assertEquals(1, result.pomodoroSessionRows());
+        // Дни до горизонта заморожены: удаление сырых строк не обнуляет их итоги
+        assertEquals(before, dailyStats());
+    }
+
+    @Test
+    public void compact_isIdempotent() throws Exception {
+        database.gamificationHistoryDao().insertAllSync(List.of(new GamificationHistory(dataset.gamificationId(),
+                utcNoon(today.minusDays(RETENTION_DAYS + 1)), 10, 5, "old", null)));
+
+        assertEquals(1, historyRetentionManager.compact(RETENTION_DAYS).get().total());
+        List<DailyUserStats> afterFirst = dailyStats();
+
+        assertEquals(0, historyRetentionManager.compact(RETENTION_DAYS).get().total());
+        assertEquals(afterFirst, dailyStats());
+    }
+
+    private LocalDateTime utcNoon(LocalDate localDay) {
+        return dateTimeUtils.localToUtcLocalDateTime(localDay.atTime(12, 0));
+    }
+
+    private List<DailyUserStats> dailyStats() throws Exception {
+        return database.dailyUserStatsDao()
+                .getDailyStatsInRange(dataset.userId(), today.minusDays(RETENTION_DAYS * 2L), today).get();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.projectquestonjava.feature.statistics.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.feature.statistics.data.model.GlobalStatistics;
+import com.example.projectquestonjava.feature.statistics.data.model.TaskStatistics;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class StatisticsWriteBufferTest {
+
+    private static final LocalDateTime ACTIVE_AT = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject StatisticsWriteBuffer statisticsWriteBuffer;
+
+    private DatasetSeeder.Dataset dataset;
+    private long firstTaskId;
+    private long secondTaskId;
+
+    @Before
+    public void setUp() {
+        hiltRule.inject();
+        DatasetSeeder seeder = new DatasetSeeder(database);
+        dataset = seeder.seedProfile();
+        List<Long> taskIds = seeder.seedTasks(dataset, 2, LocalDate.now().withDayOfMonth(1));
+        firstTaskId = taskIds.get(0);
+        secondTaskId = taskIds.get(1);
+    }
+
+    @Test
+    public void flush_appliesSummedDeltasPerTaskAndUser() throws Exception {
+        statisticsWriteBuffer.addTaskDeltas(firstTaskId, 1500, 1500, 1, 0);
+        statisticsWriteBuffer.addTaskDeltas(firstTaskId, 300, 0, 0, 2);
+        statisticsWriteBuffer.addTaskDeltas(secondTaskId, 60, 60, 0, 1);
+        // Отрицательные дельты отбрасываются
+        statisticsWriteBuffer.addTaskDeltas(secondTaskId, -10, -10, -1, -1);
+        statisticsWriteBuffer.addUserActivity(dataset.userId(), 25, ACTIVE_AT.plusMinutes(25));
+        statisticsWriteBuffer.addUserActivity(dataset.userId(), 5, ACTIVE_AT);
+
+        statisticsWriteBuffer.flushSync();
+
+        assertTaskStats(firstTaskId, 1800, 1500, 1, 2);
+        assertTaskStats(secondTaskId, 60, 60, 0, 1);
+        GlobalStatistics global = database.globalStatisticsDao().getGlobalStatisticsSync(dataset.userId());
+        assertEquals(30, global.getTotalTimeSpent());
+        // Берется самая поздняя отметка активности, а не последняя добавленная
+        assertEquals(ACTIVE_AT.plusMinutes(25), global.getLastActive());
+    }
+
+    @Test
+    public void flush_isNoOpWhenBufferIsEmpty() throws Exception {
+        statisticsWriteBuffer.addTaskDeltas(firstTaskId, 100, 100, 1, 0);
+        statisticsWriteBuffer.flushSync();
+        statisticsWriteBuffer.flushSync();
+
+        assertTaskStats(firstTaskId, 100, 100, 1, 0);
+    }
+
+    @Test
+    public void failedFlush_returnsDeltasToBufferForTheNextFlush() throws Exception {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        db.execSQL("CREATE TRIGGER fail_stats_update BEFORE UPDATE ON task_statistics "
+                + "BEGIN SELECT RAISE(ABORT, 'boom'); END");
+        statisticsWriteBuffer.addTaskDeltas(firstTaskId, 1500, 1500, 1, 0);
+
+        assertThrows(Exception.class, statisticsWriteBuffer::flushSync);
+        assertTaskStats(firstTaskId, 0, 0, 0, 0);
+
+        db.execSQL("DROP TRIGGER fail_stats_update");
+        statisticsWriteBuffer.addTaskDeltas(firstTaskId, 60, 0, 0, 1);
+        statisticsWriteBuffer.flushSync();
+
+        // Дельты неудачного сброса не потерялись и не применились дважды
+        assertTaskStats(firstTaskId, 1560, 1500, 1, 1);
+    }
+
+    private void assertTaskStats(long taskId, int timeSpent, int focusSeconds, int sessions, int interruptions) {
+        TaskStatistics stats = database.taskStatisticsDao().getStatisticsForTaskSyncDirect(taskId);
+        assertEquals(timeSpent, stats.getTimeSpentSeconds());
+        assertEquals(focusSeconds, stats.getTotalPomodoroFocusSeconds());
+        assertEquals(sessions, stats.getCompletedPomodoroFocusSessions());
+        assertEquals(interruptions, stats.getTotalPomodoroInterruptions());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.projectquestonjava.feature.statistics.data.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.projectquestonjava.core.data.database.AppDatabase;
+import com.example.projectquestonjava.core.utils.DateTimeUtils;
+import com.example.projectquestonjava.feature.statistics.data.model.DailyUserStats;
+import com.example.projectquestonjava.testing.DatasetSeeder;
+import dagger.hilt.android.testing.HiltAndroidRule;
+import dagger.hilt.android.testing.HiltAndroidTest;
+import java.time.LocalDate;
+import javax.inject.Inject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@HiltAndroidTest
+@RunWith(RobolectricTestRunner.class)
+public class TimeZoneChangeMonitorTest {
+
+    @Rule
+    public HiltAndroidRule hiltRule = new HiltAndroidRule(this);
+
+    @Inject AppDatabase database;
+    @Inject TimeZoneChangeMonitor timeZoneChangeMonitor;
+    @Inject DateTimeUtils dateTimeUtils;
+
+    private DatasetSeeder.Dataset dataset;
+    private LocalDate today;
+
+    @Before
+    public void setUp() {
+        hiltRule.inject();
+        DatasetSeeder seeder = new DatasetSeeder(database);
+        dataset = seeder.seedProfile();
+        today = dateTimeUtils.currentLocalDate();
+        // Первая задача набора получает одну 25-минутную сессию фокуса
+        seeder.seedTasks(dataset, 1, today.withDayOfMonth(1));
+    }
+
+    @Test
+    public void firstObservation_recordsZoneWithoutRebuild() throws Exception {
+        corruptRollups();
+
+        assertFalse(timeZoneChangeMonitor.onZoneObserved("Europe/Moscow").get());
+
+        assertEquals(999, totalFocusMinutes());
+    }
+
+    @Test
+    public void zoneChange_rebuildsRollupsOnce() throws Exception {
+        timeZoneChangeMonitor.onZoneObserved("Europe/Moscow").get();
+        corruptRollups();
+
+        assertTrue(timeZoneChangeMonitor.onZoneObserved("Asia/Tokyo").get());
+        assertEquals(25, totalFocusMinutes());
+
+        corruptRollups();
+        assertFalse(timeZoneChangeMonitor.onZoneObserved("Asia/Tokyo").get());
+        assertEquals(999, totalFocusMinutes());
+    }
+
+    // Расхождение, которое исправит только полный пересчет
+    private void corruptRollups() {
+        database.getOpenHelper().getWritableDatabase().execSQL("UPDATE daily_user_stats SET focus_minutes = 999");
+    }
+
+    private int totalFocusMinutes() throws Exception {
+        int total = 0;
+        for (DailyUserStats day : database.dailyUserStatsDao()
+                .getDailyStatsInRange(dataset.userId(), today.minusYears(1), today.plusYears(1)).get()) {
+            total += day.getFocusMinutes();
+        }
+        return total;
+    }
+}